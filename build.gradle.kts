@@ -1,5 +1,6 @@
 plugins {
     id("java")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "it.unibo"
@@ -19,4 +20,26 @@ dependencies {
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+tasks.register<JavaExec>("batch") {
+    group = "application"
+    description = "Solves a directory of mps files into a CSV, e.g. --args=\"mps/ --output results.csv --threads 4\""
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("it.unibo.BatchSolve")
+}
+
+val commit: Provider<String> = providers.exec {
+    commandLine("git", "rev-parse", "--short", "HEAD")
+    isIgnoreExitValue = true
+}.standardOutput.asText.map { it.trim().ifEmpty { "local" } }
+
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file(commit.map { "results/jmh/$it.json" }))
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+}
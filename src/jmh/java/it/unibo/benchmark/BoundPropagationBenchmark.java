@@ -0,0 +1,55 @@
+package it.unibo.benchmark;
+
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.SolverResult;
+import it.unibo.impl.SolverImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full solve of generated instances with and without the bound propagation at the nodes.<br>
+ * The search has one worker, so every solve of an instance has the same solved nodes and pivots:
+ * they are printed at the end of the trial, in the log of the fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BoundPropagationBenchmark {
+
+    @Param({"knapsack-50", "knapsack-100", "knapsack-200", "setcover-80", "assignment-20"})
+    private String instance;
+
+    @Param({"true", "false"})
+    private boolean boundPropagation;
+
+    private String pathToFile;
+    private SolverResult lastResult;
+
+    @Setup
+    public void setUp() {
+        this.pathToFile = Instances.generated(this.instance).toString();
+    }
+
+    @Benchmark
+    public SolverResult solve() {
+        BranchAndBoundOptions options = Instances.options(Instances.SIMPLEX_BACKEND);
+        options.setBoundPropagation(this.boundPropagation);
+        this.lastResult = new SolverImpl().solve(this.pathToFile, options);
+        return this.lastResult;
+    }
+
+    @TearDown
+    public void printCounters() {
+        System.out.println(this.instance + " boundPropagation=" + this.boundPropagation
+                + ": nodes = " + this.lastResult.getSolvedNodesCount() + ", pivots = " + this.lastResult.getPivotsCount());
+    }
+}
@@ -0,0 +1,41 @@
+package it.unibo.benchmark;
+
+import it.unibo.api.SolverResult;
+import it.unibo.impl.SolverImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full branch and bound solve of the bundled examples, from the mps file to the optimum.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExampleSolveBenchmark {
+
+    @Param({"example01", "example02", "example03", "example04", "example05", "example06"})
+    private String example;
+
+    @Param({Instances.SIMPLEX_BACKEND})
+    private String backend;
+
+    private String pathToFile;
+
+    @Setup
+    public void setUp() {
+        this.pathToFile = Instances.example(this.example).toString();
+    }
+
+    @Benchmark
+    public SolverResult solve() {
+        return new SolverImpl().solve(this.pathToFile, Instances.options(this.backend));
+    }
+}
@@ -0,0 +1,44 @@
+package it.unibo.benchmark;
+
+import it.unibo.api.SolverResult;
+import it.unibo.impl.SolverImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full branch and bound solve of generated knapsack, set cover and assignment instances
+ * of increasing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GeneratedSolveBenchmark {
+
+    @Param({"knapsack-50", "knapsack-100", "knapsack-200",
+            "setcover-40", "setcover-80", "setcover-160",
+            "assignment-10", "assignment-20", "assignment-30"})
+    private String instance;
+
+    @Param({Instances.SIMPLEX_BACKEND})
+    private String backend;
+
+    private String pathToFile;
+
+    @Setup
+    public void setUp() {
+        this.pathToFile = Instances.generated(this.instance).toString();
+    }
+
+    @Benchmark
+    public SolverResult solve() {
+        return new SolverImpl().solve(this.pathToFile, Instances.options(this.backend));
+    }
+}
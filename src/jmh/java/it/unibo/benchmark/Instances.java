@@ -0,0 +1,233 @@
+package it.unibo.benchmark;
+
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.DualProblem;
+import it.unibo.api.LinearModel;
+import it.unibo.api.LogLevel;
+import it.unibo.impl.BranchAndBoundOptionsImpl;
+import it.unibo.impl.DualSimplexProblemImpl;
+import it.unibo.impl.MappedMpsReaderImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Writes the instances of the benchmarks to temporary mps files: the bundled examples
+ * and the generated knapsack, set cover and assignment problems.<br>
+ * The generated instances are named {@code <kind>-<size>} and are seeded by their name,
+ * so every run of every commit solves the same problems.
+ */
+final class Instances {
+    static final String SIMPLEX_BACKEND = "simplex";
+    static final String CPLEX_BACKEND = "cplex";
+    private static final String KNAPSACK = "knapsack";
+    private static final String SET_COVER = "setcover";
+    private static final String ASSIGNMENT = "assignment";
+    private static final int MIN_WEIGHT = 10;
+    private static final int MAX_WEIGHT = 100;
+    private static final int VALUE_NOISE = 10;
+    private static final int MAX_SET_ELEMENTS = 5;
+    private static final int MAX_COST = 50;
+
+    private Instances() {
+    }
+
+    /**
+     * @param backend {@code simplex} for the pure Java dual simplex, {@code cplex} for CPLEX as the default options
+     *                build it, so the benchmarks measure the same search as the solver.
+     * @return the factory of the dual problems of the backend.
+     */
+    static Function<LinearModel, DualProblem> dualProblemFactory(String backend) {
+        return switch (backend) {
+            case SIMPLEX_BACKEND -> DualSimplexProblemImpl::new;
+            case CPLEX_BACKEND -> new BranchAndBoundOptionsImpl().getDualProblemFactory();
+            default -> throw new IllegalArgumentException("Unknown backend: " + backend);
+        };
+    }
+
+    /**
+     * The options of a benchmarked search: nothing is logged and the models are parsed at every solve,
+     * so no snapshot is written next to the instances.
+     *
+     * @param backend the backend of the relaxations, see {@code dualProblemFactory}.
+     * @return the options.
+     */
+    static BranchAndBoundOptions options(String backend) {
+        BranchAndBoundOptions options = new BranchAndBoundOptionsImpl();
+        options.setModelReaderFactory(MappedMpsReaderImpl::new);
+        options.setDualProblemFactory(dualProblemFactory(backend));
+        options.setLogLevel(LogLevel.OFF);
+        return options;
+    }
+
+    /**
+     * @param name the name of a bundled example, e.g. {@code example01}.
+     * @return a temporary copy of the example.
+     */
+    static Path example(String name) {
+        try (InputStream resource = Instances.class.getResourceAsStream("/mps/" + name + ".mps")) {
+            if (resource == null) {
+                throw new IllegalArgumentException("Unknown example: " + name);
+            }
+            Path file = Files.createTempFile(name, ".mps");
+            Files.copy(resource, file, StandardCopyOption.REPLACE_EXISTING);
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param name the name of a generated instance, {@code knapsack-<items>}, {@code setcover-<elements>}
+     *             or {@code assignment-<agents>}.
+     * @return a temporary mps file of the instance.
+     */
+    static Path generated(String name) {
+        int separator = name.lastIndexOf('-');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Unknown instance: " + name);
+        }
+        int size = Integer.parseInt(name.substring(separator + 1));
+        Random random = new Random(name.hashCode());
+        String mps = switch (name.substring(0, separator)) {
+            case KNAPSACK -> knapsack(name, size, random);
+            case SET_COVER -> setCover(name, size, random);
+            case ASSIGNMENT -> assignment(name, size, random);
+            default -> throw new IllegalArgumentException("Unknown instance: " + name);
+        };
+        try {
+            Path file = Files.createTempFile(name, ".mps");
+            Files.writeString(file, mps);
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A binary knapsack whose values are the weights plus a noise, with half of the total weight as capacity.
+     */
+    private static String knapsack(String name, int items, Random random) {
+        Mps mps = new Mps(name, true);
+        mps.row("capacity", 'L');
+        long totalWeight = 0;
+        for (int item = 0; item < items; item++) {
+            int weight = MIN_WEIGHT + random.nextInt(MAX_WEIGHT - MIN_WEIGHT + 1);
+            int value = Math.max(1, weight + random.nextInt(2 * VALUE_NOISE + 1) - VALUE_NOISE);
+            totalWeight += weight;
+            mps.binaryColumn("x" + item, value).entry("capacity", weight);
+        }
+        return mps.rhs("capacity", totalWeight / 2).build();
+    }
+
+    /**
+     * A weighted set cover of {@code elements} elements by twice as many sets, every set covers up to
+     * a few random elements and every element is in at least two sets.
+     */
+    private static String setCover(String name, int elements, Random random) {
+        Mps mps = new Mps(name, false);
+        for (int element = 0; element < elements; element++) {
+            mps.row("e" + element, 'G');
+        }
+        for (int set = 0; set < 2 * elements; set++) {
+            Mps column = mps.binaryColumn("s" + set, 1 + random.nextInt(MAX_COST));
+            List<Integer> covered = new ArrayList<>();
+            covered.add(set % elements);
+            int count = 1 + random.nextInt(MAX_SET_ELEMENTS);
+            while (covered.size() < Math.min(count, elements)) {
+                int element = random.nextInt(elements);
+                if (!covered.contains(element)) {
+                    covered.add(element);
+                }
+            }
+            covered.stream().sorted().forEach(element -> column.entry("e" + element, 1));
+        }
+        for (int element = 0; element < elements; element++) {
+            mps.rhs("e" + element, 1);
+        }
+        return mps.build();
+    }
+
+    /**
+     * A linear assignment of {@code agents} agents to as many tasks with random costs.
+     */
+    private static String assignment(String name, int agents, Random random) {
+        Mps mps = new Mps(name, false);
+        for (int agent = 0; agent < agents; agent++) {
+            mps.row("a" + agent, 'E');
+        }
+        for (int task = 0; task < agents; task++) {
+            mps.row("t" + task, 'E');
+        }
+        for (int agent = 0; agent < agents; agent++) {
+            for (int task = 0; task < agents; task++) {
+                mps.binaryColumn("x" + agent + "_" + task, 1 + random.nextInt(MAX_COST))
+                        .entry("a" + agent, 1)
+                        .entry("t" + task, 1);
+            }
+        }
+        for (int agent = 0; agent < agents; agent++) {
+            mps.rhs("a" + agent, 1).rhs("t" + agent, 1);
+        }
+        return mps.build();
+    }
+
+    /**
+     * Builds a free format mps file whose columns are added one at a time.
+     */
+    private static final class Mps {
+        private final StringBuilder rows = new StringBuilder();
+        private final StringBuilder columns = new StringBuilder();
+        private final StringBuilder rhs = new StringBuilder();
+        private final StringBuilder bounds = new StringBuilder();
+        private final String name;
+        private final boolean maximize;
+        private String column;
+
+        Mps(String name, boolean maximize) {
+            this.name = name;
+            this.maximize = maximize;
+        }
+
+        Mps row(String row, char type) {
+            this.rows.append(' ').append(type).append("  ").append(row).append('\n');
+            return this;
+        }
+
+        Mps binaryColumn(String column, double objective) {
+            this.column = column;
+            this.bounds.append(" UP bnd ").append(column).append(" 1\n");
+            return this.entry("obj", objective);
+        }
+
+        Mps entry(String row, double value) {
+            this.columns.append("    ").append(this.column).append(' ').append(row).append(' ').append(value).append('\n');
+            return this;
+        }
+
+        Mps rhs(String row, double value) {
+            this.rhs.append("    rhs ").append(row).append(' ').append(value).append('\n');
+            return this;
+        }
+
+        String build() {
+            return "NAME " + this.name + '\n'
+                    + (this.maximize ? "OBJSENSE\n MAX\n" : "")
+                    + "ROWS\n N  obj\n" + this.rows
+                    + "COLUMNS\n" + this.columns
+                    + "RHS\n" + this.rhs
+                    + "BOUNDS\n" + this.bounds
+                    + "ENDATA\n";
+        }
+    }
+}
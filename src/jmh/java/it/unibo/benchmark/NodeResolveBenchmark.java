@@ -0,0 +1,75 @@
+package it.unibo.benchmark;
+
+import it.unibo.api.BranchCut;
+import it.unibo.api.DualProblem;
+import it.unibo.api.LinearModel;
+import it.unibo.api.SimplexBasis;
+import it.unibo.impl.BranchCutImpl;
+import it.unibo.impl.MappedMpsReaderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the re-solve of a node LP as the search does it: a branch cut is added to the root relaxation,
+ * the LP is solved warm from the root basis, then the cut is deleted and the root basis is restored.<br>
+ * The cuts move every column in turn away from its root value, so every solve needs some dual pivots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NodeResolveBenchmark {
+
+    @Param({"knapsack-100", "setcover-80", "assignment-20"})
+    private String instance;
+
+    @Param({Instances.SIMPLEX_BACKEND})
+    private String backend;
+
+    private DualProblem dualProblem;
+    private SimplexBasis rootBasis;
+    private BranchCut[] cuts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LinearModel model = new MappedMpsReaderImpl().read(Instances.generated(this.instance).toString());
+        this.dualProblem = Instances.dualProblemFactory(this.backend).apply(model);
+        if (!this.dualProblem.solve()) {
+            throw new IllegalStateException("The root relaxation of " + this.instance + " isn't optimal");
+        }
+        this.rootBasis = this.dualProblem.getBasis();
+        double[] values = this.dualProblem.getCurrentValuesView();
+        this.cuts = new BranchCut[model.getColumnsCount()];
+        for (int column = 0; column < this.cuts.length; column++) {
+            boolean upper = values[column] >= model.getColumnUpperBound(column);
+            int bound = upper ? (int) Math.ceil(values[column]) - 1 : (int) Math.floor(values[column]) + 1;
+            this.cuts[column] = new BranchCutImpl(column + 1, this.dualProblem.getDecisionVariable(column), upper, bound);
+        }
+    }
+
+    @Benchmark
+    public double resolve() {
+        BranchCut cut = this.cuts[this.next];
+        this.next = (this.next + 1) % this.cuts.length;
+        this.dualProblem.addBranchCut(cut);
+        this.dualProblem.solve();
+        double solution = this.dualProblem.getCurrentSolution();
+        this.dualProblem.deleteBranchCut(cut);
+        this.dualProblem.setBasis(this.rootBasis);
+        return solution;
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.dualProblem.endDualProblem();
+    }
+}
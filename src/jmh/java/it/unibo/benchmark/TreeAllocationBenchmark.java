@@ -0,0 +1,84 @@
+package it.unibo.benchmark;
+
+import it.unibo.api.BranchCut;
+import it.unibo.api.DecisionTree;
+import it.unibo.api.DecisionVariable;
+import it.unibo.api.OpenNode;
+import it.unibo.api.OpenNodeQueue;
+import it.unibo.impl.BranchCutImpl;
+import it.unibo.impl.DecisionTreeImpl;
+import it.unibo.impl.DecisionVariableImpl;
+import it.unibo.impl.OpenNodeImpl;
+import it.unibo.impl.OpenNodeQueueImpl;
+import it.unibo.impl.StandardNodeSelectionPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the allocation of the search tree: the decision tree of the solved nodes
+ * and the open nodes going through the queue, as a complete binary tree of the given size.
+ * Run it with {@code -prof gc} to see the bytes allocated by node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TreeAllocationBenchmark {
+    private static final int VARIABLES_COUNT = 100;
+
+    @Param({"1000", "100000"})
+    private int nodesCount;
+
+    private List<String> variableNames;
+    private DecisionVariable[] variables;
+
+    @Setup
+    public void setUp() {
+        this.variableNames = new ArrayList<>(VARIABLES_COUNT);
+        this.variables = new DecisionVariable[VARIABLES_COUNT];
+        for (int index = 0; index < VARIABLES_COUNT; index++) {
+            this.variableNames.add("x" + index);
+            this.variables[index] = new DecisionVariableImpl("x" + index, index);
+        }
+    }
+
+    @Benchmark
+    public DecisionTree decisionTree() {
+        DecisionTree[] nodes = new DecisionTree[this.nodesCount];
+        nodes[DecisionTree.ROOT_ID] = new DecisionTreeImpl(this.variableNames);
+        for (int id = 1; id < this.nodesCount; id++) {
+            nodes[id] = nodes[(id - 1) / 2].addChild(id, this.cut(id)).orElseThrow();
+            nodes[id].setBranchProblemSolution(id);
+        }
+        return nodes[DecisionTree.ROOT_ID];
+    }
+
+    @Benchmark
+    public int openNodes() {
+        OpenNodeQueue queue = new OpenNodeQueueImpl(StandardNodeSelectionPolicy.BEST_FIRST, true);
+        queue.push(new OpenNodeImpl(DecisionTree.ROOT_ID, null, null, -Double.MAX_VALUE, -Double.MAX_VALUE, null));
+        int id = 1;
+        int depth = 0;
+        while (!queue.isEmpty()) {
+            OpenNode parent = queue.poll();
+            depth = Math.max(depth, parent.getDepth());
+            for (int child = 0; child < 2 && id < this.nodesCount; child++, id++) {
+                queue.push(new OpenNodeImpl(id, parent, this.cut(id), parent.getParentBound() + 1, parent.getEstimate() + 1, null));
+            }
+        }
+        return depth;
+    }
+
+    private BranchCut cut(int id) {
+        return new BranchCutImpl(id, this.variables[id % VARIABLES_COUNT], id % 2 == 1, id % 2);
+    }
+}
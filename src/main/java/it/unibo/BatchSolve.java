@@ -0,0 +1,125 @@
+package it.unibo;
+
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.LogLevel;
+import it.unibo.api.SolverResult;
+import it.unibo.api.SolverStatus;
+import it.unibo.impl.BatchSolverImpl;
+import it.unibo.impl.BranchAndBoundOptionsImpl;
+import it.unibo.impl.DualSimplexProblemImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Headless entry point: solves the mps files of a directory, or the given ones, and writes a CSV of the results.
+ * <pre>
+ * BatchSolve &lt;directory or files&gt;... [--output results.csv] [--threads N] [--workers N] [--backend cplex|simplex] [--log LEVEL]
+ *            [--time-limit SECONDS] [--node-limit N] [--memory-limit MB]
+ * </pre>
+ * By default a problem is solved by one worker, as many problems as the processors at the same time, by CPLEX
+ * without log and without limits. The exit code is 1 if a problem failed.
+ */
+public class BatchSolve {
+    private static final String USAGE = "Usage: BatchSolve <directory or files>... [--output results.csv] [--threads N]"
+            + " [--workers N] [--backend cplex|simplex] [--log OFF|SUMMARY|NODE|VERBOSE]"
+            + " [--time-limit SECONDS] [--node-limit N] [--memory-limit MB]";
+
+    public static void main(String[] args) {
+        List<String> inputs = new ArrayList<>();
+        Path output = Path.of("results.csv");
+        int workers = 1;
+        Integer threads = null;
+        boolean simplex = false;
+        LogLevel logLevel = LogLevel.OFF;
+        long timeLimitMillis = 0;
+        long nodesLimit = 0;
+        long memoryLimitBytes = 0;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--output" -> output = Path.of(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--workers" -> workers = Integer.parseInt(args[++i]);
+                    case "--backend" -> simplex = switch (args[++i]) {
+                        case "simplex" -> true;
+                        case "cplex" -> false;
+                        default -> throw new IllegalArgumentException("Unknown backend: " + args[i]);
+                    };
+                    case "--log" -> logLevel = LogLevel.valueOf(args[++i]);
+                    case "--time-limit" -> timeLimitMillis = (long) (Double.parseDouble(args[++i]) * 1000);
+                    case "--node-limit" -> nodesLimit = Long.parseLong(args[++i]);
+                    case "--memory-limit" -> memoryLimitBytes = Long.parseLong(args[++i]) * 1024 * 1024;
+                    default -> inputs.add(args[i]);
+                }
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        List<String> pathsToFiles = listFiles(inputs);
+        if (pathsToFiles.isEmpty()) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        int workersCount = workers;
+        boolean javaBackend = simplex;
+        LogLevel level = logLevel;
+        long timeLimit = timeLimitMillis;
+        long nodeLimit = nodesLimit;
+        long memoryLimit = memoryLimitBytes;
+        int threadsCount = threads != null ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / workersCount);
+        Map<String, SolverResult> results = new BatchSolverImpl(() -> {
+            BranchAndBoundOptions options = new BranchAndBoundOptionsImpl();
+            options.setWorkersCount(workersCount);
+            options.setLogLevel(level);
+            options.setTimeLimitMillis(timeLimit);
+            options.setNodesLimit(nodeLimit);
+            options.setMemoryLimitBytes(memoryLimit);
+            if (javaBackend) {
+                options.setDualProblemFactory(DualSimplexProblemImpl::new);
+            }
+            return options;
+        }, threadsCount).solve(pathsToFiles, output);
+
+        long optimal = results.values().stream().filter(result -> result.getStatus() == SolverStatus.OPTIMAL).count();
+        System.out.println("Solved " + results.size() + " of " + pathsToFiles.size() + " problems, " + optimal
+                + " optimal, results in " + output.toAbsolutePath());
+        if (results.size() < pathsToFiles.size()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @param inputs directories and files.
+     * @return the given files and the mps files under the given directories, sorted by path.
+     */
+    private static List<String> listFiles(List<String> inputs) {
+        List<String> pathsToFiles = new ArrayList<>();
+        for (String input : inputs) {
+            Path path = Path.of(input);
+            if (!Files.isDirectory(path)) {
+                pathsToFiles.add(input);
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(path)) {
+                pathsToFiles.addAll(files
+                        .filter(file -> Files.isRegularFile(file) && file.getFileName().toString().toLowerCase().endsWith(".mps"))
+                        .map(Path::toString)
+                        .sorted()
+                        .collect(Collectors.toList()));
+            } catch (IOException e) {
+                System.err.println("Failed to list the directory " + path + " " + e);
+                System.exit(1);
+            }
+        }
+        return pathsToFiles;
+    }
+}
@@ -0,0 +1,22 @@
+package it.unibo.api;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Defines a headless run which solves many PLI problems concurrently and writes a row of results per problem.
+ */
+public interface BatchSolver {
+
+    /**
+     * Solves the problems and writes a CSV file with a row per problem, in the order they end:
+     * the file, the status, the objective value, the best bound, the gap, the solved nodes, the pivots,
+     * the elapsed milliseconds and the error of the failed problems.
+     *
+     * @param pathsToFiles the paths to the mps files.
+     * @param csvFile      the file of the results, replaced if it exists.
+     * @return the results of the problems solved without errors, by path.
+     */
+    Map<String, SolverResult> solve(List<String> pathsToFiles, Path csvFile);
+}
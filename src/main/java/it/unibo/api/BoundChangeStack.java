@@ -0,0 +1,55 @@
+package it.unibo.api;
+
+import java.util.List;
+
+/**
+ * Defines an undo stack of the bound changes applied by the branch cuts,
+ * every entry keeps the bounds of the cut's variable before the cut.
+ */
+public interface BoundChangeStack {
+
+    /**
+     * Pushes a new bound change.
+     *
+     * @param branchCut     the cut which changes the bounds.
+     * @param previousLower the lower bound of the cut's variable before the cut.
+     * @param previousUpper the upper bound of the cut's variable before the cut.
+     */
+    void push(BranchCut branchCut, double previousLower, double previousUpper);
+
+    /**
+     * Removes the last bound change.
+     */
+    void pop();
+
+    /**
+     * @return the cut of the last bound change.
+     */
+    BranchCut peek();
+
+    /**
+     * @return the lower bound of the last cut's variable before the cut.
+     */
+    double peekPreviousLower();
+
+    /**
+     * @return the upper bound of the last cut's variable before the cut.
+     */
+    double peekPreviousUpper();
+
+    /**
+     * @return true if there are no bound changes.
+     */
+    boolean isEmpty();
+
+    /**
+     * @param branchCut the cut to search.
+     * @return true if the cut is in the stack.
+     */
+    boolean contains(BranchCut branchCut);
+
+    /**
+     * @return the cuts in the stack, from the first applied.
+     */
+    List<BranchCut> getCuts();
+}
@@ -0,0 +1,48 @@
+package it.unibo.api;
+
+import java.util.List;
+
+/**
+ * Defines the propagation of the branch cuts through the rows of an integer problem: every row keeps its minimum
+ * and maximum activity over the current bounds, so a cut can prove a node infeasible or imply the bounds
+ * of other columns without solving the relaxation.<br>
+ * The cuts are pushed and popped as a stack, in the same order they are added to the dual problem.
+ */
+public interface BoundPropagator {
+
+    /**
+     * Applies the bound of a cut and propagates it through the rows of its column.
+     *
+     * @param branchCut the cut to apply.
+     * @return false if the pushed cuts make the problem infeasible.
+     */
+    boolean push(BranchCut branchCut);
+
+    /**
+     * Undoes the last pushed cut with all the bounds it implied.
+     */
+    void pop();
+
+    /**
+     * @return true if the pushed cuts make the problem infeasible.
+     */
+    boolean isInfeasible();
+
+    /**
+     * @param column the index of a column.
+     * @return the lower bound of the column with the pushed cuts and their implied bounds.
+     */
+    double getLowerBound(int column);
+
+    /**
+     * @param column the index of a column.
+     * @return the upper bound of the column with the pushed cuts and their implied bounds.
+     */
+    double getUpperBound(int column);
+
+    /**
+     * @return the bounds implied by the pushed cuts and not set by them, as cuts to add to the dual problem.
+     * Note: their ids aren't unique.
+     */
+    List<BranchCut> getImpliedCuts();
+}
@@ -0,0 +1,22 @@
+package it.unibo.api;
+
+/**
+ * Defines the primal and the dual bound of a search at a point in time.
+ */
+public interface BoundSample {
+
+    /**
+     * @return the milliseconds from the start of the search.
+     */
+    long getMillis();
+
+    /**
+     * @return the objective value of the incumbent, {@code Double.NaN} if there isn't one.
+     */
+    double getPrimalBound();
+
+    /**
+     * @return the best objective value an integer solution can have, {@code Double.NaN} until the root is solved.
+     */
+    double getDualBound();
+}
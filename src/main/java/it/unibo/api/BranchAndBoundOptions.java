@@ -0,0 +1,306 @@
+package it.unibo.api;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Defines the settings of a branch and bound search.
+ */
+public interface BranchAndBoundOptions {
+
+    /**
+     * Model reader factory field's setter.
+     *
+     * @param modelReaderFactory builds the reader which loads the model from the mps file, once per search.
+     */
+    void setModelReaderFactory(Supplier<ModelReader> modelReaderFactory);
+
+    /**
+     * @return the factory of the reader which loads the model from the mps file.
+     */
+    Supplier<ModelReader> getModelReaderFactory();
+
+    /**
+     * Presolve field's setter.
+     *
+     * @param presolve true if the loaded model is reduced before the search, the solution still refers
+     *                 to the original columns.
+     */
+    void setPresolve(boolean presolve);
+
+    /**
+     * @return true if the loaded model is reduced before the search.
+     */
+    boolean isPresolve();
+
+    /**
+     * Bound propagation field's setter.
+     *
+     * @param boundPropagation true if every node propagates its cuts through the rows before its relaxation is solved,
+     *                         so the nodes proven infeasible aren't solved and the implied bounds tighten the others.
+     */
+    void setBoundPropagation(boolean boundPropagation);
+
+    /**
+     * @return true if every node propagates its cuts through the rows before its relaxation is solved.
+     */
+    boolean isBoundPropagation();
+
+    /**
+     * Dual problem factory field's setter.
+     *
+     * @param dualProblemFactory builds the backend which solves the relaxations from the (presolved) model,
+     *                           once per worker.
+     */
+    void setDualProblemFactory(Function<LinearModel, DualProblem> dualProblemFactory);
+
+    /**
+     * @return the factory of the backend which solves the relaxations from the (presolved) model.
+     */
+    Function<LinearModel, DualProblem> getDualProblemFactory();
+
+    /**
+     * Node selection policy field's setter.
+     *
+     * @param nodeSelectionPolicy the order in which the open nodes are solved.
+     */
+    void setNodeSelectionPolicy(NodeSelectionPolicy nodeSelectionPolicy);
+
+    /**
+     * @return the order in which the open nodes are solved.
+     */
+    NodeSelectionPolicy getNodeSelectionPolicy();
+
+    /**
+     * Branching rule factory field's setter.
+     *
+     * @param branchingRuleFactory builds the rule which chooses the variable to cut, once per search.
+     */
+    void setBranchingRuleFactory(Supplier<BranchingRule> branchingRuleFactory);
+
+    /**
+     * @return the factory of the rule which chooses the variable to cut.
+     */
+    Supplier<BranchingRule> getBranchingRuleFactory();
+
+    /**
+     * Primal heuristics factory field's setter.
+     *
+     * @param primalHeuristicsFactory builds the heuristics which search an incumbent from the relaxations,
+     *                                once per worker. They run in the given order, until one improves the incumbent.
+     */
+    void setPrimalHeuristicsFactory(Supplier<List<PrimalHeuristic>> primalHeuristicsFactory);
+
+    /**
+     * @return the factory of the heuristics which search an incumbent from the relaxations.
+     */
+    Supplier<List<PrimalHeuristic>> getPrimalHeuristicsFactory();
+
+    /**
+     * Heuristics frequency field's setter.
+     *
+     * @param heuristicsFrequency the heuristics run at the root and at the nodes whose id is a multiple of it,
+     *                            0 to run them only at the root.
+     */
+    void setHeuristicsFrequency(int heuristicsFrequency);
+
+    /**
+     * @return the heuristics run at the root and at the nodes whose id is a multiple of it, 0 only at the root.
+     */
+    int getHeuristicsFrequency();
+
+    /**
+     * Integrality tolerance field's setter.
+     *
+     * @param integralityTolerance how far from an integer a value of the relaxation is still integer,
+     *                             relative to the value when it is larger than 1.
+     */
+    void setIntegralityTolerance(double integralityTolerance);
+
+    /**
+     * @return how far from an integer a value of the relaxation is still integer.
+     */
+    double getIntegralityTolerance();
+
+    /**
+     * Feasibility tolerance field's setter.
+     *
+     * @param feasibilityTolerance how much a row can be violated by a solution found by a heuristic,
+     *                             or by the bounds of a node before the propagation proves it infeasible.
+     */
+    void setFeasibilityTolerance(double feasibilityTolerance);
+
+    /**
+     * @return how much a row can be violated by a solution found by a heuristic or by the bounds of a node.
+     */
+    double getFeasibilityTolerance();
+
+    /**
+     * Absolute gap field's setter.
+     *
+     * @param absoluteGap the nodes which can't improve the incumbent by more than it are pruned,
+     *                    so the search ends when the best bound is this close to the incumbent.
+     */
+    void setAbsoluteGap(double absoluteGap);
+
+    /**
+     * @return the absolute gap between the incumbent and the best bound which ends the search.
+     */
+    double getAbsoluteGap();
+
+    /**
+     * Relative gap field's setter.
+     *
+     * @param relativeGap the nodes which can't improve the incumbent by more than this fraction of its absolute value
+     *                    are pruned, so the search ends when the best bound is this close to the incumbent.
+     */
+    void setRelativeGap(double relativeGap);
+
+    /**
+     * @return the gap between the incumbent and the best bound, relative to the incumbent, which ends the search.
+     */
+    double getRelativeGap();
+
+    /**
+     * Workers count field's setter.
+     *
+     * @param workersCount the number of threads which solve the open nodes, each one with its own dual problem.
+     */
+    void setWorkersCount(int workersCount);
+
+    /**
+     * @return the number of threads which solve the open nodes.
+     */
+    int getWorkersCount();
+
+    /**
+     * Deterministic field's setter.
+     *
+     * @param deterministic true if the workers solve the nodes in synchronized rounds, so two runs with the same
+     *                      workers count build the same tree.
+     */
+    void setDeterministic(boolean deterministic);
+
+    /**
+     * @return true if the workers solve the nodes in synchronized rounds.
+     */
+    boolean isDeterministic();
+
+    /**
+     * Time limit field's setter.
+     *
+     * @param timeLimitMillis the wall clock time after which the workers stop taking nodes and the search returns
+     *                        the best solution found, 0 for no limit.
+     */
+    void setTimeLimitMillis(long timeLimitMillis);
+
+    /**
+     * @return the wall clock time after which the search stops, 0 if there is no limit.
+     */
+    long getTimeLimitMillis();
+
+    /**
+     * Nodes limit field's setter.
+     *
+     * @param nodesLimit the number of solved nodes after which the workers stop taking nodes and the search returns
+     *                   the best solution found, 0 for no limit.
+     */
+    void setNodesLimit(long nodesLimit);
+
+    /**
+     * @return the number of solved nodes after which the search stops, 0 if there is no limit.
+     */
+    long getNodesLimit();
+
+    /**
+     * Memory limit field's setter.
+     *
+     * @param memoryLimitBytes the used heap after which the workers stop taking nodes and the search returns
+     *                         the best solution found, 0 for no limit. The heap is measured after the collections,
+     *                         so the garbage doesn't count.
+     */
+    void setMemoryLimitBytes(long memoryLimitBytes);
+
+    /**
+     * @return the used heap after which the search stops, 0 if there is no limit.
+     */
+    long getMemoryLimitBytes();
+
+    /**
+     * Cancellation token field's setter.
+     *
+     * @param cancellationToken stops the search from another thread, checked between the nodes and during
+     *                          the relaxations; null if the search can't be cancelled.
+     */
+    void setCancellationToken(CancellationToken cancellationToken);
+
+    /**
+     * @return the token which stops the search, null if it can't be cancelled.
+     */
+    CancellationToken getCancellationToken();
+
+    /**
+     * Listener field's setter.
+     *
+     * @param listener receives the new incumbents and the best bound improvements by a thread of its own,
+     *                 null for no listener.
+     */
+    void setListener(SolverListener listener);
+
+    /**
+     * @return the listener of the progress of the search, null if there isn't one.
+     */
+    SolverListener getListener();
+
+    /**
+     * Checkpoint file field's setter.
+     *
+     * @param checkpointFile where the state of the search is saved periodically and at its end, so it can be resumed
+     *                       by another process: if the file exists when the search starts, it resumes from it;
+     *                       null for no checkpoints.
+     */
+    void setCheckpointFile(Path checkpointFile);
+
+    /**
+     * @return the file the search is saved to and resumed from, null if there are no checkpoints.
+     */
+    Path getCheckpointFile();
+
+    /**
+     * Checkpoint interval field's setter.
+     *
+     * @param checkpointMillis the wall clock time between two checkpoints, they are written by a thread of their own.
+     */
+    void setCheckpointMillis(long checkpointMillis);
+
+    /**
+     * @return the wall clock time between two checkpoints.
+     */
+    long getCheckpointMillis();
+
+    /**
+     * Log level field's setter.
+     *
+     * @param logLevel how much the search logs on {@code System.out}.
+     */
+    void setLogLevel(LogLevel logLevel);
+
+    /**
+     * @return how much the search logs on {@code System.out}.
+     */
+    LogLevel getLogLevel();
+
+    /**
+     * Metrics field's setter.
+     *
+     * @param metrics where the search records its metrics, null for no metrics.
+     */
+    void setMetrics(SolverMetrics metrics);
+
+    /**
+     * @return where the search records its metrics, null if it doesn't record them.
+     */
+    SolverMetrics getMetrics();
+}
@@ -1,7 +1,49 @@
 package it.unibo.api;
 
+import java.util.Optional;
+
 /**
  * Main class which applies the Branch and Bound logic to find an integer solution.
+ * The problem is loaded and presolved when it is defined, and searched by {@code solve}.
  */
 public interface BranchAndBoundProblem {
+
+    /**
+     * Searches the optimal integer solution, the first call only.
+     *
+     * @return the result of the search.
+     */
+    SolverResult solve();
+
+    /**
+     * @return the node of the best integer solution, if any has been found.
+     */
+    Optional<DecisionTree> getSolution();
+
+    /**
+     * @return the number of relaxations solved by all the workers.
+     */
+    long getSolvedNodesCount();
+
+    /**
+     * @return the wall clock time of the search in milliseconds.
+     */
+    long getElapsedMillis();
+
+    /**
+     * @return the best objective value an integer solution can have: the incumbent, the bound of a node
+     * pruned because it couldn't improve the incumbent by more than the gap, or of a node left open by a limit.
+     */
+    double getBestBound();
+
+    /**
+     * @return the gap between the incumbent and the best bound, relative to the incumbent,
+     * {@code Double.POSITIVE_INFINITY} if there isn't an incumbent.
+     */
+    double getGap();
+
+    /**
+     * @return the metrics at the end of the search, empty if the options didn't record them.
+     */
+    Optional<MetricsSnapshot> getMetrics();
 }
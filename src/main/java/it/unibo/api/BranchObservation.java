@@ -0,0 +1,33 @@
+package it.unibo.api;
+
+/**
+ * Defines the objective degradation observed moving a variable to one of its branch bounds.
+ */
+public interface BranchObservation {
+
+    /**
+     * @return the index of the branched variable.
+     */
+    int getVariableIndex();
+
+    /**
+     * @return true if the variable has been moved down to the floor of its value.
+     */
+    boolean isDown();
+
+    /**
+     * @return how much the variable has been moved, in (0, 1).
+     */
+    double getDistance();
+
+    /**
+     * @return the worsening of the objective value from the parent relaxation to the child one,
+     * infinite if the child is infeasible.
+     */
+    double getDegradation();
+
+    /**
+     * @return true if the child LP has been stopped by a pivots limit, so the degradation is only a lower bound.
+     */
+    boolean isTruncated();
+}
@@ -0,0 +1,42 @@
+package it.unibo.api;
+
+import java.util.List;
+
+/**
+ * Defines how the branch and bound chooses the variable to cut at a node.
+ * A rule is shared by all the workers of a search.
+ */
+public interface BranchingRule {
+
+    /**
+     * Chooses the variable to cut at the last solution of the dual problem.
+     *
+     * @param dualProblem  the dual problem just solved at the node. The rule may solve it again with trial cuts,
+     *                     but it must give it back with the same cuts, basis and solution.
+     * @param observations where the rule adds what it observed by its trial solves, they are given back
+     *                     to {@code record} when the node is committed.
+     * @return the index of the variable, -1 if all the variables are integer.
+     */
+    int selectVariable(DualProblem dualProblem, List<BranchObservation> observations);
+
+    /**
+     * Learns from the degradation observed solving a child, or a trial of {@code selectVariable}.
+     *
+     * @param observation the observed degradation.
+     */
+    void record(BranchObservation observation);
+
+    /**
+     * @return what the rule has learnt so far, encoded for a checkpoint of the search, empty if it doesn't learn.
+     * It is a copy, so the rule goes on learning while it is written.
+     */
+    byte[] saveState();
+
+    /**
+     * Restores what a rule of the same kind had learnt, resuming a search from a checkpoint.
+     *
+     * @param state the state returned by {@code saveState}.
+     * @throws IllegalArgumentException if the state hasn't been saved by a rule of the same kind.
+     */
+    void restoreState(byte[] state);
+}
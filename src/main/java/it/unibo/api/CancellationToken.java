@@ -0,0 +1,18 @@
+package it.unibo.api;
+
+/**
+ * Defines a request to stop a search from another thread, e.g. by a service which embeds the solver.
+ */
+public interface CancellationToken {
+
+    /**
+     * Requests the search to stop: the workers end as soon as they check the token, between the nodes
+     * or during the pivots of a relaxation, and the search returns the best solution found.
+     */
+    void cancel();
+
+    /**
+     * @return true if the search has been requested to stop.
+     */
+    boolean isCancelled();
+}
@@ -4,7 +4,9 @@ import java.util.List;
 import java.util.Optional;
 
 /**
- * Defines a binary tree for storing the problems, and it's solutions.
+ * Defines a binary tree for storing the problems, and it's solutions.<br>
+ * Every node keeps only its branch cut and its solution: the cuts of a node are rebuilt from its ancestors,
+ * and the values of the variables are kept only for the nodes which store them, as the incumbents.
  */
 public interface DecisionTree {
 
@@ -13,14 +15,14 @@ public interface DecisionTree {
     String RIGHT_DIRECTION = "Right";
 
     /**
-     * Add a child to this node.
+     * Add a child to this node, the child with an upper bound cut is appended on the left.
      *
-     * @param id        the id of the child. Note: it has to be unique.
-     * @param direction indicates in which direction to append the child. If {@code DecisionTree.LEFT} or {@code DecisionTree.RIGHT}
-     * @param cuts      the cuts that defined the child from the original problem.
+     * @param id        the id of the child. Note: it has to be unique, and the ids should be dense since they
+     *                  index the storage of the tree.
+     * @param branchCut the cut that defines the child from this node.
      * @return the child.
      */
-    Optional<DecisionTree> addChild(int id, String direction, List<BranchCut> cuts);
+    Optional<DecisionTree> addChild(int id, BranchCut branchCut);
 
     /**
      * Solution field's setter.
@@ -30,18 +32,33 @@ public interface DecisionTree {
     void setBranchProblemSolution(double solution);
 
     /**
-     * Variables values field's setter.
+     * @return the objective value of this node's relaxation, NaN if the node hasn't been solved.
+     */
+    double getBranchProblemSolution();
+
+    /**
+     * Variables values field's setter. Note: it copies the whole vector, so it is meant for the incumbents only.
      *
-     * @param values indicates the values to set the deciasion variables.
+     * @param values indicates the values to set the deciasion variables, by index.
+     */
+    void setCurrentValues(double[] values);
+
+    /**
+     * @return the values of the variables, empty if they haven't been stored for this node.
      */
-    void setCurrentValues(List<DecisionVariable> values);
+    List<DecisionVariable> getCurrentValues();
 
     /**
-     * Parent field's setter.
+     * @return the cuts that define this node from the original problem, from the root down.
+     */
+    List<BranchCut> getBranchCuts();
+
+    /**
+     * Pivots count field's setter.
      *
-     * @param parent the node to set as parent to this one.
+     * @param pivotsCount the number of simplex pivots needed to solve this node.
      */
-    void setParent(DecisionTree parent);
+    void setPivotsCount(int pivotsCount);
 
     /**
      * @return the parent of this node.
@@ -84,6 +101,11 @@ public interface DecisionTree {
      */
     Optional<DecisionTree> getRightChild();
 
+    /**
+     * @return an estimate of the bytes held by the whole tree, the nodes and their stored values.
+     */
+    long getMemoryBytes();
+
     /**
      * @return the node log.
      */
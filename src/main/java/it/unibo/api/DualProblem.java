@@ -1,9 +1,13 @@
 package it.unibo.api;
 
+import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
 
 /**
- * This interface defines the methods to implement for interacting easily with IBM ILOG CPLEX.
+ * This interface defines the methods to implement for interacting easily with a dual simplex backend,
+ * as IBM ILOG CPLEX or the pure Java one.
  */
 public interface DualProblem {
 
@@ -26,9 +30,95 @@ public interface DualProblem {
 
     /**
      * Solves the current model updating the current values of the variables.
+     *
+     * @return true if the optimum has been found, false if the model is infeasible, unbounded or the solve
+     * has been truncated.
+     * @throws IllegalStateException if the backend fails, or it has stopped without an answer and not because of
+     *                               the pivots limit or the interruption, e.g. when a safety limit of pivots stops
+     *                               a cycling simplex; the solve never ends the JVM.
      */
     boolean solve();
 
+    /**
+     * Limits the dual pivots of the next solves, the pivots to restore the basis given by {@code setBasis}
+     * aren't counted.
+     *
+     * @param pivotsLimit the maximum number of pivots, {@code Integer.MAX_VALUE} for no limit.
+     */
+    void setPivotsLimit(int pivotsLimit);
+
+    /**
+     * Sets the condition checked every few pivots of the next solves: when it is true the solve stops
+     * as if it had been truncated by the pivots limit, so a long relaxation doesn't delay the end of the search.
+     *
+     * @param interruption the condition, it must be cheap; null to never interrupt. If it throws, the solve stops
+     *                     and rethrows its exception.
+     * @throws IllegalStateException if the backend fails to set it.
+     */
+    void setInterruption(BooleanSupplier interruption);
+
+    /**
+     * Sets how far from an integer a current value is still integer: such values are rounded,
+     * and they aren't in the fractional variables.
+     *
+     * @param integralityTolerance the tolerance, relative to the value when it is larger than 1.
+     */
+    void setIntegralityTolerance(double integralityTolerance);
+
+    /**
+     * Replaces the objective coefficients of the next solves, e.g. for the heuristics which search a solution
+     * close to a given point. The current solution is still the objective of the model at the current values.
+     *
+     * @param coefficients the coefficients by variable index, with the same sense of the model,
+     *                     null to restore the ones of the model.
+     */
+    void setObjectiveCoefficients(double[] coefficients);
+
+    /**
+     * If the last solve has been stopped by the pivots limit, the current values aren't updated
+     * and {@code getCurrentSolution} returns a bound of the optimum: a lower bound for a minimum problem,
+     * an upper one for a maximum problem. If there isn't a valid bound it returns {@code -Double.MAX_VALUE}
+     * or {@code Double.MAX_VALUE}.
+     *
+     * @return true if the last solve has been stopped by the pivots limit.
+     */
+    boolean isLastSolveTruncated();
+
+    /**
+     * If the last solve has found the model unbounded, the current values aren't updated: the problem
+     * has no optimum, and the integer problem is unbounded too, unless it is infeasible.
+     *
+     * @return true if the last solve has found the model unbounded.
+     */
+    boolean isLastSolveUnbounded();
+
+    /**
+     * Log field's setter, by default the dual problem doesn't log.<br>
+     * The cuts and the relaxation solutions are logged at {@code LogLevel.VERBOSE}, so the lower levels
+     * don't need any extra query to the backend.
+     *
+     * @param log where the dual problem logs.
+     */
+    void setLog(SolverLog log);
+
+    /**
+     * @return the number of simplex pivots done by the last {@code solve}, including the ones needed to restore
+     * the basis given by {@code setBasis}.
+     */
+    int getLastPivotsCount();
+
+    /**
+     * @return the basis of the last solve.
+     */
+    SimplexBasis getBasis();
+
+    /**
+     * Sets the basis the next {@code solve} starts from.
+     *
+     * @param basis a basis returned by {@code getBasis}, also before cuts have been added or deleted.
+     */
+    void setBasis(SimplexBasis basis);
+
     /**
      * Check if current values of the variables result integer.
      *
@@ -49,11 +139,48 @@ public interface DualProblem {
      */
     List<DecisionVariable> getCurrentValues();
 
+    /**
+     * A view of the current values which doesn't allocate.<br>
+     * Note: the array is owned by the dual problem and it is overwritten by the next {@code solve}.
+     *
+     * @return the current values of the variables by index.
+     */
+    double[] getCurrentValuesView();
+
+    /**
+     * A view of the reduced costs of the last optimal solve which doesn't allocate: how much the objective changes
+     * when a variable out of the basis increases by one.<br>
+     * Note: the array is owned by the dual problem and it is overwritten by the next {@code solve}.
+     *
+     * @return the reduced costs of the variables by index.
+     */
+    double[] getReducedCostsView();
+
+    /**
+     * A view of the not integer current values which doesn't allocate.<br>
+     * Note: the set is owned by the dual problem and it is overwritten by the next {@code solve}.
+     *
+     * @return the indexes of the variables whose current value isn't integer.
+     */
+    BitSet getFractionalVariables();
+
+    /**
+     * @param index the index of a variable.
+     * @return the variable with its current value.
+     */
+    DecisionVariable getDecisionVariable(int index);
+
     /**
      * @return current cuts
      */
     List<BranchCut> getCurrentCuts();
 
+    /**
+     * @param index the index of a variable.
+     * @return the coefficient of the variable in the objective function.
+     */
+    double getObjectiveCoefficient(int index);
+
     /**
      * @return true if the decision variable passed has a positive coefficient in the objective function.
      */
@@ -64,6 +191,11 @@ public interface DualProblem {
      */
     boolean isMinimumProblem();
 
+    /**
+     * @return the throughput of loading the model from its file, empty if the model has been given already loaded.
+     */
+    Optional<LoadReport> getLoadReport();
+
     /**
      * Ends and correctly closes the model.
      */
@@ -0,0 +1,52 @@
+package it.unibo.api;
+
+/**
+ * Defines the distribution of a non-negative integer quantity, as the LP solve time of the nodes,
+ * counted in buckets of powers of two: the bucket {@code i} counts the values up to {@code 2^i - 1}
+ * which don't fall in the previous buckets.
+ */
+public interface Histogram {
+
+    /**
+     * @return the number of recorded values.
+     */
+    long getCount();
+
+    /**
+     * @return the sum of the recorded values.
+     */
+    long getSum();
+
+    /**
+     * @return the largest recorded value, 0 if there are none.
+     */
+    long getMax();
+
+    /**
+     * @return the mean of the recorded values, 0 if there are none.
+     */
+    double getMean();
+
+    /**
+     * @return the number of buckets, up to the last one which isn't empty.
+     */
+    int getBucketsCount();
+
+    /**
+     * @param bucket the index of a bucket.
+     * @return the largest value counted by the bucket.
+     */
+    long getBucketUpperBound(int bucket);
+
+    /**
+     * @param bucket the index of a bucket.
+     * @return the number of values counted by the bucket, not by the previous ones.
+     */
+    long getBucketCount(int bucket);
+
+    /**
+     * @param quantile a quantile, between 0 and 1.
+     * @return an upper bound of the quantile: the upper bound of its bucket, or the largest value if smaller.
+     */
+    long getQuantile(double quantile);
+}
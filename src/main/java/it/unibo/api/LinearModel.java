@@ -0,0 +1,102 @@
+package it.unibo.api;
+
+/**
+ * Defines a read-only linear problem stored by columns (compressed sparse column format).<br>
+ * Rows are ranges {@code rowLower <= a x <= rowUpper} and columns are bounded {@code lower <= x <= upper},
+ * infinite bounds are {@code Double.NEGATIVE_INFINITY} or {@code Double.POSITIVE_INFINITY}.
+ */
+public interface LinearModel {
+
+    /**
+     * @return the name of the model.
+     */
+    String getName();
+
+    /**
+     * @return true if the objective function sense is minimum.
+     */
+    boolean isMinimumProblem();
+
+    /**
+     * @return the number of rows (constraints) of the model.
+     */
+    int getRowsCount();
+
+    /**
+     * @return the number of columns (decision variables) of the model.
+     */
+    int getColumnsCount();
+
+    /**
+     * @return the number of non-zero coefficients of the constraints matrix.
+     */
+    int getNonZerosCount();
+
+    /**
+     * @param column the index of the column.
+     * @return the name of the column.
+     */
+    String getColumnName(int column);
+
+    /**
+     * @param row the index of the row.
+     * @return the name of the row.
+     */
+    String getRowName(int row);
+
+    /**
+     * @param column the index of the column.
+     * @return the coefficient of the column in the objective function.
+     */
+    double getObjectiveCoefficient(int column);
+
+    /**
+     * @return the constant term of the objective function.
+     */
+    double getObjectiveConstant();
+
+    /**
+     * @param column the index of the column.
+     * @return the lower bound of the column.
+     */
+    double getColumnLowerBound(int column);
+
+    /**
+     * @param column the index of the column.
+     * @return the upper bound of the column.
+     */
+    double getColumnUpperBound(int column);
+
+    /**
+     * @param row the index of the row.
+     * @return the lower bound of the row.
+     */
+    double getRowLowerBound(int row);
+
+    /**
+     * @param row the index of the row.
+     * @return the upper bound of the row.
+     */
+    double getRowUpperBound(int row);
+
+    /**
+     * The non-zeros of the column {@code j} are stored at the positions
+     * {@code getColumnStart(j) <= k < getColumnStart(j + 1)}.
+     *
+     * @param column the index of the column, {@code getColumnsCount()} is allowed.
+     * @return the position of the first non-zero of the column.
+     */
+    int getColumnStart(int column);
+
+    /**
+     * @param position the position of the non-zero.
+     * @return the row of the non-zero.
+     */
+    int getRowIndex(int position);
+
+    /**
+     * @param position the position of the non-zero.
+     * @return the value of the non-zero.
+     */
+    double getValue(int position);
+}
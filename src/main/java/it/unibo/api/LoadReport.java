@@ -0,0 +1,42 @@
+package it.unibo.api;
+
+/**
+ * Defines the throughput of loading a model from its file.
+ */
+public interface LoadReport {
+
+    /**
+     * @return the size of the file read, the snapshot one if the model comes from the cache.
+     */
+    long getBytesCount();
+
+    /**
+     * @return the non-zeros of the loaded model.
+     */
+    long getNonZerosCount();
+
+    /**
+     * @return the time spent to load the model, in nanoseconds.
+     */
+    long getElapsedNanos();
+
+    /**
+     * @return the number of chunks the file has been parsed in.
+     */
+    int getChunksCount();
+
+    /**
+     * @return true if the model has been mapped from its binary snapshot instead of parsed.
+     */
+    boolean isFromCache();
+
+    /**
+     * @return the megabytes of the file read per second.
+     */
+    double getMegabytesPerSecond();
+
+    /**
+     * @return the non-zeros loaded per second.
+     */
+    double getNonZerosPerSecond();
+}
@@ -0,0 +1,23 @@
+package it.unibo.api;
+
+/**
+ * Defines how much the solver logs, every level includes the previous ones.
+ */
+public enum LogLevel {
+    /**
+     * Nothing is logged.
+     */
+    OFF,
+    /**
+     * The final solution and the new incumbents.
+     */
+    SUMMARY,
+    /**
+     * A line per solved node, without extra queries to the dual problem.
+     */
+    NODE,
+    /**
+     * The problem, the cuts and the full relaxation solution of every node.
+     */
+    VERBOSE
+}
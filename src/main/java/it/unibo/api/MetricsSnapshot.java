@@ -0,0 +1,75 @@
+package it.unibo.api;
+
+import java.util.List;
+
+/**
+ * Defines the metrics of a search at a point in time, taken by {@code SolverMetrics.snapshot}.
+ */
+public interface MetricsSnapshot {
+
+    /**
+     * @return the milliseconds from the start of the search, up to its end once it is over.
+     */
+    long getElapsedMillis();
+
+    /**
+     * @return the number of nodes whose relaxation has been solved.
+     */
+    long getSolvedNodesCount();
+
+    /**
+     * @return the number of nodes closed because they couldn't improve the incumbent,
+     * before or after solving them.
+     */
+    long getPrunedNodesCount();
+
+    /**
+     * @return the number of nodes closed because infeasible, by their relaxation or by bound propagation.
+     */
+    long getInfeasibleNodesCount();
+
+    /**
+     * @return the wall clock time of the LP solve of the nodes, in nanoseconds.
+     */
+    Histogram getLpSolveNanos();
+
+    /**
+     * @return the simplex pivots of the LP solve of the nodes.
+     */
+    Histogram getPivotsPerNode();
+
+    /**
+     * @return the number of open nodes at the last sample, including the ones being solved.
+     */
+    int getOpenNodesCount();
+
+    /**
+     * @return the bytes held by the decision tree at the last sample.
+     */
+    long getTreeBytes();
+
+    /**
+     * @return the primal bound at the last sample, {@code Double.NaN} if there isn't an incumbent.
+     */
+    double getPrimalBound();
+
+    /**
+     * @return the dual bound at the last sample, {@code Double.NaN} until the root is solved.
+     */
+    double getDualBound();
+
+    /**
+     * @return the samples where the primal or the dual bound changed, oldest first.
+     */
+    List<BoundSample> getBoundHistory();
+
+    /**
+     * @return the metrics in the Prometheus text exposition format.
+     */
+    String toPrometheusText();
+
+    /**
+     * @return the metrics as a JSON object.
+     */
+    String toJson();
+}
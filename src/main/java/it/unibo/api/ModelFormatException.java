@@ -0,0 +1,59 @@
+package it.unibo.api;
+
+/**
+ * Thrown by a ModelReader when a model file is malformed, with where the problem has been found.
+ */
+public class ModelFormatException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String problem;
+    private final String section;
+    private final long line;
+
+    /**
+     * Define an exception not located yet, the reader locates it by {@code at}.
+     *
+     * @param message the description of the problem.
+     */
+    public ModelFormatException(String message) {
+        this(message, null, 0, null);
+    }
+
+    /**
+     * Define an exception.
+     *
+     * @param message the description of the problem.
+     * @param section the section of the file, null if the problem isn't in a section, e.g. a missing section.
+     * @param line    the number of the line from 1, 0 if it isn't known.
+     * @param cause   the exception which revealed the problem, null if none.
+     */
+    public ModelFormatException(String message, String section, long line, Throwable cause) {
+        super(message + (section != null ? " in section " + section : "") + (line > 0 ? " at line " + line : ""), cause);
+        this.problem = message;
+        this.section = section;
+        this.line = line;
+    }
+
+    /**
+     * @param section the section of the file where the problem has been found.
+     * @param line    the number of the line from 1, 0 if it isn't known.
+     * @return the same problem, located.
+     */
+    public ModelFormatException at(String section, long line) {
+        return new ModelFormatException(this.problem, section, line, this.getCause());
+    }
+
+    /**
+     * @return the section of the file, null if the problem isn't in a section.
+     */
+    public String getSection() {
+        return this.section;
+    }
+
+    /**
+     * @return the number of the line from 1, 0 if it isn't known.
+     */
+    public long getLine() {
+        return this.line;
+    }
+}
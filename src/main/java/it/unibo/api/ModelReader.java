@@ -0,0 +1,24 @@
+package it.unibo.api;
+
+import java.util.Optional;
+
+/**
+ * Defines a reader which loads a linear problem from a file.
+ */
+public interface ModelReader {
+
+    /**
+     * Reads the model stored in the given file.
+     *
+     * @param pathToFile the path to the file which contains the problem.
+     * @return the model.
+     * @throws ModelFormatException         if the file is malformed.
+     * @throws java.io.UncheckedIOException if the file can't be read.
+     */
+    LinearModel read(String pathToFile);
+
+    /**
+     * @return the throughput of the last {@code read}, empty if nothing has been read yet.
+     */
+    Optional<LoadReport> getLastLoadReport();
+}
@@ -0,0 +1,18 @@
+package it.unibo.api;
+
+/**
+ * Defines the order in which the open nodes of the branch and bound are solved.
+ */
+public interface NodeSelectionPolicy {
+
+    /**
+     * Compares two open nodes.
+     *
+     * @param first          the first node.
+     * @param second         the second node.
+     * @param minimumProblem true if the objective function sense is minimum.
+     * @param incumbentFound true if an integer solution has already been found.
+     * @return a negative value if the first node must be solved before the second one, a positive one if after.
+     */
+    int compare(OpenNode first, OpenNode second, boolean minimumProblem, boolean incumbentFound);
+}
@@ -0,0 +1,62 @@
+package it.unibo.api;
+
+import java.util.List;
+
+/**
+ * Defines a node of the branch and bound waiting to be solved.
+ * It stores only the cut which defines it from its parent, the other cuts are found walking up the parents.
+ */
+public interface OpenNode {
+
+    /**
+     * @return the node's id, equal to the id of its cut and to its index in the decision tree.
+     */
+    int getId();
+
+    /**
+     * @return the depth of the node, the root has depth 0.
+     */
+    int getDepth();
+
+    /**
+     * @return the parent node, null for the root.
+     */
+    OpenNode getParent();
+
+    /**
+     * @return the cut added to the parent problem, null for the root.
+     */
+    BranchCut getBranchCut();
+
+    /**
+     * @return the objective value of the parent relaxation, which bounds the node's one.
+     */
+    double getParentBound();
+
+    /**
+     * @return the estimated objective value of the best integer solution in the node's subtree.
+     */
+    double getEstimate();
+
+    /**
+     * @return the optimal basis of the parent relaxation, null for the root.
+     */
+    SimplexBasis getParentBasis();
+
+    /**
+     * Releases the parent basis once the node has been solved.
+     */
+    void discardParentBasis();
+
+    /**
+     * @return the bound changes found solving the node, valid in its whole subtree, empty if none.
+     */
+    List<BranchCut> getFixings();
+
+    /**
+     * Fixings field's setter, the node must set them before its children are opened.
+     *
+     * @param fixings the bound changes found solving the node, e.g. by reduced costs.
+     */
+    void setFixings(List<BranchCut> fixings);
+}
@@ -0,0 +1,41 @@
+package it.unibo.api;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Defines the open nodes shared by the workers of a parallel branch and bound.
+ * A worker takes a node, solves it and then releases it with the children it opened.
+ */
+public interface OpenNodePool {
+
+    /**
+     * Takes the next node to solve, waiting while the queue is empty but other workers are still solving nodes.
+     *
+     * @return the next node, or empty if the search is over.
+     */
+    Optional<OpenNode> take();
+
+    /**
+     * Adds the children of a taken node and marks it as solved.
+     *
+     * @param node     the taken node.
+     * @param children the nodes opened by the solved one.
+     */
+    void release(OpenNode node, List<OpenNode> children);
+
+    /**
+     * @return a copy of the queued nodes and of the taken ones not released yet, in no particular order.
+     */
+    List<OpenNode> getOpenNodes();
+
+    /**
+     * Reorders the nodes after the first incumbent, if the selection policy needs it.
+     */
+    void notifyIncumbentFound();
+
+    /**
+     * Ends the search, waking up the waiting workers.
+     */
+    void abort();
+}
@@ -0,0 +1,43 @@
+package it.unibo.api;
+
+import java.util.List;
+
+/**
+ * Defines the priority queue of the open nodes, ordered by a {@code NodeSelectionPolicy}.
+ */
+public interface OpenNodeQueue {
+
+    /**
+     * Adds a node to the queue.
+     *
+     * @param node the node to add.
+     */
+    void push(OpenNode node);
+
+    /**
+     * Removes the node to solve next.
+     *
+     * @return the node, null if the queue is empty.
+     */
+    OpenNode poll();
+
+    /**
+     * @return true if there are no open nodes.
+     */
+    boolean isEmpty();
+
+    /**
+     * @return the number of open nodes.
+     */
+    int size();
+
+    /**
+     * @return a copy of the open nodes, in no particular order.
+     */
+    List<OpenNode> getNodes();
+
+    /**
+     * Notifies that an integer solution has been found, the policies may change the order from now on.
+     */
+    void notifyIncumbentFound();
+}
@@ -0,0 +1,38 @@
+package it.unibo.api;
+
+/**
+ * Defines a presolved integer problem: a reduced model equivalent to the original one for its integer solutions,
+ * with the mapping back to the original columns (postsolve).
+ */
+public interface Presolve {
+
+    /**
+     * @return the model as it was loaded.
+     */
+    LinearModel getOriginalModel();
+
+    /**
+     * @return the reduced model, to solve instead of the original one. Note: it is meaningless if infeasible.
+     */
+    LinearModel getReducedModel();
+
+    /**
+     * @return true if the presolve has proven that the problem has no integer solution.
+     */
+    boolean isInfeasible();
+
+    /**
+     * @param reducedColumn the index of a column of the reduced model.
+     * @return the index of the same column in the original model.
+     */
+    int getOriginalColumn(int reducedColumn);
+
+    /**
+     * Maps a solution of the reduced model to the original columns, the removed columns get the value
+     * they have been fixed at.
+     *
+     * @param reducedValues the values of the columns of the reduced model.
+     * @return the values of the columns of the original model.
+     */
+    double[] postsolve(double[] reducedValues);
+}
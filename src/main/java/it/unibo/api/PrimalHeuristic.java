@@ -0,0 +1,29 @@
+package it.unibo.api;
+
+import java.util.Optional;
+
+/**
+ * Defines a primal heuristic, which searches an integer solution from the relaxation of a node,
+ * so the search can prune by an incumbent before it reaches an integer leaf.
+ * Every worker owns its own instances.
+ */
+public interface PrimalHeuristic {
+
+    /**
+     * @return the name the log reports for the incumbents found by the heuristic.
+     */
+    String getName();
+
+    /**
+     * Searches an integer solution from the last solution of the dual problem.
+     *
+     * @param dualProblem the dual problem just solved at a node. The heuristic may solve it again with its own cuts
+     *                    or objective, but it must give it back with the same cuts, objective and basis.
+     * @param model       the model of the dual problem.
+     * @param incumbent   the values of the incumbent, null if there isn't one yet.
+     * @param cutoff      the objective value a solution has to improve.
+     * @return the values of an integer solution which satisfies the rows and the bounds of the model,
+     * empty if not found.
+     */
+    Optional<double[]> search(DualProblem dualProblem, LinearModel model, double[] incumbent, double cutoff);
+}
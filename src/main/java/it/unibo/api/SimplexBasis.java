@@ -0,0 +1,34 @@
+package it.unibo.api;
+
+/**
+ * Defines a snapshot of a simplex basis, as the status of every column and row of the model.
+ */
+public interface SimplexBasis {
+
+    int BASIC = 0;
+    int AT_LOWER = 1;
+    int AT_UPPER = 2;
+    int FREE = 3;
+
+    /**
+     * @return the number of columns of the basis.
+     */
+    int getColumnsCount();
+
+    /**
+     * @return the number of rows of the basis.
+     */
+    int getRowsCount();
+
+    /**
+     * @param column the index of the column.
+     * @return the status of the column, one of {@code BASIC}, {@code AT_LOWER}, {@code AT_UPPER}, {@code FREE}.
+     */
+    int getColumnStatus(int column);
+
+    /**
+     * @param row the index of the row.
+     * @return the status of the row's slack, one of {@code BASIC}, {@code AT_LOWER}, {@code AT_UPPER}, {@code FREE}.
+     */
+    int getRowStatus(int row);
+}
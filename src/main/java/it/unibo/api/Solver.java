@@ -0,0 +1,21 @@
+package it.unibo.api;
+
+/**
+ * Defines a non-interactive entry point which solves a PLI problem by branch and bound and returns its result.
+ */
+public interface Solver {
+
+    /**
+     * @param pathToFile the path to the mps file which contains the PLI problem.
+     * @param options    the settings of the search.
+     * @return the result of the search.
+     */
+    SolverResult solve(String pathToFile, BranchAndBoundOptions options);
+
+    /**
+     * @param model   the PLI problem, already loaded.
+     * @param options the settings of the search, its model reader isn't used.
+     * @return the result of the search.
+     */
+    SolverResult solve(LinearModel model, BranchAndBoundOptions options);
+}
@@ -0,0 +1,31 @@
+package it.unibo.api;
+
+import java.util.List;
+
+/**
+ * Defines the progress of a search streamed to its client, e.g. by a service which embeds the solver.<br>
+ * The calls come from a thread of their own, in order, so a slow listener doesn't stall the workers.
+ */
+public interface SolverListener {
+
+    /**
+     * Called when a better integer solution is found.
+     *
+     * @param objectiveValue the objective value of the solution.
+     * @param values         the variables of the original model with their value in the solution.
+     * @param source         the heuristic which found it, or the branching.
+     * @param elapsedMillis  the wall clock time of the search when it has been found.
+     */
+    void onIncumbent(double objectiveValue, List<DecisionVariable> values, String source, long elapsedMillis);
+
+    /**
+     * Called when the best objective value an integer solution can have improves, at most every 100 ms
+     * and at every new incumbent.
+     *
+     * @param bestBound     the best bound.
+     * @param gap           the gap between the incumbent and the best bound, relative to the incumbent,
+     *                      {@code Double.POSITIVE_INFINITY} if there isn't an incumbent.
+     * @param elapsedMillis the wall clock time of the search when it has been measured.
+     */
+    void onBound(double bestBound, double gap, long elapsedMillis);
+}
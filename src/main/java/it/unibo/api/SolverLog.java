@@ -0,0 +1,28 @@
+package it.unibo.api;
+
+import java.util.function.Supplier;
+
+/**
+ * Defines a leveled log of the solver, shared by its workers.
+ */
+public interface SolverLog {
+
+    /**
+     * @param level the level of a message.
+     * @return true if the messages of the given level are written.
+     */
+    boolean isEnabled(LogLevel level);
+
+    /**
+     * Logs a message, which is built only if its level is enabled.
+     *
+     * @param level   the level of the message, it must not be {@code LogLevel.OFF}.
+     * @param message builds the message.
+     */
+    void log(LogLevel level, Supplier<String> message);
+
+    /**
+     * Writes the pending messages and stops the log, the later messages are written synchronously.
+     */
+    void close();
+}
@@ -0,0 +1,58 @@
+package it.unibo.api;
+
+/**
+ * Defines the metrics of a branch and bound search: the workers record into them, and they are read by pulling
+ * a snapshot at any time, also from another thread, or by the snapshots they push periodically.<br>
+ * A search records into the metrics of its options, none by default, so a search without metrics
+ * doesn't even read the clock. A metrics instance records one search at a time.
+ */
+public interface SolverMetrics {
+
+    /**
+     * Resets the metrics at the start of a search, and starts pushing the snapshots.
+     */
+    void start();
+
+    /**
+     * Stops pushing the snapshots at the end of a search, and pushes the last one.
+     */
+    void stop();
+
+    /**
+     * @param lpNanos the wall clock time of the LP solve of a node.
+     * @param pivots  the simplex pivots of the LP solve.
+     */
+    void recordSolvedNode(long lpNanos, int pivots);
+
+    /**
+     * Counts a node closed because it couldn't improve the incumbent.
+     */
+    void recordPrunedNode();
+
+    /**
+     * Counts a node closed because infeasible.
+     */
+    void recordInfeasibleNode();
+
+    /**
+     * Called by the workers between nodes, so that the sample is taken by one of them at a time.
+     *
+     * @return true if the sample interval has elapsed: the caller has to record a sample.
+     */
+    boolean isSampleDue();
+
+    /**
+     * Records the state of the search, the bounds are kept in the history when they change.
+     *
+     * @param primalBound    the objective value of the incumbent, {@code Double.NaN} if there isn't one.
+     * @param dualBound      the best objective value an integer solution can have, {@code Double.NaN} if unknown.
+     * @param openNodesCount the number of open nodes, including the ones being solved.
+     * @param treeBytes      the bytes held by the decision tree.
+     */
+    void recordSample(double primalBound, double dualBound, int openNodesCount, long treeBytes);
+
+    /**
+     * @return the metrics recorded so far.
+     */
+    MetricsSnapshot snapshot();
+}
@@ -0,0 +1,58 @@
+package it.unibo.api;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+/**
+ * Defines the outcome of a branch and bound search: its status, the best solution and the counters of the search.
+ */
+public interface SolverResult {
+
+    /**
+     * @return how the search ended.
+     */
+    SolverStatus getStatus();
+
+    /**
+     * @return the objective value of the best integer solution, empty if none has been found.
+     */
+    OptionalDouble getObjectiveValue();
+
+    /**
+     * @return the variables of the original model with their value in the best integer solution,
+     * empty if none has been found.
+     */
+    List<DecisionVariable> getValues();
+
+    /**
+     * @return the best objective value an integer solution can have.
+     */
+    double getBestBound();
+
+    /**
+     * @return the gap between the best solution and the best bound, relative to the solution,
+     * {@code Double.POSITIVE_INFINITY} if there isn't a solution.
+     */
+    double getGap();
+
+    /**
+     * @return the number of relaxations solved by all the workers.
+     */
+    long getSolvedNodesCount();
+
+    /**
+     * @return the simplex pivots of all the relaxations.
+     */
+    long getPivotsCount();
+
+    /**
+     * @return the wall clock time of the search in milliseconds.
+     */
+    long getElapsedMillis();
+
+    /**
+     * @return the metrics at the end of the search, empty if the options didn't record them.
+     */
+    Optional<MetricsSnapshot> getMetrics();
+}
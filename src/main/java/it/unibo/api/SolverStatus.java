@@ -0,0 +1,36 @@
+package it.unibo.api;
+
+/**
+ * Defines how a branch and bound search ended.
+ */
+public enum SolverStatus {
+    /**
+     * The search is over and the incumbent is optimal, within the gap.
+     */
+    OPTIMAL,
+    /**
+     * The search is over without an integer solution.
+     */
+    INFEASIBLE,
+    /**
+     * The search has found a node whose relaxation is unbounded, so the problem has no optimum:
+     * it is unbounded, unless it is infeasible.
+     */
+    UNBOUNDED,
+    /**
+     * The search has been stopped by the time limit, the incumbent is the best solution found.
+     */
+    TIME_LIMIT,
+    /**
+     * The search has been stopped by the nodes limit, the incumbent is the best solution found.
+     */
+    NODE_LIMIT,
+    /**
+     * The search has been stopped by the memory limit, the incumbent is the best solution found.
+     */
+    MEMORY_LIMIT,
+    /**
+     * The search has been stopped by its cancellation token, the incumbent is the best solution found.
+     */
+    CANCELLED
+}
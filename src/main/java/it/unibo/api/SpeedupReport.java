@@ -0,0 +1,25 @@
+package it.unibo.api;
+
+/**
+ * Defines the comparison of a parallel branch and bound with the single-threaded one on the same problems.
+ */
+public interface SpeedupReport {
+
+    /**
+     * Solves every problem with one worker and then with the parallel workers, and prints the report.
+     * Only the first call runs, the next ones do nothing.
+     */
+    void run();
+
+    /**
+     * @return the total single-threaded time divided by the total parallel time.
+     * @throws IllegalStateException if the report hasn't been run.
+     */
+    double getSpeedup();
+
+    /**
+     * @return true if both runs found the same optimal objective on every problem, within the gaps of the options.
+     * @throws IllegalStateException if the report hasn't been run.
+     */
+    boolean areObjectivesEqual();
+}
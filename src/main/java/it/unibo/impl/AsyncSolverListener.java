@@ -0,0 +1,65 @@
+package it.unibo.impl;
+
+import it.unibo.api.DecisionVariable;
+import it.unibo.api.SolverListener;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A SolverListener which calls another one by a background thread, so the workers never wait it:
+ * the calls wait in an unbounded queue and a listener which fails is reported without stopping the search.
+ */
+final class AsyncSolverListener implements SolverListener {
+    private final SolverListener listener;
+    private final ExecutorService notifier;
+
+    /**
+     * Define a listener, its thread starts at once.
+     *
+     * @param listener the listener to call.
+     */
+    AsyncSolverListener(SolverListener listener) {
+        this.listener = listener;
+        this.notifier = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "solver-listener");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onIncumbent(double objectiveValue, List<DecisionVariable> values, String source, long elapsedMillis) {
+        this.notify(() -> this.listener.onIncumbent(objectiveValue, values, source, elapsedMillis));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onBound(double bestBound, double gap, long elapsedMillis) {
+        this.notify(() -> this.listener.onBound(bestBound, gap, elapsedMillis));
+    }
+
+    /**
+     * Stops the thread once the pending calls are done, without waiting them.
+     */
+    void close() {
+        this.notifier.shutdown();
+    }
+
+    /**
+     * @param call the call to the listener to queue.
+     */
+    private void notify(Runnable call) {
+        this.notifier.execute(() -> {
+            try {
+                call.run();
+            } catch (RuntimeException e) {
+                System.err.println("Solver listener failed " + e);
+            }
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package it.unibo.impl;
+
+import it.unibo.api.LogLevel;
+import it.unibo.api.SolverLog;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Implements a SolverLog which writes by a background thread, so the solver doesn't wait the output stream.<br>
+ * The messages are built by the thread which logs them, because they read the state of the solver at that moment,
+ * and only their text waits the writer in a bounded queue: when it is full the solver waits the writer.<br>
+ * The writer runs from {@code start} to {@code close}, before it starts the messages are written synchronously,
+ * so a log which is never started doesn't leave a thread behind.
+ */
+public class AsyncSolverLogImpl implements SolverLog {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final String END = new String("END");
+
+    private final LogLevel level;
+    private final PrintStream output;
+    private final BlockingQueue<String> messages;
+    private volatile Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Define a log on {@code System.out}.
+     *
+     * @param level the most detailed level written.
+     */
+    public AsyncSolverLogImpl(LogLevel level) {
+        this(level, System.out, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Define a log, its messages are written synchronously until it is started.
+     *
+     * @param level    the most detailed level written.
+     * @param output   where the messages are written.
+     * @param capacity the maximum number of messages waiting the writer.
+     */
+    public AsyncSolverLogImpl(LogLevel level, PrintStream output, int capacity) {
+        this.level = level;
+        this.output = output;
+        this.closed = level == LogLevel.OFF;
+        this.messages = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Starts the writer, only if the level isn't {@code LogLevel.OFF} and the log isn't already started or closed.
+     * It must be closed afterwards, or the writer waits forever.
+     */
+    public synchronized void start() {
+        if (this.closed || this.writer != null) {
+            return;
+        }
+        Thread thread = new Thread(this::write, "solver-log");
+        thread.setDaemon(true);
+        thread.start();
+        this.writer = thread;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isEnabled(LogLevel level) {
+        return level != LogLevel.OFF && level.compareTo(this.level) <= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void log(LogLevel level, Supplier<String> message) {
+        if (!this.isEnabled(level)) {
+            return;
+        }
+        String text = message.get();
+        if (this.closed || this.writer == null) {
+            this.output.println(text);
+            return;
+        }
+        try {
+            this.messages.put(text);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.output.println(text);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        if (this.writer == null) {
+            this.output.flush();
+            return;
+        }
+        try {
+            this.messages.put(END);
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.output.flush();
+    }
+
+    /**
+     * Writes the messages in batches until the end of the log.
+     */
+    private void write() {
+        List<String> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(this.messages.take());
+                this.messages.drainTo(batch);
+                for (String text : batch) {
+                    if (text == END) {
+                        return;
+                    }
+                    this.output.println(text);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
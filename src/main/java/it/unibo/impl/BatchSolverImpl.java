@@ -0,0 +1,173 @@
+package it.unibo.impl;
+
+import it.unibo.api.BatchSolver;
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.Solver;
+import it.unibo.api.SolverResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Implements a BatchSolver by a fixed pool of threads, every problem is solved by one thread
+ * with its own options, which may have more workers.<br>
+ * The rows are written and flushed as soon as their problem ends, so the file is useful also if the batch
+ * is interrupted. A problem which fails, e.g. a missing or malformed model, doesn't stop the others:
+ * its row has the ERROR status and the error.
+ */
+public class BatchSolverImpl implements BatchSolver {
+    private static final String HEADER = "file,status,objective,best_bound,gap,nodes,pivots,millis,error";
+    private static final String ERROR_STATUS = "ERROR";
+
+    private final Solver solver;
+    private final Supplier<BranchAndBoundOptions> optionsFactory;
+    private final int threadsCount;
+
+    /**
+     * Define a batch.
+     *
+     * @param optionsFactory the options of every problem, a new instance for every search.
+     * @param threadsCount   the number of problems solved at the same time.
+     */
+    public BatchSolverImpl(Supplier<BranchAndBoundOptions> optionsFactory, int threadsCount) {
+        this(new SolverImpl(), optionsFactory, threadsCount);
+    }
+
+    /**
+     * Define a batch.
+     *
+     * @param solver         the solver of every problem.
+     * @param optionsFactory the options of every problem, a new instance for every search.
+     * @param threadsCount   the number of problems solved at the same time.
+     */
+    public BatchSolverImpl(Solver solver, Supplier<BranchAndBoundOptions> optionsFactory, int threadsCount) {
+        if (threadsCount < 1) {
+            throw new IllegalArgumentException("Threads count must be positive: " + threadsCount);
+        }
+        this.solver = solver;
+        this.optionsFactory = optionsFactory;
+        this.threadsCount = threadsCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<String, SolverResult> solve(List<String> pathsToFiles, Path csvFile) {
+        Map<String, SolverResult> results = new LinkedHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(this.threadsCount);
+        try (BufferedWriter out = Files.newBufferedWriter(csvFile)) {
+            out.write(HEADER);
+            out.newLine();
+            out.flush();
+            CompletionService<Row> rows = new ExecutorCompletionService<>(executor);
+            pathsToFiles.forEach(pathToFile -> rows.submit(() -> this.solve(pathToFile)));
+            for (int i = 0; i < pathsToFiles.size(); i++) {
+                Row row = rows.take().get();
+                if (row.result != null) {
+                    results.put(row.pathToFile, row.result);
+                }
+                out.write(row.toCsv());
+                out.newLine();
+                out.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write the results " + csvFile + " " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A batch thread failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Solves a problem, catching its failure.
+     *
+     * @param pathToFile the path to the mps file.
+     * @return the row of the problem.
+     */
+    private Row solve(String pathToFile) {
+        long start = System.nanoTime();
+        try {
+            return new Row(pathToFile, this.solver.solve(pathToFile, this.optionsFactory.get()), null, 0);
+        } catch (RuntimeException e) {
+            return new Row(pathToFile, null, e.toString(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * The outcome of a problem: its result, or its error.
+     */
+    private static final class Row {
+        private final String pathToFile;
+        private final SolverResult result;
+        private final String error;
+        private final long errorMillis;
+
+        /**
+         * Define a row.
+         *
+         * @param pathToFile  the path to the mps file.
+         * @param result      the result, null if the problem failed.
+         * @param error       the failure, null if the problem has been solved.
+         * @param errorMillis the time until the failure.
+         */
+        private Row(String pathToFile, SolverResult result, String error, long errorMillis) {
+            this.pathToFile = pathToFile;
+            this.result = result;
+            this.error = error;
+            this.errorMillis = errorMillis;
+        }
+
+        /**
+         * @return the row as CSV, the empty fields for the missing values.
+         */
+        private String toCsv() {
+            if (this.result == null) {
+                return String.join(",", quote(this.pathToFile), ERROR_STATUS, "", "", "", "", "", String.valueOf(this.errorMillis), quote(this.error));
+            }
+            return String.join(",",
+                    quote(this.pathToFile),
+                    this.result.getStatus().name(),
+                    this.result.getObjectiveValue().isPresent() ? String.valueOf(this.result.getObjectiveValue().getAsDouble()) : "",
+                    toCsv(this.result.getBestBound()),
+                    toCsv(this.result.getGap()),
+                    String.valueOf(this.result.getSolvedNodesCount()),
+                    String.valueOf(this.result.getPivotsCount()),
+                    String.valueOf(this.result.getElapsedMillis()),
+                    "");
+        }
+
+        /**
+         * @param value a number.
+         * @return the number, empty if it isn't finite.
+         */
+        private static String toCsv(double value) {
+            return Double.isInfinite(value) || Double.isNaN(value) || Math.abs(value) == Double.MAX_VALUE ? "" : String.valueOf(value);
+        }
+
+        /**
+         * @param field a text field.
+         * @return the field quoted if it contains a separator, a quote or a line break.
+         */
+        private static String quote(String field) {
+            if (field.contains(",") || field.contains("\"") || field.contains("\n") || field.contains("\r")) {
+                return '"' + field.replace("\"", "\"\"") + '"';
+            }
+            return field;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package it.unibo.impl;
+
+import it.unibo.api.BoundChangeStack;
+import it.unibo.api.BranchCut;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implements a BoundChangeStack over arrays which only grow, so pushes and pops don't allocate.
+ */
+public class BoundChangeStackImpl implements BoundChangeStack {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private BranchCut[] branchCuts = new BranchCut[INITIAL_CAPACITY];
+    private double[] previousLowers = new double[INITIAL_CAPACITY];
+    private double[] previousUppers = new double[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * {@inheritDoc}
+     */
+    public void push(BranchCut branchCut, double previousLower, double previousUpper) {
+        if (this.size == this.branchCuts.length) {
+            this.branchCuts = Arrays.copyOf(this.branchCuts, 2 * this.size);
+            this.previousLowers = Arrays.copyOf(this.previousLowers, 2 * this.size);
+            this.previousUppers = Arrays.copyOf(this.previousUppers, 2 * this.size);
+        }
+        this.branchCuts[this.size] = branchCut;
+        this.previousLowers[this.size] = previousLower;
+        this.previousUppers[this.size] = previousUpper;
+        this.size++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void pop() {
+        this.branchCuts[--this.size] = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BranchCut peek() {
+        return this.branchCuts[this.size - 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double peekPreviousLower() {
+        return this.previousLowers[this.size - 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double peekPreviousUpper() {
+        return this.previousUppers[this.size - 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean contains(BranchCut branchCut) {
+        for (int i = this.size - 1; i >= 0; i--) {
+            if (this.branchCuts[i].equals(branchCut)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<BranchCut> getCuts() {
+        return Arrays.asList(Arrays.copyOf(this.branchCuts, this.size));
+    }
+}
@@ -0,0 +1,355 @@
+package it.unibo.impl;
+
+import it.unibo.api.BoundPropagator;
+import it.unibo.api.BranchCut;
+import it.unibo.api.LinearModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Implements a BoundPropagator of a problem whose columns are all integer.<br>
+ * The activities of the rows are split in a finite sum and a count of infinite terms, and they are updated
+ * incrementally: a bound change only visits the rows of its column, and only the visited rows are propagated.
+ * Every bound change is saved on a trail, so a pop undoes the changes of its push in reverse order.
+ * The implied bounds are rounded to integers, the bounds too large to be meaningful are ignored
+ * and every push visits a limited number of rows.
+ */
+public class BoundPropagatorImpl implements BoundPropagator {
+    private static final int IMPLIED_CUT_ID = -2;
+    public static final double DEFAULT_FEASIBILITY_TOLERANCE = 1e-6;
+    private static final double INTEGER_TOLERANCE = 1e-6;
+    private static final double HUGE_BOUND = 1e9;
+    private static final int MIN_ROW_VISITS = 1000;
+
+    private final LinearModel model;
+    private final double feasibilityTolerance;
+    private final double[] lower;
+    private final double[] upper;
+    private final int[] rowStart;
+    private final int[] rowColumns;
+    private final double[] rowValues;
+    private final double[] minSum;
+    private final double[] maxSum;
+    private final int[] minInfinite;
+    private final int[] maxInfinite;
+    private final int[] queue;
+    private final boolean[] queued;
+    private final int maxRowVisits;
+    private int queueHead;
+    private int queueSize;
+    private int[] trailColumns = new int[64];
+    private boolean[] trailUppers = new boolean[64];
+    private double[] trailBounds = new double[64];
+    private boolean[] trailImplied = new boolean[64];
+    private int trailSize;
+    private int[] frameStarts = new int[16];
+    private boolean[] frameInfeasible = new boolean[16];
+    private int framesCount;
+    private boolean infeasible;
+
+    /**
+     * Define the propagator of a model, with its bounds and without cuts, and the default feasibility tolerance.
+     *
+     * @param model the (presolved) model, all its columns are integer.
+     */
+    public BoundPropagatorImpl(LinearModel model) {
+        this(model, DEFAULT_FEASIBILITY_TOLERANCE);
+    }
+
+    /**
+     * Define the propagator of a model, with its bounds and without cuts.
+     *
+     * @param model                the (presolved) model, all its columns are integer.
+     * @param feasibilityTolerance how much the activity of a row can exceed its bounds before it is infeasible.
+     */
+    public BoundPropagatorImpl(LinearModel model, double feasibilityTolerance) {
+        this.model = model;
+        this.feasibilityTolerance = feasibilityTolerance;
+        int columns = model.getColumnsCount();
+        int rows = model.getRowsCount();
+        this.lower = new double[columns];
+        this.upper = new double[columns];
+        for (int column = 0; column < columns; column++) {
+            this.lower[column] = model.getColumnLowerBound(column);
+            this.upper[column] = model.getColumnUpperBound(column);
+        }
+
+        this.rowStart = new int[rows + 1];
+        this.rowColumns = new int[model.getNonZerosCount()];
+        this.rowValues = new double[model.getNonZerosCount()];
+        for (int k = 0; k < this.rowColumns.length; k++) {
+            this.rowStart[model.getRowIndex(k) + 1]++;
+        }
+        for (int row = 0; row < rows; row++) {
+            this.rowStart[row + 1] += this.rowStart[row];
+        }
+        int[] next = Arrays.copyOf(this.rowStart, rows);
+        for (int column = 0; column < columns; column++) {
+            for (int k = model.getColumnStart(column); k < model.getColumnStart(column + 1); k++) {
+                int position = next[model.getRowIndex(k)]++;
+                this.rowColumns[position] = column;
+                this.rowValues[position] = model.getValue(k);
+            }
+        }
+
+        this.minSum = new double[rows];
+        this.maxSum = new double[rows];
+        this.minInfinite = new int[rows];
+        this.maxInfinite = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            for (int k = this.rowStart[row]; k < this.rowStart[row + 1]; k++) {
+                double value = this.rowValues[k];
+                int column = this.rowColumns[k];
+                double minBound = value > 0 ? this.lower[column] : this.upper[column];
+                double maxBound = value > 0 ? this.upper[column] : this.lower[column];
+                if (Double.isInfinite(minBound)) {
+                    this.minInfinite[row]++;
+                } else {
+                    this.minSum[row] += value * minBound;
+                }
+                if (Double.isInfinite(maxBound)) {
+                    this.maxInfinite[row]++;
+                } else {
+                    this.maxSum[row] += value * maxBound;
+                }
+            }
+        }
+        this.queue = new int[rows];
+        this.queued = new boolean[rows];
+        this.maxRowVisits = Math.max(MIN_ROW_VISITS, 4 * rows);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean push(BranchCut branchCut) {
+        if (this.framesCount == this.frameStarts.length) {
+            this.frameStarts = Arrays.copyOf(this.frameStarts, 2 * this.framesCount);
+            this.frameInfeasible = Arrays.copyOf(this.frameInfeasible, 2 * this.framesCount);
+        }
+        this.frameStarts[this.framesCount] = this.trailSize;
+        this.frameInfeasible[this.framesCount] = this.infeasible;
+        this.framesCount++;
+        if (this.infeasible) {
+            return false;
+        }
+
+        int column = branchCut.getDecisionVariable().getIndex();
+        double bound = branchCut.getBound();
+        if (branchCut.isUpper() ? bound < this.upper[column] : bound > this.lower[column]) {
+            this.change(column, branchCut.isUpper(), bound, false);
+            this.propagate();
+        }
+        return !this.infeasible;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void pop() {
+        this.framesCount--;
+        int start = this.frameStarts[this.framesCount];
+        while (this.trailSize > start) {
+            this.trailSize--;
+            this.setBound(this.trailColumns[this.trailSize], this.trailUppers[this.trailSize], this.trailBounds[this.trailSize]);
+        }
+        this.infeasible = this.frameInfeasible[this.framesCount];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isInfeasible() {
+        return this.infeasible;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getLowerBound(int column) {
+        return this.lower[column];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getUpperBound(int column) {
+        return this.upper[column];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<BranchCut> getImpliedCuts() {
+        List<BranchCut> cuts = new ArrayList<>();
+        BitSet lowers = new BitSet();
+        BitSet uppers = new BitSet();
+        for (int i = 0; i < this.trailSize; i++) {
+            if (!this.trailImplied[i]) {
+                continue;
+            }
+            int column = this.trailColumns[i];
+            boolean isUpper = this.trailUppers[i];
+            BitSet done = isUpper ? uppers : lowers;
+            if (done.get(column)) {
+                continue;
+            }
+            done.set(column);
+            int bound = (int) (isUpper ? this.upper[column] : this.lower[column]);
+            cuts.add(new BranchCutImpl(IMPLIED_CUT_ID, new DecisionVariableImpl(this.model.getColumnName(column), column, bound), isUpper, bound));
+        }
+        return cuts;
+    }
+
+    /**
+     * Propagates the queued rows until the queue is empty, the rows visits are over or the problem is infeasible.
+     */
+    private void propagate() {
+        int visits = 0;
+        while (this.queueSize > 0 && !this.infeasible && visits < this.maxRowVisits) {
+            int row = this.queue[this.queueHead];
+            this.queueHead = (this.queueHead + 1) % this.queue.length;
+            this.queueSize--;
+            this.queued[row] = false;
+            visits++;
+            this.propagateRow(row);
+        }
+        while (this.queueSize > 0) {
+            this.queued[this.queue[this.queueHead]] = false;
+            this.queueHead = (this.queueHead + 1) % this.queue.length;
+            this.queueSize--;
+        }
+    }
+
+    /**
+     * Checks a row by its activities and tightens the bounds of its columns.
+     *
+     * @param row the index of the row.
+     */
+    private void propagateRow(int row) {
+        double rowLower = this.model.getRowLowerBound(row);
+        double rowUpper = this.model.getRowUpperBound(row);
+        if ((this.minInfinite[row] == 0 && this.minSum[row] > rowUpper + this.feasibilityTolerance)
+                || (this.maxInfinite[row] == 0 && this.maxSum[row] < rowLower - this.feasibilityTolerance)) {
+            this.infeasible = true;
+            return;
+        }
+        for (int k = this.rowStart[row]; k < this.rowStart[row + 1] && !this.infeasible; k++) {
+            int column = this.rowColumns[k];
+            double value = this.rowValues[k];
+            if (value == 0 || this.lower[column] == this.upper[column]) {
+                continue;
+            }
+            double minOthers = this.othersActivity(this.minSum[row], this.minInfinite[row], value > 0 ? this.lower[column] : this.upper[column], value);
+            double maxOthers = this.othersActivity(this.maxSum[row], this.maxInfinite[row], value > 0 ? this.upper[column] : this.lower[column], value);
+            double fromUpper = Double.isInfinite(minOthers) ? Double.NaN : (rowUpper - minOthers) / value;
+            double fromLower = Double.isInfinite(maxOthers) ? Double.NaN : (rowLower - maxOthers) / value;
+            this.tighten(column, value > 0 ? fromLower : fromUpper, value > 0 ? fromUpper : fromLower);
+        }
+    }
+
+    /**
+     * @param sum      the finite sum of an activity of a row.
+     * @param infinite the count of the infinite terms of the activity.
+     * @param bound    the bound of a column in the activity.
+     * @param value    the coefficient of the column.
+     * @return the activity of the other terms, infinite if unbounded.
+     */
+    private double othersActivity(double sum, int infinite, double bound, double value) {
+        if (Double.isInfinite(bound)) {
+            return infinite == 1 ? sum : Double.POSITIVE_INFINITY;
+        }
+        return infinite == 0 ? sum - value * bound : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Tightens the bounds of a column to the implied ones, rounded to integers.
+     *
+     * @param column   the index of the column.
+     * @param newLower an implied lower bound, NaN if none.
+     * @param newUpper an implied upper bound, NaN if none.
+     */
+    private void tighten(int column, double newLower, double newUpper) {
+        if (!Double.isNaN(newLower) && Math.abs(newLower) < HUGE_BOUND) {
+            double rounded = Math.ceil(newLower - INTEGER_TOLERANCE);
+            if (rounded > this.lower[column]) {
+                this.change(column, false, rounded, true);
+            }
+        }
+        if (!Double.isNaN(newUpper) && Math.abs(newUpper) < HUGE_BOUND) {
+            double rounded = Math.floor(newUpper + INTEGER_TOLERANCE);
+            if (rounded < this.upper[column]) {
+                this.change(column, true, rounded, true);
+            }
+        }
+    }
+
+    /**
+     * Changes a bound saving the old one on the trail, and queues the rows of the column.
+     *
+     * @param column  the index of the column.
+     * @param isUpper true to change the upper bound.
+     * @param bound   the new bound.
+     * @param implied true if the bound is implied by a row, false if it is set by a cut.
+     */
+    private void change(int column, boolean isUpper, double bound, boolean implied) {
+        if (this.trailSize == this.trailColumns.length) {
+            int capacity = 2 * this.trailSize;
+            this.trailColumns = Arrays.copyOf(this.trailColumns, capacity);
+            this.trailUppers = Arrays.copyOf(this.trailUppers, capacity);
+            this.trailBounds = Arrays.copyOf(this.trailBounds, capacity);
+            this.trailImplied = Arrays.copyOf(this.trailImplied, capacity);
+        }
+        this.trailColumns[this.trailSize] = column;
+        this.trailUppers[this.trailSize] = isUpper;
+        this.trailBounds[this.trailSize] = isUpper ? this.upper[column] : this.lower[column];
+        this.trailImplied[this.trailSize] = implied;
+        this.trailSize++;
+        this.setBound(column, isUpper, bound);
+        if (this.lower[column] > this.upper[column]) {
+            this.infeasible = true;
+            return;
+        }
+        for (int k = this.model.getColumnStart(column); k < this.model.getColumnStart(column + 1); k++) {
+            int row = this.model.getRowIndex(k);
+            if (!this.queued[row]) {
+                this.queued[row] = true;
+                this.queue[(this.queueHead + this.queueSize) % this.queue.length] = row;
+                this.queueSize++;
+            }
+        }
+    }
+
+    /**
+     * Sets a bound of a column updating the activities of its rows.
+     *
+     * @param column  the index of the column.
+     * @param isUpper true to set the upper bound.
+     * @param bound   the new bound.
+     */
+    private void setBound(int column, boolean isUpper, double bound) {
+        double old = isUpper ? this.upper[column] : this.lower[column];
+        if (isUpper) {
+            this.upper[column] = bound;
+        } else {
+            this.lower[column] = bound;
+        }
+        for (int k = this.model.getColumnStart(column); k < this.model.getColumnStart(column + 1); k++) {
+            int row = this.model.getRowIndex(k);
+            double value = this.model.getValue(k);
+            if (value == 0) {
+                continue;
+            }
+            if ((value > 0) == isUpper) {
+                this.maxInfinite[row] += (Double.isInfinite(bound) ? 1 : 0) - (Double.isInfinite(old) ? 1 : 0);
+                this.maxSum[row] += (Double.isInfinite(bound) ? 0 : value * bound) - (Double.isInfinite(old) ? 0 : value * old);
+            } else {
+                this.minInfinite[row] += (Double.isInfinite(bound) ? 1 : 0) - (Double.isInfinite(old) ? 1 : 0);
+                this.minSum[row] += (Double.isInfinite(bound) ? 0 : value * bound) - (Double.isInfinite(old) ? 0 : value * old);
+            }
+        }
+    }
+}
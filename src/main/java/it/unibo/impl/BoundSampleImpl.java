@@ -0,0 +1,54 @@
+package it.unibo.impl;
+
+import it.unibo.api.BoundSample;
+
+/**
+ * Implements a BoundSample.
+ */
+public class BoundSampleImpl implements BoundSample {
+    private final long millis;
+    private final double primalBound;
+    private final double dualBound;
+
+    /**
+     * Define a sample.
+     *
+     * @param millis      the milliseconds from the start of the search.
+     * @param primalBound the objective value of the incumbent, {@code Double.NaN} if there isn't one.
+     * @param dualBound   the best objective value an integer solution can have, {@code Double.NaN} if unknown.
+     */
+    public BoundSampleImpl(long millis, double primalBound, double dualBound) {
+        this.millis = millis;
+        this.primalBound = primalBound;
+        this.dualBound = dualBound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getMillis() {
+        return this.millis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getPrimalBound() {
+        return this.primalBound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getDualBound() {
+        return this.dualBound;
+    }
+
+    /**
+     * @return the sample in a line.
+     */
+    @Override
+    public String toString() {
+        return this.millis + " ms: primal = " + this.primalBound + ", dual = " + this.dualBound;
+    }
+}
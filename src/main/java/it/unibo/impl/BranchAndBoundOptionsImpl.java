@@ -0,0 +1,450 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.BranchingRule;
+import it.unibo.api.CancellationToken;
+import it.unibo.api.DualProblem;
+import it.unibo.api.LinearModel;
+import it.unibo.api.LogLevel;
+import it.unibo.api.ModelReader;
+import it.unibo.api.NodeSelectionPolicy;
+import it.unibo.api.PrimalHeuristic;
+import it.unibo.api.SolverListener;
+import it.unibo.api.SolverMetrics;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Implements the BranchAndBoundOptions, by default the mps file is loaded through its binary snapshot
+ * and presolved, the cuts aren't propagated through the rows, the relaxations are solved by IBM ILOG CPLEX
+ * with the cuts as bound changes, the open nodes are solved best bound first by a single worker,
+ * the most fractional variable is cut, the heuristics run at the root and every 10 nodes,
+ * the search ends at a gap of 1e-6 or 0.01% of the incumbent, there are no limits, no cancellation,
+ * no listener and no checkpoints, only the summary is logged and no metrics are recorded.
+ */
+public class BranchAndBoundOptionsImpl implements BranchAndBoundOptions {
+    public static final int DEFAULT_HEURISTICS_FREQUENCY = 10;
+    public static final double DEFAULT_INTEGRALITY_TOLERANCE = 1e-6;
+    public static final double DEFAULT_FEASIBILITY_TOLERANCE = 1e-6;
+    public static final double DEFAULT_ABSOLUTE_GAP = 1e-6;
+    public static final double DEFAULT_RELATIVE_GAP = 1e-4;
+    public static final long DEFAULT_CHECKPOINT_MILLIS = 60_000;
+
+    private Supplier<ModelReader> modelReaderFactory;
+    private boolean presolve;
+    private boolean boundPropagation;
+    private Function<LinearModel, DualProblem> dualProblemFactory;
+    private NodeSelectionPolicy nodeSelectionPolicy;
+    private Supplier<BranchingRule> branchingRuleFactory;
+    private Supplier<List<PrimalHeuristic>> primalHeuristicsFactory;
+    private int heuristicsFrequency;
+    private double integralityTolerance;
+    private double feasibilityTolerance;
+    private double absoluteGap;
+    private double relativeGap;
+    private int workersCount;
+    private boolean deterministic;
+    private long timeLimitMillis;
+    private long nodesLimit;
+    private long memoryLimitBytes;
+    private CancellationToken cancellationToken;
+    private SolverListener listener;
+    private Path checkpointFile;
+    private long checkpointMillis;
+    private LogLevel logLevel;
+    private SolverMetrics metrics;
+
+    /**
+     * Define the default options.
+     */
+    public BranchAndBoundOptionsImpl() {
+        this.modelReaderFactory = () -> new CachedModelReaderImpl(new MappedMpsReaderImpl());
+        this.presolve = true;
+        this.boundPropagation = false;
+        this.dualProblemFactory = model -> new DualProblemImpl(model, true);
+        this.nodeSelectionPolicy = StandardNodeSelectionPolicy.BEST_FIRST;
+        this.branchingRuleFactory = MostFractionalBranchingRuleImpl::new;
+        this.primalHeuristicsFactory = () -> List.of(
+                new SimpleRoundingHeuristicImpl(),
+                new FractionalDivingHeuristicImpl(),
+                new GuidedDivingHeuristicImpl(),
+                new FeasibilityPumpHeuristicImpl()
+        );
+        this.heuristicsFrequency = DEFAULT_HEURISTICS_FREQUENCY;
+        this.integralityTolerance = DEFAULT_INTEGRALITY_TOLERANCE;
+        this.feasibilityTolerance = DEFAULT_FEASIBILITY_TOLERANCE;
+        this.absoluteGap = DEFAULT_ABSOLUTE_GAP;
+        this.relativeGap = DEFAULT_RELATIVE_GAP;
+        this.workersCount = 1;
+        this.deterministic = false;
+        this.timeLimitMillis = 0;
+        this.nodesLimit = 0;
+        this.memoryLimitBytes = 0;
+        this.cancellationToken = null;
+        this.listener = null;
+        this.checkpointFile = null;
+        this.checkpointMillis = DEFAULT_CHECKPOINT_MILLIS;
+        this.logLevel = LogLevel.SUMMARY;
+        this.metrics = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setModelReaderFactory(Supplier<ModelReader> modelReaderFactory) {
+        this.modelReaderFactory = modelReaderFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Supplier<ModelReader> getModelReaderFactory() {
+        return this.modelReaderFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setPresolve(boolean presolve) {
+        this.presolve = presolve;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isPresolve() {
+        return this.presolve;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setBoundPropagation(boolean boundPropagation) {
+        this.boundPropagation = boundPropagation;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isBoundPropagation() {
+        return this.boundPropagation;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setDualProblemFactory(Function<LinearModel, DualProblem> dualProblemFactory) {
+        this.dualProblemFactory = dualProblemFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Function<LinearModel, DualProblem> getDualProblemFactory() {
+        return this.dualProblemFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setNodeSelectionPolicy(NodeSelectionPolicy nodeSelectionPolicy) {
+        this.nodeSelectionPolicy = nodeSelectionPolicy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public NodeSelectionPolicy getNodeSelectionPolicy() {
+        return this.nodeSelectionPolicy;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setBranchingRuleFactory(Supplier<BranchingRule> branchingRuleFactory) {
+        this.branchingRuleFactory = branchingRuleFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Supplier<BranchingRule> getBranchingRuleFactory() {
+        return this.branchingRuleFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setPrimalHeuristicsFactory(Supplier<List<PrimalHeuristic>> primalHeuristicsFactory) {
+        this.primalHeuristicsFactory = primalHeuristicsFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Supplier<List<PrimalHeuristic>> getPrimalHeuristicsFactory() {
+        return this.primalHeuristicsFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setHeuristicsFrequency(int heuristicsFrequency) {
+        if (heuristicsFrequency < 0) {
+            throw new IllegalArgumentException("Heuristics frequency must not be negative: " + heuristicsFrequency);
+        }
+        this.heuristicsFrequency = heuristicsFrequency;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getHeuristicsFrequency() {
+        return this.heuristicsFrequency;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setIntegralityTolerance(double integralityTolerance) {
+        this.integralityTolerance = requireNotNegative(integralityTolerance, "Integrality tolerance");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getIntegralityTolerance() {
+        return this.integralityTolerance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setFeasibilityTolerance(double feasibilityTolerance) {
+        this.feasibilityTolerance = requireNotNegative(feasibilityTolerance, "Feasibility tolerance");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getFeasibilityTolerance() {
+        return this.feasibilityTolerance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setAbsoluteGap(double absoluteGap) {
+        this.absoluteGap = requireNotNegative(absoluteGap, "Absolute gap");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getAbsoluteGap() {
+        return this.absoluteGap;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setRelativeGap(double relativeGap) {
+        this.relativeGap = requireNotNegative(relativeGap, "Relative gap");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getRelativeGap() {
+        return this.relativeGap;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setWorkersCount(int workersCount) {
+        if (workersCount < 1) {
+            throw new IllegalArgumentException("Workers count must be positive: " + workersCount);
+        }
+        this.workersCount = workersCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getWorkersCount() {
+        return this.workersCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isDeterministic() {
+        return this.deterministic;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setTimeLimitMillis(long timeLimitMillis) {
+        this.timeLimitMillis = requireNotNegative(timeLimitMillis, "Time limit");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getTimeLimitMillis() {
+        return this.timeLimitMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setNodesLimit(long nodesLimit) {
+        this.nodesLimit = requireNotNegative(nodesLimit, "Nodes limit");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getNodesLimit() {
+        return this.nodesLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setMemoryLimitBytes(long memoryLimitBytes) {
+        this.memoryLimitBytes = requireNotNegative(memoryLimitBytes, "Memory limit");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getMemoryLimitBytes() {
+        return this.memoryLimitBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public CancellationToken getCancellationToken() {
+        return this.cancellationToken;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setListener(SolverListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public SolverListener getListener() {
+        return this.listener;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setCheckpointFile(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Path getCheckpointFile() {
+        return this.checkpointFile;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setCheckpointMillis(long checkpointMillis) {
+        if (checkpointMillis <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + checkpointMillis);
+        }
+        this.checkpointMillis = checkpointMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getCheckpointMillis() {
+        return this.checkpointMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setLogLevel(LogLevel logLevel) {
+        this.logLevel = logLevel;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public LogLevel getLogLevel() {
+        return this.logLevel;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public SolverMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * @param value the value of a limit.
+     * @param name  the name of the limit.
+     * @return the value.
+     * @throws IllegalArgumentException if the value is negative.
+     */
+    private static long requireNotNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative: " + value);
+        }
+        return value;
+    }
+
+    /**
+     * @param value the value of a tolerance.
+     * @param name  the name of the tolerance.
+     * @return the value.
+     * @throws IllegalArgumentException if the value is negative or not a number.
+     */
+    private static double requireNotNegative(double value, String name) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException(name + " must not be negative: " + value);
+        }
+        return value;
+    }
+}
@@ -2,185 +2,1539 @@ package it.unibo.impl;
 
 import it.unibo.api.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.function.Supplier;
 
 /**
  * Implements an instance of BranchAndBoundProblem.
+ * The open nodes are solved by one or more workers, each one with its own dual problem,
+ * which share the node pool and the incumbent.<br>
+ * A worker solves a node and then commits it: the incumbent is offered and the children get their ids.
+ * In the deterministic mode the workers solve a round of nodes in parallel, and the round is committed
+ * in the order the nodes were taken, so the tree doesn't depend on the threads timing.<br>
+ * The limits and the cancellation are checked before every node, or round, is taken, and during the relaxations:
+ * when one is reached the workers end, a node whose relaxation has been interrupted is opened again,
+ * and the search returns the incumbent, with the bound of the nodes left open.<br>
+ * The new incumbents and the best bound improvements are given to the listener by a thread of its own.<br>
+ * With a checkpoint file, the workers take a snapshot of the search between the nodes, or the rounds, when one is due,
+ * and a thread of its own writes it; a search whose checkpoint file exists resumes from it.
  */
 public class BranchAndBoundProblemImpl implements BranchAndBoundProblem {
-    private static final double HALF_INTEGER = 0.5;
+    private final BranchAndBoundOptions options;
+    private static final String BRANCHING_SOURCE = "branching";
+    private static final double MIN_GAP_DENOMINATOR = 1e-10;
+    private static final long BOUND_CHECK_NANOS = 100_000_000L;
 
-    private final DualProblem dualProblemResolver;
-    private boolean minimumProblem;
-    private int bestSolution;
-    private DecisionTree decisionTree;
-    private Optional<DecisionTree> solution;
-
-    private int branchCutsCount = 0;
+    private final Presolve presolve;
+    private final boolean minimumProblem;
+    private final boolean integerObjective;
+    private final DoubleAccumulator gapBound;
+    private final List<String> columnNames;
+    private final DecisionTree decisionTree;
+    private final OpenNodeQueue queue;
+    private final OpenNodePool openNodes;
+    private final BranchingRule branchingRule;
+    private final AsyncSolverLogImpl log;
+    private final SolverMetrics metrics;
+    private final AtomicReference<Incumbent> incumbent;
+    private final AtomicInteger branchCutsCount = new AtomicInteger();
+    private final AtomicLong solvedNodesCount = new AtomicLong();
+    private final AtomicLong propagatedNodesCount = new AtomicLong();
+    private final AtomicLong localFixingsCount = new AtomicLong();
+    private final List<BranchCut> globalFixings = new CopyOnWriteArrayList<>();
+    private double[] globalLower;
+    private double[] globalUpper;
+    private RootRelaxation rootRelaxation;
+    private final AtomicLong pivotsCount = new AtomicLong();
+    private final Map<String, AtomicInteger> incumbentsBySource = new ConcurrentSkipListMap<>();
+    private long startNanos;
+    private long deadlineNanos;
+    private HeapLimit heapLimit;
+    private final AtomicReference<SolverStatus> stopStatus = new AtomicReference<>();
+    private AsyncSolverListener listener;
+    private final Object boundLock = new Object();
+    private double reportedBound;
+    private long nextBoundCheckNanos;
+    private long elapsedMillis;
+    private final long modelHash;
+    private ExecutorService checkpointWriter;
+    private final Object checkpointLock = new Object();
+    private long nextCheckpointNanos;
+    private boolean writingCheckpoint;
+    private MetricsSnapshot finalMetrics;
+    private final Object solveLock = new Object();
+    private SolverResult result;
 
     /**
-     * Resolve a PLI by Branch and Bound.
+     * Define a PLI to resolve by Branch and Bound with the default options.
      *
      * @param pathToFile the path to the mps file which contains the PLI problem.
      */
     public BranchAndBoundProblemImpl(String pathToFile) {
-        this.dualProblemResolver = new DualProblemImpl(pathToFile);
-        this.minimumProblem = this.dualProblemResolver.isMinimumProblem();
-        this.bestSolution = this.minimumProblem ? Integer.MAX_VALUE : Integer.MIN_VALUE;
-        this.solution = Optional.empty();
-        this.resolve();
-        this.printSolution();
-        this.dualProblemResolver.endDualProblem();
+        this(pathToFile, new BranchAndBoundOptionsImpl());
+    }
+
+    /**
+     * Define a PLI to resolve by Branch and Bound.
+     *
+     * @param pathToFile the path to the mps file which contains the PLI problem.
+     * @param options    the settings of the search, e.g. the backend which solves the relaxations.
+     */
+    public BranchAndBoundProblemImpl(String pathToFile, BranchAndBoundOptions options) {
+        this(null, pathToFile, options);
+    }
+
+    /**
+     * Define a PLI to resolve by Branch and Bound.
+     *
+     * @param model   the PLI problem, already loaded.
+     * @param options the settings of the search, its model reader isn't used.
+     */
+    public BranchAndBoundProblemImpl(LinearModel model, BranchAndBoundOptions options) {
+        this(model, null, options);
+    }
+
+    /**
+     * Loads the model, if not given, presolves it and opens the root node.
+     *
+     * @param loadedModel the PLI problem, null to read it from the file.
+     * @param pathToFile  the path to the mps file which contains the PLI problem, used if the model isn't given.
+     * @param options     the settings of the search.
+     */
+    private BranchAndBoundProblemImpl(LinearModel loadedModel, String pathToFile, BranchAndBoundOptions options) {
+        this.options = options;
+        this.log = new AsyncSolverLogImpl(options.getLogLevel());
+        this.metrics = options.getMetrics();
+        LinearModel model = loadedModel;
+        if (model == null) {
+            ModelReader reader = options.getModelReaderFactory().get();
+            model = reader.read(pathToFile);
+            reader.getLastLoadReport().ifPresent(report -> this.log.log(LogLevel.SUMMARY, () -> "Loaded " + pathToFile + ": " + report));
+        }
+        this.presolve = new PresolveImpl(model, options.isPresolve());
+        if (options.isPresolve()) {
+            this.log.log(LogLevel.SUMMARY, () -> "Presolve: " + this.presolve);
+        }
+        LinearModel reducedModel = this.presolve.getReducedModel();
+        this.globalLower = new double[reducedModel.getColumnsCount()];
+        this.globalUpper = new double[reducedModel.getColumnsCount()];
+        for (int column = 0; column < reducedModel.getColumnsCount(); column++) {
+            this.globalLower[column] = reducedModel.getColumnLowerBound(column);
+            this.globalUpper[column] = reducedModel.getColumnUpperBound(column);
+        }
+        this.minimumProblem = model.isMinimumProblem();
+        this.integerObjective = isObjectiveInteger(reducedModel);
+        this.gapBound = new DoubleAccumulator(this.minimumProblem ? Math::min : Math::max,
+                this.minimumProblem ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
+        this.columnNames = new ArrayList<>(model.getColumnsCount());
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            this.columnNames.add(model.getColumnName(column));
+        }
+        this.decisionTree = new DecisionTreeImpl(this.columnNames);
+        this.incumbent = new AtomicReference<>(new Incumbent(this.minimumProblem ? Double.MAX_VALUE : -Double.MAX_VALUE, Integer.MAX_VALUE, null, List.of(), null, null));
+        this.queue = new OpenNodeQueueImpl(options.getNodeSelectionPolicy(), this.minimumProblem);
+        if (!this.presolve.isInfeasible()) {
+            this.queue.push(new OpenNodeImpl(
+                    DecisionTree.ROOT_ID,
+                    null,
+                    null,
+                    this.minimumProblem ? -Double.MAX_VALUE : Double.MAX_VALUE,
+                    this.minimumProblem ? -Double.MAX_VALUE : Double.MAX_VALUE,
+                    null
+            ));
+        }
+        this.openNodes = new OpenNodePoolImpl(this.queue);
+        this.branchingRule = options.getBranchingRuleFactory().get();
+        this.modelHash = options.getCheckpointFile() != null ? Checkpoint.hash(reducedModel) : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public SolverResult solve() {
+        synchronized (this.solveLock) {
+            if (this.result == null) {
+                this.result = this.search();
+            }
+            return this.result;
+        }
+    }
+
+    /**
+     * Runs the search by the workers, and logs its solution.
+     *
+     * @return the result of the search.
+     */
+    private SolverResult search() {
+        if (this.options.getListener() != null) {
+            this.listener = new AsyncSolverListener(this.options.getListener());
+            this.reportedBound = this.minimumProblem ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        this.log.start();
+        try {
+            Worker worker = new Worker(this.options.getDualProblemFactory().apply(this.presolve.getReducedModel()));
+            this.log.log(LogLevel.VERBOSE, worker.dualProblemResolver::toString);
+            this.resolve(worker);
+            this.logSolution();
+        } finally {
+            this.log.close();
+            if (this.listener != null) {
+                this.listener.close();
+            }
+        }
+        Incumbent best = this.incumbent.get();
+        return new SolverResultImpl(
+                this.getStatus(),
+                best.decisionTree == null ? OptionalDouble.empty() : OptionalDouble.of(best.value),
+                best.values,
+                this.getBestBound(),
+                this.getGap(),
+                this.solvedNodesCount.get(),
+                this.pivotsCount.get(),
+                this.elapsedMillis,
+                this.finalMetrics
+        );
+    }
+
+    /**
+     * @return unbounded if a relaxation has been unbounded, the limit which stopped the search if it left open nodes
+     * which can improve the incumbent, otherwise optimal or infeasible.
+     */
+    private SolverStatus getStatus() {
+        SolverStatus limit = this.stopStatus.get();
+        if (limit == SolverStatus.UNBOUNDED) {
+            return limit;
+        }
+        if (limit != null && !this.openNodes.getOpenNodes().stream().allMatch(node -> this.isBoundWorse(node.getParentBound()))) {
+            return limit;
+        }
+        return this.incumbent.get().decisionTree == null ? SolverStatus.INFEASIBLE : SolverStatus.OPTIMAL;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Optional<DecisionTree> getSolution() {
+        return Optional.ofNullable(this.incumbent.get().decisionTree);
     }
 
     /**
-     * Prints by {@code System.out the solution id present}
+     * {@inheritDoc}
      */
-    private void printSolution() {
-        System.out.println("\n\n||| SOLUTION |||");
-        if (this.solution.isPresent()) {
-            System.out.println(this.solution.get());
-        } else {
-            System.out.println("INTEGER SOLUTION NOT FOUND");
+    public long getSolvedNodesCount() {
+        return this.solvedNodesCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getBestBound() {
+        if (this.stopStatus.get() == SolverStatus.UNBOUNDED) {
+            return this.minimumProblem ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
         }
+        return this.getBestBound(this.getOpenBound(this.openNodes.getOpenNodes()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getGap() {
+        return this.getGap(this.getBestBound());
+    }
+
+    /**
+     * @param bestBound the best bound.
+     * @return the gap between the incumbent and the best bound, relative to the incumbent,
+     * {@code Double.POSITIVE_INFINITY} if there isn't an incumbent.
+     */
+    private double getGap(double bestBound) {
+        Incumbent best = this.incumbent.get();
+        if (best.decisionTree == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.abs(best.value - bestBound) / Math.max(MIN_GAP_DENOMINATOR, Math.abs(best.value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Optional<MetricsSnapshot> getMetrics() {
+        return Optional.ofNullable(this.finalMetrics);
+    }
+
+    /**
+     * @param nodes the open nodes.
+     * @return the best parent bound of the nodes, infinite if there are none.
+     */
+    private double getOpenBound(List<OpenNode> nodes) {
+        double openBound = this.minimumProblem ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        for (OpenNode node : nodes) {
+            openBound = this.minimumProblem ? Math.min(openBound, node.getParentBound()) : Math.max(openBound, node.getParentBound());
+        }
+        return openBound;
+    }
+
+    /**
+     * @param openBound the best parent bound of the open nodes, infinite if there are none.
+     * @return the best objective value an integer solution can have: the best of the open nodes, of the nodes pruned
+     * by the gap and of the incumbent.
+     */
+    private double getBestBound(double openBound) {
+        Incumbent best = this.incumbent.get();
+        double bound = this.roundBound(this.minimumProblem ? Math.min(openBound, this.gapBound.get()) : Math.max(openBound, this.gapBound.get()));
+        return this.minimumProblem ? Math.min(bound, best.value) : Math.max(bound, best.value);
+    }
+
+    /**
+     * Records the bounds, the open nodes and the memory of the tree if the metrics are enabled and a sample is due.
+     * The open nodes are copied under the lock of the pool, so it is taken between nodes.
+     *
+     * @param force true to record the sample even if it isn't due, e.g. at a new incumbent.
+     */
+    private void sampleMetrics(boolean force) {
+        if (this.metrics == null || !(this.metrics.isSampleDue() || force)) {
+            return;
+        }
+        List<OpenNode> nodes = this.openNodes.getOpenNodes();
+        Incumbent best = this.incumbent.get();
+        double bound = this.getBestBound(this.getOpenBound(nodes));
+        this.metrics.recordSample(
+                best.decisionTree == null ? Double.NaN : best.value,
+                Double.isInfinite(bound) || Math.abs(bound) == Double.MAX_VALUE ? Double.NaN : bound,
+                nodes.size(),
+                this.decisionTree.getMemoryBytes()
+        );
+    }
+
+    /**
+     * Gives the best bound to the listener if it has improved, at most every 100 ms unless forced.
+     * The open nodes are copied under the lock of the pool, so it is taken between nodes.
+     *
+     * @param force true to check the bound even if a check isn't due, e.g. at a new incumbent.
+     *              The committed nodes must be back in the pool, so it is called after their release.
+     */
+    private void publishBound(boolean force) {
+        if (this.listener == null) {
+            return;
+        }
+        synchronized (this.boundLock) {
+            long now = System.nanoTime();
+            if (!force && now - this.nextBoundCheckNanos < 0) {
+                return;
+            }
+            this.nextBoundCheckNanos = now + BOUND_CHECK_NANOS;
+            double bound = this.getBestBound();
+            boolean improved = this.minimumProblem ? bound > this.reportedBound : bound < this.reportedBound;
+            if (!improved || Double.isInfinite(bound) || Math.abs(bound) == Double.MAX_VALUE) {
+                return;
+            }
+            this.reportedBound = bound;
+            this.listener.onBound(bound, this.getGap(bound), (now - this.startNanos) / 1_000_000);
+        }
+    }
+
+    /**
+     * Counts a node closed by the incumbent, if the metrics are enabled.
+     */
+    private void recordPrunedNode() {
+        if (this.metrics != null) {
+            this.metrics.recordPrunedNode();
+        }
+    }
+
+    /**
+     * Checks the limits of the search and its cancellation, cheaply enough to run before every node.
+     * The nodes limit is checked only between the nodes, so in the deterministic mode a round isn't interrupted
+     * by the nodes of the other workers.
+     *
+     * @return true if the search has been stopped, by this or another worker.
+     */
+    private boolean isSearchStopped() {
+        long nodesLimit = this.options.getNodesLimit();
+        if (nodesLimit > 0 && this.stopStatus.get() == null && this.solvedNodesCount.get() >= nodesLimit) {
+            this.stop(SolverStatus.NODE_LIMIT);
+        }
+        return this.isInterrupted();
+    }
+
+    /**
+     * Checks the cancellation, the time and the memory limits, cheaply enough to run during the relaxations:
+     * the token and the memory limit read a flag, the time limit reads the clock.
+     *
+     * @return true if the search has been stopped, by this or another worker.
+     */
+    private boolean isInterrupted() {
+        if (this.stopStatus.get() != null) {
+            return true;
+        }
+        CancellationToken cancellationToken = this.options.getCancellationToken();
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            this.stop(SolverStatus.CANCELLED);
+        } else if (this.options.getTimeLimitMillis() > 0 && System.nanoTime() - this.deadlineNanos >= 0) {
+            this.stop(SolverStatus.TIME_LIMIT);
+        } else if (this.heapLimit != null && this.heapLimit.isOver()) {
+            this.stop(SolverStatus.MEMORY_LIMIT);
+        }
+        return this.stopStatus.get() != null;
+    }
+
+    /**
+     * Stops the search, unless it has been already stopped: the first reason is kept as the status
+     * and it ends the pool, so the waiting workers end too.
+     *
+     * @param status why the search stops.
+     */
+    private void stop(SolverStatus status) {
+        if (this.stopStatus.compareAndSet(null, status)) {
+            this.log.log(LogLevel.SUMMARY, () -> "Stopped by " + status + " after " + this.solvedNodesCount.get() + " nodes, "
+                    + (System.nanoTime() - this.startNanos) / 1_000_000 + " ms");
+            this.openNodes.abort();
+        }
+    }
+
+    /**
+     * Logs the solution, if present, and the counters of the search.
+     */
+    private void logSolution() {
+        this.log.log(LogLevel.SUMMARY, () -> {
+            long solvedNodes = this.solvedNodesCount.get();
+            long pivots = this.pivotsCount.get();
+            Optional<DecisionTree> solution = this.getSolution();
+            Incumbent best = this.incumbent.get();
+            return "\n\n||| SOLUTION |||\n" +
+                    (solution.isPresent() ? solution.get() : "INTEGER SOLUTION NOT FOUND") +
+                    (solution.isPresent() ? "\n\nIncumbent found by " + best.source + " at node " + best.id
+                            + " after " + best.solvedNodes + " nodes, " + best.millis + " ms" : "") +
+                    "\nIncumbents by source = " + this.incumbentsBySource +
+                    (solution.isPresent() ? "\nBest bound = " + this.getBestBound() + ", gap = " + 100 * this.getGap() + "%" : "") +
+                    "\nStatus = " + this.getStatus() +
+                    "\n\nSolved nodes = " + solvedNodes +
+                    "\nNodes pruned by propagation = " + this.propagatedNodesCount.get() +
+                    "\nReduced cost fixings = " + this.localFixingsCount.get() + " local, " + this.globalFixings.size() + " global" +
+                    "\nSimplex pivots = " + pivots +
+                    "\nAverage pivots per node = " + (solvedNodes == 0 ? 0 : (double) pivots / solvedNodes) +
+                    "\nWorkers = " + this.options.getWorkersCount() + (this.options.isDeterministic() ? " (deterministic)" : "") +
+                    "\nElapsed time = " + this.elapsedMillis + " ms";
+        });
     }
 
     /**
      * Solves the problem by branch and bound algorithm, searching for an integer solution.<br>
-     * It works recursively as follows:<br>
-     * 1) Solves the current problem.<br>
-     * 2) It stops if <br>
+     * Every worker works iteratively as follows:<br>
+     * 1) Takes the next open node from the pool, skipping it if its parent bound is worse than the best bound.<br>
+     * 2) Solves the node's problem.<br>
+     * 3) It closes the node if <br>
      * - solution is integer and is better than current best bound.<br>
      * - all solutions are impossible.<br>
-     * 3) The recursive pass consists on creating new problems from the current by adding cuts
-     * that delete the current not integer solution.
-     * And then calls itself to the new problems.<br><br>
+     * 4) Otherwise it opens two new nodes, by adding cuts that delete the current not integer solution.<br><br>
      * Note: <br>
-     * The next decision variable 'x' to cut is chose by which<br>(k = x % 1) is closer to 0.5.<br>
-     * The next problem to solve is chose by best bound first.
+     * The next decision variable 'x' to cut is chose by the {@code BranchingRule}, by default by which<br>(k = x % 1) is closer to 0.5.<br>
+     * The rule learns from the objective degradation of every solved child, it is committed with the node.
+     * The bounds of the children solved by the rule as trials are kept, so a child already worse than the incumbent
+     * isn't opened.<br>
+     * The next node to solve is chose by the {@code NodeSelectionPolicy}, every node stores only its cut
+     * so the deep trees don't grow the stack.<br>
      * The algorithm stores the problems in a binary tree of type {@code DecisionTree}<br>
+     * Every child starts from the optimal basis of its parent, so it needs only the pivots for the new cut.<br>
+     * The calling thread is the first worker, the others build their own dual problem from the presolved model
+     * in a pool of threads.<br>
+     * A resumed search goes on from the nodes of its checkpoint, its elapsed time includes the one before
+     * the checkpoint, while the time limit counts from this run. When the search ends, but not by a failure,
+     * its last checkpoint is written before returning.
+     *
+     * @param worker the worker of the calling thread.
+     */
+    private void resolve(Worker worker) {
+        this.startNanos = System.nanoTime();
+        this.deadlineNanos = this.startNanos + this.options.getTimeLimitMillis() * 1_000_000;
+        if (this.options.getMemoryLimitBytes() > 0) {
+            this.heapLimit = new HeapLimit(this.options.getMemoryLimitBytes());
+        }
+        if (this.options.getCheckpointFile() != null) {
+            this.resume(this.options.getCheckpointFile());
+            this.nextCheckpointNanos = System.nanoTime() + this.options.getCheckpointMillis() * 1_000_000;
+            this.checkpointWriter = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "solver-checkpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        int workersCount = this.options.getWorkersCount();
+        ExecutorService executor = workersCount > 1 ? Executors.newFixedThreadPool(workersCount - 1) : null;
+        if (this.metrics != null) {
+            this.metrics.start();
+        }
+        try {
+            if (this.options.isDeterministic()) {
+                this.resolveInRounds(worker, executor);
+            } else {
+                this.resolveAsynchronously(worker, executor);
+            }
+            if (this.checkpointWriter != null) {
+                Checkpoint last = this.takeCheckpoint();
+                this.checkpointWriter.execute(() -> this.writeCheckpoint(last));
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            if (this.metrics != null) {
+                this.sampleMetrics(true);
+                this.metrics.stop();
+                this.finalMetrics = this.metrics.snapshot();
+            }
+            this.publishBound(true);
+            if (this.checkpointWriter != null) {
+                this.closeCheckpointWriter();
+            }
+            if (this.heapLimit != null) {
+                this.heapLimit.close();
+            }
+        }
+        this.elapsedMillis = (System.nanoTime() - this.startNanos) / 1_000_000;
+    }
+
+    /**
+     * Restores the search from its checkpoint file, if it exists: the open nodes replace the root, with their ancestors
+     * in the decision tree, and the incumbent, the global fixings, the root relaxation, the state of the branching rule
+     * and the counters are the ones of the checkpoint. The bases of the nodes aren't saved, so every restored node
+     * solves its relaxation from the basis of the last node solved by its worker.<br>
+     * A checkpoint which can't be read, e.g. of another model, is reported and the search starts from the root.
+     *
+     * @param file the checkpoint file.
      */
-    private void resolve() {
-        if (!this.dualProblemResolver.solve()) {
-            this.decisionTree.setBranchProblemSolution(this.minimumProblem ? Double.MAX_VALUE : Double.MIN_VALUE);
-            this.decisionTree.setCurrentValues(this.dualProblemResolver.getCurrentValues());
+    private void resume(Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        Checkpoint checkpoint;
+        try {
+            checkpoint = Checkpoint.read(file, this.presolve.getReducedModel(), this.modelHash);
+        } catch (IOException e) {
+            System.err.println("Ignoring the unreadable checkpoint " + file + " " + e);
             return;
         }
+        while (!this.queue.isEmpty()) {
+            this.queue.poll();
+        }
+        for (OpenNode openNode : checkpoint.openNodes) {
+            List<OpenNode> path = new ArrayList<>();
+            for (OpenNode node = openNode; node.getBranchCut() != null && this.decisionTree.findById(node.getId()).isEmpty(); node = node.getParent()) {
+                path.add(node);
+            }
+            for (int i = path.size() - 1; i >= 0; i--) {
+                OpenNode node = path.get(i);
+                BranchCut cut = node.getBranchCut();
+                DecisionTree nodeTree = this.decisionTree.findById(node.getParent().getId()).orElseThrow()
+                        .addChild(node.getId(), new BranchCutImpl(node.getId(), this.toOriginal(cut.getDecisionVariable()), cut.isUpper(), cut.getBound()))
+                        .orElseThrow();
+                Double solution = checkpoint.solutions.get(node.getId());
+                if (solution != null) {
+                    nodeTree.setBranchProblemSolution(solution);
+                }
+            }
+            this.queue.push(openNode);
+        }
+        Double rootSolution = checkpoint.solutions.get(DecisionTree.ROOT_ID);
+        if (rootSolution != null) {
+            this.decisionTree.setBranchProblemSolution(rootSolution);
+        }
+        if (checkpoint.incumbentValues != null) {
+            DecisionTree solutionTree = new DecisionTreeImpl(this.columnNames);
+            solutionTree.setBranchProblemSolution(checkpoint.incumbentValue);
+            solutionTree.setCurrentValues(this.presolve.postsolve(checkpoint.incumbentValues));
+            Incumbent restored = new Incumbent(checkpoint.incumbentValue, checkpoint.incumbentId, solutionTree, solutionTree.getCurrentValues(),
+                    checkpoint.incumbentValues, checkpoint.incumbentSource, checkpoint.incumbentSolvedNodes, checkpoint.incumbentMillis);
+            this.incumbent.set(restored);
+            this.openNodes.notifyIncumbentFound();
+            if (this.listener != null) {
+                this.listener.onIncumbent(checkpoint.incumbentValue, restored.values, checkpoint.incumbentSource,
+                        checkpoint.incumbentMillis);
+            }
+        }
+        for (BranchCut fixing : checkpoint.globalFixings) {
+            int column = fixing.getDecisionVariable().getIndex();
+            if (fixing.isUpper()) {
+                this.globalUpper[column] = fixing.getBound();
+            } else {
+                this.globalLower[column] = fixing.getBound();
+            }
+        }
+        this.globalFixings.addAll(checkpoint.globalFixings);
+        if (checkpoint.rootValues != null) {
+            this.setRootRelaxation(new RootRelaxation(checkpoint.rootValues, checkpoint.rootReducedCosts, checkpoint.rootBound));
+        }
+        this.gapBound.accumulate(checkpoint.gapBound);
+        this.solvedNodesCount.set(checkpoint.solvedNodesCount);
+        this.pivotsCount.set(checkpoint.pivotsCount);
+        this.propagatedNodesCount.set(checkpoint.propagatedNodesCount);
+        this.localFixingsCount.set(checkpoint.localFixingsCount);
+        this.branchCutsCount.set(checkpoint.branchCutsCount);
+        checkpoint.incumbentsBySource.forEach((source, count) -> this.incumbentsBySource.put(source, new AtomicInteger(count)));
+        if (checkpoint.branchingState.length > 0) {
+            try {
+                this.branchingRule.restoreState(checkpoint.branchingState);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring the branching rule state of the checkpoint " + file + " " + e);
+            }
+        }
+        this.startNanos -= checkpoint.elapsedMillis * 1_000_000;
+        this.log.log(LogLevel.SUMMARY, () -> "Resumed from " + file + ": " + checkpoint.openNodes.size() + " open nodes, "
+                + (checkpoint.incumbentValues != null ? "incumbent = " + checkpoint.incumbentValue : "no incumbent")
+                + ", after " + checkpoint.solvedNodesCount + " nodes, " + checkpoint.elapsedMillis + " ms");
+    }
 
-        if (this.decisionTree == null) {
-            this.decisionTree = new DecisionTreeImpl(
-                    DecisionTreeImpl.ROOT_ID,
-                    this.dualProblemResolver.getCurrentValues(),
-                    this.dualProblemResolver.getCurrentCuts(),
-                    this.dualProblemResolver.getCurrentSolution()
-            );
-        } else {
-            this.decisionTree.setBranchProblemSolution(this.dualProblemResolver.getCurrentSolution());
-            this.decisionTree.setCurrentValues(this.dualProblemResolver.getCurrentValues());
+    /**
+     * Takes a snapshot of the search if a checkpoint is due and the last one has been written,
+     * and gives it to the writer thread.
+     * The open nodes are copied under the lock of the pool, so it is taken between nodes, and in the deterministic mode
+     * between rounds.
+     */
+    private void checkpointIfDue() {
+        if (this.checkpointWriter == null) {
+            return;
+        }
+        Checkpoint checkpoint;
+        synchronized (this.checkpointLock) {
+            long now = System.nanoTime();
+            if (this.writingCheckpoint || now - this.nextCheckpointNanos < 0) {
+                return;
+            }
+            this.nextCheckpointNanos = now + this.options.getCheckpointMillis() * 1_000_000;
+            this.writingCheckpoint = true;
+            checkpoint = this.takeCheckpoint();
         }
+        this.checkpointWriter.execute(() -> {
+            try {
+                this.writeCheckpoint(checkpoint);
+            } finally {
+                synchronized (this.checkpointLock) {
+                    this.writingCheckpoint = false;
+                }
+            }
+        });
+    }
 
-        if (isCurrentSolutionBrakingTheBranch()) {
-            if (isCurrentSolutionIsInteger() && !isCurrentSolutionBoundWorse()) {
-                this.bestSolution = (int) this.dualProblemResolver.getCurrentSolution();
-                this.solution = Optional.of(this.decisionTree);
+    /**
+     * The nodes don't change once they are opened, so the snapshot copies only the references to the open nodes,
+     * and the state of the branching rule. The open nodes are read first, so the incumbent and the counters
+     * are at least as recent as them.
+     *
+     * @return a snapshot of the search.
+     */
+    private Checkpoint takeCheckpoint() {
+        Checkpoint checkpoint = new Checkpoint(this.modelHash);
+        checkpoint.openNodes = this.openNodes.getOpenNodes();
+        Incumbent best = this.incumbent.get();
+        if (best.decisionTree != null) {
+            checkpoint.incumbentValue = best.value;
+            checkpoint.incumbentId = best.id;
+            checkpoint.incumbentSource = best.source;
+            checkpoint.incumbentValues = best.reducedValues;
+            checkpoint.incumbentSolvedNodes = best.solvedNodes;
+            checkpoint.incumbentMillis = best.millis;
+        }
+        checkpoint.globalFixings = new ArrayList<>(this.globalFixings);
+        RootRelaxation root = this.getRootRelaxation();
+        if (root != null) {
+            checkpoint.rootValues = root.values;
+            checkpoint.rootReducedCosts = root.reducedCosts;
+            checkpoint.rootBound = root.bound;
+        }
+        checkpoint.gapBound = this.gapBound.get();
+        checkpoint.solvedNodesCount = this.solvedNodesCount.get();
+        checkpoint.pivotsCount = this.pivotsCount.get();
+        checkpoint.propagatedNodesCount = this.propagatedNodesCount.get();
+        checkpoint.localFixingsCount = this.localFixingsCount.get();
+        checkpoint.branchCutsCount = this.branchCutsCount.get();
+        checkpoint.elapsedMillis = (System.nanoTime() - this.startNanos) / 1_000_000;
+        this.incumbentsBySource.forEach((source, count) -> checkpoint.incumbentsBySource.put(source, count.get()));
+        checkpoint.branchingState = this.branchingRule.saveState();
+        return checkpoint;
+    }
+
+    /**
+     * Reads the relaxation solutions of the ancestors of the open nodes from the decision tree, and writes the snapshot.
+     * A checkpoint which can't be written is reported, and the search goes on.
+     *
+     * @param checkpoint the snapshot of the search.
+     */
+    private void writeCheckpoint(Checkpoint checkpoint) {
+        for (OpenNode openNode : checkpoint.openNodes) {
+            for (OpenNode node = openNode.getParent(); node != null && !checkpoint.solutions.containsKey(node.getId()); node = node.getParent()) {
+                checkpoint.solutions.put(node.getId(), this.decisionTree.findById(node.getId()).orElseThrow().getBranchProblemSolution());
             }
-            return;
         }
+        Path file = this.options.getCheckpointFile();
+        try {
+            checkpoint.write(file);
+            this.log.log(LogLevel.NODE, () -> "Checkpoint written to " + file + ": " + checkpoint.openNodes.size() + " open nodes");
+        } catch (IOException e) {
+            System.err.println("Failed to write the checkpoint " + file + " " + e);
+        }
+    }
 
-        Optional<DecisionVariable> decisionVariable = findWhichVariableWillBeConstrained();
-        if (decisionVariable.isEmpty()) {
-            return;
+    /**
+     * Waits the writer thread to write the checkpoints already taken.
+     */
+    private void closeCheckpointWriter() {
+        this.checkpointWriter.shutdown();
+        try {
+            this.checkpointWriter.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+    }
 
-        ArrayList<BranchCut> branches = new ArrayList<>();
-        this.branchCutsCount++;
-        branches.add(new BranchCutImpl(branchCutsCount, decisionVariable.get(), true, (int) Math.floor(decisionVariable.get().getCurrentValue())));
-        this.branchCutsCount++;
-        branches.add(new BranchCutImpl(branchCutsCount, decisionVariable.get(), false, (int) Math.ceil(decisionVariable.get().getCurrentValue())));
+    /**
+     * Every worker takes the next node from the pool as soon as it has committed the last one.
+     *
+     * @param worker   the worker of the calling thread.
+     * @param executor the threads of the other workers, null if there is only one worker.
+     */
+    private void resolveAsynchronously(Worker worker, ExecutorService executor) {
+        List<Future<?>> others = new ArrayList<>();
+        for (int i = 1; i < this.options.getWorkersCount(); i++) {
+            others.add(executor.submit(() -> new Worker(this.options.getDualProblemFactory().apply(this.presolve.getReducedModel())).run()));
+        }
+        worker.run();
+        try {
+            others.forEach(BranchAndBoundProblemImpl::await);
+        } catch (IllegalStateException e) {
+            this.openNodes.abort();
+            throw e;
+        }
+    }
 
-        branches = new ArrayList<>(sortWhichBranchToSolveFirst(branches));
+    /**
+     * Every round takes a node per worker, in the order of the queue, and waits all of them to be solved.
+     * Then it commits the nodes in the same order, so the ids, the incumbent history and the tree
+     * are the same at every run with the same workers count.
+     *
+     * @param worker   the worker of the calling thread.
+     * @param executor the threads of the other workers, null if there is only one worker.
+     */
+    private void resolveInRounds(Worker worker, ExecutorService executor) {
+        List<Worker> workers = new ArrayList<>(List.of(worker));
+        List<Future<Worker>> loading = new ArrayList<>();
+        for (int i = 1; i < this.options.getWorkersCount(); i++) {
+            loading.add(executor.submit(() -> new Worker(this.options.getDualProblemFactory().apply(this.presolve.getReducedModel()))));
+        }
+        try {
+            loading.forEach(future -> workers.add(await(future)));
+            List<OpenNode> round = new ArrayList<>();
+            while (!this.queue.isEmpty() && !this.isSearchStopped()) {
+                round.clear();
+                while (round.size() < workers.size() && !this.queue.isEmpty()) {
+                    OpenNode node = this.queue.poll();
+                    if (!this.isBoundWorse(node.getParentBound())) {
+                        round.add(node);
+                    } else {
+                        this.recordPrunedNode();
+                    }
+                }
+                if (round.isEmpty()) {
+                    continue;
+                }
 
-        for (BranchCut branch : branches) {
-            this.dualProblemResolver.addBranchCut(branch);
+                List<Future<SolvedNode>> solving = new ArrayList<>();
+                for (int i = 1; i < round.size(); i++) {
+                    Worker other = workers.get(i);
+                    OpenNode node = round.get(i);
+                    solving.add(executor.submit(() -> other.solve(node)));
+                }
+                List<SolvedNode> solved = new ArrayList<>(List.of(worker.solve(round.get(0))));
+                solving.forEach(future -> solved.add(await(future)));
+                Incumbent before = this.incumbent.get();
+                solved.forEach(solvedNode -> this.commit(solvedNode).forEach(this.queue::push));
+                this.sampleMetrics(false);
+                this.publishBound(this.incumbent.get() != before);
+                this.checkpointIfDue();
+            }
+        } finally {
+            workers.forEach(loaded -> loaded.dualProblemResolver.endDualProblem());
+        }
+    }
 
-            this.decisionTree.addChild(branch.getId(), (branchCutsCount == branch.getId()) ? DecisionTreeImpl.RIGHT_DIRECTION : DecisionTreeImpl.LEFT_DIRECTION, this.dualProblemResolver.getCurrentCuts());
-            this.decisionTree.getChild(branch.getId()).ifPresent(child -> this.decisionTree = child);
+    /**
+     * Waits the result of another worker.
+     *
+     * @param future the task of the worker.
+     * @param <T>    the type of the result.
+     * @return the result.
+     */
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting a branch and bound worker", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A branch and bound worker failed", e.getCause());
+        }
+    }
 
-            this.resolve();
+    /**
+     * Commits a solved node: a node whose relaxation has been interrupted is opened again, otherwise
+     * it gives its observations to the branching rule, it offers the solution found by
+     * the heuristics and the integer solution as incumbent,
+     * otherwise it opens the two children with the next ids, unless the incumbent has closed the branch meanwhile
+     * or their bounds found by the branching rule are worse. A child whose bound is infinite has been proven infeasible
+     * by the branching rule, so it is pruned even without an incumbent.
+     * The preferred child, chosen by best bound first, gets the smaller id.
+     *
+     * @param solvedNode the node solved by a worker.
+     * @return the opened nodes.
+     */
+    private List<OpenNode> commit(SolvedNode solvedNode) {
+        OpenNode node = solvedNode.node;
+        if (solvedNode.interrupted) {
+            return List.of(node);
+        }
+        solvedNode.observations.forEach(this.branchingRule::record);
+        if (solvedNode.heuristic != null) {
+            DecisionTree solutionTree = new DecisionTreeImpl(this.columnNames);
+            solutionTree.setBranchProblemSolution(solvedNode.heuristicValue);
+            this.offerIncumbent(solvedNode.heuristicValue, node.getId(), solutionTree, solvedNode.heuristicValues,
+                    () -> this.presolve.postsolve(solvedNode.heuristicValues), solvedNode.heuristic);
+        }
+        if (solvedNode.integer) {
+            DecisionTree nodeTree = this.decisionTree.findById(node.getId()).orElseThrow();
+            this.offerIncumbent(solvedNode.bound, node.getId(), nodeTree, solvedNode.reducedValues, () -> solvedNode.values, BRANCHING_SOURCE);
+            return List.of();
+        }
+        if (solvedNode.branchVariable == null) {
+            return List.of();
+        }
+        if (this.isBoundWorse(solvedNode.bound)) {
+            this.recordPrunedNode();
+            return List.of();
+        }
 
-            this.decisionTree.getParent().ifPresent(parent -> this.decisionTree = parent);
-            this.dualProblemResolver.deleteBranchCut(branch);
+        List<OpenNode> children = new ArrayList<>();
+        DecisionTree nodeTree = this.decisionTree.findById(node.getId()).orElseThrow();
+        double value = solvedNode.branchVariable.getCurrentValue();
+        for (boolean down : new boolean[]{solvedNode.downFirst, !solvedNode.downFirst}) {
+            double bound = down ? solvedNode.downBound : solvedNode.upBound;
+            if (Double.isInfinite(bound) || this.isBoundWorse(bound)) {
+                this.recordPrunedNode();
+                continue;
+            }
+            double estimate = down ? solvedNode.downEstimate : solvedNode.upEstimate;
+            int id = this.branchCutsCount.incrementAndGet();
+            int cutBound = (int) (down ? Math.floor(value) : Math.ceil(value));
+            BranchCut branch = new BranchCutImpl(id, solvedNode.branchVariable, down, cutBound);
+            children.add(new OpenNodeImpl(
+                    id,
+                    node,
+                    branch,
+                    bound,
+                    this.minimumProblem ? Math.max(estimate, bound) : Math.min(estimate, bound),
+                    solvedNode.basis
+            ));
+            nodeTree.addChild(id, new BranchCutImpl(id, this.toOriginal(solvedNode.branchVariable), down, cutBound));
+        }
+        return children;
+    }
+
+    /**
+     * Fixes the columns for the whole search by the reduced costs of the root relaxation and the incumbent,
+     * every worker applies the new fixings before its next node.
+     */
+    private synchronized void fixGlobally() {
+        Incumbent best = this.incumbent.get();
+        if (this.rootRelaxation == null || best.decisionTree == null) {
+            return;
+        }
+        List<BranchCut> fixings = ReducedCostFixing.fix(this.presolve.getReducedModel(), this.minimumProblem,
+                this.rootRelaxation.values, this.rootRelaxation.reducedCosts, this.rootRelaxation.bound, best.value,
+                column -> this.globalLower[column], column -> this.globalUpper[column]);
+        for (BranchCut fixing : fixings) {
+            int column = fixing.getDecisionVariable().getIndex();
+            if (fixing.isUpper()) {
+                this.globalUpper[column] = fixing.getBound();
+            } else {
+                this.globalLower[column] = fixing.getBound();
+            }
+        }
+        this.globalFixings.addAll(fixings);
+        if (!fixings.isEmpty()) {
+            this.log.log(LogLevel.NODE, () -> "Fixed " + fixings.size() + " bounds by the root reduced costs");
         }
     }
 
     /**
-     * @return true if the current solution doesn't generate new problems.
+     * Keeps the root relaxation for the global fixings.
+     *
+     * @param rootRelaxation the optimum of the root relaxation.
      */
-    private boolean isCurrentSolutionBrakingTheBranch() {
-        return isCurrentSolutionIsImpossible() ||
-                isCurrentSolutionIsInteger() ||
-                isCurrentSolutionBoundWorse();
+    private synchronized void setRootRelaxation(RootRelaxation rootRelaxation) {
+        this.rootRelaxation = rootRelaxation;
     }
 
     /**
-     * @return true if the current solution is impossible.
+     * @return the optimum of the root relaxation, null if the root hasn't been solved.
      */
-    private boolean isCurrentSolutionIsImpossible() {
-        return (this.dualProblemResolver.getCurrentSolution() == Double.MAX_VALUE) ||
-                (this.dualProblemResolver.getCurrentSolution() == Double.MIN_VALUE);
+    private synchronized RootRelaxation getRootRelaxation() {
+        return this.rootRelaxation;
     }
 
     /**
-     * @return true if the current solution is integer.
+     * @param decisionVariable a variable of the presolved model.
+     * @return the same variable in the original model, the decision tree refers to.
      */
-    private boolean isCurrentSolutionIsInteger() {
-        return (Math.floor(this.dualProblemResolver.getCurrentSolution()) == Math.ceil(this.dualProblemResolver.getCurrentSolution())) &&
-                this.dualProblemResolver.areCurrentVariablesInteger();
+    private DecisionVariable toOriginal(DecisionVariable decisionVariable) {
+        int index = this.presolve.getOriginalColumn(decisionVariable.getIndex());
+        return new DecisionVariableImpl(this.presolve.getOriginalModel().getColumnName(index), index, decisionVariable.getCurrentValue());
     }
 
     /**
-     * @return true if the current solution is worse that the best bound.
+     * Replaces the incumbent if the given integer solution is better, or equal and found by a node with a smaller id
+     * so the reported solution doesn't depend on the workers timing.
+     * The values of the original columns are computed before the incumbent is replaced, so they are published
+     * together with its objective value. A new incumbent is logged with its source and given
+     * to the listener, and it fixes the columns by the root reduced costs.
+     *
+     * @param value         the objective value of the integer solution.
+     * @param id            the id of the node which found it.
+     * @param decisionTree  the node which found it, or the tree of its own of a solution found by a heuristic.
+     * @param reducedValues the values of the columns of the presolved model.
+     * @param values        gives the values of the columns of the original model, only if the solution is better.
+     * @param source        the heuristic which found it, or the branching.
      */
-    private boolean isCurrentSolutionBoundWorse() {
-        return (this.dualProblemResolver.getCurrentSolution() > this.bestSolution && this.minimumProblem) ||
-                (this.dualProblemResolver.getCurrentSolution() < this.bestSolution && !this.minimumProblem);
+    private void offerIncumbent(double value, int id, DecisionTree decisionTree, double[] reducedValues,
+                                Supplier<double[]> values, String source) {
+        if (!this.isBetterIncumbent(value, id, this.incumbent.get())) {
+            return;
+        }
+        decisionTree.setCurrentValues(values.get());
+        Incumbent candidate = new Incumbent(value, id, decisionTree, decisionTree.getCurrentValues(), reducedValues, source);
+        Incumbent current;
+        do {
+            current = this.incumbent.get();
+            if (!this.isBetterIncumbent(value, id, current)) {
+                return;
+            }
+        } while (!this.incumbent.compareAndSet(current, candidate));
+        this.incumbentsBySource.computeIfAbsent(source, key -> new AtomicInteger()).incrementAndGet();
+        this.openNodes.notifyIncumbentFound();
+        this.fixGlobally();
+        this.sampleMetrics(true);
+        this.log.log(LogLevel.SUMMARY, () -> "New incumbent = " + value + " by " + source + " at node " + id
+                + " after " + candidate.solvedNodes + " nodes, " + candidate.millis + " ms");
+        if (this.listener != null) {
+            this.listener.onIncumbent(value, candidate.values, source, candidate.millis);
+        }
     }
 
     /**
-     * @return the variable that cuts will constrain.
+     * @param value   the objective value of an integer solution.
+     * @param id      the id of the node which found it.
+     * @param current the current incumbent.
+     * @return true if the solution is better than the incumbent, or equal and found by a node with a smaller id.
      */
-    private Optional<DecisionVariable> findWhichVariableWillBeConstrained() {
-        return this.dualProblemResolver.getCurrentValues().stream()
-                .filter(decisionVariable -> !decisionVariable.isInteger())
-                .min(Comparator.comparingDouble(decisionVariable ->
-                        Math.abs(
-                                decisionVariable.getCurrentValue()
-                                        - Math.floor(decisionVariable.getCurrentValue())
-                                        - BranchAndBoundProblemImpl.HALF_INTEGER
-                        )
-                ));
+    private boolean isBetterIncumbent(double value, int id, Incumbent current) {
+        return current.decisionTree == null
+                || (this.minimumProblem ? value < current.value : value > current.value)
+                || (value == current.value && id < current.id);
     }
 
     /**
-     * Order by best bound the problems.
+     * A node is pruned when its bound can't improve the incumbent by more than the absolute or the relative gap.
+     * The bound of a node pruned only by the gap is kept as a bound of the optimum.
      *
-     * @param branchCuts the cuts that define the new problems.
-     * @return the cuts ordered.
+     * @param bound the objective value of the relaxation of a node.
+     * @return true if the node can't improve the incumbent by more than the gap.
      */
-    private List<BranchCut> sortWhichBranchToSolveFirst(List<BranchCut> branchCuts) {
-        boolean doesGrowTheObjective = this.dualProblemResolver.doesDecisionVariableGrowTheObjective(branchCuts.get(0).getDecisionVariable());
+    private boolean isBoundWorse(double bound) {
+        Incumbent best = this.incumbent.get();
+        if (best.decisionTree == null) {
+            return false;
+        }
+        double margin = Math.max(this.options.getAbsoluteGap(), this.options.getRelativeGap() * Math.abs(best.value));
+        double rounded = this.roundBound(bound);
+        boolean worse = this.minimumProblem ? rounded >= best.value - margin : rounded <= best.value + margin;
+        if (worse && (this.minimumProblem ? rounded < best.value : rounded > best.value)) {
+            this.gapBound.accumulate(rounded);
+        }
+        return worse;
+    }
 
-        ArrayList<BranchCut> sortedBranchByCut = new ArrayList<>(
-                branchCuts
-                        .stream()
-                        .sorted(Comparator.comparingInt(BranchCut::getBound))
-                        .toList()
-        );
+    /**
+     * @param bound the objective value of a relaxation.
+     * @return the best objective value of an integer solution of the relaxation: when the objective coefficients are
+     * integer, the value rounded up for a minimum problem and down for a maximum one.
+     */
+    private double roundBound(double bound) {
+        if (!this.integerObjective || Double.isInfinite(bound) || Math.abs(bound) == Double.MAX_VALUE) {
+            return bound;
+        }
+        double offset = this.presolve.getReducedModel().getObjectiveConstant();
+        double tolerance = this.options.getIntegralityTolerance() * Math.max(1, Math.abs(bound));
+        return this.minimumProblem ? Math.ceil(bound - offset - tolerance) + offset : Math.floor(bound - offset + tolerance) + offset;
+    }
+
+    /**
+     * @param model the presolved model.
+     * @return true if all the objective coefficients are integer, so the objective value of every solution is integer
+     * but the constant.
+     */
+    private static boolean isObjectiveInteger(LinearModel model) {
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            double coefficient = model.getObjectiveCoefficient(column);
+            if (coefficient != Math.rint(coefficient)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Solves the open nodes of the pool with its own dual problem, it keeps the cuts of the last solved node.
+     */
+    private final class Worker implements Runnable {
+        private final DualProblem dualProblemResolver;
+        private final BoundPropagator propagator;
+        private final List<PrimalHeuristic> heuristics;
+        private final List<OpenNode> currentPath = new ArrayList<>();
+        private final List<BranchCut> impliedCuts = new ArrayList<>();
+        private int appliedGlobalFixings;
+
+        /**
+         * Define a worker.
+         *
+         * @param dualProblemResolver the backend which solves the relaxations, owned by this worker.
+         */
+        private Worker(DualProblem dualProblemResolver) {
+            this.dualProblemResolver = dualProblemResolver;
+            this.dualProblemResolver.setLog(log);
+            this.dualProblemResolver.setIntegralityTolerance(options.getIntegralityTolerance());
+            this.dualProblemResolver.setInterruption(BranchAndBoundProblemImpl.this::isInterrupted);
+            this.propagator = options.isBoundPropagation() ? new BoundPropagatorImpl(presolve.getReducedModel(), options.getFeasibilityTolerance()) : null;
+            this.heuristics = options.getPrimalHeuristicsFactory().get();
+        }
+
+        /**
+         * Solves the nodes until the pool is empty or a limit is reached, then ends its dual problem.
+         */
+        public void run() {
+            try {
+                Optional<OpenNode> next;
+                while (!isSearchStopped() && (next = openNodes.take()).isPresent()) {
+                    OpenNode node = next.get();
+                    List<OpenNode> children = List.of();
+                    Incumbent before = incumbent.get();
+                    try {
+                        if (!isBoundWorse(node.getParentBound())) {
+                            children = commit(this.solve(node));
+                        } else {
+                            recordPrunedNode();
+                        }
+                    } finally {
+                        openNodes.release(node, children);
+                    }
+                    sampleMetrics(false);
+                    publishBound(incumbent.get() != before);
+                    checkpointIfDue();
+                }
+            } catch (RuntimeException e) {
+                openNodes.abort();
+                throw e;
+            } finally {
+                this.dualProblemResolver.endDualProblem();
+            }
+        }
+
+        /**
+         * Moves the dual problem to a node and solves it.
+         *
+         * @param node the node to solve.
+         * @return the solved node, to commit.
+         */
+        private SolvedNode solve(OpenNode node) {
+            this.moveTo(node);
+            return this.solveNode(node);
+        }
 
-        if ((this.minimumProblem && !doesGrowTheObjective) || (!this.minimumProblem && doesGrowTheObjective)) {
-            Collections.reverse(sortedBranchByCut);
+        /**
+         * Solves the problem of a node, and chooses how to branch if it doesn't close the branch.
+         *
+         * @param node the node to solve, its cuts must be already added.
+         * @return the solved node, to commit.
+         */
+        private SolvedNode solveNode(OpenNode node) {
+            if (node.getParentBasis() != null) {
+                this.dualProblemResolver.setBasis(node.getParentBasis());
+                node.discardParentBasis();
+            }
+            DecisionTree nodeTree = decisionTree.findById(node.getId()).orElseThrow();
+            if (this.propagator != null && this.propagator.isInfeasible()) {
+                solvedNodesCount.incrementAndGet();
+                propagatedNodesCount.incrementAndGet();
+                if (metrics != null) {
+                    metrics.recordInfeasibleNode();
+                }
+                nodeTree.setBranchProblemSolution(minimumProblem ? Double.MAX_VALUE : Double.MIN_VALUE);
+                log.log(LogLevel.NODE, () -> "Node " + node.getId() + " depth " + node.getDepth() + ": infeasible by propagation");
+                return new SolvedNode(node, false, minimumProblem ? Double.MAX_VALUE : Double.MIN_VALUE);
+            }
+            long lpStart = metrics != null ? System.nanoTime() : 0;
+            boolean solved = this.dualProblemResolver.solve();
+            int pivots = this.dualProblemResolver.getLastPivotsCount();
+            pivotsCount.addAndGet(pivots);
+            if (!solved && this.dualProblemResolver.isLastSolveTruncated()) {
+                log.log(LogLevel.NODE, () -> "Node " + node.getId() + " depth " + node.getDepth() + ": interrupted, pivots = " + pivots);
+                SolvedNode interrupted = new SolvedNode(node, false, node.getParentBound());
+                interrupted.interrupted = true;
+                return interrupted;
+            }
+            if (!solved && this.dualProblemResolver.isLastSolveUnbounded()) {
+                solvedNodesCount.incrementAndGet();
+                log.log(LogLevel.NODE, () -> "Node " + node.getId() + " depth " + node.getDepth() + ": unbounded, pivots = " + pivots);
+                stop(SolverStatus.UNBOUNDED);
+                SolvedNode unbounded = new SolvedNode(node, false, node.getParentBound());
+                unbounded.interrupted = true;
+                return unbounded;
+            }
+            solvedNodesCount.incrementAndGet();
+            if (metrics != null) {
+                metrics.recordSolvedNode(System.nanoTime() - lpStart, pivots);
+                if (!solved) {
+                    metrics.recordInfeasibleNode();
+                }
+            }
+
+            nodeTree.setPivotsCount(pivots);
+
+            if (!solved) {
+                nodeTree.setBranchProblemSolution(minimumProblem ? Double.MAX_VALUE : Double.MIN_VALUE);
+                log.log(LogLevel.NODE, () -> "Node " + node.getId() + " depth " + node.getDepth() + ": infeasible, pivots = " + pivots);
+                return new SolvedNode(node, false, minimumProblem ? Double.MAX_VALUE : Double.MIN_VALUE);
+            }
+            nodeTree.setBranchProblemSolution(this.dualProblemResolver.getCurrentSolution());
+
+            SolvedNode solvedNode = new SolvedNode(node, isCurrentSolutionIsInteger(), this.dualProblemResolver.getCurrentSolution());
+            this.observe(solvedNode, nodeTree);
+            if (solvedNode.integer) {
+                solvedNode.reducedValues = this.dualProblemResolver.getCurrentValuesView().clone();
+                solvedNode.values = presolve.postsolve(solvedNode.reducedValues);
+            }
+            log.log(LogLevel.NODE, () -> "Node " + node.getId() + " depth " + node.getDepth() + ": value = " + solvedNode.bound
+                    + (solvedNode.integer ? " (integer)" : "") + ", pivots = " + pivots);
+            if (isCurrentSolutionIsImpossible() || isCurrentSolutionIsInteger()) {
+                return solvedNode;
+            }
+            if (isCurrentSolutionBoundWorse() || this.fixByReducedCosts(node, solvedNode.bound)) {
+                recordPrunedNode();
+                return solvedNode;
+            }
+
+            int first = solvedNode.observations.size();
+            int index = branchingRule.selectVariable(this.dualProblemResolver, solvedNode.observations);
+            if (index >= 0) {
+                this.branch(solvedNode, index, solvedNode.observations.subList(first, solvedNode.observations.size()));
+                this.searchIncumbent(solvedNode);
+            }
+            return solvedNode;
+        }
+
+        /**
+         * Runs the heuristics at the root and periodically, after the node has chosen how to branch:
+         * the first solution which improves the incumbent is kept by the node, to offer it when committed.
+         *
+         * @param solvedNode the solved node, not integer.
+         */
+        private void searchIncumbent(SolvedNode solvedNode) {
+            OpenNode node = solvedNode.node;
+            int frequency = options.getHeuristicsFrequency();
+            if (node.getBranchCut() != null && (frequency == 0 || node.getId() % frequency != 0)) {
+                return;
+            }
+            Incumbent best = incumbent.get();
+            double cutoff = best.value;
+            LinearModel model = presolve.getReducedModel();
+            for (PrimalHeuristic heuristic : this.heuristics) {
+                Optional<double[]> found = heuristic.search(this.dualProblemResolver, model, best.reducedValues, cutoff);
+                if (found.isEmpty() || !PrimalSolutions.isFeasible(model, found.get(),
+                        options.getIntegralityTolerance(), options.getFeasibilityTolerance())) {
+                    continue;
+                }
+                double value = PrimalSolutions.objective(model, found.get());
+                if (PrimalSolutions.improves(minimumProblem, value, cutoff)) {
+                    solvedNode.heuristic = heuristic.getName();
+                    solvedNode.heuristicValues = found.get();
+                    solvedNode.heuristicValue = value;
+                    log.log(LogLevel.NODE, () -> "Node " + node.getId() + ": " + heuristic.getName() + " found " + solvedNode.heuristicValue);
+                    return;
+                }
+            }
         }
 
-        return sortedBranchByCut;
+        /**
+         * Fixes the columns by the reduced costs of the node and the incumbent: the fixings of the root are global,
+         * the ones of the other nodes are added to the dual problem and kept by the node for its subtree.
+         *
+         * @param node  the solved node.
+         * @param bound the objective value of its relaxation.
+         * @return true if the fixings make the node infeasible.
+         */
+        private boolean fixByReducedCosts(OpenNode node, double bound) {
+            if (node.getBranchCut() == null) {
+                setRootRelaxation(new RootRelaxation(this.dualProblemResolver.getCurrentValuesView().clone(),
+                        this.dualProblemResolver.getReducedCostsView().clone(), bound));
+                fixGlobally();
+                return false;
+            }
+            Incumbent best = incumbent.get();
+            if (best.decisionTree == null) {
+                return false;
+            }
+            LinearModel model = presolve.getReducedModel();
+            List<BranchCut> fixings = ReducedCostFixing.fix(model, minimumProblem, this.dualProblemResolver.getCurrentValuesView(),
+                    this.dualProblemResolver.getReducedCostsView(), bound, best.value,
+                    column -> this.propagator != null ? this.propagator.getLowerBound(column) : model.getColumnLowerBound(column),
+                    column -> this.propagator != null ? this.propagator.getUpperBound(column) : model.getColumnUpperBound(column));
+            if (fixings.isEmpty()) {
+                return false;
+            }
+            node.setFixings(fixings);
+            localFixingsCount.addAndGet(fixings.size());
+            fixings.forEach(this::add);
+            return this.propagator != null && this.propagator.isInfeasible();
+        }
+
+        /**
+         * Observes the objective degradation from the parent to a solved child.
+         *
+         * @param solvedNode the solved node, its observations are updated.
+         * @param nodeTree   the node in the decision tree.
+         */
+        private void observe(SolvedNode solvedNode, DecisionTree nodeTree) {
+            BranchCut branchCut = solvedNode.node.getBranchCut();
+            if (branchCut == null) {
+                return;
+            }
+            double parentSolution = nodeTree.getParent().orElseThrow().getBranchProblemSolution();
+            double value = branchCut.getDecisionVariable().getCurrentValue();
+            double distance = branchCut.isUpper() ? value - Math.floor(value) : Math.ceil(value) - value;
+            solvedNode.observations.add(new BranchObservationImpl(
+                    branchCut.getDecisionVariable().getIndex(),
+                    branchCut.isUpper(),
+                    distance,
+                    Math.abs(solvedNode.bound - parentSolution),
+                    false
+            ));
+        }
+
+        /**
+         * Chooses the cuts of the two children of a node on the given variable, and estimates their objectives.
+         * The children solved as trials by the branching rule get the bound of the trial.
+         *
+         * @param solvedNode the solved node.
+         * @param index      the index of the variable to cut.
+         * @param trials     the observations of the branching rule at the node.
+         */
+        private void branch(SolvedNode solvedNode, int index, List<BranchObservation> trials) {
+            DecisionVariable decisionVariable = this.dualProblemResolver.getDecisionVariable(index);
+            double value = decisionVariable.getCurrentValue();
+            double coefficient = Math.abs(this.dualProblemResolver.getObjectiveCoefficient(index));
+            double fractionality = value - Math.floor(value);
+            double othersDegradation = this.estimateDegradation() - Math.min(fractionality, 1 - fractionality) * coefficient;
+            double downDegradation = othersDegradation + fractionality * coefficient;
+            double upDegradation = othersDegradation + (1 - fractionality) * coefficient;
+
+            solvedNode.branchVariable = decisionVariable;
+            solvedNode.downFirst = this.isDownBranchFirst(decisionVariable);
+            solvedNode.downEstimate = minimumProblem ? solvedNode.bound + downDegradation : solvedNode.bound - downDegradation;
+            solvedNode.upEstimate = minimumProblem ? solvedNode.bound + upDegradation : solvedNode.bound - upDegradation;
+            solvedNode.basis = this.dualProblemResolver.getBasis();
+            solvedNode.downBound = solvedNode.bound;
+            solvedNode.upBound = solvedNode.bound;
+            for (BranchObservation trial : trials) {
+                if (trial.getVariableIndex() != index) {
+                    continue;
+                }
+                double bound = minimumProblem ? solvedNode.bound + trial.getDegradation() : solvedNode.bound - trial.getDegradation();
+                if (trial.isDown()) {
+                    solvedNode.downBound = bound;
+                } else {
+                    solvedNode.upBound = bound;
+                }
+            }
+        }
+
+        /**
+         * Moves the cuts of the dual problem from the last solved node to the given one,
+         * deleting the cuts up to their common ancestor and adding the new ones, every node with its fixings.
+         * The propagator follows the same cuts, the bounds it implies at the node are added
+         * to the dual problem after the cuts and deleted before the next move.
+         * When there are new global fixings, all the cuts are deleted and the global fixings are added first.
+         *
+         * @param node the node to solve next.
+         */
+        private void moveTo(OpenNode node) {
+            List<OpenNode> path = new ArrayList<>();
+            for (OpenNode current = node; current != null && current.getBranchCut() != null; current = current.getParent()) {
+                path.add(current);
+            }
+            Collections.reverse(path);
+
+            int globalFixingsCount = globalFixings.size();
+            int common = 0;
+            while (this.appliedGlobalFixings == globalFixingsCount && common < path.size() && common < this.currentPath.size()
+                    && path.get(common) == this.currentPath.get(common)) {
+                common++;
+            }
+            for (int i = this.impliedCuts.size() - 1; i >= 0; i--) {
+                this.dualProblemResolver.deleteBranchCut(this.impliedCuts.get(i));
+            }
+            this.impliedCuts.clear();
+            for (int i = this.currentPath.size() - 1; i >= common; i--) {
+                this.leave(this.currentPath.remove(i));
+            }
+            for (; this.appliedGlobalFixings < globalFixingsCount; this.appliedGlobalFixings++) {
+                this.add(globalFixings.get(this.appliedGlobalFixings));
+            }
+            for (int i = common; i < path.size(); i++) {
+                this.enter(path.get(i));
+                this.currentPath.add(path.get(i));
+            }
+            if (this.propagator != null && !this.propagator.isInfeasible()) {
+                this.impliedCuts.addAll(this.propagator.getImpliedCuts());
+                this.impliedCuts.forEach(this.dualProblemResolver::addBranchCut);
+            }
+        }
+
+        /**
+         * Adds the cut of a node and its fixings.
+         *
+         * @param node the node.
+         */
+        private void enter(OpenNode node) {
+            this.add(node.getBranchCut());
+            node.getFixings().forEach(this::add);
+        }
+
+        /**
+         * Deletes the fixings of a node and its cut.
+         *
+         * @param node the node.
+         */
+        private void leave(OpenNode node) {
+            List<BranchCut> fixings = node.getFixings();
+            for (int i = fixings.size() - 1; i >= 0; i--) {
+                this.delete(fixings.get(i));
+            }
+            this.delete(node.getBranchCut());
+        }
+
+        /**
+         * @param branchCut the cut to add to the dual problem and to the propagator.
+         */
+        private void add(BranchCut branchCut) {
+            this.dualProblemResolver.addBranchCut(branchCut);
+            if (this.propagator != null) {
+                this.propagator.push(branchCut);
+            }
+        }
+
+        /**
+         * @param branchCut the last cut added to the propagator, to delete from the dual problem too.
+         */
+        private void delete(BranchCut branchCut) {
+            this.dualProblemResolver.deleteBranchCut(branchCut);
+            if (this.propagator != null) {
+                this.propagator.pop();
+            }
+        }
+
+        /**
+         * Estimates how much the objective degrades to make all the variables integer,
+         * using the objective coefficients as the cost of a unit change.
+         *
+         * @return the estimated degradation.
+         */
+        private double estimateDegradation() {
+            double[] values = this.dualProblemResolver.getCurrentValuesView();
+            BitSet fractionalVariables = this.dualProblemResolver.getFractionalVariables();
+            double degradation = 0;
+            for (int i = fractionalVariables.nextSetBit(0); i >= 0; i = fractionalVariables.nextSetBit(i + 1)) {
+                double fractionality = values[i] - Math.floor(values[i]);
+                degradation += Math.min(fractionality, 1 - fractionality) * Math.abs(this.dualProblemResolver.getObjectiveCoefficient(i));
+            }
+            return degradation;
+        }
+
+        /**
+         * @return true if the current solution is impossible.
+         */
+        private boolean isCurrentSolutionIsImpossible() {
+            return (this.dualProblemResolver.getCurrentSolution() == Double.MAX_VALUE) ||
+                    (this.dualProblemResolver.getCurrentSolution() == Double.MIN_VALUE);
+        }
+
+        /**
+         * @return true if the current values are integer, within the integrality tolerance.
+         */
+        private boolean isCurrentSolutionIsInteger() {
+            return this.dualProblemResolver.areCurrentVariablesInteger();
+        }
+
+        /**
+         * @return true if the current solution is worse that the best bound.
+         */
+        private boolean isCurrentSolutionBoundWorse() {
+            return isBoundWorse(this.dualProblemResolver.getCurrentSolution());
+        }
+
+        /**
+         * Chooses by best bound which child to solve first: the cut that moves the variable in the direction
+         * which improves the objective.
+         *
+         * @param decisionVariable the variable to cut.
+         * @return true if the child with the upper bound cut comes first.
+         */
+        private boolean isDownBranchFirst(DecisionVariable decisionVariable) {
+            return minimumProblem == this.dualProblemResolver.doesDecisionVariableGrowTheObjective(decisionVariable);
+        }
+    }
+
+    /**
+     * A node solved by a worker, with the choices needed to commit it.
+     */
+    private static final class SolvedNode {
+        private final OpenNode node;
+        private final boolean integer;
+        private final double bound;
+        private final List<BranchObservation> observations = new ArrayList<>();
+        private boolean interrupted;
+        private double[] values;
+        private double[] reducedValues;
+        private String heuristic;
+        private double[] heuristicValues;
+        private double heuristicValue;
+        private DecisionVariable branchVariable;
+        private boolean downFirst;
+        private double downEstimate;
+        private double upEstimate;
+        private double downBound;
+        private double upBound;
+        private SimplexBasis basis;
+
+        /**
+         * Define a solved node, without branching.
+         *
+         * @param node    the open node.
+         * @param integer true if the solution is integer.
+         * @param bound   the objective value of the relaxation.
+         */
+        private SolvedNode(OpenNode node, boolean integer, double bound) {
+            this.node = node;
+            this.integer = integer;
+            this.bound = bound;
+        }
+    }
+
+    /**
+     * The optimum of the root relaxation, which fixes the columns globally at every new incumbent.
+     */
+    private static final class RootRelaxation {
+        private final double[] values;
+        private final double[] reducedCosts;
+        private final double bound;
+
+        /**
+         * Define the root relaxation.
+         *
+         * @param values       the values of the columns.
+         * @param reducedCosts the reduced costs of the columns.
+         * @param bound        the objective value.
+         */
+        private RootRelaxation(double[] values, double[] reducedCosts, double bound) {
+            this.values = values;
+            this.reducedCosts = reducedCosts;
+            this.bound = bound;
+        }
+    }
+
+    /**
+     * The best integer solution found, with the id of its node.
+     */
+    private final class Incumbent {
+        private final double value;
+        private final int id;
+        private final DecisionTree decisionTree;
+        private final List<DecisionVariable> values;
+        private final double[] reducedValues;
+        private final String source;
+        private final long solvedNodes;
+        private final long millis;
+
+        /**
+         * Define an incumbent, found now.
+         *
+         * @param value         the objective value.
+         * @param id            the id of the node which found it.
+         * @param decisionTree  the node which found it, null if there isn't an integer solution yet.
+         * @param values        the values of the columns of the original model, empty if there isn't an integer solution.
+         * @param reducedValues the values of the columns of the presolved model.
+         * @param source        the heuristic which found it, or the branching.
+         */
+        private Incumbent(double value, int id, DecisionTree decisionTree, List<DecisionVariable> values, double[] reducedValues,
+                          String source) {
+            this.value = value;
+            this.id = id;
+            this.decisionTree = decisionTree;
+            this.values = values;
+            this.reducedValues = reducedValues;
+            this.source = source;
+            this.solvedNodes = solvedNodesCount.get();
+            this.millis = (System.nanoTime() - startNanos) / 1_000_000;
+        }
+
+        /**
+         * Define an incumbent found before a checkpoint.
+         *
+         * @param value         the objective value.
+         * @param id            the id of the node which found it.
+         * @param decisionTree  the tree of its own, with the values of the original columns.
+         * @param values        the values of the columns of the original model.
+         * @param reducedValues the values of the columns of the presolved model.
+         * @param source        the heuristic which found it, or the branching.
+         * @param solvedNodes   the nodes solved when it was found.
+         * @param millis        the elapsed time when it was found.
+         */
+        private Incumbent(double value, int id, DecisionTree decisionTree, List<DecisionVariable> values, double[] reducedValues,
+                          String source, long solvedNodes, long millis) {
+            this.value = value;
+            this.id = id;
+            this.decisionTree = decisionTree;
+            this.values = values;
+            this.reducedValues = reducedValues;
+            this.source = source;
+            this.solvedNodes = solvedNodes;
+            this.millis = millis;
+        }
     }
 }
@@ -0,0 +1,66 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchObservation;
+
+/**
+ * Implements a BranchObservation.
+ */
+public class BranchObservationImpl implements BranchObservation {
+    private final int variableIndex;
+    private final boolean down;
+    private final double distance;
+    private final double degradation;
+    private final boolean truncated;
+
+    /**
+     * Define an observation.
+     *
+     * @param variableIndex the index of the branched variable.
+     * @param down          true if the variable has been moved down.
+     * @param distance      how much the variable has been moved.
+     * @param degradation   the worsening of the objective value.
+     * @param truncated     true if the child LP has been stopped by a pivots limit.
+     */
+    public BranchObservationImpl(int variableIndex, boolean down, double distance, double degradation, boolean truncated) {
+        this.variableIndex = variableIndex;
+        this.down = down;
+        this.distance = distance;
+        this.degradation = degradation;
+        this.truncated = truncated;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getVariableIndex() {
+        return this.variableIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isDown() {
+        return this.down;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getDistance() {
+        return this.distance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getDegradation() {
+        return this.degradation;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isTruncated() {
+        return this.truncated;
+    }
+}
@@ -0,0 +1,295 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+import it.unibo.api.LoadReport;
+import it.unibo.api.ModelReader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Implements a ModelReader which keeps a binary snapshot of every model next to its file ({@code <file>.cache}).<br>
+ * The snapshot is keyed by the SHA-256 of the file: when it matches, the model is mapped from the snapshot
+ * without parsing, otherwise the file is read by the delegate and the snapshot is (re)written.
+ * The snapshot is big-endian: a header, the double arrays (objective, column bounds, row bounds, non-zeros),
+ * the int arrays (column starts, row indexes, name offsets) and the UTF-8 name table.
+ */
+public class CachedModelReaderImpl implements ModelReader {
+    private static final String EXTENSION = ".cache";
+    private static final int MAGIC = 0x424E4243;
+    private static final int VERSION = 1;
+    private static final int HASH_BYTES = 32;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + HASH_BYTES + 4 + 4 + 4 + 4 + 8 + 4 + 4;
+    private static final long REGION_SIZE = 1L << 30;
+
+    private final ModelReader delegate;
+    private LoadReport lastLoadReport;
+
+    /**
+     * Define a cached reader.
+     *
+     * @param delegate the reader of the files whose snapshot is missing or stale.
+     */
+    public CachedModelReaderImpl(ModelReader delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The snapshot is written only once the delegate has read the file, so a malformed file doesn't get one.
+     *
+     * @throws UncheckedIOException if the file can't be read.
+     */
+    public LinearModel read(String pathToFile) {
+        long start = System.nanoTime();
+        Path source = Path.of(pathToFile);
+        Path snapshot = Path.of(pathToFile + EXTENSION);
+        byte[] hash;
+        long size;
+        try {
+            size = Files.size(source);
+            hash = hash(source);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the model file " + pathToFile, e);
+        }
+        if (Files.isRegularFile(snapshot)) {
+            try {
+                Optional<LinearModel> model = map(snapshot, size, hash);
+                if (model.isPresent()) {
+                    this.lastLoadReport = new LoadReportImpl(Files.size(snapshot), model.get().getNonZerosCount(),
+                            System.nanoTime() - start, 1, true);
+                    return model.get();
+                }
+            } catch (IOException e) {
+                System.err.println("Ignoring the unreadable snapshot " + snapshot + " " + e);
+            }
+        }
+        LinearModel model = this.delegate.read(pathToFile);
+        this.lastLoadReport = this.delegate.getLastLoadReport().orElse(null);
+        try {
+            write(snapshot, model, size, hash);
+        } catch (IOException e) {
+            System.err.println("Failed to write the snapshot " + snapshot + " " + e);
+        }
+        return model;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Optional<LoadReport> getLastLoadReport() {
+        return Optional.ofNullable(this.lastLoadReport);
+    }
+
+    /**
+     * Hashes a file mapping it by regions.
+     *
+     * @param path the file.
+     * @return the SHA-256 of its content.
+     * @throws IOException if the file can't be read.
+     */
+    private static byte[] hash(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += REGION_SIZE) {
+                digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_SIZE, size - position)));
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Maps a snapshot, if it belongs to the given file.
+     *
+     * @param snapshot the snapshot.
+     * @param size     the size of the model file.
+     * @param hash     the hash of the model file.
+     * @return the mapped model, empty if the snapshot is stale or of another version.
+     * @throws IOException if the snapshot can't be mapped.
+     */
+    private static Optional<LinearModel> map(Path snapshot, long size, byte[] hash) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return Optional.empty();
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != size) {
+                return Optional.empty();
+            }
+            byte[] storedHash = new byte[HASH_BYTES];
+            header.get(storedHash);
+            if (!Arrays.equals(storedHash, hash)) {
+                return Optional.empty();
+            }
+            boolean minimumProblem = header.getInt() != 0;
+            int rows = header.getInt();
+            int columns = header.getInt();
+            int nonZeros = header.getInt();
+            double objectiveConstant = header.getDouble();
+            int namesCount = header.getInt();
+            int namesBytes = header.getInt();
+            long expected = HEADER_BYTES
+                    + (long) Double.BYTES * (3L * columns + 2L * rows + nonZeros)
+                    + (long) Integer.BYTES * (columns + 1L + nonZeros + namesCount + 1L)
+                    + namesBytes;
+            if (channel.size() != expected || namesCount != 1 + columns + rows) {
+                return Optional.empty();
+            }
+            Sections sections = new Sections(channel, HEADER_BYTES);
+            return Optional.of(new MappedLinearModelImpl(
+                    minimumProblem,
+                    rows,
+                    columns,
+                    objectiveConstant,
+                    sections.next(columns, Double.BYTES).asDoubleBuffer(),
+                    sections.next(columns, Double.BYTES).asDoubleBuffer(),
+                    sections.next(columns, Double.BYTES).asDoubleBuffer(),
+                    sections.next(rows, Double.BYTES).asDoubleBuffer(),
+                    sections.next(rows, Double.BYTES).asDoubleBuffer(),
+                    sections.next(nonZeros, Double.BYTES).asDoubleBuffer(),
+                    sections.next(columns + 1, Integer.BYTES).asIntBuffer(),
+                    sections.next(nonZeros, Integer.BYTES).asIntBuffer(),
+                    sections.next(namesCount + 1, Integer.BYTES).asIntBuffer(),
+                    sections.next(namesBytes, Byte.BYTES)
+            ));
+        }
+    }
+
+    /**
+     * Writes the snapshot of a model to a temporary file, then moves it in place,
+     * so a concurrent reader never maps a partial snapshot.
+     * Models with a section larger than a mapped buffer (2 GB) aren't cached.
+     *
+     * @param snapshot the snapshot.
+     * @param model    the model.
+     * @param size     the size of the model file.
+     * @param hash     the hash of the model file.
+     * @throws IOException if the snapshot can't be written.
+     */
+    private static void write(Path snapshot, LinearModel model, long size, byte[] hash) throws IOException {
+        int rows = model.getRowsCount();
+        int columns = model.getColumnsCount();
+        int nonZeros = model.getNonZerosCount();
+        int namesCount = 1 + columns + rows;
+        byte[][] names = new byte[namesCount][];
+        long namesBytes = 0;
+        for (int i = 0; i < namesCount; i++) {
+            String name = i == 0 ? model.getName() : i <= columns ? model.getColumnName(i - 1) : model.getRowName(i - 1 - columns);
+            names[i] = (name == null ? "" : name).getBytes(StandardCharsets.UTF_8);
+            namesBytes += names[i].length;
+        }
+        if ((long) Double.BYTES * nonZeros > Integer.MAX_VALUE
+                || (long) Integer.BYTES * (namesCount + 1L) > Integer.MAX_VALUE
+                || namesBytes > Integer.MAX_VALUE) {
+            return;
+        }
+
+        Path temporary = Files.createTempFile(snapshot.toAbsolutePath().getParent(), snapshot.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(size);
+                out.write(hash);
+                out.writeInt(model.isMinimumProblem() ? 1 : 0);
+                out.writeInt(rows);
+                out.writeInt(columns);
+                out.writeInt(nonZeros);
+                out.writeDouble(model.getObjectiveConstant());
+                out.writeInt(namesCount);
+                out.writeInt((int) namesBytes);
+                for (int column = 0; column < columns; column++) {
+                    out.writeDouble(model.getObjectiveCoefficient(column));
+                }
+                for (int column = 0; column < columns; column++) {
+                    out.writeDouble(model.getColumnLowerBound(column));
+                }
+                for (int column = 0; column < columns; column++) {
+                    out.writeDouble(model.getColumnUpperBound(column));
+                }
+                for (int row = 0; row < rows; row++) {
+                    out.writeDouble(model.getRowLowerBound(row));
+                }
+                for (int row = 0; row < rows; row++) {
+                    out.writeDouble(model.getRowUpperBound(row));
+                }
+                for (int k = 0; k < nonZeros; k++) {
+                    out.writeDouble(model.getValue(k));
+                }
+                for (int column = 0; column <= columns; column++) {
+                    out.writeInt(model.getColumnStart(column));
+                }
+                for (int k = 0; k < nonZeros; k++) {
+                    out.writeInt(model.getRowIndex(k));
+                }
+                int offset = 0;
+                for (byte[] name : names) {
+                    out.writeInt(offset);
+                    offset += name.length;
+                }
+                out.writeInt(offset);
+                for (byte[] name : names) {
+                    out.write(name);
+                }
+            }
+            try {
+                Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps the consecutive sections of a snapshot.
+     */
+    private static final class Sections {
+        private final FileChannel channel;
+        private long position;
+
+        /**
+         * @param channel  the channel of the snapshot, it can be closed after the mapping.
+         * @param position the start of the first section.
+         */
+        private Sections(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        /**
+         * @param count       the number of elements of the section.
+         * @param elementSize the size of an element.
+         * @return the mapped section, big-endian.
+         * @throws IOException if the section can't be mapped.
+         */
+        private MappedByteBuffer next(int count, int elementSize) throws IOException {
+            long size = (long) count * elementSize;
+            MappedByteBuffer section = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, size);
+            this.position += size;
+            return section;
+        }
+    }
+}
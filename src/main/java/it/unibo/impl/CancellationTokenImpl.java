@@ -0,0 +1,24 @@
+package it.unibo.impl;
+
+import it.unibo.api.CancellationToken;
+
+/**
+ * Implements a CancellationToken by a volatile flag, so checking it is a plain read.
+ */
+public class CancellationTokenImpl implements CancellationToken {
+    private volatile boolean cancelled;
+
+    /**
+     * {@inheritDoc}
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
@@ -0,0 +1,392 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchCut;
+import it.unibo.api.DecisionTree;
+import it.unibo.api.LinearModel;
+import it.unibo.api.OpenNode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The state of a branch and bound search, filled by the search and written to a binary file compressed for speed,
+ * so another process can resume it: the open nodes, the incumbent, the global fixings, the root relaxation,
+ * the state of the branching rule and the counters.<br>
+ * The open nodes are written with their ancestors, each one only once and as the cut and the fixings which
+ * define it from its parent. The nodes don't change once they are opened, so the snapshot shares them
+ * with the search and it can be written by another thread.<br>
+ * The file refers to the columns of the presolved model, it is read only for a model with the same hash.
+ */
+final class Checkpoint {
+    private static final int MAGIC = 0x424E4243;
+    private static final int VERSION = 1;
+    private static final int NO_PARENT = -1;
+
+    final long modelHash;
+    long solvedNodesCount;
+    long pivotsCount;
+    long propagatedNodesCount;
+    long localFixingsCount;
+    long elapsedMillis;
+    int branchCutsCount;
+    double gapBound;
+    Map<String, Integer> incumbentsBySource = new LinkedHashMap<>();
+    double incumbentValue;
+    int incumbentId;
+    String incumbentSource;
+    double[] incumbentValues;
+    long incumbentSolvedNodes;
+    long incumbentMillis;
+    List<BranchCut> globalFixings = new ArrayList<>();
+    double[] rootValues;
+    double[] rootReducedCosts;
+    double rootBound;
+    byte[] branchingState = new byte[0];
+    List<OpenNode> openNodes = new ArrayList<>();
+    Map<Integer, Double> solutions = new HashMap<>();
+
+    /**
+     * Define an empty checkpoint.
+     *
+     * @param modelHash the hash of the presolved model.
+     */
+    Checkpoint(long modelHash) {
+        this.modelHash = modelHash;
+    }
+
+    /**
+     * @param model the presolved model.
+     * @return a hash of the columns, the rows and the objective of the model, which tells if a checkpoint refers to it.
+     */
+    static long hash(LinearModel model) {
+        long hash = model.isMinimumProblem() ? 1 : 2;
+        hash = 31 * hash + model.getRowsCount();
+        hash = 31 * hash + model.getColumnsCount();
+        hash = 31 * hash + Double.doubleToLongBits(model.getObjectiveConstant());
+        for (int row = 0; row < model.getRowsCount(); row++) {
+            hash = 31 * hash + Double.doubleToLongBits(model.getRowLowerBound(row));
+            hash = 31 * hash + Double.doubleToLongBits(model.getRowUpperBound(row));
+        }
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            hash = 31 * hash + Double.doubleToLongBits(model.getObjectiveCoefficient(column));
+            hash = 31 * hash + Double.doubleToLongBits(model.getColumnLowerBound(column));
+            hash = 31 * hash + Double.doubleToLongBits(model.getColumnUpperBound(column));
+            for (int k = model.getColumnStart(column); k < model.getColumnStart(column + 1); k++) {
+                hash = 31 * hash + model.getRowIndex(k);
+                hash = 31 * hash + Double.doubleToLongBits(model.getValue(k));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Writes the checkpoint aside and then moves it on the file, so a crash never leaves a partial checkpoint.
+     * The file aside has always the same name, so the crashes don't leave more of them.
+     * It is compressed at the best speed, since it is written while the search goes on.
+     *
+     * @param file the file to replace.
+     * @throws IOException if the file can't be written.
+     */
+    void write(Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(Files.newOutputStream(temporary), deflater)))) {
+                this.write(output);
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            deflater.end();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads a checkpoint, rebuilding the open nodes with their ancestors.
+     *
+     * @param file      the file written by {@code write}.
+     * @param model     the presolved model the search is resumed on.
+     * @param modelHash the hash of the model.
+     * @return the checkpoint.
+     * @throws IOException if the file can't be read, it is corrupted or it refers to another model.
+     */
+    static Checkpoint read(Path file, LinearModel model, long modelHash) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new InflaterInputStream(Files.newInputStream(file))))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Not a branch and bound checkpoint");
+            }
+            long hash = input.readLong();
+            if (hash != modelHash) {
+                throw new IOException("The checkpoint refers to another model");
+            }
+            Checkpoint checkpoint = new Checkpoint(hash);
+            checkpoint.read(input, model);
+            return checkpoint;
+        }
+    }
+
+    /**
+     * @param output where the checkpoint is written.
+     * @throws IOException if it can't be written.
+     */
+    private void write(DataOutputStream output) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeLong(this.modelHash);
+        output.writeLong(this.solvedNodesCount);
+        output.writeLong(this.pivotsCount);
+        output.writeLong(this.propagatedNodesCount);
+        output.writeLong(this.localFixingsCount);
+        output.writeLong(this.elapsedMillis);
+        output.writeInt(this.branchCutsCount);
+        output.writeDouble(this.gapBound);
+        output.writeInt(this.incumbentsBySource.size());
+        for (Map.Entry<String, Integer> entry : this.incumbentsBySource.entrySet()) {
+            output.writeUTF(entry.getKey());
+            output.writeInt(entry.getValue());
+        }
+        output.writeBoolean(this.incumbentValues != null);
+        if (this.incumbentValues != null) {
+            output.writeDouble(this.incumbentValue);
+            output.writeInt(this.incumbentId);
+            output.writeUTF(this.incumbentSource);
+            output.writeLong(this.incumbentSolvedNodes);
+            output.writeLong(this.incumbentMillis);
+            writeValues(output, this.incumbentValues);
+        }
+        output.writeInt(this.globalFixings.size());
+        for (BranchCut fixing : this.globalFixings) {
+            writeFixing(output, fixing);
+        }
+        output.writeBoolean(this.rootValues != null);
+        if (this.rootValues != null) {
+            output.writeDouble(this.rootBound);
+            writeValues(output, this.rootValues);
+            writeValues(output, this.rootReducedCosts);
+        }
+        output.writeInt(this.branchingState.length);
+        output.write(this.branchingState);
+        this.writeNodes(output);
+    }
+
+    /**
+     * Writes the open nodes and their ancestors, every ancestor before its descendants.
+     * The open nodes haven't been solved, so their own fixings aren't written.
+     *
+     * @param output where the nodes are written.
+     * @throws IOException if they can't be written.
+     */
+    private void writeNodes(DataOutputStream output) throws IOException {
+        Map<OpenNode, Integer> indexes = new IdentityHashMap<>();
+        List<OpenNode> nodes = new ArrayList<>();
+        List<OpenNode> path = new ArrayList<>();
+        for (OpenNode openNode : this.openNodes) {
+            path.clear();
+            for (OpenNode node = openNode; node != null && !indexes.containsKey(node); node = node.getParent()) {
+                path.add(node);
+            }
+            for (int i = path.size() - 1; i >= 0; i--) {
+                indexes.put(path.get(i), nodes.size());
+                nodes.add(path.get(i));
+            }
+        }
+        Map<OpenNode, Boolean> open = new IdentityHashMap<>();
+        this.openNodes.forEach(node -> open.put(node, true));
+
+        output.writeInt(nodes.size());
+        for (OpenNode node : nodes) {
+            boolean isOpen = open.containsKey(node);
+            output.writeInt(node.getId());
+            output.writeInt(node.getParent() == null ? NO_PARENT : indexes.get(node.getParent()));
+            output.writeBoolean(isOpen);
+            output.writeDouble(node.getParentBound());
+            output.writeDouble(node.getEstimate());
+            BranchCut cut = node.getBranchCut();
+            if (cut != null) {
+                output.writeInt(cut.getDecisionVariable().getIndex());
+                output.writeDouble(cut.getDecisionVariable().getCurrentValue());
+                output.writeBoolean(cut.isUpper());
+                output.writeInt(cut.getBound());
+            }
+            if (!isOpen) {
+                output.writeDouble(this.solutions.getOrDefault(node.getId(), Double.NaN));
+                List<BranchCut> fixings = node.getFixings();
+                output.writeInt(fixings.size());
+                for (BranchCut fixing : fixings) {
+                    writeFixing(output, fixing);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param input where the checkpoint is read, after the model hash.
+     * @param model the presolved model.
+     * @throws IOException if it can't be read or it is corrupted.
+     */
+    private void read(DataInputStream input, LinearModel model) throws IOException {
+        this.solvedNodesCount = input.readLong();
+        this.pivotsCount = input.readLong();
+        this.propagatedNodesCount = input.readLong();
+        this.localFixingsCount = input.readLong();
+        this.elapsedMillis = input.readLong();
+        this.branchCutsCount = input.readInt();
+        this.gapBound = input.readDouble();
+        int sources = input.readInt();
+        for (int i = 0; i < sources; i++) {
+            this.incumbentsBySource.put(input.readUTF(), input.readInt());
+        }
+        if (input.readBoolean()) {
+            this.incumbentValue = input.readDouble();
+            this.incumbentId = input.readInt();
+            this.incumbentSource = input.readUTF();
+            this.incumbentSolvedNodes = input.readLong();
+            this.incumbentMillis = input.readLong();
+            this.incumbentValues = readValues(input, model.getColumnsCount());
+        }
+        int fixings = input.readInt();
+        for (int i = 0; i < fixings; i++) {
+            this.globalFixings.add(readFixing(input, model));
+        }
+        if (input.readBoolean()) {
+            this.rootBound = input.readDouble();
+            this.rootValues = readValues(input, model.getColumnsCount());
+            this.rootReducedCosts = readValues(input, model.getColumnsCount());
+        }
+        int stateLength = input.readInt();
+        if (stateLength < 0) {
+            throw new IOException("Corrupted checkpoint: branching state of " + stateLength + " bytes");
+        }
+        this.branchingState = new byte[stateLength];
+        input.readFully(this.branchingState);
+        this.readNodes(input, model);
+    }
+
+    /**
+     * Rebuilds the open nodes and their ancestors, without the bases.
+     *
+     * @param input where the nodes are read.
+     * @param model the presolved model.
+     * @throws IOException if they can't be read or they are corrupted.
+     */
+    private void readNodes(DataInputStream input, LinearModel model) throws IOException {
+        int count = input.readInt();
+        List<OpenNode> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int id = input.readInt();
+            int parentIndex = input.readInt();
+            boolean isOpen = input.readBoolean();
+            double parentBound = input.readDouble();
+            double estimate = input.readDouble();
+            if (parentIndex < NO_PARENT || parentIndex >= nodes.size() || (parentIndex == NO_PARENT) != (id == DecisionTree.ROOT_ID)) {
+                throw new IOException("Corrupted checkpoint: node " + id + " has parent " + parentIndex);
+            }
+            OpenNode parent = parentIndex == NO_PARENT ? null : nodes.get(parentIndex);
+            BranchCut cut = null;
+            if (parent != null) {
+                int column = readColumn(input, model);
+                double value = input.readDouble();
+                cut = new BranchCutImpl(id, new DecisionVariableImpl(model.getColumnName(column), column, value), input.readBoolean(), input.readInt());
+            }
+            OpenNode node = new OpenNodeImpl(id, parent, cut, parentBound, estimate, null);
+            if (isOpen) {
+                this.openNodes.add(node);
+            } else {
+                this.solutions.put(id, input.readDouble());
+                int fixings = input.readInt();
+                List<BranchCut> nodeFixings = new ArrayList<>(fixings);
+                for (int k = 0; k < fixings; k++) {
+                    nodeFixings.add(readFixing(input, model));
+                }
+                node.setFixings(nodeFixings);
+            }
+            nodes.add(node);
+        }
+    }
+
+    /**
+     * @param output where the fixing is written.
+     * @param fixing a bound of a column.
+     * @throws IOException if it can't be written.
+     */
+    private static void writeFixing(DataOutputStream output, BranchCut fixing) throws IOException {
+        output.writeInt(fixing.getDecisionVariable().getIndex());
+        output.writeBoolean(fixing.isUpper());
+        output.writeInt(fixing.getBound());
+    }
+
+    /**
+     * @param input where the fixing is read.
+     * @param model the presolved model.
+     * @return the fixing.
+     * @throws IOException if it can't be read or its column isn't in the model.
+     */
+    private static BranchCut readFixing(DataInputStream input, LinearModel model) throws IOException {
+        int column = readColumn(input, model);
+        return ReducedCostFixing.cut(model, column, input.readBoolean(), input.readInt());
+    }
+
+    /**
+     * @param input where the column is read.
+     * @param model the presolved model.
+     * @return the index of a column of the model.
+     * @throws IOException if it can't be read or the column isn't in the model.
+     */
+    private static int readColumn(DataInputStream input, LinearModel model) throws IOException {
+        int column = input.readInt();
+        if (column < 0 || column >= model.getColumnsCount()) {
+            throw new IOException("Corrupted checkpoint: column " + column);
+        }
+        return column;
+    }
+
+    /**
+     * @param output where the values are written.
+     * @param values the values by column.
+     * @throws IOException if they can't be written.
+     */
+    private static void writeValues(DataOutputStream output, double[] values) throws IOException {
+        output.writeInt(values.length);
+        for (double value : values) {
+            output.writeDouble(value);
+        }
+    }
+
+    /**
+     * @param input   where the values are read.
+     * @param columns the columns of the presolved model.
+     * @return the values by column.
+     * @throws IOException if they can't be read or they aren't one per column.
+     */
+    private static double[] readValues(DataInputStream input, int columns) throws IOException {
+        if (input.readInt() != columns) {
+            throw new IOException("Corrupted checkpoint: values aren't one per column");
+        }
+        double[] values = new double[columns];
+        for (int column = 0; column < columns; column++) {
+            values[column] = input.readDouble();
+        }
+        return values;
+    }
+}
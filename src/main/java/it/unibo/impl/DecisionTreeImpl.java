@@ -5,121 +5,106 @@ import it.unibo.api.DecisionTree;
 import it.unibo.api.DecisionVariable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
- * Implements a DecisionTree for storing problems in a dataset.
+ * Implements a DecisionTree for storing problems in a dataset.<br>
+ * The nodes are stored by id in the primitive arrays of a {@code Storage} shared by the whole tree,
+ * so a node costs a few numbers instead of the copies of its variables and cuts,
+ * and an instance of this class is only a view of a node.
  */
 public class DecisionTreeImpl implements DecisionTree {
+    private final Storage storage;
     private final int id;
-    private final BranchProblemImpl branchProblem;
-    private Optional<DecisionTree> parent;
-    private Optional<DecisionTree> leftChild;
-    private Optional<DecisionTree> rightChild;
 
     /**
-     * Define a node by id and cuts. Note: the id must be unique.
+     * Define the root of a new tree.
      *
-     * @param id         the id of the node.
-     * @param branchCuts the cuts of the node.
+     * @param variableNames the names of the variables by index.
      */
-    public DecisionTreeImpl(int id, List<BranchCut> branchCuts) {
-        this.id = id;
-        this.parent = Optional.empty();
-        this.leftChild = Optional.empty();
-        this.rightChild = Optional.empty();
-        this.branchProblem = new BranchProblemImpl(branchCuts);
-        this.setBranchProblemSolution(Double.MAX_VALUE);
+    public DecisionTreeImpl(List<String> variableNames) {
+        this(new Storage(variableNames), ROOT_ID);
+        this.storage.add(ROOT_ID, Storage.NONE, null);
     }
 
     /**
-     * Define a node by id, variables, and cuts. Note: the id must be unique.
+     * Define a view of a stored node.
      *
-     * @param id                the id of the node.
-     * @param decisionVariables the variables of the node.
-     * @param branchCuts        the cuts of the node.
+     * @param storage the storage of the tree.
+     * @param id      the id of the node.
      */
-    public DecisionTreeImpl(int id, List<DecisionVariable> decisionVariables, List<BranchCut> branchCuts) {
-        this(id, branchCuts);
-        this.setCurrentValues(decisionVariables);
+    private DecisionTreeImpl(Storage storage, int id) {
+        this.storage = storage;
+        this.id = id;
     }
 
     /**
-     * Define a node by id, variables, cuts, and solution value. Note: the id must be unique.
-     *
-     * @param id                the id of the node.
-     * @param decisionVariables the variables of the node.
-     * @param branchCuts        the cuts of the node.
-     * @param solutionValue     the solution value of the node.
+     * {@inheritDoc}
      */
-    public DecisionTreeImpl(int id, List<DecisionVariable> decisionVariables, List<BranchCut> branchCuts, double solutionValue) {
-        this(id, decisionVariables, branchCuts);
-        this.setBranchProblemSolution(solutionValue);
+    public final Optional<DecisionTree> addChild(int id, BranchCut branchCut) {
+        this.storage.add(id, this.id, branchCut);
+        return Optional.of(new DecisionTreeImpl(this.storage, id));
     }
 
     /**
      * {@inheritDoc}
      */
-    public final Optional<DecisionTree> addChild(int id, String direction, List<BranchCut> cuts) {
-        switch (direction) {
-            case RIGHT_DIRECTION -> {
-                this.rightChild = Optional.of(new DecisionTreeImpl(id, cuts));
-                this.rightChild.ifPresent(decisionTree -> decisionTree.setParent(this));
-                return this.rightChild;
-            }
-            case LEFT_DIRECTION -> {
-                this.leftChild = Optional.of(new DecisionTreeImpl(id, cuts));
-                this.leftChild.ifPresent(decisionTree -> decisionTree.setParent(this));
-                return this.leftChild;
-            }
-            default -> {
-                return Optional.empty();
-            }
-        }
+    public final void setBranchProblemSolution(double solution) {
+        this.storage.setSolution(this.id, solution);
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    public double getBranchProblemSolution() {
+        return this.storage.getSolution(this.id);
     }
 
     /**
      * {@inheritDoc}
      */
-    public final void setBranchProblemSolution(double solution) {
-        this.branchProblem.setSolutionValue(solution);
+    public final void setCurrentValues(double[] values) {
+        this.storage.setValues(this.id, values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<DecisionVariable> getCurrentValues() {
+        return this.storage.getValues(this.id);
     }
 
     /**
      * {@inheritDoc}
      */
-    public final void setCurrentValues(List<DecisionVariable> values) {
-        this.branchProblem.setDecisionVariables(values);
+    public List<BranchCut> getBranchCuts() {
+        return this.storage.getCuts(this.id);
     }
 
     /**
      * {@inheritDoc}
      */
-    public void setParent(DecisionTree parent) {
-        this.parent = Optional.of(parent);
+    public final void setPivotsCount(int pivotsCount) {
+        this.storage.setPivotsCount(this.id, pivotsCount);
     }
 
     /**
      * {@inheritDoc}
      */
     public Optional<DecisionTree> getParent() {
-        return this.parent;
+        return this.view(this.storage.getParent(this.id));
     }
 
     /**
      * {@inheritDoc}
      */
     public DecisionTree getRootProblem() {
-        DecisionTree root = this;
-        if (root.getId() == ROOT_ID) {
-            return root;
-        }
-        while (root.getParent().isPresent()) {
-            root = root.getParent().get();
-        }
-        return root;
+        return this.id == ROOT_ID ? this : new DecisionTreeImpl(this.storage, ROOT_ID);
     }
 
     /**
@@ -133,11 +118,8 @@ public class DecisionTreeImpl implements DecisionTree {
      * {@inheritDoc}
      */
     public Optional<DecisionTree> getChild(int id) {
-        if (this.rightChild.isPresent() && this.rightChild.get().getId() == id) {
-            return this.rightChild;
-        }
-        if (this.leftChild.isPresent() && this.leftChild.get().getId() == id) {
-            return this.leftChild;
+        if (this.storage.getLeftChild(this.id) == id || this.storage.getRightChild(this.id) == id) {
+            return this.view(id);
         }
         return Optional.empty();
     }
@@ -146,28 +128,28 @@ public class DecisionTreeImpl implements DecisionTree {
      * {@inheritDoc}
      */
     public Optional<DecisionTree> findById(int id) {
-        DecisionTree root = this;
-        if (root.getId() == id) {
-            return Optional.of(root);
-        }
-        while (root.getParent().isPresent()) {
-            root = root.getParent().get();
-        }
-        return search(root, id);
+        return this.storage.contains(id) ? this.view(id) : Optional.empty();
     }
 
     /**
      * {@inheritDoc}
      */
     public Optional<DecisionTree> getLeftChild() {
-        return this.leftChild;
+        return this.view(this.storage.getLeftChild(this.id));
     }
 
     /**
      * {@inheritDoc}
      */
     public Optional<DecisionTree> getRightChild() {
-        return this.rightChild;
+        return this.view(this.storage.getRightChild(this.id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getMemoryBytes() {
+        return this.storage.getMemoryBytes();
     }
 
     /**
@@ -175,124 +157,277 @@ public class DecisionTreeImpl implements DecisionTree {
      */
     @Override
     public String toString() {
+        int parent = this.storage.getParent(this.id);
+        int leftChild = this.storage.getLeftChild(this.id);
+        int rightChild = this.storage.getRightChild(this.id);
         return "*** DECISION TREE ***\n" +
                 "\nId = " +
                 id +
                 "\nParentId = " +
-                (this.parent.isPresent() ? this.parent.get().getId() : "NIL") +
+                (parent == Storage.NONE ? "NIL" : parent) +
                 "\nLeftChildId = " +
-                (this.leftChild.isPresent() ? this.leftChild.get().getId() : "NIL") +
+                (leftChild == Storage.NONE ? "NIL" : leftChild) +
                 "\nRightChildId = " +
-                (this.rightChild.isPresent() ? this.rightChild.get().getId() : "NIL") +
+                (rightChild == Storage.NONE ? "NIL" : rightChild) +
                 "\n\n" +
-                this.branchProblem +
+                this.branchProblemToString() +
                 "\n\n*** EOF ***";
     }
 
     /**
-     * Search a node from the given root.
-     *
-     * @param root indicates the starting point of the searching.
-     * @param id   the id to search.
-     * @return an Optional of the node if it's found.
+     * @param id the id of a node, or {@code Storage.NONE}.
+     * @return the view of the node.
      */
-    private Optional<DecisionTree> search(DecisionTree root, int id) {
-        Optional<DecisionTree> result = Optional.empty();
-
-        if (root.getId() == id) {
-            return Optional.of(root);
-        }
+    private Optional<DecisionTree> view(int id) {
+        return id == Storage.NONE ? Optional.empty() : Optional.of(new DecisionTreeImpl(this.storage, id));
+    }
 
-        if (root.getLeftChild().isPresent()) {
-            result = search(root.getLeftChild().get(), id);
+    /**
+     * @return the problem log.
+     */
+    private String branchProblemToString() {
+        StringBuilder out = new StringBuilder();
+        out.append("BRANCH PROBLEM");
+        out.append("\n\nSolution");
+        out.append("\nValue = ");
+        out.append(this.getBranchProblemSolution());
+        out.append("\nPivots = ");
+        out.append(this.storage.getPivotsCount(this.id));
+
+        out.append("\n\nDecision Variables");
+        for (DecisionVariable decisionVariable : this.getCurrentValues()) {
+            out.append("\n");
+            out.append(decisionVariable);
         }
-
-        if (root.getRightChild().isPresent() && result.isEmpty()) {
-            result = search(root.getRightChild().get(), id);
+        out.append("\n\nCuts");
+        for (BranchCut cut : this.getBranchCuts()) {
+            out.append("\n");
+            out.append(cut);
         }
-        return result;
+        return out.toString();
     }
 
-
     /**
-     * Defines a wrapper for the problem data saved in the single node of the tree.
+     * Stores the nodes of a tree in struct of arrays indexed by id: every node keeps its parent, its children,
+     * the variable, bound and value of its cut, its solution and pivots.
+     * A node is a left child if its cut is an upper bound, so the direction isn't stored.<br>
+     * The workers add and solve the nodes concurrently, so the access is synchronized.
      */
-    private static class BranchProblemImpl {
-        private double solutionValue;
-        private final List<DecisionVariable> decisionVariables;
-        private final List<BranchCut> branchCuts;
+    private static final class Storage {
+        private static final int NONE = -1;
+        private static final int MISSING = -2;
+        private static final int INITIAL_CAPACITY = 1024;
+        private static final int NODE_BYTES = 6 * Integer.BYTES + 2 * Double.BYTES;
+        private static final int VALUES_OVERHEAD_BYTES = 64;
+
+        private final List<String> variableNames;
+        private final Map<Integer, double[]> values = new HashMap<>();
+        private int size;
+        private long valuesBytes;
+        private int[] parents;
+        private int[] leftChildren;
+        private int[] rightChildren;
+        private int[] variables;
+        private int[] bounds;
+        private double[] branchValues;
+        private double[] solutions;
+        private int[] pivotsCounts;
 
         /**
-         * Define a BranchProblem by cuts.
+         * Define an empty storage.
          *
-         * @param branchCuts the cuts that define the problem.
+         * @param variableNames the names of the variables by index.
          */
-        public BranchProblemImpl(List<BranchCut> branchCuts) {
-            this.decisionVariables = new ArrayList<>();
-            this.branchCuts = branchCuts;
+        private Storage(List<String> variableNames) {
+            this.variableNames = variableNames;
+            this.size = 0;
+            this.parents = new int[0];
+            this.leftChildren = new int[0];
+            this.rightChildren = new int[0];
+            this.variables = new int[0];
+            this.bounds = new int[0];
+            this.branchValues = new double[0];
+            this.solutions = new double[0];
+            this.pivotsCounts = new int[0];
+            this.ensureCapacity(INITIAL_CAPACITY);
         }
 
         /**
-         * Set the decision variables of the current problem.
+         * Adds a node, not solved yet.
          *
-         * @param decisionVariables the variables that define the problem.
+         * @param id        the id of the node.
+         * @param parent    the id of the parent, {@code NONE} for the root.
+         * @param branchCut the cut from the parent, null for the root.
          */
-        public void setDecisionVariables(List<DecisionVariable> decisionVariables) {
-            this.decisionVariables.addAll(decisionVariables);
+        private synchronized void add(int id, int parent, BranchCut branchCut) {
+            this.ensureCapacity(id + 1);
+            this.size = Math.max(this.size, id + 1);
+            this.parents[id] = parent;
+            this.leftChildren[id] = NONE;
+            this.rightChildren[id] = NONE;
+            this.solutions[id] = Double.NaN;
+            this.pivotsCounts[id] = 0;
+            if (branchCut == null) {
+                this.variables[id] = NONE;
+                return;
+            }
+            this.variables[id] = branchCut.getDecisionVariable().getIndex();
+            this.bounds[id] = branchCut.getBound();
+            this.branchValues[id] = branchCut.getDecisionVariable().getCurrentValue();
+            if (branchCut.isUpper()) {
+                this.leftChildren[parent] = id;
+            } else {
+                this.rightChildren[parent] = id;
+            }
         }
 
         /**
-         * Set the solution value of the problem.
-         *
-         * @param solutionValue the value to set the solution of the problem.
+         * @param id the id of a node.
+         * @return true if the node has been added.
          */
-        public void setSolutionValue(double solutionValue) {
-            this.solutionValue = solutionValue;
+        private synchronized boolean contains(int id) {
+            return id >= 0 && id < this.size && this.parents[id] != MISSING;
         }
 
         /**
-         * @return the solution value of this problem.
+         * @param id the id of a node.
+         * @return the id of its parent, {@code NONE} for the root.
          */
-        public double getSolutionValue() {
-            return this.solutionValue;
+        private synchronized int getParent(int id) {
+            return this.parents[id];
         }
 
         /**
-         * @return the decision variables of this problem.
+         * @param id the id of a node.
+         * @return the id of its left child, {@code NONE} if missing.
          */
-        public List<DecisionVariable> getDecisionVariables() {
-            return this.decisionVariables;
+        private synchronized int getLeftChild(int id) {
+            return this.leftChildren[id];
         }
 
         /**
-         * @return the cuts of this problem.
+         * @param id the id of a node.
+         * @return the id of its right child, {@code NONE} if missing.
          */
-        public List<BranchCut> getBranchCuts() {
-            return this.branchCuts;
+        private synchronized int getRightChild(int id) {
+            return this.rightChildren[id];
         }
 
         /**
-         * @return the problem log.
+         * @param id       the id of a node.
+         * @param solution the objective value of its relaxation.
          */
-        @Override
-        public String toString() {
-            StringBuilder out = new StringBuilder();
-            out.append("BRANCH PROBLEM");
-            out.append("\n\nSolution");
-            out.append("\nValue = ");
-            out.append(this.getSolutionValue());
-
-            out.append("\n\nDecision Variables");
-            for (DecisionVariable decisionVariable : this.getDecisionVariables()) {
-                out.append("\n");
-                out.append(decisionVariable);
+        private synchronized void setSolution(int id, double solution) {
+            this.solutions[id] = solution;
+        }
+
+        /**
+         * @param id the id of a node.
+         * @return the objective value of its relaxation.
+         */
+        private synchronized double getSolution(int id) {
+            return this.solutions[id];
+        }
+
+        /**
+         * @param id          the id of a node.
+         * @param pivotsCount the pivots needed to solve it.
+         */
+        private synchronized void setPivotsCount(int id, int pivotsCount) {
+            this.pivotsCounts[id] = pivotsCount;
+        }
+
+        /**
+         * @param id the id of a node.
+         * @return the pivots needed to solve it.
+         */
+        private synchronized int getPivotsCount(int id) {
+            return this.pivotsCounts[id];
+        }
+
+        /**
+         * @param id     the id of a node.
+         * @param values the values of the variables, copied.
+         */
+        private synchronized void setValues(int id, double[] values) {
+            double[] previous = this.values.put(id, values.clone());
+            this.valuesBytes += bytesOf(values) - (previous == null ? 0 : bytesOf(previous));
+        }
+
+        /**
+         * @return the bytes of the node arrays, by their capacity, and of the stored values.
+         */
+        private synchronized long getMemoryBytes() {
+            return (long) this.parents.length * NODE_BYTES + this.valuesBytes;
+        }
+
+        /**
+         * @param values the stored values of a node.
+         * @return their bytes, with the overhead of the array and of its map entry.
+         */
+        private static long bytesOf(double[] values) {
+            return (long) values.length * Double.BYTES + VALUES_OVERHEAD_BYTES;
+        }
+
+        /**
+         * @param id the id of a node.
+         * @return the stored variables of the node, empty if missing.
+         */
+        private synchronized List<DecisionVariable> getValues(int id) {
+            double[] stored = this.values.get(id);
+            if (stored == null) {
+                return List.of();
+            }
+            List<DecisionVariable> decisionVariables = new ArrayList<>(stored.length);
+            for (int i = 0; i < stored.length; i++) {
+                decisionVariables.add(new DecisionVariableImpl(this.variableNames.get(i), i, stored[i]));
+            }
+            return decisionVariables;
+        }
+
+        /**
+         * Rebuilds the cuts of a node walking up to the root.
+         *
+         * @param id the id of a node.
+         * @return the cuts from the root down.
+         */
+        private synchronized List<BranchCut> getCuts(int id) {
+            List<BranchCut> cuts = new ArrayList<>();
+            for (int current = id; this.parents[current] != NONE; current = this.parents[current]) {
+                int variable = this.variables[current];
+                cuts.add(new BranchCutImpl(
+                        current,
+                        new DecisionVariableImpl(this.variableNames.get(variable), variable, this.branchValues[current]),
+                        this.leftChildren[this.parents[current]] == current,
+                        this.bounds[current]
+                ));
             }
-            out.append("\n\nCuts");
-            for (BranchCut cut : this.getBranchCuts()) {
-                out.append("\n");
-                out.append(cut);
+            Collections.reverse(cuts);
+            return cuts;
+        }
+
+        /**
+         * Grows the arrays, doubling them, the new slots are missing nodes.
+         *
+         * @param capacity the minimum number of nodes.
+         */
+        private void ensureCapacity(int capacity) {
+            int oldCapacity = this.parents.length;
+            if (capacity <= oldCapacity) {
+                return;
             }
-            return out.toString();
+            int newCapacity = Math.max(capacity, 2 * oldCapacity);
+            this.parents = Arrays.copyOf(this.parents, newCapacity);
+            this.leftChildren = Arrays.copyOf(this.leftChildren, newCapacity);
+            this.rightChildren = Arrays.copyOf(this.rightChildren, newCapacity);
+            this.variables = Arrays.copyOf(this.variables, newCapacity);
+            this.bounds = Arrays.copyOf(this.bounds, newCapacity);
+            this.branchValues = Arrays.copyOf(this.branchValues, newCapacity);
+            this.solutions = Arrays.copyOf(this.solutions, newCapacity);
+            this.pivotsCounts = Arrays.copyOf(this.pivotsCounts, newCapacity);
+            Arrays.fill(this.parents, oldCapacity, newCapacity, MISSING);
+            Arrays.fill(this.leftChildren, oldCapacity, newCapacity, NONE);
+            Arrays.fill(this.rightChildren, oldCapacity, newCapacity, NONE);
         }
     }
 }
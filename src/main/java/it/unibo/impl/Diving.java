@@ -0,0 +1,105 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchCut;
+import it.unibo.api.DualProblem;
+import it.unibo.api.LinearModel;
+import it.unibo.api.SimplexBasis;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Dives from the relaxation of a node to an integer solution, for the diving heuristics: at every step a fractional
+ * column is rounded by a temporary cut and the relaxation is solved again, until it is integer.
+ * When a rounding makes the relaxation infeasible the other direction is tried once, then the dive is abandoned.
+ */
+final class Diving {
+    private static final int DIVING_CUT_ID = -4;
+
+    private Diving() {
+    }
+
+    /**
+     * Chooses the column to round at every step of a dive.
+     */
+    interface Rule {
+
+        /**
+         * @param values              the current values of the columns.
+         * @param fractionalVariables the indexes of the fractional columns, not empty.
+         * @return the index of the column to round, -1 to abandon the dive.
+         */
+        int selectColumn(double[] values, BitSet fractionalVariables);
+
+        /**
+         * @param values the current values of the columns.
+         * @param column the column to round.
+         * @return true to round it down, false to round it up.
+         */
+        boolean isDown(double[] values, int column);
+    }
+
+    /**
+     * Dives from the last solution of the dual problem, then gives it back with its cuts and basis.
+     *
+     * @param dualProblem the dual problem just solved at a node.
+     * @param model       the model of the dual problem.
+     * @param cutoff      the objective value a solution has to improve, the dive is abandoned when it can't.
+     * @param pivotsLimit the maximum number of dual pivots of the whole dive.
+     * @param rule        the choice of the columns to round.
+     * @return the integer solution, empty if the dive has been abandoned.
+     */
+    static Optional<double[]> dive(DualProblem dualProblem, LinearModel model, double cutoff, int pivotsLimit, Rule rule) {
+        SimplexBasis basis = dualProblem.getBasis();
+        List<BranchCut> cuts = new ArrayList<>();
+        int pivots = 0;
+        try {
+            for (int depth = 0; depth <= model.getColumnsCount(); depth++) {
+                double[] values = dualProblem.getCurrentValuesView();
+                BitSet fractionalVariables = dualProblem.getFractionalVariables();
+                if (fractionalVariables.isEmpty()) {
+                    double[] solution = PrimalSolutions.round(values);
+                    return PrimalSolutions.isFeasible(model, solution) ? Optional.of(solution) : Optional.empty();
+                }
+                int column = rule.selectColumn(values, fractionalVariables);
+                if (column < 0) {
+                    return Optional.empty();
+                }
+                double value = values[column];
+                boolean down = rule.isDown(values, column);
+                boolean solved = false;
+                for (int attempt = 0; attempt < 2 && !solved && pivots < pivotsLimit; attempt++, down = !down) {
+                    BranchCut cut = new BranchCutImpl(
+                            DIVING_CUT_ID,
+                            new DecisionVariableImpl(model.getColumnName(column), column, value),
+                            down,
+                            (int) (down ? Math.floor(value) : Math.ceil(value))
+                    );
+                    dualProblem.addBranchCut(cut);
+                    cuts.add(cut);
+                    dualProblem.setPivotsLimit(pivotsLimit - pivots);
+                    solved = dualProblem.solve();
+                    pivots += dualProblem.getLastPivotsCount();
+                    if (!solved) {
+                        dualProblem.deleteBranchCut(cuts.remove(cuts.size() - 1));
+                        if (dualProblem.isLastSolveTruncated()) {
+                            return Optional.empty();
+                        }
+                    }
+                }
+                if (!solved || !PrimalSolutions.improves(dualProblem.isMinimumProblem(), dualProblem.getCurrentSolution(), cutoff)) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.empty();
+        } finally {
+            for (int i = cuts.size() - 1; i >= 0; i--) {
+                dualProblem.deleteBranchCut(cuts.get(i));
+            }
+            dualProblem.setPivotsLimit(Integer.MAX_VALUE);
+            dualProblem.setBasis(basis);
+        }
+    }
+}
@@ -2,60 +2,105 @@ package it.unibo.impl;
 
 import ilog.concert.*;
 import ilog.opl.IloCplex;
+import it.unibo.api.BoundChangeStack;
 import it.unibo.api.BranchCut;
 import it.unibo.api.DecisionVariable;
 import it.unibo.api.DualProblem;
+import it.unibo.api.LinearModel;
+import it.unibo.api.LoadReport;
+import it.unibo.api.LogLevel;
+import it.unibo.api.ModelReader;
+import it.unibo.api.SimplexBasis;
+import it.unibo.api.SolverLog;
 
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.util.*;
+import java.util.function.BooleanSupplier;
 
 /**
  * Through this class is possible to solve PL problems only using the dual algorithm.
  * Features: You can add and remove cuts to solve new problems built from the imported one.
+ * The cuts can be added as new rows, or as bound changes of the variables which keep the matrix shape fixed.<br>
+ * The model is read by the Java mps reader and then built column by column into a CPLEX LP matrix,
+ * so the description of the problem doesn't need to query CPLEX.
  */
 public class DualProblemImpl implements DualProblem {
+    private static final double INTEGER_TOLERANCE = 1e-9;
 
+    private final boolean branchCutsAsBounds;
     private boolean isMinimumProblem;
+    private final LinearModel model;
     private IloCplex cplex;
-    private IloObjective objectiveFunction;
-    private final ArrayList<DecisionVariable> currentValues = new ArrayList<>();
+    private IloNumVar[] variables;
+    private IloRange[] ranges;
+    private double[] objectiveCoefficients;
+    private double[] currentValues;
+    private double[] currentReducedCosts;
+    private boolean reducedCostsUpdated;
+    private BitSet fractionalVariables;
     private final Map<BranchCut, IloRange> currentCuts = new HashMap<>();
+    private final BoundChangeStack boundChanges = new BoundChangeStackImpl();
+    private SolverLog log = new AsyncSolverLogImpl(LogLevel.OFF);
+    private LoadReport loadReport;
+    private boolean truncated;
+    private boolean unbounded;
+    private boolean objectiveReplaced;
+    private double integralityTolerance = INTEGER_TOLERANCE;
+    private InterruptionCallback interruptionCallback;
 
     /**
-     * Define a dual PL problem importing one from the mps file.
+     * Define a dual PL problem importing one from the mps file, the cuts are added as new rows.
      *
      * @param pathToFile the path to the mps file which contains the PL problem.
      */
     public DualProblemImpl(String pathToFile) {
+        this(pathToFile, false);
+    }
+
+    /**
+     * Define a dual PL problem importing one from the mps file.
+     *
+     * @param pathToFile         the path to the mps file which contains the PL problem.
+     * @param branchCutsAsBounds true if the cuts only tighten the bounds of the variables instead of adding rows.
+     */
+    public DualProblemImpl(String pathToFile, boolean branchCutsAsBounds) {
+        this(new CachedModelReaderImpl(new MappedMpsReaderImpl()), pathToFile, branchCutsAsBounds);
+    }
+
+    /**
+     * Define a dual PL problem loading one from the mps file with the given reader.
+     *
+     * @param reader             the reader of the file.
+     * @param pathToFile         the path to the mps file which contains the PL problem.
+     * @param branchCutsAsBounds true if the cuts only tighten the bounds of the variables instead of adding rows.
+     */
+    public DualProblemImpl(ModelReader reader, String pathToFile, boolean branchCutsAsBounds) {
+        this(reader.read(pathToFile), branchCutsAsBounds);
+        this.loadReport = reader.getLastLoadReport().orElse(null);
+    }
+
+    /**
+     * Define a dual PL problem from an already loaded model.
+     *
+     * @param model              the PL problem.
+     * @param branchCutsAsBounds true if the cuts only tighten the bounds of the variables instead of adding rows.
+     */
+    public DualProblemImpl(LinearModel model, boolean branchCutsAsBounds) {
+        this.model = model;
+        this.branchCutsAsBounds = branchCutsAsBounds;
+        this.isMinimumProblem = model.isMinimumProblem();
         try {
-            if (!new File(pathToFile).exists()) {
-                throw new FileNotFoundException();
-            }
             this.cplex = new IloCplex();
             this.setDualAlgorithm();
             this.setQuiet();
-            this.cplex.importModel(pathToFile);
-            this.objectiveFunction = this.cplex.getObjective();
-            this.isMinimumProblem = MINIMIZE_SENSE_LABEL.equals(this.objectiveFunction.getSense().toString());
-
-            IloNumVar[] vars = this.cplex.getMatrix().getNumVars();
-            for (int i = 0; i < vars.length; i++) {
-                this.currentValues.add(
-                        new DecisionVariableImpl(
-                                vars[i].getName(),
-                                i
-                        ));
-            }
-
-            this.printProblem(this.cplex.getMatrix(), this.objectiveFunction);
-
+            this.buildModel();
+            this.currentValues = new double[this.variables.length];
+            this.currentReducedCosts = new double[this.variables.length];
+            this.fractionalVariables = new BitSet(this.variables.length);
         } catch (IloException e) {
-            System.err.println("Failed to instance the cplex model " + e);
-            System.exit(1);
-        } catch (FileNotFoundException e) {
-            System.err.println("File not found" + e);
-            System.exit(1);
+            if (this.cplex != null) {
+                this.cplex.end();
+            }
+            throw new IllegalStateException("Failed to instance the cplex model", e);
         }
     }
 
@@ -63,22 +108,25 @@ public class DualProblemImpl implements DualProblem {
      * {@inheritDoc}
      */
     public final void addBranchCut(BranchCut branchCut) {
+        if (this.branchCutsAsBounds) {
+            this.log.log(LogLevel.VERBOSE, () -> "\n\n+++ ADDING CUT +++\nbranchCut" + branchCut.getId() + ": " + this.cutToString(branchCut));
+            this.applyBoundChange(branchCut);
+            return;
+        }
         try {
             IloLinearNumExpr cut = this.cplex.linearNumExpr();
-            cut.addTerm(1, this.cplex.getMatrix().getNumVar(branchCut.getDecisionVariable().getIndex()));
+            cut.addTerm(1, this.variables[branchCut.getDecisionVariable().getIndex()]);
 
             IloRange newConstraint = branchCut.isUpper() ?
                     this.cplex.le(cut, branchCut.getBound()) :
                     this.cplex.ge(cut, branchCut.getBound());
 
-            System.out.println("\n\n+++ ADDING CUT +++");
-            System.out.println("branchCut" + branchCut.getId() + ": " + newConstraint.toString());
+            this.log.log(LogLevel.VERBOSE, () -> "\n\n+++ ADDING CUT +++\nbranchCut" + branchCut.getId() + ": " + newConstraint);
 
             this.currentCuts.put(branchCut, newConstraint);
             this.cplex.add(newConstraint);
         } catch (IloException e) {
-            System.err.println("File to add constraint" + e);
-            System.exit(1);
+            throw new IllegalStateException("Failed to add the cut", e);
         }
     }
 
@@ -86,15 +134,18 @@ public class DualProblemImpl implements DualProblem {
      * {@inheritDoc}
      */
     public final void deleteBranchCut(BranchCut branchCut) {
+        if (this.branchCutsAsBounds) {
+            this.log.log(LogLevel.VERBOSE, () -> "\n\n--- REMOVING CUT ---\nbranchCut" + branchCut.getId() + ": " + this.cutToString(branchCut));
+            this.deleteBoundChange(branchCut);
+            return;
+        }
         try {
-            System.out.println("\n\n--- REMOVING CUT ---");
-            System.out.println("branchCut" + branchCut.getId() + ": " + this.currentCuts.get(branchCut).toString());
+            this.log.log(LogLevel.VERBOSE, () -> "\n\n--- REMOVING CUT ---\nbranchCut" + branchCut.getId() + ": " + this.currentCuts.get(branchCut));
 
             this.cplex.remove(this.currentCuts.get(branchCut));
             this.currentCuts.remove(branchCut);
         } catch (IloException e) {
-            System.err.println("File to add constraint" + e);
-            System.exit(1);
+            throw new IllegalStateException("Failed to remove the cut", e);
         }
     }
 
@@ -103,18 +154,151 @@ public class DualProblemImpl implements DualProblem {
      */
     public final boolean solve() {
         try {
-            if (this.cplex.solve()) {
+            this.truncated = false;
+            this.unbounded = false;
+            boolean solved = this.cplex.solve();
+            if (this.interruptionCallback != null) {
+                this.interruptionCallback.rethrowFailure();
+            }
+            if (solved) {
                 this.updateCurrentValues();
-                this.printSolution(this.cplex);
+                this.log.log(LogLevel.VERBOSE, () -> this.solutionToString(this.cplex));
                 return true;
             }
-            this.printSolution(this.cplex);
+            IloCplex.CplexStatus status = this.cplex.getCplexStatus();
+            this.truncated = status == IloCplex.CplexStatus.AbortItLim || status == IloCplex.CplexStatus.AbortUser;
+            this.unbounded = status == IloCplex.CplexStatus.Unbounded;
+            this.log.log(LogLevel.VERBOSE, () -> this.solutionToString(this.cplex));
             return false;
         } catch (IloException e) {
-            System.err.println("Filed to solve" + e);
-            System.exit(1);
+            throw new IllegalStateException("Failed to solve", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void setPivotsLimit(int pivotsLimit) {
+        try {
+            this.cplex.setParam(IloCplex.Param.Simplex.Limits.Iterations, pivotsLimit);
+        } catch (IloException e) {
+            throw new IllegalStateException("Failed to set the pivots limit", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void setInterruption(BooleanSupplier interruption) {
+        try {
+            this.cplex.clearCallbacks();
+            this.interruptionCallback = interruption == null ? null : new InterruptionCallback(interruption);
+            if (this.interruptionCallback != null) {
+                this.cplex.use(this.interruptionCallback);
+            }
+        } catch (IloException e) {
+            throw new IllegalStateException("Failed to set the interruption", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void setIntegralityTolerance(double integralityTolerance) {
+        this.integralityTolerance = integralityTolerance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void setObjectiveCoefficients(double[] coefficients) {
+        try {
+            double[] objective = coefficients == null ? this.objectiveCoefficients : coefficients;
+            this.cplex.getObjective().setExpr(this.cplex.sum(this.model.getObjectiveConstant(), this.cplex.scalProd(objective, this.variables)));
+            this.objectiveReplaced = coefficients != null;
+        } catch (IloException e) {
+            throw new IllegalStateException("Failed to set the objective", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final boolean isLastSolveTruncated() {
+        return this.truncated;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final boolean isLastSolveUnbounded() {
+        return this.unbounded;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void setLog(SolverLog log) {
+        this.log = log;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final int getLastPivotsCount() {
+        return this.cplex.getNiterations();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final SimplexBasis getBasis() {
+        try {
+            IloCplex.BasisStatus[] columnStatuses = this.cplex.getBasisStatuses(this.variables);
+            IloCplex.BasisStatus[] rowStatuses = this.cplex.getBasisStatuses(this.ranges);
+            byte[] columns = new byte[columnStatuses.length];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = this.toBasisStatus(columnStatuses[i]);
+            }
+            byte[] rows = new byte[rowStatuses.length];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = this.toBasisStatus(rowStatuses[i]);
+            }
+            return new SimplexBasisImpl(columns, rows);
+        } catch (IloException e) {
+            throw new IllegalStateException("Failed to read the basis", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Note: the rows of the cuts currently added start as basic.
+     */
+    public final void setBasis(SimplexBasis basis) {
+        try {
+            IloNumVar[] vars = this.variables;
+            IloRange[] ranges = this.ranges;
+            IloRange[] constraints = new IloRange[ranges.length + this.currentCuts.size()];
+            IloCplex.BasisStatus[] columnStatuses = new IloCplex.BasisStatus[vars.length];
+            IloCplex.BasisStatus[] rowStatuses = new IloCplex.BasisStatus[constraints.length];
+
+            for (int i = 0; i < vars.length; i++) {
+                columnStatuses[i] = this.toCplexBasisStatus(basis.getColumnStatus(i));
+            }
+            for (int i = 0; i < ranges.length; i++) {
+                constraints[i] = ranges[i];
+                rowStatuses[i] = this.toCplexBasisStatus(basis.getRowStatus(i));
+            }
+            int i = ranges.length;
+            for (IloRange cut : this.currentCuts.values()) {
+                constraints[i] = cut;
+                rowStatuses[i++] = IloCplex.BasisStatus.Basic;
+            }
+
+            this.cplex.setBasisStatuses(vars, columnStatuses, constraints, rowStatuses);
+        } catch (IloException e) {
+            throw new IllegalStateException("Failed to set the basis", e);
         }
-        return false;
     }
 
     /**
@@ -128,12 +312,7 @@ public class DualProblemImpl implements DualProblem {
      * {@inheritDoc}
      */
     public final boolean areCurrentVariablesInteger() {
-        for (DecisionVariable decisionVariable : this.currentValues) {
-            if (!decisionVariable.isInteger()) {
-                return false;
-            }
-        }
-        return true;
+        return this.fractionalVariables.isEmpty();
     }
 
     /**
@@ -141,8 +320,22 @@ public class DualProblemImpl implements DualProblem {
      */
     public final double getCurrentSolution() {
         try {
-            return this.cplex.getObjValue();
+            if (this.truncated && !this.cplex.isDualFeasible()) {
+                return this.isMinimumProblem ? -Double.MAX_VALUE : Double.MAX_VALUE;
+            }
+            double objectiveValue = this.cplex.getObjValue();
+            if (!this.objectiveReplaced) {
+                return objectiveValue;
+            }
+            double objective = this.model.getObjectiveConstant();
+            for (int i = 0; i < this.objectiveCoefficients.length; i++) {
+                objective += this.objectiveCoefficients[i] * this.currentValues[i];
+            }
+            return objective;
         } catch (IloException e) {
+            if (this.truncated) {
+                return this.isMinimumProblem ? -Double.MAX_VALUE : Double.MAX_VALUE;
+            }
             return this.isMinimumProblem ? Double.MAX_VALUE : Double.MIN_VALUE;
         }
     }
@@ -151,9 +344,9 @@ public class DualProblemImpl implements DualProblem {
      * {@inheritDoc}
      */
     public final List<DecisionVariable> getCurrentValues() {
-        List<DecisionVariable> values = new ArrayList<>();
-        for (DecisionVariable value : this.currentValues) {
-            values.add(new DecisionVariableImpl(value.getName(), value.getIndex(), value.getCurrentValue()));
+        List<DecisionVariable> values = new ArrayList<>(this.variables.length);
+        for (int i = 0; i < this.variables.length; i++) {
+            values.add(this.getDecisionVariable(i));
         }
         return values;
     }
@@ -161,32 +354,63 @@ public class DualProblemImpl implements DualProblem {
     /**
      * {@inheritDoc}
      */
-    public final List<BranchCut> getCurrentCuts() {
-        return this.currentCuts.keySet().stream().toList();
+    public final double[] getCurrentValuesView() {
+        return this.currentValues;
     }
 
     /**
      * {@inheritDoc}
+     * The reduced costs are queried at the first call after a solve.
      */
-    public final boolean doesDecisionVariableGrowTheObjective(DecisionVariable decisionVariable) {
-        try {
-            if (this.objectiveFunction.getExpr() instanceof IloLinearNumExpr linearObjectiveFunction) {
-                IloLinearNumExprIterator it = linearObjectiveFunction.linearIterator();
-                while (it.hasNext()) {
-                    if (it.nextNumVar().getName().equals(decisionVariable.getName())) {
-                        return it.getValue() > 0;
-                    }
-                }
+    public final double[] getReducedCostsView() {
+        if (!this.reducedCostsUpdated) {
+            try {
+                double[] reducedCosts = this.cplex.getReducedCosts(this.variables);
+                System.arraycopy(reducedCosts, 0, this.currentReducedCosts, 0, reducedCosts.length);
+                this.reducedCostsUpdated = true;
+            } catch (IloException e) {
+                throw new IllegalStateException("Failed to read the reduced costs", e);
             }
+        }
+        return this.currentReducedCosts;
+    }
 
-            System.err.println("Failed to retrive decision variable's coefficient from the objective");
-            System.exit(1);
-            return false;
-        } catch (IloException e) {
-            System.err.println("Failed to retrive decision variable's coefficient from the objective");
-            System.exit(1);
-            return false;
+    /**
+     * {@inheritDoc}
+     */
+    public final BitSet getFractionalVariables() {
+        return this.fractionalVariables;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final DecisionVariable getDecisionVariable(int index) {
+        return new DecisionVariableImpl(this.variables[index].getName(), index, this.currentValues[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final List<BranchCut> getCurrentCuts() {
+        if (this.branchCutsAsBounds) {
+            return this.boundChanges.getCuts();
         }
+        return this.currentCuts.keySet().stream().toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final double getObjectiveCoefficient(int index) {
+        return this.objectiveCoefficients[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final boolean doesDecisionVariableGrowTheObjective(DecisionVariable decisionVariable) {
+        return this.getObjectiveCoefficient(decisionVariable.getIndex()) > 0;
     }
 
     /**
@@ -197,61 +421,89 @@ public class DualProblemImpl implements DualProblem {
     }
 
     /**
-     * Prints by {@code System.out} the given problem.
-     *
-     * @param problemTableau    the matrix describing the problem.
-     * @param objectiveFunction the objective function of the problem
+     * {@inheritDoc}
      */
-    private void printProblem(IloLPMatrix problemTableau, IloObjective objectiveFunction) {
-        StringBuilder status = new StringBuilder();
-        try {
+    public final Optional<LoadReport> getLoadReport() {
+        return Optional.ofNullable(this.loadReport);
+    }
 
-            status.append("\n\nPROBLEM DESCRIPTION");
-            status.append("\n\nObjective");
-            status.append("\n");
-            status.append(this.isMinimumProblem ? "min " : "max ");
-            status.append(objectiveFunction.getName());
-            status.append(" : ");
-            status.append(objectiveFunction.getExpr().toString());
+    /**
+     * @param branchCut a cut applied as bound change.
+     * @return the description of the cut.
+     */
+    private String cutToString(BranchCut branchCut) {
+        return branchCut.getDecisionVariable().getName() + (branchCut.isUpper() ? " <= " : " >= ") + branchCut.getBound();
+    }
 
-            status.append("\n\nConstraints");
-            IloRange[] constraints = problemTableau.getRanges();
-            for (IloRange constraint : constraints) {
-                status.append("\n");
-                status.append(constraint.getName());
-                status.append(" : ");
-                status.append(constraint.getLB());
-                status.append(" <= ");
-                status.append(constraint.getExpr().toString());
-                status.append(" <= ");
-                status.append(constraint.getUB());
+    /**
+     * Tightens the bound of the cut's variable, saving the previous bounds in the undo stack.
+     *
+     * @param branchCut the cut to apply.
+     */
+    private void applyBoundChange(BranchCut branchCut) {
+        try {
+            IloNumVar var = this.variables[branchCut.getDecisionVariable().getIndex()];
+            this.boundChanges.push(branchCut, var.getLB(), var.getUB());
+            if (branchCut.isUpper()) {
+                var.setUB(Math.min(var.getUB(), branchCut.getBound()));
+            } else {
+                var.setLB(Math.max(var.getLB(), branchCut.getBound()));
             }
+        } catch (IloException e) {
+            throw new IllegalStateException("Failed to change the bound", e);
+        }
+    }
 
-            status.append("\n\nVariables");
-            IloNumVar[] decisionVariables = problemTableau.getNumVars();
-            for (IloNumVar decisionVariable : decisionVariables) {
-                status.append("\n");
-                status.append(decisionVariable.getLB());
-                status.append(" < ");
-                status.append(decisionVariable.getName());
-                status.append(" < ");
-                status.append(decisionVariable.getUB());
+    /**
+     * Restores the bounds saved by the cut's bound change. The bound changes applied after it are undone
+     * and then applied again.
+     *
+     * @param branchCut the cut to delete.
+     */
+    private void deleteBoundChange(BranchCut branchCut) {
+        if (!this.boundChanges.contains(branchCut)) {
+            return;
+        }
+        try {
+            List<BranchCut> laterCuts = new ArrayList<>();
+            while (!this.boundChanges.peek().equals(branchCut)) {
+                laterCuts.add(this.boundChanges.peek());
+                this.undoLastBoundChange();
+            }
+            this.undoLastBoundChange();
+            for (int i = laterCuts.size() - 1; i >= 0; i--) {
+                this.applyBoundChange(laterCuts.get(i));
             }
-
-            System.out.println(status);
         } catch (IloException e) {
-            System.err.println("\n\nFailed to print the problem.");
-            System.exit(1);
+            throw new IllegalStateException("Failed to restore the bound", e);
         }
-
     }
 
     /**
-     * Prints by {@code System.out} the last solution.
+     * Restores the bounds saved by the last bound change.
      *
+     * @throws IloException
+     */
+    private void undoLastBoundChange() throws IloException {
+        IloNumVar var = this.variables[this.boundChanges.peek().getDecisionVariable().getIndex()];
+        var.setLB(this.boundChanges.peekPreviousLower());
+        var.setUB(this.boundChanges.peekPreviousUpper());
+        this.boundChanges.pop();
+    }
+
+    /**
+     * @return the description of the imported problem.
+     */
+    @Override
+    public String toString() {
+        return this.model.toString();
+    }
+
+    /**
      * @param cplex the existing model which solved the problem.
+     * @return the description of the last solution.
      */
-    private void printSolution(IloCplex cplex) {
+    private String solutionToString(IloCplex cplex) {
         StringBuilder status = new StringBuilder();
         try {
             status.append("\n\nRELAXATION SOLUTION");
@@ -265,7 +517,7 @@ public class DualProblemImpl implements DualProblem {
             status.append(this.areCurrentVariablesInteger());
 
             status.append("\n\nVariables");
-            for (IloNumVar decisionVariable : this.cplex.getMatrix().getNumVars()) {
+            for (IloNumVar decisionVariable : this.variables) {
                 status.append("\n");
                 status.append(decisionVariable.getName());
                 status.append(" => {[ Value: ");
@@ -278,7 +530,7 @@ public class DualProblemImpl implements DualProblem {
             }
 
             status.append("\n\nConstraints");
-            for (IloRange constraint : this.cplex.getMatrix().getRanges()) {
+            for (IloRange constraint : this.ranges) {
                 status.append("\n");
                 status.append(constraint.getName());
                 status.append(" => {[ Slack: ");
@@ -294,26 +546,101 @@ public class DualProblemImpl implements DualProblem {
                 status.append(" ]}");
             }
 
-            System.out.println(status);
         } catch (IloException e) {
-            System.err.println("Failed to print the solution");
-            System.exit(1);
+            throw new IllegalStateException("Failed to print the solution", e);
         }
+        return status.toString();
     }
 
     /**
-     * Updates the current values of the variables from last solution.
+     * Updates the current values of the variables from last solution, reading all of them by a single query.
+     * The values integer within the tolerance are rounded.
      *
      * @throws IloException
      */
     private void updateCurrentValues() throws IloException {
-        IloNumVar[] vars = this.cplex.getMatrix().getNumVars();
-        for (int i = 0; i < vars.length; i++) {
-            DecisionVariable problemVariable = this.currentValues.get(i);
-            problemVariable.setCurrentValue(cplex.getValue(vars[i]));
+        double[] values = this.cplex.getValues(this.variables);
+        this.reducedCostsUpdated = false;
+        for (int i = 0; i < values.length; i++) {
+            double rounded = Math.rint(values[i]);
+            boolean integer = Math.abs(values[i] - rounded) <= this.integralityTolerance * Math.max(1, Math.abs(values[i]));
+            this.currentValues[i] = integer ? rounded : values[i];
+            this.fractionalVariables.set(i, !integer);
         }
     }
 
+    /**
+     * Adds the rows, the columns with their non-zeros and the objective of the model to CPLEX.
+     *
+     * @throws IloException
+     */
+    private void buildModel() throws IloException {
+        int rowsCount = this.model.getRowsCount();
+        int columnsCount = this.model.getColumnsCount();
+        IloLPMatrix matrix = this.cplex.addLPMatrix(this.model.getName());
+
+        this.ranges = new IloRange[rowsCount];
+        for (int row = 0; row < rowsCount; row++) {
+            this.ranges[row] = this.cplex.range(this.model.getRowLowerBound(row), this.model.getRowUpperBound(row), this.model.getRowName(row));
+        }
+        matrix.addRows(this.ranges);
+
+        double[] lower = new double[columnsCount];
+        double[] upper = new double[columnsCount];
+        String[] names = new String[columnsCount];
+        int[][] rowIndexes = new int[columnsCount][];
+        double[][] values = new double[columnsCount][];
+        this.objectiveCoefficients = new double[columnsCount];
+        for (int column = 0; column < columnsCount; column++) {
+            lower[column] = this.model.getColumnLowerBound(column);
+            upper[column] = this.model.getColumnUpperBound(column);
+            names[column] = this.model.getColumnName(column);
+            this.objectiveCoefficients[column] = this.model.getObjectiveCoefficient(column);
+            int start = this.model.getColumnStart(column);
+            int end = this.model.getColumnStart(column + 1);
+            rowIndexes[column] = new int[end - start];
+            values[column] = new double[end - start];
+            for (int k = start; k < end; k++) {
+                rowIndexes[column][k - start] = this.model.getRowIndex(k);
+                values[column][k - start] = this.model.getValue(k);
+            }
+        }
+        this.variables = this.cplex.numVarArray(columnsCount, lower, upper, names);
+        matrix.addCols(this.variables, rowIndexes, values);
+
+        IloNumExpr objective = this.cplex.sum(this.model.getObjectiveConstant(), this.cplex.scalProd(this.objectiveCoefficients, this.variables));
+        this.cplex.addObjective(this.isMinimumProblem ? IloObjectiveSense.Minimize : IloObjectiveSense.Maximize, objective);
+    }
+
+    /**
+     * @param status the CPLEX basis status.
+     * @return the status as a {@code SimplexBasis} constant.
+     */
+    private byte toBasisStatus(IloCplex.BasisStatus status) {
+        if (status == IloCplex.BasisStatus.Basic) {
+            return SimplexBasis.BASIC;
+        }
+        if (status == IloCplex.BasisStatus.AtLower) {
+            return SimplexBasis.AT_LOWER;
+        }
+        if (status == IloCplex.BasisStatus.AtUpper) {
+            return SimplexBasis.AT_UPPER;
+        }
+        return SimplexBasis.FREE;
+    }
+
+    /**
+     * @param status a {@code SimplexBasis} constant.
+     * @return the CPLEX basis status.
+     */
+    private IloCplex.BasisStatus toCplexBasisStatus(int status) {
+        return switch (status) {
+            case SimplexBasis.BASIC -> IloCplex.BasisStatus.Basic;
+            case SimplexBasis.AT_LOWER -> IloCplex.BasisStatus.AtLower;
+            case SimplexBasis.AT_UPPER -> IloCplex.BasisStatus.AtUpper;
+            default -> IloCplex.BasisStatus.FreeOrSuperbasic;
+        };
+    }
 
     /**
      * Activate only the dual algorithm.
@@ -333,4 +660,50 @@ public class DualProblemImpl implements DualProblem {
         this.cplex.setParam(IloCplex.Param.Preprocessing.Presolve, false);
         this.cplex.setOut(null);
     }
+
+    /**
+     * Aborts the simplex of CPLEX, which calls it at every pivot, when the interruption is true.
+     * An exception of the interruption aborts the simplex too, instead of crossing the native code of CPLEX,
+     * and it is kept to be rethrown when the solve returns.
+     */
+    private static final class InterruptionCallback extends IloCplex.ContinuousCallback {
+        private final BooleanSupplier interruption;
+        private RuntimeException failure;
+
+        /**
+         * Define a callback.
+         *
+         * @param interruption the condition which aborts the simplex.
+         */
+        private InterruptionCallback(BooleanSupplier interruption) {
+            this.interruption = interruption;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        protected void main() {
+            boolean interrupted;
+            try {
+                interrupted = this.interruption.getAsBoolean();
+            } catch (RuntimeException e) {
+                this.failure = e;
+                interrupted = true;
+            }
+            if (interrupted) {
+                this.abort();
+            }
+        }
+
+        /**
+         * Throws the exception of the interruption during the last solve, if any, and forgets it.
+         */
+        private void rethrowFailure() {
+            RuntimeException failure = this.failure;
+            this.failure = null;
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
 }
@@ -0,0 +1,1077 @@
+package it.unibo.impl;
+
+import it.unibo.api.BoundChangeStack;
+import it.unibo.api.BranchCut;
+import it.unibo.api.DecisionVariable;
+import it.unibo.api.DualProblem;
+import it.unibo.api.LinearModel;
+import it.unibo.api.LoadReport;
+import it.unibo.api.LogLevel;
+import it.unibo.api.ModelReader;
+import it.unibo.api.SimplexBasis;
+import it.unibo.api.SolverLog;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Solves PL problems by a pure Java bounded dual simplex, without any native dependency.<br>
+ * The model {@code rowLower <= A x <= rowUpper} is stored as {@code A x - s = 0} where every row owns a logical
+ * variable {@code s} bounded by the row bounds, so that the branch cuts are just bound changes on the columns.<br>
+ * The dense tableau {@code B^-1 [A | -I]} is kept in a single {@code double[]} allocated once, the pivots only visit
+ * the non-zeros of the pivot row, and the basis is kept between two solves, so a new solve after a bound change
+ * starts from the last optimal basis.<br>
+ * Note: variables without a finite bound on the side required by the dual simplex are temporarily bounded by
+ * {@code ARTIFICIAL_BOUND}, which is removed by a final primal simplex pass.<br>
+ * A solve which reaches the safety limit of {@code 100 * (columns + rows) + 10000} pivots, without a pivots limit
+ * or an interruption, throws an IllegalStateException: its basis is neither an optimum nor a valid bound.
+ */
+public class DualSimplexProblemImpl implements DualProblem {
+    private static final double PRIMAL_TOLERANCE = 1e-9;
+    private static final double DUAL_TOLERANCE = 1e-9;
+    private static final double PIVOT_TOLERANCE = 1e-9;
+    private static final double INTEGER_TOLERANCE = 1e-9;
+    private static final double ARTIFICIAL_BOUND = 1e7;
+    private static final int REINVERSION_PERIOD = 64;
+    private static final int DEGENERATE_ITERATIONS_BEFORE_BLAND = 50;
+
+    private static final byte BASIC = SimplexBasis.BASIC;
+    private static final byte AT_LOWER = SimplexBasis.AT_LOWER;
+    private static final byte AT_UPPER = SimplexBasis.AT_UPPER;
+    private static final byte FREE = SimplexBasis.FREE;
+
+    private static final int OPTIMAL = 0;
+    private static final int INFEASIBLE = 1;
+    private static final int UNBOUNDED = 2;
+    private static final int ITERATION_LIMIT = 3;
+    private static final int INTERRUPTION_CHECK_PIVOTS = 8;
+
+    private final LinearModel model;
+    private final boolean isMinimumProblem;
+    private final int rows;
+    private final int columns;
+    private final int width;
+    private final int maxIterations;
+
+    private final double[] cost;
+    private final double[] lower;
+    private final double[] upper;
+    private final double[] workLower;
+    private final double[] workUpper;
+    private final double[] tableau;
+    private final double[] reducedCosts;
+    private final double[] values;
+    private final int[] head;
+    private final byte[] status;
+    private final int[] pivotRowNonZeros;
+
+    private final double[] currentValues;
+    private final double[] currentReducedCosts;
+    private final BitSet fractionalVariables;
+    private final BoundChangeStack boundChanges = new BoundChangeStackImpl();
+    private SolverLog log = new AsyncSolverLogImpl(LogLevel.OFF);
+    private LoadReport loadReport;
+
+    private boolean feasible;
+    private double objectiveValue;
+    private boolean truncated;
+    private boolean unbounded;
+    private int iterations;
+    private int iterationsLimit;
+    private int pivotsLimit = Integer.MAX_VALUE;
+    private double integralityTolerance = INTEGER_TOLERANCE;
+    private int restorePivots;
+    private int pivotsSinceReinversion;
+    private int degenerateIterations;
+    private BooleanSupplier interruption;
+    private boolean interrupted;
+
+    /**
+     * Define a dual PL problem importing one from the mps file.
+     *
+     * @param pathToFile the path to the mps file which contains the PL problem.
+     */
+    public DualSimplexProblemImpl(String pathToFile) {
+        this(new CachedModelReaderImpl(new MappedMpsReaderImpl()), pathToFile);
+    }
+
+    /**
+     * Define a dual PL problem loading one from the mps file with the given reader.
+     *
+     * @param reader     the reader of the file.
+     * @param pathToFile the path to the mps file which contains the PL problem.
+     */
+    public DualSimplexProblemImpl(ModelReader reader, String pathToFile) {
+        this(reader.read(pathToFile));
+        this.loadReport = reader.getLastLoadReport().orElse(null);
+    }
+
+    /**
+     * Define a dual PL problem from an already loaded model.
+     *
+     * @param model the PL problem.
+     */
+    public DualSimplexProblemImpl(LinearModel model) {
+        this.model = model;
+        this.isMinimumProblem = model.isMinimumProblem();
+        this.rows = model.getRowsCount();
+        this.columns = model.getColumnsCount();
+        this.width = this.columns + this.rows;
+        this.maxIterations = 100 * this.width + 10000;
+
+        this.cost = new double[this.width];
+        this.lower = new double[this.width];
+        this.upper = new double[this.width];
+        this.workLower = new double[this.width];
+        this.workUpper = new double[this.width];
+        this.tableau = new double[this.rows * this.width];
+        this.reducedCosts = new double[this.width];
+        this.values = new double[this.width];
+        this.head = new int[this.rows];
+        this.status = new byte[this.width];
+        this.pivotRowNonZeros = new int[this.width];
+        this.currentValues = new double[this.columns];
+        this.currentReducedCosts = new double[this.columns];
+        this.fractionalVariables = new BitSet(this.columns);
+
+        for (int column = 0; column < this.columns; column++) {
+            this.cost[column] = this.isMinimumProblem ? model.getObjectiveCoefficient(column) : -model.getObjectiveCoefficient(column);
+            this.lower[column] = model.getColumnLowerBound(column);
+            this.upper[column] = model.getColumnUpperBound(column);
+            this.status[column] = AT_LOWER;
+        }
+        for (int row = 0; row < this.rows; row++) {
+            this.lower[this.columns + row] = model.getRowLowerBound(row);
+            this.upper[this.columns + row] = model.getRowUpperBound(row);
+            this.status[this.columns + row] = BASIC;
+            this.head[row] = this.columns + row;
+        }
+        this.reinvert();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void addBranchCut(BranchCut branchCut) {
+        this.log.log(LogLevel.VERBOSE, () -> "\n\n+++ ADDING CUT +++\nbranchCut" + branchCut.getId() + ": " + this.cutToString(branchCut));
+        this.applyBoundChange(branchCut);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void deleteBranchCut(BranchCut branchCut) {
+        this.log.log(LogLevel.VERBOSE, () -> "\n\n--- REMOVING CUT ---\nbranchCut" + branchCut.getId() + ": " + this.cutToString(branchCut));
+        if (!this.boundChanges.contains(branchCut)) {
+            return;
+        }
+        List<BranchCut> laterCuts = new ArrayList<>();
+        while (!this.boundChanges.peek().equals(branchCut)) {
+            laterCuts.add(this.boundChanges.peek());
+            this.undoLastBoundChange();
+        }
+        this.undoLastBoundChange();
+        for (int i = laterCuts.size() - 1; i >= 0; i--) {
+            this.applyBoundChange(laterCuts.get(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final boolean solve() {
+        this.iterations = this.restorePivots;
+        this.iterationsLimit = (int) Math.min(this.maxIterations, (long) this.iterations + this.pivotsLimit);
+        this.restorePivots = 0;
+        this.degenerateIterations = 0;
+        this.truncated = false;
+        this.unbounded = false;
+        this.interrupted = false;
+
+        if (this.hasCrossedBounds()) {
+            this.feasible = false;
+            this.log.log(LogLevel.VERBOSE, () -> this.solutionToString(INFEASIBLE));
+            return false;
+        }
+
+        boolean artificial = this.makeDualFeasible();
+        this.computeBasicValues();
+        int result = this.dualSimplex();
+
+        if (result == OPTIMAL && artificial && this.removeArtificialBounds()) {
+            result = this.primalSimplex();
+        }
+
+        this.feasible = result == OPTIMAL;
+        this.unbounded = result == UNBOUNDED;
+        this.truncated = result == ITERATION_LIMIT && (this.iterationsLimit < this.maxIterations || this.interrupted);
+        if (result == ITERATION_LIMIT && !this.truncated) {
+            throw new IllegalStateException("The simplex has reached its safety limit of " + this.maxIterations
+                    + " pivots without an answer, it may be cycling");
+        }
+        if (this.feasible) {
+            this.computeBasicValues();
+            this.updateCurrentValues();
+        } else if (this.truncated) {
+            this.updateObjectiveBound(artificial);
+        }
+        int finalResult = result;
+        this.log.log(LogLevel.VERBOSE, () -> this.solutionToString(finalResult));
+        return this.feasible;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void setPivotsLimit(int pivotsLimit) {
+        this.pivotsLimit = pivotsLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void setInterruption(BooleanSupplier interruption) {
+        this.interruption = interruption;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void setIntegralityTolerance(double integralityTolerance) {
+        this.integralityTolerance = integralityTolerance;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Note: the reduced costs are recomputed from the tableau, so the basis is kept.
+     */
+    public final void setObjectiveCoefficients(double[] coefficients) {
+        for (int column = 0; column < this.columns; column++) {
+            double coefficient = coefficients == null ? this.model.getObjectiveCoefficient(column) : coefficients[column];
+            this.cost[column] = this.isMinimumProblem ? coefficient : -coefficient;
+        }
+        this.computeReducedCosts();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Note: the bound is the objective of the last dual feasible basis, so it is missing if the solve has needed
+     * artificial bounds.
+     */
+    public final boolean isLastSolveTruncated() {
+        return this.truncated;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Note: it is found by the primal simplex which removes the artificial bounds.
+     */
+    public final boolean isLastSolveUnbounded() {
+        return this.unbounded;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void setLog(SolverLog log) {
+        this.log = log;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final int getLastPivotsCount() {
+        return this.iterations;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final SimplexBasis getBasis() {
+        return new SimplexBasisImpl(
+                Arrays.copyOfRange(this.status, 0, this.columns),
+                Arrays.copyOfRange(this.status, this.columns, this.width)
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     * Note: the basic variables of the given basis are pivoted in one by one, so a basis close to the current one
+     * costs only a few pivots. The tableau is rebuilt only if these pivots are numerically unsafe.
+     */
+    public final void setBasis(SimplexBasis basis) {
+        if (basis.getColumnsCount() != this.columns || basis.getRowsCount() != this.rows) {
+            return;
+        }
+        for (int j = 0; j < this.width; j++) {
+            if (this.basisStatus(basis, j) != BASIC || this.status[j] == BASIC) {
+                continue;
+            }
+            int selected = -1;
+            double best = PIVOT_TOLERANCE;
+            for (int row = 0; row < this.rows; row++) {
+                double alpha = Math.abs(this.tableau[row * this.width + j]);
+                if (alpha > best && this.basisStatus(basis, this.head[row]) != BASIC) {
+                    best = alpha;
+                    selected = row;
+                }
+            }
+            if (selected < 0) {
+                for (int k = 0; k < this.width; k++) {
+                    this.status[k] = (byte) this.basisStatus(basis, k);
+                }
+                this.reinvert();
+                return;
+            }
+            int leaving = this.head[selected];
+            this.pivot(selected, j);
+            this.status[leaving] = (byte) this.basisStatus(basis, leaving);
+            this.restorePivots++;
+            this.pivotsSinceReinversion++;
+        }
+        for (int j = 0; j < this.width; j++) {
+            if (this.status[j] != BASIC) {
+                this.status[j] = (byte) this.basisStatus(basis, j);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final void endDualProblem() {
+        while (!this.boundChanges.isEmpty()) {
+            this.undoLastBoundChange();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final boolean areCurrentVariablesInteger() {
+        return this.fractionalVariables.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final double getCurrentSolution() {
+        if (this.truncated) {
+            return this.objectiveValue;
+        }
+        if (this.unbounded) {
+            return this.isMinimumProblem ? -Double.MAX_VALUE : Double.MAX_VALUE;
+        }
+        if (!this.feasible) {
+            return this.isMinimumProblem ? Double.MAX_VALUE : Double.MIN_VALUE;
+        }
+        return this.objectiveValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final List<DecisionVariable> getCurrentValues() {
+        List<DecisionVariable> values = new ArrayList<>(this.columns);
+        for (int column = 0; column < this.columns; column++) {
+            values.add(this.getDecisionVariable(column));
+        }
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final double[] getCurrentValuesView() {
+        return this.currentValues;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final double[] getReducedCostsView() {
+        return this.currentReducedCosts;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final BitSet getFractionalVariables() {
+        return this.fractionalVariables;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final DecisionVariable getDecisionVariable(int index) {
+        return new DecisionVariableImpl(this.model.getColumnName(index), index, this.currentValues[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final List<BranchCut> getCurrentCuts() {
+        return this.boundChanges.getCuts();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final double getObjectiveCoefficient(int index) {
+        return this.model.getObjectiveCoefficient(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final boolean doesDecisionVariableGrowTheObjective(DecisionVariable decisionVariable) {
+        return this.getObjectiveCoefficient(decisionVariable.getIndex()) > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isMinimumProblem() {
+        return this.isMinimumProblem;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public final Optional<LoadReport> getLoadReport() {
+        return Optional.ofNullable(this.loadReport);
+    }
+
+    /**
+     * Tightens the bound of the cut's column, saving the previous bounds in the undo stack.
+     *
+     * @param branchCut the cut to apply.
+     */
+    private void applyBoundChange(BranchCut branchCut) {
+        int column = branchCut.getDecisionVariable().getIndex();
+        this.boundChanges.push(branchCut, this.lower[column], this.upper[column]);
+        if (branchCut.isUpper()) {
+            this.upper[column] = Math.min(this.upper[column], branchCut.getBound());
+        } else {
+            this.lower[column] = Math.max(this.lower[column], branchCut.getBound());
+        }
+    }
+
+    /**
+     * Restores the bounds saved by the last bound change.
+     */
+    private void undoLastBoundChange() {
+        int column = this.boundChanges.peek().getDecisionVariable().getIndex();
+        this.lower[column] = this.boundChanges.peekPreviousLower();
+        this.upper[column] = this.boundChanges.peekPreviousUpper();
+        this.boundChanges.pop();
+    }
+
+    /**
+     * @param basis  the basis to read.
+     * @param column the index of the structural or logical variable.
+     * @return the status of the variable in the basis.
+     */
+    private int basisStatus(SimplexBasis basis, int column) {
+        return column < this.columns ? basis.getColumnStatus(column) : basis.getRowStatus(column - this.columns);
+    }
+
+    /**
+     * @return true if a variable has the lower bound greater than the upper one, e.g. after a cut.
+     */
+    private boolean hasCrossedBounds() {
+        for (int j = 0; j < this.width; j++) {
+            if (this.lower[j] > this.upper[j]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Places every non-basic variable on the bound required by the sign of its reduced cost,
+     * bounding it artificially if that bound is infinite.
+     *
+     * @return true if at least one artificial bound has been used.
+     */
+    private boolean makeDualFeasible() {
+        boolean artificial = false;
+        for (int j = 0; j < this.width; j++) {
+            this.workLower[j] = this.lower[j];
+            this.workUpper[j] = this.upper[j];
+            if (this.status[j] == BASIC) {
+                continue;
+            }
+
+            double reducedCost = this.reducedCosts[j];
+            boolean lowerFinite = this.lower[j] != Double.NEGATIVE_INFINITY;
+            boolean upperFinite = this.upper[j] != Double.POSITIVE_INFINITY;
+            if (this.lower[j] == this.upper[j]) {
+                this.status[j] = AT_LOWER;
+            } else if (reducedCost > DUAL_TOLERANCE) {
+                if (!lowerFinite) {
+                    this.workLower[j] = Math.min(this.upper[j], 0) - ARTIFICIAL_BOUND;
+                    artificial = true;
+                }
+                this.status[j] = AT_LOWER;
+            } else if (reducedCost < -DUAL_TOLERANCE) {
+                if (!upperFinite) {
+                    this.workUpper[j] = Math.max(this.lower[j], 0) + ARTIFICIAL_BOUND;
+                    artificial = true;
+                }
+                this.status[j] = AT_UPPER;
+            } else if (!(this.status[j] == AT_UPPER && upperFinite)) {
+                this.status[j] = lowerFinite ? AT_LOWER : (upperFinite ? AT_UPPER : FREE);
+            }
+
+            if (this.status[j] == AT_LOWER) {
+                this.values[j] = this.workLower[j];
+            } else if (this.status[j] == AT_UPPER) {
+                this.values[j] = this.workUpper[j];
+            } else if (this.values[j] < this.lower[j] || this.values[j] > this.upper[j]) {
+                this.values[j] = 0;
+            }
+        }
+        return artificial;
+    }
+
+    /**
+     * Removes the artificial bounds, the non-basic variables lying on them are released as free.
+     *
+     * @return true if at least one non-basic variable was lying on an artificial bound.
+     */
+    private boolean removeArtificialBounds() {
+        boolean released = false;
+        for (int j = 0; j < this.width; j++) {
+            if (this.workLower[j] == this.lower[j] && this.workUpper[j] == this.upper[j]) {
+                continue;
+            }
+            if ((this.status[j] == AT_LOWER && this.workLower[j] != this.lower[j]) ||
+                    (this.status[j] == AT_UPPER && this.workUpper[j] != this.upper[j])) {
+                this.status[j] = FREE;
+                released = true;
+            }
+            this.workLower[j] = this.lower[j];
+            this.workUpper[j] = this.upper[j];
+        }
+        return released;
+    }
+
+    /**
+     * Runs the dual simplex from a dual feasible basis.
+     *
+     * @return the result of the run.
+     */
+    private int dualSimplex() {
+        while (this.iterations < this.iterationsLimit && !this.isInterrupted()) {
+            int row = this.selectLeavingRow();
+            if (row < 0) {
+                return OPTIMAL;
+            }
+            int leaving = this.head[row];
+            boolean toLower = this.values[leaving] < this.workLower[leaving];
+            int entering = this.selectEnteringColumn(row, toLower);
+            if (entering < 0) {
+                return INFEASIBLE;
+            }
+
+            double target = toLower ? this.workLower[leaving] : this.workUpper[leaving];
+            double step = (this.values[leaving] - target) / this.tableau[row * this.width + entering];
+            this.trackDegeneracy(this.reducedCosts[entering]);
+            this.moveNonBasic(entering, step);
+            this.pivot(row, entering);
+            this.status[leaving] = toLower ? AT_LOWER : AT_UPPER;
+            this.values[leaving] = target;
+            this.completeIteration();
+        }
+        return ITERATION_LIMIT;
+    }
+
+    /**
+     * Checks the interruption every few pivots, so the condition doesn't slow down the simplex.
+     *
+     * @return true if the solve has been interrupted.
+     */
+    private boolean isInterrupted() {
+        if (!this.interrupted && this.interruption != null && this.iterations % INTERRUPTION_CHECK_PIVOTS == 0) {
+            this.interrupted = this.interruption.getAsBoolean();
+        }
+        return this.interrupted;
+    }
+
+    /**
+     * Runs the primal simplex from a primal feasible basis.
+     *
+     * @return the result of the run.
+     */
+    private int primalSimplex() {
+        while (this.iterations < this.iterationsLimit && !this.isInterrupted()) {
+            int entering = -1;
+            double direction = 0;
+            double best = DUAL_TOLERANCE;
+            for (int j = 0; j < this.width; j++) {
+                if (this.status[j] == BASIC) {
+                    continue;
+                }
+                double reducedCost = this.reducedCosts[j];
+                if (-reducedCost > best && this.status[j] != AT_UPPER && this.values[j] < this.workUpper[j]) {
+                    entering = j;
+                    direction = 1;
+                    best = this.isBlandRuleActive() ? Double.POSITIVE_INFINITY : -reducedCost;
+                } else if (reducedCost > best && this.status[j] != AT_LOWER && this.values[j] > this.workLower[j]) {
+                    entering = j;
+                    direction = -1;
+                    best = this.isBlandRuleActive() ? Double.POSITIVE_INFINITY : reducedCost;
+                }
+            }
+            if (entering < 0) {
+                return OPTIMAL;
+            }
+
+            double maxStep = direction > 0 ?
+                    this.workUpper[entering] - this.values[entering] :
+                    this.values[entering] - this.workLower[entering];
+            int leavingRow = -1;
+            boolean leavingToLower = false;
+            for (int row = 0; row < this.rows; row++) {
+                double alpha = this.tableau[row * this.width + entering];
+                if (Math.abs(alpha) <= PIVOT_TOLERANCE) {
+                    continue;
+                }
+                int basic = this.head[row];
+                double rate = -alpha * direction;
+                double limit;
+                if (rate < 0 && this.workLower[basic] != Double.NEGATIVE_INFINITY) {
+                    limit = Math.max(0, (this.values[basic] - this.workLower[basic]) / -rate);
+                } else if (rate > 0 && this.workUpper[basic] != Double.POSITIVE_INFINITY) {
+                    limit = Math.max(0, (this.workUpper[basic] - this.values[basic]) / rate);
+                } else {
+                    continue;
+                }
+                if (limit < maxStep - PRIMAL_TOLERANCE || (limit <= maxStep + PRIMAL_TOLERANCE && leavingRow >= 0 &&
+                        Math.abs(alpha) > Math.abs(this.tableau[leavingRow * this.width + entering]))) {
+                    maxStep = limit;
+                    leavingRow = row;
+                    leavingToLower = rate < 0;
+                }
+            }
+            if (maxStep == Double.POSITIVE_INFINITY) {
+                return UNBOUNDED;
+            }
+
+            this.trackDegeneracy(maxStep);
+            this.moveNonBasic(entering, direction * maxStep);
+            if (leavingRow < 0) {
+                this.status[entering] = direction > 0 ? AT_UPPER : AT_LOWER;
+                this.values[entering] = direction > 0 ? this.workUpper[entering] : this.workLower[entering];
+            } else {
+                int leaving = this.head[leavingRow];
+                this.pivot(leavingRow, entering);
+                this.status[leaving] = leavingToLower ? AT_LOWER : AT_UPPER;
+                this.values[leaving] = leavingToLower ? this.workLower[leaving] : this.workUpper[leaving];
+            }
+            this.completeIteration();
+        }
+        return ITERATION_LIMIT;
+    }
+
+    /**
+     * @return the row of the basic variable with the largest bound violation, -1 if the basis is primal feasible.
+     */
+    private int selectLeavingRow() {
+        int selected = -1;
+        double worst = 0;
+        for (int row = 0; row < this.rows; row++) {
+            int basic = this.head[row];
+            double value = this.values[basic];
+            double violation = 0;
+            if (value < this.workLower[basic] - PRIMAL_TOLERANCE * (1 + Math.abs(this.workLower[basic]))) {
+                violation = this.workLower[basic] - value;
+            } else if (value > this.workUpper[basic] + PRIMAL_TOLERANCE * (1 + Math.abs(this.workUpper[basic]))) {
+                violation = value - this.workUpper[basic];
+            }
+            if (violation > worst) {
+                if (this.isBlandRuleActive()) {
+                    if (selected < 0 || basic < this.head[selected]) {
+                        selected = row;
+                    }
+                } else {
+                    worst = violation;
+                    selected = row;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Dual ratio test by the two passes of Harris.
+     *
+     * @param row     the row of the leaving variable.
+     * @param toLower true if the leaving variable goes to its lower bound.
+     * @return the entering column, -1 if the problem is infeasible.
+     */
+    private int selectEnteringColumn(int row, boolean toLower) {
+        int base = row * this.width;
+        double bound = Double.POSITIVE_INFINITY;
+        for (int j = 0; j < this.width; j++) {
+            double alpha = this.tableau[base + j];
+            if (this.isEligibleToEnter(j, alpha, toLower)) {
+                bound = Math.min(bound, (Math.abs(this.reducedCosts[j]) + DUAL_TOLERANCE) / Math.abs(alpha));
+            }
+        }
+        if (bound == Double.POSITIVE_INFINITY) {
+            return -1;
+        }
+
+        int selected = -1;
+        double bestAlpha = 0;
+        for (int j = 0; j < this.width; j++) {
+            double alpha = this.tableau[base + j];
+            if (this.isEligibleToEnter(j, alpha, toLower) && Math.abs(this.reducedCosts[j]) / Math.abs(alpha) <= bound) {
+                if (this.isBlandRuleActive()) {
+                    return j;
+                }
+                if (Math.abs(alpha) > bestAlpha) {
+                    bestAlpha = Math.abs(alpha);
+                    selected = j;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @param column  the candidate column.
+     * @param alpha   the coefficient of the candidate in the pivot row.
+     * @param toLower true if the leaving variable goes to its lower bound.
+     * @return true if the column can enter the basis keeping the dual feasibility.
+     */
+    private boolean isEligibleToEnter(int column, double alpha, boolean toLower) {
+        if (this.status[column] == BASIC || Math.abs(alpha) <= PIVOT_TOLERANCE) {
+            return false;
+        }
+        return switch (this.status[column]) {
+            case AT_LOWER -> this.workLower[column] != this.workUpper[column] && (toLower ? alpha < 0 : alpha > 0);
+            case AT_UPPER -> this.workLower[column] != this.workUpper[column] && (toLower ? alpha > 0 : alpha < 0);
+            default -> true;
+        };
+    }
+
+    /**
+     * Moves a non-basic variable updating the basic ones.
+     *
+     * @param column the non-basic column.
+     * @param step   the signed change of its value.
+     */
+    private void moveNonBasic(int column, double step) {
+        if (step == 0) {
+            return;
+        }
+        for (int row = 0; row < this.rows; row++) {
+            double alpha = this.tableau[row * this.width + column];
+            if (alpha != 0) {
+                this.values[this.head[row]] -= alpha * step;
+            }
+        }
+        this.values[column] += step;
+    }
+
+    /**
+     * Pivots the tableau and the reduced costs, the column enters the basis in the given row.
+     *
+     * @param row    the pivot row.
+     * @param column the pivot column.
+     */
+    private void pivot(int row, int column) {
+        int base = row * this.width;
+        double pivot = this.tableau[base + column];
+        int nonZeros = 0;
+        for (int j = 0; j < this.width; j++) {
+            if (this.tableau[base + j] != 0) {
+                this.tableau[base + j] /= pivot;
+                this.pivotRowNonZeros[nonZeros++] = j;
+            }
+        }
+        this.tableau[base + column] = 1;
+
+        for (int other = 0; other < this.rows; other++) {
+            int otherBase = other * this.width;
+            double factor = this.tableau[otherBase + column];
+            if (other == row || factor == 0) {
+                continue;
+            }
+            for (int k = 0; k < nonZeros; k++) {
+                int j = this.pivotRowNonZeros[k];
+                this.tableau[otherBase + j] -= factor * this.tableau[base + j];
+            }
+            this.tableau[otherBase + column] = 0;
+        }
+
+        double factor = this.reducedCosts[column];
+        if (factor != 0) {
+            for (int k = 0; k < nonZeros; k++) {
+                int j = this.pivotRowNonZeros[k];
+                this.reducedCosts[j] -= factor * this.tableau[base + j];
+            }
+        }
+        this.reducedCosts[column] = 0;
+        this.status[column] = BASIC;
+        this.head[row] = column;
+    }
+
+    /**
+     * Counts the iteration and periodically rebuilds the tableau from the model to bound the numerical error.
+     */
+    private void completeIteration() {
+        this.iterations++;
+        if (++this.pivotsSinceReinversion >= REINVERSION_PERIOD) {
+            this.reinvert();
+            this.computeBasicValues();
+        }
+    }
+
+    /**
+     * Counts the consecutive iterations which don't move the solution, to switch to the Bland rule against cycling.
+     *
+     * @param progress the change the iteration brings.
+     */
+    private void trackDegeneracy(double progress) {
+        this.degenerateIterations = Math.abs(progress) <= DUAL_TOLERANCE ? this.degenerateIterations + 1 : 0;
+    }
+
+    /**
+     * @return true if the selection rules must follow the lowest index to avoid cycling.
+     */
+    private boolean isBlandRuleActive() {
+        return this.degenerateIterations > DEGENERATE_ITERATIONS_BEFORE_BLAND;
+    }
+
+    /**
+     * Rebuilds the tableau and the reduced costs of the current basic variables by Gauss-Jordan elimination
+     * of {@code [A | -I]}. If the basic columns result singular, they are replaced by non-basic ones.
+     */
+    private void reinvert() {
+        Arrays.fill(this.tableau, 0);
+        for (int column = 0; column < this.columns; column++) {
+            for (int k = this.model.getColumnStart(column); k < this.model.getColumnStart(column + 1); k++) {
+                this.tableau[this.model.getRowIndex(k) * this.width + column] += this.model.getValue(k);
+            }
+        }
+        for (int row = 0; row < this.rows; row++) {
+            this.tableau[row * this.width + this.columns + row] = -1;
+        }
+        Arrays.fill(this.reducedCosts, 0);
+
+        boolean[] assigned = new boolean[this.rows];
+        int[] basics = new int[this.rows];
+        int basicsCount = 0;
+        for (int j = 0; j < this.width; j++) {
+            if (this.status[j] == BASIC) {
+                this.status[j] = FREE;
+                if (basicsCount < this.rows) {
+                    basics[basicsCount++] = j;
+                }
+            }
+        }
+        for (int k = 0; k < basicsCount; k++) {
+            this.pivotOnBestRow(basics[k], assigned);
+        }
+        for (int row = 0; row < this.rows; row++) {
+            if (!assigned[row]) {
+                int best = this.columns + row;
+                for (int j = 0; j < this.width; j++) {
+                    if (this.status[j] != BASIC && Math.abs(this.tableau[row * this.width + j]) > Math.abs(this.tableau[row * this.width + best])) {
+                        best = j;
+                    }
+                }
+                this.pivot(row, best);
+                assigned[row] = true;
+            }
+        }
+
+        this.computeReducedCosts();
+        this.pivotsSinceReinversion = 0;
+    }
+
+    /**
+     * Computes the reduced costs of the current basis from the tableau.
+     */
+    private void computeReducedCosts() {
+        for (int j = 0; j < this.width; j++) {
+            if (this.status[j] == BASIC) {
+                this.reducedCosts[j] = 0;
+                continue;
+            }
+            double reducedCost = this.cost[j];
+            for (int row = 0; row < this.rows; row++) {
+                reducedCost -= this.cost[this.head[row]] * this.tableau[row * this.width + j];
+            }
+            this.reducedCosts[j] = reducedCost;
+        }
+    }
+
+    /**
+     * Pivots the column in the not yet assigned row with the largest coefficient.
+     *
+     * @param column   the column entering the basis.
+     * @param assigned the rows which already own a basic variable.
+     */
+    private void pivotOnBestRow(int column, boolean[] assigned) {
+        int selected = -1;
+        double best = PIVOT_TOLERANCE;
+        for (int row = 0; row < this.rows; row++) {
+            if (!assigned[row] && Math.abs(this.tableau[row * this.width + column]) > best) {
+                best = Math.abs(this.tableau[row * this.width + column]);
+                selected = row;
+            }
+        }
+        if (selected >= 0) {
+            this.pivot(selected, column);
+            assigned[selected] = true;
+        }
+    }
+
+    /**
+     * Computes the basic variables from the non-basic ones.
+     */
+    private void computeBasicValues() {
+        for (int row = 0; row < this.rows; row++) {
+            int base = row * this.width;
+            double value = 0;
+            for (int j = 0; j < this.width; j++) {
+                if (this.status[j] != BASIC && this.values[j] != 0) {
+                    value -= this.tableau[base + j] * this.values[j];
+                }
+            }
+            this.values[this.head[row]] = value;
+        }
+    }
+
+    /**
+     * Updates the current values of the variables and the objective from last solution.
+     */
+    private void updateCurrentValues() {
+        double objective = this.model.getObjectiveConstant();
+        for (int column = 0; column < this.columns; column++) {
+            objective += this.model.getObjectiveCoefficient(column) * this.values[column];
+            double value = this.snapToInteger(this.values[column], this.integralityTolerance);
+            this.currentValues[column] = value;
+            this.currentReducedCosts[column] = this.isMinimumProblem ? this.reducedCosts[column] : -this.reducedCosts[column];
+            this.fractionalVariables.set(column, Math.ceil(value) != Math.floor(value));
+        }
+        this.objectiveValue = this.snapToInteger(objective, INTEGER_TOLERANCE);
+    }
+
+    /**
+     * Updates the objective as the bound of a truncated solve: the objective of a dual feasible basis
+     * doesn't overcome the optimum.
+     *
+     * @param artificial true if the basis is dual feasible only thanks to artificial bounds.
+     */
+    private void updateObjectiveBound(boolean artificial) {
+        if (artificial) {
+            this.objectiveValue = this.isMinimumProblem ? -Double.MAX_VALUE : Double.MAX_VALUE;
+            return;
+        }
+        this.computeBasicValues();
+        double objective = this.model.getObjectiveConstant();
+        for (int column = 0; column < this.columns; column++) {
+            objective += this.model.getObjectiveCoefficient(column) * this.values[column];
+        }
+        this.objectiveValue = objective;
+    }
+
+    /**
+     * @param value     the value to clean.
+     * @param tolerance the distance from the closest integer, relative to the value when it is larger than 1.
+     * @return the closest integer if the value is integer within the tolerance, otherwise the value.
+     */
+    private double snapToInteger(double value, double tolerance) {
+        double rounded = Math.rint(value);
+        return Math.abs(value - rounded) <= tolerance * Math.max(1, Math.abs(value)) ? rounded : value;
+    }
+
+    /**
+     * @param branchCut the cut to describe.
+     * @return the cut as a bound of its column.
+     */
+    private String cutToString(BranchCut branchCut) {
+        return branchCut.getDecisionVariable().getName() + (branchCut.isUpper() ? " <= " : " >= ") + branchCut.getBound();
+    }
+
+    /**
+     * @param column the index of the variable.
+     * @return the basis status label of the variable.
+     */
+    private String basisStatusToString(int column) {
+        return switch (this.status[column]) {
+            case BASIC -> "Basic";
+            case AT_LOWER -> "AtLower";
+            case AT_UPPER -> "AtUpper";
+            default -> "FreeOrSuperbasic";
+        };
+    }
+
+    /**
+     * @return the description of the problem.
+     */
+    @Override
+    public String toString() {
+        return this.model.toString();
+    }
+
+    /**
+     * @param result the result of the last solve.
+     * @return the description of the last solution.
+     */
+    private String solutionToString(int result) {
+        StringBuilder status = new StringBuilder();
+        status.append("\n\nRELAXATION SOLUTION");
+        status.append("\n\nInfo ");
+        status.append("\nSolution status = ");
+        status.append(switch (result) {
+            case OPTIMAL -> "Optimal";
+            case INFEASIBLE -> "Infeasible";
+            case UNBOUNDED -> "Unbounded";
+            default -> "AbortItLim";
+        });
+        status.append("\nSolution value  = ");
+        status.append(this.feasible || this.truncated ? this.objectiveValue : "-");
+        status.append("\nPivots = ");
+        status.append(this.iterations);
+
+        if (!this.feasible) {
+            return status.toString();
+        }
+
+        status.append("\nSolution result integer  = ");
+        status.append(this.areCurrentVariablesInteger());
+
+        status.append("\n\nVariables");
+        for (int column = 0; column < this.columns; column++) {
+            status.append("\n");
+            status.append(this.model.getColumnName(column));
+            status.append(" => {[ Value: ");
+            status.append(this.values[column]);
+            status.append(" ], [ Status: ");
+            status.append(this.basisStatusToString(column));
+            status.append(" ], [ Reduced cost: ");
+            status.append(this.isMinimumProblem ? this.reducedCosts[column] : -this.reducedCosts[column]);
+            status.append(" ]}");
+        }
+
+        status.append("\n\nConstraints");
+        for (int row = 0; row < this.rows; row++) {
+            status.append("\n");
+            status.append(this.model.getRowName(row));
+            status.append(" => {[ Activity: ");
+            status.append(this.values[this.columns + row]);
+            status.append(" ], [ Status: ");
+            status.append(this.basisStatusToString(this.columns + row));
+            status.append(" ]}");
+        }
+
+        return status.toString();
+    }
+}
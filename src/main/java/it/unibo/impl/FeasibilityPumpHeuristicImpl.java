@@ -0,0 +1,153 @@
+package it.unibo.impl;
+
+import it.unibo.api.DualProblem;
+import it.unibo.api.LinearModel;
+import it.unibo.api.PrimalHeuristic;
+import it.unibo.api.SimplexBasis;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Implements a PrimalHeuristic which pumps the relaxation towards its rounding: it rounds the relaxation,
+ * then it solves the relaxation with the distance from the rounding as objective, and it repeats
+ * until the rounding is feasible or the relaxation is integer.<br>
+ * The distance is blended with the objective of the model by a weight which decays at every round,
+ * so the first solutions are still good. When the rounding doesn't change, the columns farthest
+ * from the relaxation are flipped to leave the cycle.<br>
+ * It searches the first solution, so it doesn't run once there is an incumbent.
+ */
+public class FeasibilityPumpHeuristicImpl implements PrimalHeuristic {
+    public static final int DEFAULT_ROUNDS_LIMIT = 30;
+    public static final int DEFAULT_PIVOTS_LIMIT = 2000;
+    private static final int FLIPS_COUNT = 10;
+    private static final double OBJECTIVE_DECAY = 0.9;
+
+    private final int roundsLimit;
+    private final int pivotsLimit;
+
+    /**
+     * Define a heuristic with the default rounds and pivots limits.
+     */
+    public FeasibilityPumpHeuristicImpl() {
+        this(DEFAULT_ROUNDS_LIMIT, DEFAULT_PIVOTS_LIMIT);
+    }
+
+    /**
+     * Define a heuristic.
+     *
+     * @param roundsLimit the maximum number of relaxations solved by a search.
+     * @param pivotsLimit the maximum number of dual pivots of a search.
+     */
+    public FeasibilityPumpHeuristicImpl(int roundsLimit, int pivotsLimit) {
+        if (roundsLimit < 1 || pivotsLimit < 1) {
+            throw new IllegalArgumentException("Rounds limit and pivots limit must be positive");
+        }
+        this.roundsLimit = roundsLimit;
+        this.pivotsLimit = pivotsLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName() {
+        return "feasibility pump";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Optional<double[]> search(DualProblem dualProblem, LinearModel model, double[] incumbent, double cutoff) {
+        if (incumbent != null) {
+            return Optional.empty();
+        }
+        int columns = model.getColumnsCount();
+        double objectiveNorm = 0;
+        for (int column = 0; column < columns; column++) {
+            objectiveNorm += model.getObjectiveCoefficient(column) * model.getObjectiveCoefficient(column);
+        }
+        double objectiveScale = objectiveNorm == 0 ? 0 : Math.sqrt(columns / objectiveNorm);
+
+        SimplexBasis basis = dualProblem.getBasis();
+        double[] values = dualProblem.getCurrentValuesView().clone();
+        double[] rounded = PrimalSolutions.round(values);
+        double[] coefficients = new double[columns];
+        double weight = 1;
+        int pivots = 0;
+        try {
+            for (int round = 0; round < this.roundsLimit && pivots < this.pivotsLimit; round++) {
+                if (PrimalSolutions.isFeasible(model, rounded)) {
+                    return Optional.of(rounded);
+                }
+                weight *= OBJECTIVE_DECAY;
+                for (int column = 0; column < columns; column++) {
+                    double distance = this.distanceCoefficient(model, column, values[column], rounded[column]);
+                    double objective = objectiveScale * model.getObjectiveCoefficient(column);
+                    double coefficient = (1 - weight) * distance + weight * (model.isMinimumProblem() ? objective : -objective);
+                    coefficients[column] = model.isMinimumProblem() ? coefficient : -coefficient;
+                }
+                dualProblem.setObjectiveCoefficients(coefficients);
+                dualProblem.setPivotsLimit(this.pivotsLimit - pivots);
+                boolean solved = dualProblem.solve();
+                pivots += dualProblem.getLastPivotsCount();
+                if (!solved) {
+                    return Optional.empty();
+                }
+                System.arraycopy(dualProblem.getCurrentValuesView(), 0, values, 0, columns);
+                if (dualProblem.areCurrentVariablesInteger()) {
+                    double[] solution = PrimalSolutions.round(values);
+                    return PrimalSolutions.isFeasible(model, solution) ? Optional.of(solution) : Optional.empty();
+                }
+                double[] next = PrimalSolutions.round(values);
+                if (Arrays.equals(next, rounded)) {
+                    this.flip(model, values, next);
+                }
+                rounded = next;
+            }
+            return Optional.empty();
+        } finally {
+            dualProblem.setObjectiveCoefficients(null);
+            dualProblem.setPivotsLimit(Integer.MAX_VALUE);
+            dualProblem.setBasis(basis);
+        }
+    }
+
+    /**
+     * The coefficient of a column in the distance from the rounding, as minimum: the distance of a column rounded
+     * to one of its bounds is linear, the others are pushed back towards their rounding.
+     *
+     * @param model   the model.
+     * @param column  the index of the column.
+     * @param value   the value of the column in the relaxation.
+     * @param rounded the value of the column in the rounding.
+     * @return the coefficient.
+     */
+    private double distanceCoefficient(LinearModel model, int column, double value, double rounded) {
+        if (rounded <= model.getColumnLowerBound(column)) {
+            return 1;
+        }
+        if (rounded >= model.getColumnUpperBound(column)) {
+            return -1;
+        }
+        return Math.signum(value - rounded);
+    }
+
+    /**
+     * Moves by one unit, towards the relaxation, the rounded columns farthest from it.
+     *
+     * @param model   the model.
+     * @param values  the values of the relaxation.
+     * @param rounded the rounding, it is updated.
+     */
+    private void flip(LinearModel model, double[] values, double[] rounded) {
+        IntStream.range(0, rounded.length)
+                .filter(column -> values[column] != rounded[column])
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer column) -> -Math.abs(values[column] - rounded[column])).thenComparing(column -> column))
+                .limit(FLIPS_COUNT)
+                .forEach(column -> rounded[column] = Math.max(model.getColumnLowerBound(column),
+                        Math.min(model.getColumnUpperBound(column), rounded[column] + Math.signum(values[column] - rounded[column]))));
+    }
+}
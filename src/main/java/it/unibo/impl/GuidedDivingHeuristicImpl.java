@@ -0,0 +1,72 @@
+package it.unibo.impl;
+
+import it.unibo.api.DualProblem;
+import it.unibo.api.LinearModel;
+import it.unibo.api.PrimalHeuristic;
+
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * Implements a PrimalHeuristic which dives towards the incumbent: at every step it rounds the fractional column
+ * closest to its value in the incumbent, in the direction of that value.
+ * It searches better solutions around the incumbent, so it doesn't run until one is found.
+ */
+public class GuidedDivingHeuristicImpl implements PrimalHeuristic {
+    public static final int DEFAULT_PIVOTS_LIMIT = 1000;
+
+    private final int pivotsLimit;
+
+    /**
+     * Define a heuristic with the default pivots limit.
+     */
+    public GuidedDivingHeuristicImpl() {
+        this(DEFAULT_PIVOTS_LIMIT);
+    }
+
+    /**
+     * Define a heuristic.
+     *
+     * @param pivotsLimit the maximum number of dual pivots of a dive.
+     */
+    public GuidedDivingHeuristicImpl(int pivotsLimit) {
+        if (pivotsLimit < 1) {
+            throw new IllegalArgumentException("Pivots limit must be positive: " + pivotsLimit);
+        }
+        this.pivotsLimit = pivotsLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName() {
+        return "guided diving";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Optional<double[]> search(DualProblem dualProblem, LinearModel model, double[] incumbent, double cutoff) {
+        if (incumbent == null) {
+            return Optional.empty();
+        }
+        return Diving.dive(dualProblem, model, cutoff, this.pivotsLimit, new Diving.Rule() {
+            public int selectColumn(double[] values, BitSet fractionalVariables) {
+                int closest = -1;
+                double closestDistance = Double.MAX_VALUE;
+                for (int i = fractionalVariables.nextSetBit(0); i >= 0; i = fractionalVariables.nextSetBit(i + 1)) {
+                    double distance = Math.abs(values[i] - incumbent[i]);
+                    if (distance < closestDistance) {
+                        closest = i;
+                        closestDistance = distance;
+                    }
+                }
+                return closest;
+            }
+
+            public boolean isDown(double[] values, int column) {
+                return incumbent[column] <= values[column];
+            }
+        });
+    }
+}
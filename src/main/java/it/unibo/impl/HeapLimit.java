@@ -0,0 +1,158 @@
+package it.unibo.impl;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Watches the used heap of a search against its memory limit without polling it: the heap pools which support it
+ * get a collection usage threshold, an equal share of the limit, and the JVM notifies when a collection leaves
+ * more than the threshold in a pool, as it happens when the heap is over the limit. Then the heap left by the last
+ * collections is compared with the limit, so the garbage not collected yet doesn't count.<br>
+ * The old generation is measured only by its own collections, which may never run while it fills slowly,
+ * so it also gets a usage threshold: when the objects promoted by the young collections cross it, a single collection
+ * measures what is still used. That notification comes again only once the usage has dropped below the threshold,
+ * so the collections aren't forced at every check.<br>
+ * The thresholds are global to the JVM, so the searches running at the same time share them: the pools get
+ * the smallest threshold of the open watches, and every watch checks its own limit. When the last watch is closed
+ * the thresholds are restored.<br>
+ * Note: when no heap pool supports the thresholds, e.g. with the Epsilon collector, the used heap is read
+ * at every check instead, including the garbage.
+ */
+final class HeapLimit {
+    private static final List<HeapLimit> OPEN = new ArrayList<>();
+    private static final Map<String, Long> ORIGINAL_THRESHOLDS = new HashMap<>();
+    private static final String USAGE_PREFIX = "usage:";
+
+    private final long limitBytes;
+    private final long thresholdBytes;
+    private final boolean supported;
+    private final NotificationListener listener;
+    private volatile boolean over;
+
+    /**
+     * Starts watching the heap.
+     *
+     * @param limitBytes the limit of the used heap in bytes, positive.
+     */
+    HeapLimit(long limitBytes) {
+        this.limitBytes = limitBytes;
+        List<MemoryPoolMXBean> pools = thresholdPools();
+        this.supported = !pools.isEmpty();
+        this.thresholdBytes = Math.max(1, limitBytes / Math.max(1, pools.size()));
+        this.listener = (notification, handback) -> {
+            if (MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(notification.getType()) && !this.over) {
+                System.gc();
+            } else if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())
+                    && collectedHeap() > this.limitBytes) {
+                this.over = true;
+            }
+        };
+        if (this.supported) {
+            emitter().addNotificationListener(this.listener, null, null);
+            synchronized (OPEN) {
+                OPEN.add(this);
+                updateThresholds();
+            }
+        }
+    }
+
+    /**
+     * @return true if a collection has left the heap over the limit, it reads a flag.
+     */
+    boolean isOver() {
+        if (!this.supported) {
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory() > this.limitBytes;
+        }
+        return this.over;
+    }
+
+    /**
+     * Stops watching the heap.
+     */
+    void close() {
+        if (!this.supported) {
+            return;
+        }
+        synchronized (OPEN) {
+            OPEN.remove(this);
+            updateThresholds();
+        }
+        try {
+            emitter().removeNotificationListener(this.listener);
+        } catch (ListenerNotFoundException e) {
+            throw new IllegalStateException("The heap listener has been already removed", e);
+        }
+    }
+
+    /**
+     * Sets the smallest threshold of the open watches on the pools, both the collection usage one and, where supported,
+     * the usage one, saving their thresholds before the first one,
+     * or restores them when there are no open watches. Note: it must be called holding the lock of {@code OPEN}.
+     */
+    private static void updateThresholds() {
+        long threshold = OPEN.stream().mapToLong(heapLimit -> heapLimit.thresholdBytes).min().orElse(0);
+        for (MemoryPoolMXBean pool : thresholdPools()) {
+            if (OPEN.isEmpty()) {
+                Long original = ORIGINAL_THRESHOLDS.remove(pool.getName());
+                if (original != null) {
+                    pool.setCollectionUsageThreshold(original);
+                }
+                original = ORIGINAL_THRESHOLDS.remove(USAGE_PREFIX + pool.getName());
+                if (original != null) {
+                    pool.setUsageThreshold(original);
+                }
+                continue;
+            }
+            long max = pool.getUsage().getMax();
+            long poolThreshold = max >= 0 ? Math.min(threshold, max) : threshold;
+            ORIGINAL_THRESHOLDS.putIfAbsent(pool.getName(), pool.getCollectionUsageThreshold());
+            pool.setCollectionUsageThreshold(poolThreshold);
+            if (pool.isUsageThresholdSupported()) {
+                ORIGINAL_THRESHOLDS.putIfAbsent(USAGE_PREFIX + pool.getName(), pool.getUsageThreshold());
+                pool.setUsageThreshold(poolThreshold);
+            }
+        }
+    }
+
+    /**
+     * @return the heap pools which support a collection usage threshold.
+     */
+    private static List<MemoryPoolMXBean> thresholdPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the heap used after the last collection of every pool, in bytes.
+     */
+    private static long collectedHeap() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * @return the emitter of the memory notifications.
+     */
+    private static NotificationEmitter emitter() {
+        return (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+    }
+}
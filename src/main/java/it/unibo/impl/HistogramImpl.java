@@ -0,0 +1,116 @@
+package it.unibo.impl;
+
+import it.unibo.api.Histogram;
+
+import java.util.Arrays;
+
+/**
+ * Implements an immutable Histogram.
+ */
+public class HistogramImpl implements Histogram {
+    private static final int MAX_BUCKETS = Long.SIZE;
+
+    private final long[] bucketCounts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    /**
+     * Define a histogram.
+     *
+     * @param bucketCounts the number of values by bucket, copied without the empty buckets at the end.
+     * @param sum          the sum of the values.
+     * @param max          the largest value.
+     */
+    public HistogramImpl(long[] bucketCounts, long sum, long max) {
+        int buckets = Math.min(bucketCounts.length, MAX_BUCKETS);
+        while (buckets > 0 && bucketCounts[buckets - 1] == 0) {
+            buckets--;
+        }
+        this.bucketCounts = Arrays.copyOf(bucketCounts, buckets);
+        this.count = Arrays.stream(this.bucketCounts).sum();
+        this.sum = sum;
+        this.max = max;
+    }
+
+    /**
+     * @param value a non-negative value.
+     * @return the index of the bucket which counts the value.
+     */
+    public static int bucketOf(long value) {
+        return Long.SIZE - Long.numberOfLeadingZeros(Math.max(0, value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getSum() {
+        return this.sum;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getMean() {
+        return this.count == 0 ? 0 : (double) this.sum / this.count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getBucketsCount() {
+        return this.bucketCounts.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getBucketUpperBound(int bucket) {
+        return bucket >= MAX_BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getBucketCount(int bucket) {
+        return this.bucketCounts[bucket];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getQuantile(double quantile) {
+        long rank = (long) Math.ceil(quantile * this.count);
+        long cumulative = 0;
+        for (int bucket = 0; bucket < this.bucketCounts.length; bucket++) {
+            cumulative += this.bucketCounts[bucket];
+            if (cumulative >= rank) {
+                return Math.min(this.getBucketUpperBound(bucket), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * @return the count, the mean and the main quantiles in a line.
+     */
+    @Override
+    public String toString() {
+        return "count = " + this.count + ", mean = " + this.getMean() + ", p50 <= " + this.getQuantile(0.5)
+                + ", p99 <= " + this.getQuantile(0.99) + ", max = " + this.max;
+    }
+}
@@ -0,0 +1,233 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+
+/**
+ * Implements a LinearModel backed by primitive arrays.
+ */
+public class LinearModelImpl implements LinearModel {
+    private final String name;
+    private final boolean minimumProblem;
+    private final String[] columnNames;
+    private final String[] rowNames;
+    private final double[] objective;
+    private final double objectiveConstant;
+    private final double[] columnLower;
+    private final double[] columnUpper;
+    private final double[] rowLower;
+    private final double[] rowUpper;
+    private final int[] columnStart;
+    private final int[] rowIndex;
+    private final double[] values;
+
+    /**
+     * Define a model by its arrays. Note: the arrays are not copied.
+     *
+     * @param name              the name of the model.
+     * @param minimumProblem    true if the objective function sense is minimum.
+     * @param columnNames       the names of the columns.
+     * @param rowNames          the names of the rows.
+     * @param objective         the objective coefficients of the columns.
+     * @param objectiveConstant the constant term of the objective function.
+     * @param columnLower       the lower bounds of the columns.
+     * @param columnUpper       the upper bounds of the columns.
+     * @param rowLower          the lower bounds of the rows.
+     * @param rowUpper          the upper bounds of the rows.
+     * @param columnStart       the starting position of every column, plus the number of non-zeros at the end.
+     * @param rowIndex          the row of every non-zero.
+     * @param values            the value of every non-zero.
+     */
+    public LinearModelImpl(String name, boolean minimumProblem, String[] columnNames, String[] rowNames,
+                           double[] objective, double objectiveConstant, double[] columnLower, double[] columnUpper,
+                           double[] rowLower, double[] rowUpper, int[] columnStart, int[] rowIndex, double[] values) {
+        this.name = name;
+        this.minimumProblem = minimumProblem;
+        this.columnNames = columnNames;
+        this.rowNames = rowNames;
+        this.objective = objective;
+        this.objectiveConstant = objectiveConstant;
+        this.columnLower = columnLower;
+        this.columnUpper = columnUpper;
+        this.rowLower = rowLower;
+        this.rowUpper = rowUpper;
+        this.columnStart = columnStart;
+        this.rowIndex = rowIndex;
+        this.values = values;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isMinimumProblem() {
+        return this.minimumProblem;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getRowsCount() {
+        return this.rowNames.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getColumnsCount() {
+        return this.columnNames.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getNonZerosCount() {
+        return this.columnStart[this.columnNames.length];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getColumnName(int column) {
+        return this.columnNames[column];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getRowName(int row) {
+        return this.rowNames[row];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getObjectiveCoefficient(int column) {
+        return this.objective[column];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getObjectiveConstant() {
+        return this.objectiveConstant;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getColumnLowerBound(int column) {
+        return this.columnLower[column];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getColumnUpperBound(int column) {
+        return this.columnUpper[column];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getRowLowerBound(int row) {
+        return this.rowLower[row];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getRowUpperBound(int row) {
+        return this.rowUpper[row];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getColumnStart(int column) {
+        return this.columnStart[column];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getRowIndex(int position) {
+        return this.rowIndex[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getValue(int position) {
+        return this.values[position];
+    }
+
+    /**
+     * @return the model log.
+     */
+    @Override
+    public String toString() {
+        return describe(this);
+    }
+
+    /**
+     * Describes a model through its getters, so every LinearModel implementation logs the same way.
+     *
+     * @param model the model to describe.
+     * @return the model log.
+     */
+    static String describe(LinearModel model) {
+        StringBuilder status = new StringBuilder();
+        status.append("\n\nPROBLEM DESCRIPTION");
+        status.append("\n\nObjective");
+        status.append("\n");
+        status.append(model.isMinimumProblem() ? "min " : "max ");
+        status.append(model.getName());
+        status.append(" :");
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            if (model.getObjectiveCoefficient(column) != 0) {
+                status.append(" ");
+                status.append(model.getObjectiveCoefficient(column));
+                status.append("*");
+                status.append(model.getColumnName(column));
+            }
+        }
+
+        status.append("\n\nConstraints");
+        StringBuilder[] rows = new StringBuilder[model.getRowsCount()];
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = new StringBuilder();
+        }
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            for (int k = model.getColumnStart(column); k < model.getColumnStart(column + 1); k++) {
+                rows[model.getRowIndex(k)].append(" ").append(model.getValue(k)).append("*").append(model.getColumnName(column));
+            }
+        }
+        for (int row = 0; row < rows.length; row++) {
+            status.append("\n");
+            status.append(model.getRowName(row));
+            status.append(" : ");
+            status.append(model.getRowLowerBound(row));
+            status.append(" <=");
+            status.append(rows[row]);
+            status.append(" <= ");
+            status.append(model.getRowUpperBound(row));
+        }
+
+        status.append("\n\nVariables");
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            status.append("\n");
+            status.append(model.getColumnLowerBound(column));
+            status.append(" < ");
+            status.append(model.getColumnName(column));
+            status.append(" < ");
+            status.append(model.getColumnUpperBound(column));
+        }
+        return status.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package it.unibo.impl;
+
+import it.unibo.api.LoadReport;
+
+import java.util.Locale;
+
+/**
+ * Implements a LoadReport.
+ */
+public class LoadReportImpl implements LoadReport {
+    private static final double MEGABYTE = 1024 * 1024;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final long bytesCount;
+    private final long nonZerosCount;
+    private final long elapsedNanos;
+    private final int chunksCount;
+    private final boolean fromCache;
+
+    /**
+     * Define a report.
+     *
+     * @param bytesCount    the size of the file.
+     * @param nonZerosCount the non-zeros of the loaded model.
+     * @param elapsedNanos  the time spent to load the model.
+     * @param chunksCount   the number of chunks the file has been parsed in.
+     * @param fromCache     true if the model has been mapped from its binary snapshot.
+     */
+    public LoadReportImpl(long bytesCount, long nonZerosCount, long elapsedNanos, int chunksCount, boolean fromCache) {
+        this.bytesCount = bytesCount;
+        this.nonZerosCount = nonZerosCount;
+        this.elapsedNanos = Math.max(1, elapsedNanos);
+        this.chunksCount = chunksCount;
+        this.fromCache = fromCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getBytesCount() {
+        return this.bytesCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getNonZerosCount() {
+        return this.nonZerosCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getChunksCount() {
+        return this.chunksCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isFromCache() {
+        return this.fromCache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getMegabytesPerSecond() {
+        return this.bytesCount / MEGABYTE * NANOS_PER_SECOND / this.elapsedNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getNonZerosPerSecond() {
+        return this.nonZerosCount * NANOS_PER_SECOND / this.elapsedNanos;
+    }
+
+    /**
+     * @return the report in a line.
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.1f MB, %d non-zeros in %.1f ms (%.1f MB/s, %.0f non-zeros/s, %s)",
+                this.bytesCount / MEGABYTE, this.nonZerosCount, this.elapsedNanos / 1e6,
+                this.getMegabytesPerSecond(), this.getNonZerosPerSecond(),
+                this.fromCache ? "cached snapshot" : this.chunksCount + " chunks");
+    }
+}
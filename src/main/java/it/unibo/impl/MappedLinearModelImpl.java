@@ -0,0 +1,209 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Implements a LinearModel backed by the buffers of a mapped binary snapshot, so nothing is copied on load.<br>
+ * The names are stored once in a table of UTF-8 bytes: the name of the model first, then the columns, then the rows.
+ * They are decoded on first access, every other getter reads the buffers directly.
+ */
+public class MappedLinearModelImpl implements LinearModel {
+    private final boolean minimumProblem;
+    private final int rowsCount;
+    private final int columnsCount;
+    private final double objectiveConstant;
+    private final DoubleBuffer objective;
+    private final DoubleBuffer columnLower;
+    private final DoubleBuffer columnUpper;
+    private final DoubleBuffer rowLower;
+    private final DoubleBuffer rowUpper;
+    private final DoubleBuffer values;
+    private final IntBuffer columnStart;
+    private final IntBuffer rowIndex;
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer nameBytes;
+    private final String[] names;
+
+    /**
+     * Define a model by its buffers. Note: the buffers are not copied.
+     *
+     * @param minimumProblem    true if the objective function sense is minimum.
+     * @param rowsCount         the number of rows.
+     * @param columnsCount      the number of columns.
+     * @param objectiveConstant the constant term of the objective function.
+     * @param objective         the objective coefficients of the columns.
+     * @param columnLower       the lower bounds of the columns.
+     * @param columnUpper       the upper bounds of the columns.
+     * @param rowLower          the lower bounds of the rows.
+     * @param rowUpper          the upper bounds of the rows.
+     * @param values            the value of every non-zero.
+     * @param columnStart       the starting position of every column, plus the number of non-zeros at the end.
+     * @param rowIndex          the row of every non-zero.
+     * @param nameOffsets       the starting position of every name in the table, plus its size at the end.
+     * @param nameBytes         the table of the names.
+     */
+    public MappedLinearModelImpl(boolean minimumProblem, int rowsCount, int columnsCount, double objectiveConstant,
+                                 DoubleBuffer objective, DoubleBuffer columnLower, DoubleBuffer columnUpper,
+                                 DoubleBuffer rowLower, DoubleBuffer rowUpper, DoubleBuffer values,
+                                 IntBuffer columnStart, IntBuffer rowIndex, IntBuffer nameOffsets, ByteBuffer nameBytes) {
+        this.minimumProblem = minimumProblem;
+        this.rowsCount = rowsCount;
+        this.columnsCount = columnsCount;
+        this.objectiveConstant = objectiveConstant;
+        this.objective = objective;
+        this.columnLower = columnLower;
+        this.columnUpper = columnUpper;
+        this.rowLower = rowLower;
+        this.rowUpper = rowUpper;
+        this.values = values;
+        this.columnStart = columnStart;
+        this.rowIndex = rowIndex;
+        this.nameOffsets = nameOffsets;
+        this.nameBytes = nameBytes;
+        this.names = new String[1 + columnsCount + rowsCount];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName() {
+        return this.name(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isMinimumProblem() {
+        return this.minimumProblem;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getRowsCount() {
+        return this.rowsCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getColumnsCount() {
+        return this.columnsCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getNonZerosCount() {
+        return this.columnStart.get(this.columnsCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getColumnName(int column) {
+        return this.name(1 + column);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getRowName(int row) {
+        return this.name(1 + this.columnsCount + row);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getObjectiveCoefficient(int column) {
+        return this.objective.get(column);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getObjectiveConstant() {
+        return this.objectiveConstant;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getColumnLowerBound(int column) {
+        return this.columnLower.get(column);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getColumnUpperBound(int column) {
+        return this.columnUpper.get(column);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getRowLowerBound(int row) {
+        return this.rowLower.get(row);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getRowUpperBound(int row) {
+        return this.rowUpper.get(row);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getColumnStart(int column) {
+        return this.columnStart.get(column);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getRowIndex(int position) {
+        return this.rowIndex.get(position);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getValue(int position) {
+        return this.values.get(position);
+    }
+
+    /**
+     * @return the model log.
+     */
+    @Override
+    public String toString() {
+        return LinearModelImpl.describe(this);
+    }
+
+    /**
+     * Decodes a name of the table, the first time it's asked.
+     * Two threads may decode the same name, both get an equal string.
+     *
+     * @param index the index of the name in the table.
+     * @return the name.
+     */
+    private String name(int index) {
+        String name = this.names[index];
+        if (name == null) {
+            int start = this.nameOffsets.get(index);
+            byte[] bytes = new byte[this.nameOffsets.get(index + 1) - start];
+            this.nameBytes.get(start, bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+            this.names[index] = name;
+        }
+        return name;
+    }
+}
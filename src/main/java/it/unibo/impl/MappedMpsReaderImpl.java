@@ -0,0 +1,420 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+import it.unibo.api.LoadReport;
+import it.unibo.api.ModelFormatException;
+import it.unibo.api.ModelReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reads a mps file into a LinearModel by memory mapping it, for the largest models.<br>
+ * The section headers are found scanning the file in parallel. The COLUMNS section, which holds the non-zeros,
+ * is split in chunks at column boundaries: the chunks are tokenized in parallel on a fork-join pool and then
+ * merged in order into a single sparse column matrix. The other sections are read in order as by {@code MpsReaderImpl}.<br>
+ * The lines aren't counted, so a malformed file is reported with the section of the problem.
+ */
+public class MappedMpsReaderImpl implements ModelReader {
+    private static final int REGION_SHIFT = 30;
+    private static final long REGION_SIZE = 1L << REGION_SHIFT;
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private final boolean fixedFormat;
+    private final ForkJoinPool pool;
+    private LoadReport lastLoadReport;
+
+    /**
+     * Define a reader of free format mps files on the common fork-join pool.
+     */
+    public MappedMpsReaderImpl() {
+        this(false, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Define a reader.
+     *
+     * @param fixedFormat true if the fields of the file are in fixed columns.
+     * @param pool        the threads which tokenize the chunks.
+     */
+    public MappedMpsReaderImpl(boolean fixedFormat, ForkJoinPool pool) {
+        this.fixedFormat = fixedFormat;
+        this.pool = pool;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ModelFormatException if the file is malformed.
+     * @throws UncheckedIOException if the file can't be read.
+     */
+    public LinearModel read(String pathToFile) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(Path.of(pathToFile), StandardOpenOption.READ)) {
+            MappedFile file = new MappedFile(channel);
+            MpsParser parser = new MpsParser();
+            int chunksCount = 1;
+            List<Long> headers = this.findHeaders(file);
+            for (int i = 0; i < headers.size(); i++) {
+                long dataEnd = i + 1 < headers.size() ? headers.get(i + 1) : file.size();
+                LineCursor header = new LineCursor(file, headers.get(i), dataEnd);
+                String section = null;
+                try {
+                    section = parser.header(header.next());
+                    long dataStart = header.getPosition();
+                    if ("COLUMNS".equals(section)) {
+                        chunksCount = this.readColumns(file, parser, dataStart, dataEnd);
+                    } else {
+                        this.readLines(file, parser, section, dataStart, dataEnd);
+                    }
+                } catch (ModelFormatException e) {
+                    throw e.at(section, 0);
+                }
+            }
+            LinearModel model = parser.build();
+            this.lastLoadReport = new LoadReportImpl(file.size(), model.getNonZerosCount(), System.nanoTime() - start, chunksCount, false);
+            return model;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the mps file " + pathToFile, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Optional<LoadReport> getLastLoadReport() {
+        return Optional.ofNullable(this.lastLoadReport);
+    }
+
+    /**
+     * Finds the section headers, the lines which don't start with a space, scanning chunks of the file in parallel.
+     *
+     * @param file the mapped file.
+     * @return the positions of the headers in order.
+     */
+    private List<Long> findHeaders(MappedFile file) {
+        long[] bounds = this.split(0, file.size());
+        List<Callable<List<Long>>> tasks = new ArrayList<>();
+        for (int k = 0; k + 1 < bounds.length; k++) {
+            long from = bounds[k];
+            long to = bounds[k + 1];
+            tasks.add(() -> {
+                List<Long> headers = new ArrayList<>();
+                byte[] block = new byte[BLOCK_SIZE];
+                byte previous = from == 0 ? (byte) '\n' : file.get(from - 1);
+                for (long blockStart = from; blockStart < to; blockStart += BLOCK_SIZE) {
+                    int length = (int) Math.min(BLOCK_SIZE, to - blockStart);
+                    file.read(blockStart, block, length);
+                    for (int i = 0; i < length; i++) {
+                        if (previous == '\n' && isHeaderStart(block[i])) {
+                            headers.add(blockStart + i);
+                        }
+                        previous = block[i];
+                    }
+                }
+                return headers;
+            });
+        }
+        List<Long> headers = new ArrayList<>();
+        this.invokeAll(tasks).forEach(headers::addAll);
+        return headers;
+    }
+
+    /**
+     * Reads the COLUMNS section in chunks, each one parsed by a child parser, and appends them in order.
+     *
+     * @param file   the mapped file.
+     * @param parser the parser of the file.
+     * @param start  the position of the first data line.
+     * @param end    the position of the next header.
+     * @return the number of chunks.
+     */
+    private int readColumns(MappedFile file, MpsParser parser, long start, long end) {
+        long[] bounds = this.split(start, end);
+        for (int k = 1; k + 1 < bounds.length; k++) {
+            bounds[k] = this.nextColumnStart(file, Math.max(bounds[k], bounds[k - 1]), end);
+        }
+        List<Callable<MpsParser>> tasks = new ArrayList<>();
+        for (int k = 0; k + 1 < bounds.length; k++) {
+            long from = bounds[k];
+            long to = bounds[k + 1];
+            if (from >= to) {
+                continue;
+            }
+            tasks.add(() -> {
+                MpsParser chunk = new MpsParser(parser);
+                this.readLines(file, chunk, "COLUMNS", from, to);
+                return chunk;
+            });
+        }
+        List<MpsParser> chunks = this.invokeAll(tasks);
+        chunks.forEach(parser::appendColumns);
+        return chunks.size();
+    }
+
+    /**
+     * Reads the data lines of a section.
+     *
+     * @param file    the mapped file.
+     * @param parser  the parser which records them.
+     * @param section the name of the section.
+     * @param start   the position of the first line.
+     * @param end     the position after the last line.
+     */
+    private void readLines(MappedFile file, MpsParser parser, String section, long start, long end) {
+        String[] fields = new String[MpsParser.MAX_FIELDS];
+        LineCursor cursor = new LineCursor(file, start, end);
+        while (cursor.hasNext()) {
+            String line = cursor.next();
+            if (line.isBlank() || line.startsWith("*")) {
+                continue;
+            }
+            parser.record(section, fields, this.tokenize(line, section, fields));
+        }
+    }
+
+    /**
+     * Moves a position of the COLUMNS section to the first line of the next column, so a column isn't split.
+     *
+     * @param file     the mapped file.
+     * @param position a position of the section.
+     * @param end      the end of the section.
+     * @return the position of the first line of the next column, or the end.
+     */
+    private long nextColumnStart(MappedFile file, long position, long end) {
+        LineCursor cursor = new LineCursor(file, position, end);
+        if (position > 0 && file.get(position - 1) != '\n') {
+            cursor.next();
+        }
+        String[] fields = new String[MpsParser.MAX_FIELDS];
+        String column = null;
+        while (cursor.hasNext()) {
+            long lineStart = cursor.getPosition();
+            String line = cursor.next();
+            if (line.isBlank() || line.startsWith("*")) {
+                continue;
+            }
+            this.tokenize(line, "COLUMNS", fields);
+            if (column == null) {
+                column = fields[0];
+            } else if (!column.equals(fields[0])) {
+                return lineStart;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * @param line    the line to split.
+     * @param section the current section.
+     * @param fields  where the fields are written.
+     * @return the number of fields.
+     */
+    private int tokenize(String line, String section, String[] fields) {
+        return this.fixedFormat ? MpsParser.tokenizeFixed(line, section, fields) : MpsParser.tokenizeFree(line, fields);
+    }
+
+    /**
+     * Splits a range of the file in chunks of similar size, a few per thread of the pool.
+     *
+     * @param start the start of the range.
+     * @param end   the end of the range.
+     * @return the bounds of the chunks, from start to end.
+     */
+    private long[] split(long start, long end) {
+        long length = end - start;
+        int chunks = (int) Math.max(1, Math.min((long) this.pool.getParallelism() * CHUNKS_PER_THREAD, length / MIN_CHUNK_BYTES));
+        long[] bounds = new long[chunks + 1];
+        for (int k = 0; k <= chunks; k++) {
+            bounds[k] = start + length * k / chunks;
+        }
+        return bounds;
+    }
+
+    /**
+     * Runs the tasks on the pool.
+     *
+     * @param tasks the tasks.
+     * @param <T>   the type of their results.
+     * @return the results in the order of the tasks.
+     */
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        if (tasks.size() == 1) {
+            try {
+                return List.of(tasks.get(0).call());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Future<T> future : this.pool.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading the mps file", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Failed to read the mps file", e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @param character the first character of a line.
+     * @return true if the line is a section header.
+     */
+    private static boolean isHeaderStart(byte character) {
+        return character != ' ' && character != '\t' && character != '\r' && character != '\n' && character != '*';
+    }
+
+    /**
+     * A read-only file mapped in regions, a mapped buffer can't be larger than 2 GB.
+     */
+    private static final class MappedFile {
+        private final MappedByteBuffer[] regions;
+        private final long size;
+
+        /**
+         * Maps a file.
+         *
+         * @param channel the channel of the file, it can be closed after the mapping.
+         * @throws IOException if the file can't be mapped.
+         */
+        private MappedFile(FileChannel channel) throws IOException {
+            this.size = channel.size();
+            this.regions = new MappedByteBuffer[(int) ((this.size + REGION_SIZE - 1) >>> REGION_SHIFT)];
+            for (int i = 0; i < this.regions.length; i++) {
+                long start = (long) i << REGION_SHIFT;
+                this.regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(REGION_SIZE, this.size - start));
+            }
+        }
+
+        /**
+         * @return the size of the file.
+         */
+        private long size() {
+            return this.size;
+        }
+
+        /**
+         * @param position a position of the file.
+         * @return the byte at the position.
+         */
+        private byte get(long position) {
+            return this.regions[(int) (position >>> REGION_SHIFT)].get((int) (position & (REGION_SIZE - 1)));
+        }
+
+        /**
+         * Copies a range of the file, also across two regions.
+         *
+         * @param position    the start of the range.
+         * @param destination where the bytes are copied.
+         * @param length      the length of the range.
+         */
+        private void read(long position, byte[] destination, int length) {
+            int copied = 0;
+            while (copied < length) {
+                long current = position + copied;
+                int offset = (int) (current & (REGION_SIZE - 1));
+                MappedByteBuffer region = this.regions[(int) (current >>> REGION_SHIFT)];
+                int count = Math.min(length - copied, region.limit() - offset);
+                region.get(offset, destination, copied, count);
+                copied += count;
+            }
+        }
+    }
+
+    /**
+     * Decodes the lines of a range of the file, copying it by blocks.
+     */
+    private static final class LineCursor {
+        private final MappedFile file;
+        private final long end;
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private byte[] line = new byte[256];
+        private long blockStart;
+        private int blockLength;
+        private int index;
+
+        /**
+         * Define a cursor.
+         *
+         * @param file  the mapped file.
+         * @param start the start of the first line.
+         * @param end   the end of the range.
+         */
+        private LineCursor(MappedFile file, long start, long end) {
+            this.file = file;
+            this.end = end;
+            this.blockStart = start;
+        }
+
+        /**
+         * @return true if there is another line in the range.
+         */
+        private boolean hasNext() {
+            return this.getPosition() < this.end;
+        }
+
+        /**
+         * @return the position of the next line.
+         */
+        private long getPosition() {
+            return this.blockStart + this.index;
+        }
+
+        /**
+         * Decodes the next line, without its line terminator.
+         *
+         * @return the line.
+         */
+        private String next() {
+            int length = 0;
+            while (true) {
+                if (this.index == this.blockLength) {
+                    this.blockStart += this.blockLength;
+                    this.index = 0;
+                    this.blockLength = (int) Math.min(BLOCK_SIZE, this.end - this.blockStart);
+                    if (this.blockLength <= 0) {
+                        this.blockLength = 0;
+                        break;
+                    }
+                    this.file.read(this.blockStart, this.block, this.blockLength);
+                }
+                byte character = this.block[this.index++];
+                if (character == '\n') {
+                    break;
+                }
+                if (length == this.line.length) {
+                    this.line = Arrays.copyOf(this.line, 2 * length);
+                }
+                this.line[length++] = character;
+            }
+            if (length > 0 && this.line[length - 1] == '\r') {
+                length--;
+            }
+            return new String(this.line, 0, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package it.unibo.impl;
+
+import it.unibo.api.MetricsSnapshot;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
+
+/**
+ * Writes every snapshot it receives to a local file, replacing the previous one: as JSON if the file name
+ * ends with {@code .json}, otherwise in the Prometheus text format, e.g. a {@code .prom} file read by the
+ * textfile collector of the node exporter.<br>
+ * The file is written aside and then moved, so a reader never sees a partial snapshot.
+ * A failed write is reported on {@code System.err} and doesn't stop the search.
+ */
+public class MetricsFileExporter implements Consumer<MetricsSnapshot> {
+    private static final String JSON_EXTENSION = ".json";
+
+    private final Path file;
+    private final boolean json;
+
+    /**
+     * Define an exporter.
+     *
+     * @param file the file to write, its format depends on its extension.
+     */
+    public MetricsFileExporter(Path file) {
+        this.file = file.toAbsolutePath();
+        this.json = file.getFileName().toString().endsWith(JSON_EXTENSION);
+    }
+
+    /**
+     * Writes a snapshot.
+     *
+     * @param snapshot the metrics to write.
+     */
+    public synchronized void accept(MetricsSnapshot snapshot) {
+        String text = this.json ? snapshot.toJson() : snapshot.toPrometheusText();
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(this.file.getParent(), this.file.getFileName().toString(), ".tmp");
+            Files.writeString(temporary, text);
+            try {
+                Files.move(temporary, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write the metrics " + this.file + " " + e);
+        } finally {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException e) {
+                    System.err.println("Failed to delete " + temporary + " " + e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package it.unibo.impl;
+
+import it.unibo.api.BoundSample;
+import it.unibo.api.Histogram;
+import it.unibo.api.MetricsSnapshot;
+
+import java.util.List;
+
+/**
+ * Implements an immutable MetricsSnapshot.<br>
+ * The Prometheus metrics are prefixed by {@code bnb_}, the times are in seconds as the format recommends
+ * and the missing bounds are {@code NaN}; in JSON the times keep their unit in the name
+ * and the missing bounds are {@code null}.
+ */
+public class MetricsSnapshotImpl implements MetricsSnapshot {
+    private static final String PREFIX = "bnb_";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double MILLIS_PER_SECOND = 1e3;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final long elapsedMillis;
+    private final long solvedNodesCount;
+    private final long prunedNodesCount;
+    private final long infeasibleNodesCount;
+    private final Histogram lpSolveNanos;
+    private final Histogram pivotsPerNode;
+    private final int openNodesCount;
+    private final long treeBytes;
+    private final double primalBound;
+    private final double dualBound;
+    private final List<BoundSample> boundHistory;
+
+    /**
+     * Define a snapshot.
+     *
+     * @param elapsedMillis        the milliseconds from the start of the search.
+     * @param solvedNodesCount     the number of nodes whose relaxation has been solved.
+     * @param prunedNodesCount     the number of nodes closed because they couldn't improve the incumbent.
+     * @param infeasibleNodesCount the number of nodes closed because infeasible.
+     * @param lpSolveNanos         the LP solve time of the nodes.
+     * @param pivotsPerNode        the simplex pivots of the nodes.
+     * @param openNodesCount       the number of open nodes at the last sample.
+     * @param treeBytes            the bytes held by the decision tree at the last sample.
+     * @param primalBound          the primal bound at the last sample.
+     * @param dualBound            the dual bound at the last sample.
+     * @param boundHistory         the samples where a bound changed, copied.
+     */
+    public MetricsSnapshotImpl(long elapsedMillis, long solvedNodesCount, long prunedNodesCount, long infeasibleNodesCount,
+                               Histogram lpSolveNanos, Histogram pivotsPerNode, int openNodesCount, long treeBytes,
+                               double primalBound, double dualBound, List<BoundSample> boundHistory) {
+        this.elapsedMillis = elapsedMillis;
+        this.solvedNodesCount = solvedNodesCount;
+        this.prunedNodesCount = prunedNodesCount;
+        this.infeasibleNodesCount = infeasibleNodesCount;
+        this.lpSolveNanos = lpSolveNanos;
+        this.pivotsPerNode = pivotsPerNode;
+        this.openNodesCount = openNodesCount;
+        this.treeBytes = treeBytes;
+        this.primalBound = primalBound;
+        this.dualBound = dualBound;
+        this.boundHistory = List.copyOf(boundHistory);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getSolvedNodesCount() {
+        return this.solvedNodesCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getPrunedNodesCount() {
+        return this.prunedNodesCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getInfeasibleNodesCount() {
+        return this.infeasibleNodesCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Histogram getLpSolveNanos() {
+        return this.lpSolveNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Histogram getPivotsPerNode() {
+        return this.pivotsPerNode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getOpenNodesCount() {
+        return this.openNodesCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getTreeBytes() {
+        return this.treeBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getPrimalBound() {
+        return this.primalBound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getDualBound() {
+        return this.dualBound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<BoundSample> getBoundHistory() {
+        return this.boundHistory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toPrometheusText() {
+        StringBuilder out = new StringBuilder();
+        appendMetric(out, "nodes_solved_total", "counter", "Nodes whose relaxation has been solved.", this.solvedNodesCount);
+        appendMetric(out, "nodes_pruned_total", "counter", "Nodes closed because they couldn't improve the incumbent.", this.prunedNodesCount);
+        appendMetric(out, "nodes_infeasible_total", "counter", "Nodes closed because infeasible.", this.infeasibleNodesCount);
+        appendHistogram(out, "lp_solve_seconds", "Wall clock time of the LP solve of a node.", this.lpSolveNanos, NANOS_PER_SECOND);
+        appendHistogram(out, "node_pivots", "Simplex pivots of the LP solve of a node.", this.pivotsPerNode, 1);
+        appendMetric(out, "open_nodes", "gauge", "Open nodes, including the ones being solved.", this.openNodesCount);
+        appendMetric(out, "tree_bytes", "gauge", "Bytes held by the decision tree.", this.treeBytes);
+        appendMetric(out, "primal_bound", "gauge", "Objective value of the incumbent.", this.primalBound);
+        appendMetric(out, "dual_bound", "gauge", "Best objective value an integer solution can have.", this.dualBound);
+        appendMetric(out, "elapsed_seconds", "gauge", "Time from the start of the search.", this.elapsedMillis / MILLIS_PER_SECOND);
+        return out.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toJson() {
+        StringBuilder out = new StringBuilder();
+        out.append("{\"elapsedMillis\":").append(this.elapsedMillis)
+                .append(",\"solvedNodes\":").append(this.solvedNodesCount)
+                .append(",\"prunedNodes\":").append(this.prunedNodesCount)
+                .append(",\"infeasibleNodes\":").append(this.infeasibleNodesCount)
+                .append(",\"openNodes\":").append(this.openNodesCount)
+                .append(",\"treeBytes\":").append(this.treeBytes)
+                .append(",\"primalBound\":").append(toJson(this.primalBound))
+                .append(",\"dualBound\":").append(toJson(this.dualBound))
+                .append(",\"lpSolveNanos\":");
+        appendJson(out, this.lpSolveNanos);
+        out.append(",\"pivotsPerNode\":");
+        appendJson(out, this.pivotsPerNode);
+        out.append(",\"boundHistory\":[");
+        for (int i = 0; i < this.boundHistory.size(); i++) {
+            BoundSample sample = this.boundHistory.get(i);
+            out.append(i == 0 ? "" : ",")
+                    .append("{\"millis\":").append(sample.getMillis())
+                    .append(",\"primalBound\":").append(toJson(sample.getPrimalBound()))
+                    .append(",\"dualBound\":").append(toJson(sample.getDualBound()))
+                    .append('}');
+        }
+        return out.append("]}").toString();
+    }
+
+    /**
+     * Appends a counter or a gauge in the Prometheus text format.
+     */
+    private static void appendMetric(StringBuilder out, String name, String type, String help, double value) {
+        appendHeader(out, name, type, help);
+        out.append(PREFIX).append(name).append(' ').append(toPrometheus(value)).append('\n');
+    }
+
+    /**
+     * Appends a histogram in the Prometheus text format, with cumulative buckets.
+     *
+     * @param scale the number of recorded units in a unit of the metric.
+     */
+    private static void appendHistogram(StringBuilder out, String name, String help, Histogram histogram, double scale) {
+        appendHeader(out, name, "histogram", help);
+        long cumulative = 0;
+        for (int bucket = 0; bucket < histogram.getBucketsCount(); bucket++) {
+            cumulative += histogram.getBucketCount(bucket);
+            out.append(PREFIX).append(name).append("_bucket{le=\"").append(toPrometheus(histogram.getBucketUpperBound(bucket) / scale))
+                    .append("\"} ").append(cumulative).append('\n');
+        }
+        out.append(PREFIX).append(name).append("_bucket{le=\"+Inf\"} ").append(histogram.getCount()).append('\n');
+        out.append(PREFIX).append(name).append("_sum ").append(toPrometheus(histogram.getSum() / scale)).append('\n');
+        out.append(PREFIX).append(name).append("_count ").append(histogram.getCount()).append('\n');
+    }
+
+    /**
+     * Appends the help and the type lines of a metric.
+     */
+    private static void appendHeader(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Appends a histogram as a JSON object, with the count of every bucket.
+     */
+    private static void appendJson(StringBuilder out, Histogram histogram) {
+        out.append("{\"count\":").append(histogram.getCount())
+                .append(",\"sum\":").append(histogram.getSum())
+                .append(",\"max\":").append(histogram.getMax())
+                .append(",\"mean\":").append(toJson(histogram.getMean()));
+        for (double quantile : QUANTILES) {
+            out.append(",\"p").append(Math.round(quantile * 100)).append("\":").append(histogram.getQuantile(quantile));
+        }
+        out.append(",\"buckets\":[");
+        for (int bucket = 0; bucket < histogram.getBucketsCount(); bucket++) {
+            out.append(bucket == 0 ? "" : ",")
+                    .append("{\"le\":").append(histogram.getBucketUpperBound(bucket))
+                    .append(",\"count\":").append(histogram.getBucketCount(bucket))
+                    .append('}');
+        }
+        out.append("]}");
+    }
+
+    /**
+     * @param value a value.
+     * @return the value in the Prometheus text format, without the decimals when it is integer.
+     */
+    private static String toPrometheus(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    /**
+     * @param value a value.
+     * @return the value as a JSON number, null when it isn't finite.
+     */
+    private static String toJson(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "null" : Double.toString(value);
+    }
+
+    /**
+     * @return the snapshot in a line.
+     */
+    @Override
+    public String toString() {
+        return this.elapsedMillis + " ms: solved = " + this.solvedNodesCount + ", pruned = " + this.prunedNodesCount
+                + ", infeasible = " + this.infeasibleNodesCount + ", open = " + this.openNodesCount
+                + ", primal = " + this.primalBound + ", dual = " + this.dualBound;
+    }
+}
@@ -0,0 +1,52 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchObservation;
+import it.unibo.api.BranchingRule;
+import it.unibo.api.DualProblem;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Implements a BranchingRule which cuts the variable whose fractional part (k = x % 1) is closer to 0.5.
+ */
+public class MostFractionalBranchingRuleImpl implements BranchingRule {
+    private static final double HALF_INTEGER = 0.5;
+
+    /**
+     * {@inheritDoc}
+     */
+    public int selectVariable(DualProblem dualProblem, List<BranchObservation> observations) {
+        double[] values = dualProblem.getCurrentValuesView();
+        BitSet fractionalVariables = dualProblem.getFractionalVariables();
+        int closest = -1;
+        double closestDistance = Double.MAX_VALUE;
+        for (int i = fractionalVariables.nextSetBit(0); i >= 0; i = fractionalVariables.nextSetBit(i + 1)) {
+            double distance = Math.abs(values[i] - Math.floor(values[i]) - HALF_INTEGER);
+            if (distance < closestDistance) {
+                closest = i;
+                closestDistance = distance;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void record(BranchObservation observation) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public byte[] saveState() {
+        return new byte[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void restoreState(byte[] state) {
+    }
+}
@@ -0,0 +1,456 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+import it.unibo.api.ModelFormatException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the state of a mps file while it is read, the lines are given in order by the readers.<br>
+ * The COLUMNS section can also be parsed in chunks by child parsers, which share the rows of their parent,
+ * and then appended to the parent in order.<br>
+ * A malformed line throws a {@code ModelFormatException}, which the reader locates by its section and line.
+ * So does an unknown section, a row which hasn't been declared in ROWS, a file without an objective row or without ENDATA.
+ * The N rows after the objective one are free rows: they are declared, but their coefficients are ignored.
+ */
+final class MpsParser {
+    static final int MAX_FIELDS = 6;
+    private static final int[] FIXED_FIELD_STARTS = {1, 4, 14, 24, 39, 49};
+    private static final int[] FIXED_FIELD_ENDS = {3, 12, 22, 36, 47, 61};
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Set<String> SECTIONS = Set.of("NAME", "OBJSENSE", "ROWS", "COLUMNS", "RHS", "RANGES", "BOUNDS", "ENDATA");
+
+    private String name = "";
+    private boolean minimumProblem = true;
+    private String objectiveRow;
+    private final Map<String, Integer> rows;
+    private final Set<String> freeRows;
+    private final List<String> rowNames = new ArrayList<>();
+    private final StringBuilder rowTypes = new StringBuilder();
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final List<String> columnNames = new ArrayList<>();
+    private String lastColumnName;
+    private double objectiveConstant;
+    private double[] objective = new double[INITIAL_CAPACITY];
+    private int[] columnStart = new int[INITIAL_CAPACITY];
+    private int[] rowIndex = new int[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private int nonZeros;
+    private double[] rhs;
+    private double[] ranges;
+    private double[] columnLower;
+    private double[] columnUpper;
+    private boolean ended;
+
+    /**
+     * Define the parser of a file.
+     */
+    MpsParser() {
+        this.rows = new HashMap<>();
+        this.freeRows = new HashSet<>();
+    }
+
+    /**
+     * Define the parser of a chunk of the COLUMNS section.
+     *
+     * @param parent the parser of the file, which has already read the rows.
+     */
+    MpsParser(MpsParser parent) {
+        this.rows = parent.rows;
+        this.freeRows = parent.freeRows;
+        this.objectiveRow = parent.objectiveRow;
+    }
+
+    /**
+     * Splits a free format line on the spaces, without regular expressions.
+     *
+     * @param line   the line to split.
+     * @param fields where the fields are written.
+     * @return the number of fields.
+     */
+    static int tokenizeFree(String line, String[] fields) {
+        int count = 0;
+        int length = line.length();
+        int i = 0;
+        while (i < length && count < fields.length) {
+            while (i < length && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                fields[count++] = line.substring(start, i);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Splits a fixed format line by columns, then it drops the fields which are missing in the free format:
+     * the empty first field of the data sections and the trailing empty fields.
+     * The set name of RHS, RANGES and BOUNDS is kept also if empty, so the fields have the free format layout.
+     *
+     * @param line    the line to split.
+     * @param section the current section.
+     * @param fields  where the fields are written.
+     * @return the number of fields.
+     */
+    static int tokenizeFixed(String line, String section, String[] fields) {
+        boolean skipFirst = !"ROWS".equals(section) && !"BOUNDS".equals(section);
+        int count = 0;
+        int last = 0;
+        for (int field = skipFirst ? 1 : 0; field < MAX_FIELDS; field++) {
+            int start = FIXED_FIELD_STARTS[field];
+            int end = Math.min(FIXED_FIELD_ENDS[field], line.length());
+            String value = start < end ? line.substring(start, end).trim() : "";
+            fields[count++] = value;
+            if (!value.isEmpty() || (field == 1 && !"COLUMNS".equals(section))) {
+                last = count;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Reads a section header.
+     *
+     * @param line the header line.
+     * @return the name of the section.
+     * @throws ModelFormatException if the section is unknown.
+     */
+    String header(String line) {
+        String[] fields = new String[2];
+        int count = tokenizeFree(line, fields);
+        String section = fields[0];
+        if (!SECTIONS.contains(section)) {
+            fail("Unknown section " + section);
+        }
+        if ("ENDATA".equals(section)) {
+            this.ended = true;
+        }
+        if ("NAME".equals(section)) {
+            this.name = line.length() > 4 ? line.substring(4).trim() : "";
+        }
+        if ("OBJSENSE".equals(section) && count > 1) {
+            this.minimumProblem = !fields[1].startsWith("MAX");
+        }
+        if ("RHS".equals(section) || "RANGES".equals(section) || "BOUNDS".equals(section)) {
+            this.ensureRowsData();
+        }
+        if ("BOUNDS".equals(section)) {
+            this.ensureColumnsData();
+        }
+        return section;
+    }
+
+    /**
+     * Reads a data line of a section.
+     *
+     * @param section the current section.
+     * @param fields  the fields of the line.
+     * @param count   the number of fields.
+     * @throws ModelFormatException if the line is malformed.
+     */
+    void record(String section, String[] fields, int count) {
+        try {
+            switch (section) {
+                case "OBJSENSE" -> this.minimumProblem = !fields[0].startsWith("MAX");
+                case "ROWS" -> this.recordRow(fields, count);
+                case "COLUMNS" -> this.recordColumn(fields, count);
+                case "RHS" -> this.recordRhs(fields, count);
+                case "RANGES" -> this.recordRange(fields, count);
+                case "BOUNDS" -> this.recordBound(fields, count);
+                default -> fail("Unexpected data line " + String.join(" ", Arrays.copyOf(fields, count)));
+            }
+        } catch (NumberFormatException e) {
+            throw new ModelFormatException("Malformed number: " + e.getMessage(), null, 0, e);
+        }
+    }
+
+    /**
+     * @param fields the type and the name of the row.
+     * @param count  the number of fields.
+     */
+    private void recordRow(String[] fields, int count) {
+        if (count < 2) {
+            fail("Malformed row " + String.join(" ", Arrays.copyOf(fields, count)));
+        }
+        char type = fields[0].charAt(0);
+        if (type == 'N') {
+            if (this.objectiveRow == null) {
+                this.objectiveRow = fields[1];
+            } else {
+                this.freeRows.add(fields[1]);
+            }
+            return;
+        }
+        if (type != 'L' && type != 'G' && type != 'E') {
+            fail("Unsupported row type " + fields[0]);
+        }
+        this.rows.put(fields[1], this.rowNames.size());
+        this.rowNames.add(fields[1]);
+        this.rowTypes.append(type);
+    }
+
+    /**
+     * @param fields the name of the column and up to two pairs of row and value.
+     * @param count  the number of fields.
+     */
+    void recordColumn(String[] fields, int count) {
+        if (count > 2 && fields[1].contains("MARKER")) {
+            return;
+        }
+        if (!fields[0].equals(this.lastColumnName)) {
+            if (this.columns.containsKey(fields[0])) {
+                fail("Column " + fields[0] + " is not contiguous");
+            }
+            int column = this.columnNames.size();
+            this.columns.put(fields[0], column);
+            this.columnNames.add(fields[0]);
+            this.lastColumnName = fields[0];
+            if (column + 1 >= this.columnStart.length) {
+                this.columnStart = Arrays.copyOf(this.columnStart, 2 * this.columnStart.length);
+                this.objective = Arrays.copyOf(this.objective, 2 * this.objective.length);
+            }
+            this.columnStart[column] = this.nonZeros;
+        }
+        int column = this.columnNames.size() - 1;
+        for (int field = 1; field + 1 < count; field += 2) {
+            double value = Double.parseDouble(fields[field + 1]);
+            if (fields[field].equals(this.objectiveRow)) {
+                this.objective[column] = value;
+                continue;
+            }
+            Integer row = this.row(fields[field]);
+            if (row == null) {
+                continue;
+            }
+            if (this.nonZeros == this.rowIndex.length) {
+                this.rowIndex = Arrays.copyOf(this.rowIndex, 2 * this.rowIndex.length);
+                this.values = Arrays.copyOf(this.values, 2 * this.values.length);
+            }
+            this.rowIndex[this.nonZeros] = row;
+            this.values[this.nonZeros] = value;
+            this.nonZeros++;
+        }
+    }
+
+    /**
+     * @param fields the optional set name and pairs of row and value.
+     * @param count  the number of fields.
+     */
+    private void recordRhs(String[] fields, int count) {
+        for (int field = count % 2; field + 1 < count; field += 2) {
+            double value = Double.parseDouble(fields[field + 1]);
+            if (fields[field].equals(this.objectiveRow)) {
+                this.objectiveConstant = -value;
+                continue;
+            }
+            Integer row = this.row(fields[field]);
+            if (row != null) {
+                this.rhs[row] = value;
+            }
+        }
+    }
+
+    /**
+     * @param fields the optional set name and pairs of row and range.
+     * @param count  the number of fields.
+     */
+    private void recordRange(String[] fields, int count) {
+        for (int field = count % 2; field + 1 < count; field += 2) {
+            Integer row = fields[field].equals(this.objectiveRow) ? null : this.row(fields[field]);
+            if (row != null) {
+                this.ranges[row] = Double.parseDouble(fields[field + 1]);
+            }
+        }
+    }
+
+    /**
+     * @param fields the type, the optional set name, the column and the value if the type needs it.
+     * @param count  the number of fields.
+     */
+    private void recordBound(String[] fields, int count) {
+        String type = fields[0];
+        boolean valued = !"FR".equals(type) && !"MI".equals(type) && !"PL".equals(type) && !"BV".equals(type);
+        int columnField = count >= 4 || (count == 3 && !valued) ? 2 : 1;
+        if (count <= columnField) {
+            fail("Malformed bound of type " + type);
+        }
+        int column = this.columns.getOrDefault(fields[columnField], -1);
+        if (column < 0) {
+            fail("Unknown bounded column " + fields[columnField]);
+        }
+        double value = count > columnField + 1 ? Double.parseDouble(fields[columnField + 1]) : 0;
+        switch (type) {
+            case "UP", "UI" -> {
+                this.columnUpper[column] = value;
+                if (value < 0 && this.columnLower[column] == 0) {
+                    this.columnLower[column] = Double.NEGATIVE_INFINITY;
+                }
+            }
+            case "LO", "LI" -> this.columnLower[column] = value;
+            case "FX" -> {
+                this.columnLower[column] = value;
+                this.columnUpper[column] = value;
+            }
+            case "FR" -> {
+                this.columnLower[column] = Double.NEGATIVE_INFINITY;
+                this.columnUpper[column] = Double.POSITIVE_INFINITY;
+            }
+            case "MI" -> this.columnLower[column] = Double.NEGATIVE_INFINITY;
+            case "PL" -> this.columnUpper[column] = Double.POSITIVE_INFINITY;
+            case "BV" -> {
+                this.columnLower[column] = 0;
+                this.columnUpper[column] = 1;
+            }
+            default -> fail("Unsupported bound type " + type);
+        }
+    }
+
+    /**
+     * @param name the name of a row.
+     * @return the index of the row, null for a free row.
+     * @throws ModelFormatException if the row hasn't been declared.
+     */
+    private Integer row(String name) {
+        Integer row = this.rows.get(name);
+        if (row == null && !this.freeRows.contains(name)) {
+            fail("Unknown row " + name);
+        }
+        return row;
+    }
+
+    /**
+     * Allocates the right hand sides and the ranges, once the rows are known.
+     */
+    private void ensureRowsData() {
+        if (this.rhs == null) {
+            this.rhs = new double[this.rowNames.size()];
+            this.ranges = new double[this.rowNames.size()];
+            Arrays.fill(this.ranges, Double.NaN);
+        }
+    }
+
+    /**
+     * Allocates the bounds of the columns, once the columns are known.
+     */
+    private void ensureColumnsData() {
+        if (this.columnLower == null) {
+            this.columnLower = new double[this.columnNames.size()];
+            this.columnUpper = new double[this.columnNames.size()];
+            Arrays.fill(this.columnUpper, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    /**
+     * Appends the columns parsed by a child parser, the chunks must be appended in the order of the file.
+     *
+     * @param chunk the child parser.
+     */
+    void appendColumns(MpsParser chunk) {
+        int columnsCount = this.columnNames.size();
+        int chunkColumns = chunk.columnNames.size();
+        if (columnsCount + chunkColumns + 1 > this.columnStart.length) {
+            int capacity = Math.max(columnsCount + chunkColumns + 1, 2 * this.columnStart.length);
+            this.columnStart = Arrays.copyOf(this.columnStart, capacity);
+            this.objective = Arrays.copyOf(this.objective, capacity);
+        }
+        if (this.nonZeros + chunk.nonZeros > this.rowIndex.length) {
+            int capacity = Math.max(this.nonZeros + chunk.nonZeros, 2 * this.rowIndex.length);
+            this.rowIndex = Arrays.copyOf(this.rowIndex, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        for (int column = 0; column < chunkColumns; column++) {
+            String columnName = chunk.columnNames.get(column);
+            if (this.columns.putIfAbsent(columnName, columnsCount + column) != null) {
+                fail("Column " + columnName + " is not contiguous");
+            }
+            this.columnNames.add(columnName);
+            this.columnStart[columnsCount + column] = this.nonZeros + chunk.columnStart[column];
+        }
+        System.arraycopy(chunk.objective, 0, this.objective, columnsCount, chunkColumns);
+        System.arraycopy(chunk.rowIndex, 0, this.rowIndex, this.nonZeros, chunk.nonZeros);
+        System.arraycopy(chunk.values, 0, this.values, this.nonZeros, chunk.nonZeros);
+        this.nonZeros += chunk.nonZeros;
+        this.lastColumnName = chunk.lastColumnName;
+    }
+
+    /**
+     * @return the non-zeros read so far.
+     */
+    int getNonZerosCount() {
+        return this.nonZeros;
+    }
+
+    /**
+     * Converts the types, right hand sides and ranges of the rows to their bounds.
+     * A range {@code R} of a row gives {@code [rhs - |R|, rhs]} for an L row, {@code [rhs, rhs + |R|]} for
+     * a G row, and for an E row the sign of {@code R} chooses which of them.
+     *
+     * @return the model.
+     * @throws ModelFormatException if the file has no objective row or it doesn't end by ENDATA.
+     */
+    LinearModel build() {
+        if (this.objectiveRow == null) {
+            fail("Missing objective row: no N row in ROWS");
+        }
+        if (!this.ended) {
+            fail("Missing ENDATA");
+        }
+        this.ensureRowsData();
+        this.ensureColumnsData();
+        int rowsCount = this.rowNames.size();
+        int columnsCount = this.columnNames.size();
+        double[] rowLower = new double[rowsCount];
+        double[] rowUpper = new double[rowsCount];
+        for (int row = 0; row < rowsCount; row++) {
+            char type = this.rowTypes.charAt(row);
+            double range = this.ranges[row];
+            rowLower[row] = type == 'L' ? Double.NEGATIVE_INFINITY : this.rhs[row];
+            rowUpper[row] = type == 'G' ? Double.POSITIVE_INFINITY : this.rhs[row];
+            if (Double.isNaN(range)) {
+                continue;
+            }
+            if (type == 'L' || (type == 'E' && range < 0)) {
+                rowLower[row] = this.rhs[row] - Math.abs(range);
+            } else {
+                rowUpper[row] = this.rhs[row] + Math.abs(range);
+            }
+        }
+        int[] starts = Arrays.copyOf(this.columnStart, columnsCount + 1);
+        starts[columnsCount] = this.nonZeros;
+
+        return new LinearModelImpl(
+                this.name,
+                this.minimumProblem,
+                this.columnNames.toArray(new String[0]),
+                this.rowNames.toArray(new String[0]),
+                Arrays.copyOf(this.objective, columnsCount),
+                this.objectiveConstant,
+                this.columnLower,
+                this.columnUpper,
+                rowLower,
+                rowUpper,
+                starts,
+                Arrays.copyOf(this.rowIndex, this.nonZeros),
+                Arrays.copyOf(this.values, this.nonZeros)
+        );
+    }
+
+    /**
+     * @param message the description of the problem.
+     * @throws ModelFormatException always, for a malformed file.
+     */
+    private static void fail(String message) {
+        throw new ModelFormatException(message);
+    }
+}
@@ -0,0 +1,89 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+import it.unibo.api.LoadReport;
+import it.unibo.api.ModelFormatException;
+import it.unibo.api.ModelReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Reads a mps file into a LinearModel, streaming it line by line.<br>
+ * Supported sections: NAME, OBJSENSE, ROWS, COLUMNS, RHS, RANGES, BOUNDS, ENDATA.
+ * Both the free format, whose fields are separated by spaces, and the fixed one, whose fields are in fixed columns
+ * so the names can contain spaces, are supported.<br>
+ * The non-zeros are appended to primitive arrays in compressed sparse column format, so the memory is proportional
+ * to the non-zeros, and every name is stored once.
+ */
+public class MpsReaderImpl implements ModelReader {
+    private final boolean fixedFormat;
+    private LoadReport lastLoadReport;
+
+    /**
+     * Define a reader of free format mps files.
+     */
+    public MpsReaderImpl() {
+        this(false);
+    }
+
+    /**
+     * Define a reader.
+     *
+     * @param fixedFormat true if the fields of the file are in fixed columns.
+     */
+    public MpsReaderImpl(boolean fixedFormat) {
+        this.fixedFormat = fixedFormat;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ModelFormatException if the file is malformed.
+     * @throws UncheckedIOException if the file can't be read.
+     */
+    public LinearModel read(String pathToFile) {
+        long start = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(pathToFile), StandardCharsets.ISO_8859_1)) {
+            MpsParser parser = new MpsParser();
+            String[] fields = new String[MpsParser.MAX_FIELDS];
+            String section = "";
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("*")) {
+                    continue;
+                }
+                boolean header = !Character.isWhitespace(line.charAt(0));
+                try {
+                    if (header) {
+                        section = parser.header(line);
+                        continue;
+                    }
+                    int count = this.fixedFormat ? MpsParser.tokenizeFixed(line, section, fields) : MpsParser.tokenizeFree(line, fields);
+                    parser.record(section, fields, count);
+                } catch (ModelFormatException e) {
+                    throw e.at(header || section.isEmpty() ? null : section, lineNumber);
+                }
+            }
+            LinearModel model = parser.build();
+            this.lastLoadReport = new LoadReportImpl(Files.size(Path.of(pathToFile)), model.getNonZerosCount(), System.nanoTime() - start, 1, false);
+            return model;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the mps file " + pathToFile, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Optional<LoadReport> getLastLoadReport() {
+        return Optional.ofNullable(this.lastLoadReport);
+    }
+}
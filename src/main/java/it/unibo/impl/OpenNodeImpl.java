@@ -0,0 +1,127 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchCut;
+import it.unibo.api.OpenNode;
+import it.unibo.api.SimplexBasis;
+
+import java.util.List;
+
+/**
+ * Implements an OpenNode.
+ */
+public class OpenNodeImpl implements OpenNode {
+    private final int id;
+    private final int depth;
+    private final OpenNode parent;
+    private final BranchCut branchCut;
+    private final double parentBound;
+    private final double estimate;
+    private SimplexBasis parentBasis;
+    private List<BranchCut> fixings = List.of();
+
+    /**
+     * Define a node by its cut from the parent.
+     *
+     * @param id          the id of the node. Note: it has to be unique.
+     * @param parent      the parent node, null for the root.
+     * @param branchCut   the cut added to the parent problem, null for the root.
+     * @param parentBound the objective value of the parent relaxation.
+     * @param estimate    the estimated objective value of the best integer solution in the node's subtree.
+     * @param parentBasis the optimal basis of the parent relaxation, null for the root.
+     */
+    public OpenNodeImpl(int id, OpenNode parent, BranchCut branchCut, double parentBound, double estimate, SimplexBasis parentBasis) {
+        this.id = id;
+        this.depth = parent == null ? 0 : parent.getDepth() + 1;
+        this.parent = parent;
+        this.branchCut = branchCut;
+        this.parentBound = parentBound;
+        this.estimate = estimate;
+        this.parentBasis = parentBasis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public OpenNode getParent() {
+        return this.parent;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public BranchCut getBranchCut() {
+        return this.branchCut;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getParentBound() {
+        return this.parentBound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getEstimate() {
+        return this.estimate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public SimplexBasis getParentBasis() {
+        return this.parentBasis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void discardParentBasis() {
+        this.parentBasis = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Open node " +
+                this.getId() +
+                " : [ depth = " +
+                this.getDepth() +
+                ", parent bound = " +
+                this.getParentBound() +
+                ", estimate = " +
+                this.getEstimate() +
+                " ]";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<BranchCut> getFixings() {
+        return this.fixings;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void setFixings(List<BranchCut> fixings) {
+        this.fixings = fixings;
+    }
+}
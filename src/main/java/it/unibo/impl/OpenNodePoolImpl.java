@@ -0,0 +1,89 @@
+package it.unibo.impl;
+
+import it.unibo.api.OpenNode;
+import it.unibo.api.OpenNodePool;
+import it.unibo.api.OpenNodeQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implements an OpenNodePool by guarding an OpenNodeQueue with its monitor.
+ * The search is over when the queue is empty and no worker is solving a node.
+ */
+public class OpenNodePoolImpl implements OpenNodePool {
+    private final OpenNodeQueue nodes;
+    private final List<OpenNode> takenNodes = new ArrayList<>();
+    private int busyWorkers;
+    private boolean aborted;
+
+    /**
+     * Define a pool over a queue.
+     *
+     * @param nodes the queue which orders the nodes, it must contain the root.
+     */
+    public OpenNodePoolImpl(OpenNodeQueue nodes) {
+        this.nodes = nodes;
+        this.busyWorkers = 0;
+        this.aborted = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized Optional<OpenNode> take() {
+        while (!this.aborted && this.nodes.isEmpty()) {
+            if (this.busyWorkers == 0) {
+                return Optional.empty();
+            }
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.abort();
+            }
+        }
+        if (this.aborted) {
+            return Optional.empty();
+        }
+        this.busyWorkers++;
+        OpenNode node = this.nodes.poll();
+        this.takenNodes.add(node);
+        return Optional.of(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void release(OpenNode node, List<OpenNode> children) {
+        this.takenNodes.remove(node);
+        children.forEach(this.nodes::push);
+        this.busyWorkers--;
+        this.notifyAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized List<OpenNode> getOpenNodes() {
+        List<OpenNode> openNodes = this.nodes.getNodes();
+        openNodes.addAll(this.takenNodes);
+        return openNodes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void notifyIncumbentFound() {
+        this.nodes.notifyIncumbentFound();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void abort() {
+        this.aborted = true;
+        this.notifyAll();
+    }
+}
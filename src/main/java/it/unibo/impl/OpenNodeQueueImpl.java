@@ -0,0 +1,88 @@
+package it.unibo.impl;
+
+import it.unibo.api.NodeSelectionPolicy;
+import it.unibo.api.OpenNode;
+import it.unibo.api.OpenNodeQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Implements an OpenNodeQueue by a binary heap.
+ */
+public class OpenNodeQueueImpl implements OpenNodeQueue {
+    private final NodeSelectionPolicy policy;
+    private final boolean minimumProblem;
+    private boolean incumbentFound;
+    private PriorityQueue<OpenNode> nodes;
+
+    /**
+     * Define an empty queue.
+     *
+     * @param policy         the order of the nodes.
+     * @param minimumProblem true if the objective function sense is minimum.
+     */
+    public OpenNodeQueueImpl(NodeSelectionPolicy policy, boolean minimumProblem) {
+        this.policy = policy;
+        this.minimumProblem = minimumProblem;
+        this.incumbentFound = false;
+        this.nodes = this.newHeap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void push(OpenNode node) {
+        this.nodes.add(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public OpenNode poll() {
+        return this.nodes.poll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isEmpty() {
+        return this.nodes.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<OpenNode> getNodes() {
+        return new ArrayList<>(this.nodes);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Note: the heap is rebuilt the first time, since the order of the nodes may change.
+     */
+    public void notifyIncumbentFound() {
+        if (this.incumbentFound) {
+            return;
+        }
+        this.incumbentFound = true;
+        PriorityQueue<OpenNode> heap = this.newHeap();
+        heap.addAll(this.nodes);
+        this.nodes = heap;
+    }
+
+    /**
+     * @return an empty heap ordered by the policy.
+     */
+    private PriorityQueue<OpenNode> newHeap() {
+        return new PriorityQueue<>((first, second) -> this.policy.compare(first, second, this.minimumProblem, this.incumbentFound));
+    }
+}
@@ -1,8 +1,11 @@
 package it.unibo.impl;
 
+import it.unibo.api.ModelFormatException;
 import it.unibo.api.Presentation;
 
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -35,7 +38,8 @@ public class PresentationImpl implements Presentation {
                 !answer.equals("3") &&
                 !answer.equals("4") &&
                 !answer.equals("5") &&
-                !answer.equals("6"));
+                !answer.equals("6") &&
+                !answer.equals("p"));
 
         switch (answer.charAt(0)) {
             case '1' -> runProgram(Presentation.EXAMPLE01);
@@ -44,6 +48,7 @@ public class PresentationImpl implements Presentation {
             case '4' -> runProgram(Presentation.EXAMPLE04);
             case '5' -> runProgram(Presentation.EXAMPLE05);
             case '6' -> runProgram(Presentation.EXAMPLE06);
+            case 'p' -> runSpeedupReport();
             case 'q' -> System.exit(0);
             default -> {
                 System.err.println("Reading char failed in the branch choice");
@@ -74,16 +79,39 @@ public class PresentationImpl implements Presentation {
         output.println("4 - run example04");
         output.println("5 - run example05");
         output.println("6 - run example06");
+        output.println("p - speedup report of all the examples, single-threaded vs all the processors");
         output.println("q - quit");
         output.println();
     }
 
     /**
-     * Runs the BranchAndBound Algorithm.
+     * Runs the BranchAndBound Algorithm, the application ends if the file can't be read.
      *
      * @param path from the file containing the problem.
      */
     private void runProgram(String path) {
-        new BranchAndBoundProblemImpl(path);
+        try {
+            new SolverImpl().solve(path, new BranchAndBoundOptionsImpl());
+        } catch (ModelFormatException | UncheckedIOException e) {
+            System.err.println("Failed to read the model " + path + " " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs the BranchAndBound Algorithm on all the examples, with one worker and with a worker per processor.
+     */
+    private void runSpeedupReport() {
+        try {
+            new SpeedupReportImpl(
+                    List.of(Presentation.EXAMPLE01, Presentation.EXAMPLE02, Presentation.EXAMPLE03,
+                            Presentation.EXAMPLE04, Presentation.EXAMPLE05, Presentation.EXAMPLE06),
+                    new BranchAndBoundOptionsImpl(),
+                    Runtime.getRuntime().availableProcessors()
+            ).run();
+        } catch (ModelFormatException | UncheckedIOException e) {
+            System.err.println("Failed to read the examples " + e.getMessage());
+            System.exit(1);
+        }
     }
 }
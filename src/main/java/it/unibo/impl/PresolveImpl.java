@@ -0,0 +1,669 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+import it.unibo.api.Presolve;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implements a Presolve of a problem whose columns are all integer, as the branch and bound solves.<br>
+ * It works on a copy of the rows and of the bounds, pass after pass until nothing changes:<br>
+ * 1) The bounds of the columns are rounded to integers.<br>
+ * 2) Every row gets its minimum and maximum activity: a row without free columns is checked and removed,
+ * a row which can't be violated is removed, a row which can't be satisfied proves the problem infeasible.<br>
+ * 3) A singleton row becomes a bound of its column and it is removed.<br>
+ * 4) The activities of the other rows tighten the bounds of their columns (rounded to integers).<br>
+ * 5) The coefficients of the binary columns in the one-sided rows are tightened, so the relaxation is tighter.<br>
+ * 6) A row proportional to another one is merged into it.<br>
+ * 7) A column left without rows is fixed at its best bound.<br>
+ * The columns whose bounds are equal are fixed: they are removed and their values move into the bounds
+ * of the rows and into the objective constant, postsolve puts them back.
+ */
+public class PresolveImpl implements Presolve {
+    private static final double FEASIBILITY_TOLERANCE = 1e-9;
+    private static final double INTEGER_TOLERANCE = 1e-6;
+    private static final double HUGE_BOUND = 1e9;
+    private static final int MAX_PASSES = 20;
+
+    private final LinearModel originalModel;
+    private final double[] lower;
+    private final double[] upper;
+    private final double[] rowLower;
+    private final double[] rowUpper;
+    private final boolean[] activeRows;
+    private final int[] rowStart;
+    private final int[] rowColumns;
+    private final double[] rowValues;
+    private final LinearModel reducedModel;
+    private final int[] originalColumns;
+    private boolean infeasible;
+    private int tightenedBoundsCount;
+    private int tightenedCoefficientsCount;
+    private int duplicateRowsCount;
+
+    /**
+     * Presolve a model.
+     *
+     * @param model  the loaded model, all its columns are integer.
+     * @param reduce false to keep the model as it is, so the postsolve is the identity.
+     */
+    public PresolveImpl(LinearModel model, boolean reduce) {
+        this.originalModel = model;
+        int columns = model.getColumnsCount();
+        int rows = model.getRowsCount();
+        this.lower = new double[columns];
+        this.upper = new double[columns];
+        for (int column = 0; column < columns; column++) {
+            this.lower[column] = model.getColumnLowerBound(column);
+            this.upper[column] = model.getColumnUpperBound(column);
+        }
+        this.rowLower = new double[rows];
+        this.rowUpper = new double[rows];
+        this.activeRows = new boolean[rows];
+        for (int row = 0; row < rows; row++) {
+            this.rowLower[row] = model.getRowLowerBound(row);
+            this.rowUpper[row] = model.getRowUpperBound(row);
+            this.activeRows[row] = true;
+        }
+
+        this.rowStart = new int[rows + 1];
+        this.rowColumns = new int[model.getNonZerosCount()];
+        this.rowValues = new double[model.getNonZerosCount()];
+        this.transpose();
+
+        if (!reduce) {
+            this.reducedModel = model;
+            this.originalColumns = new int[columns];
+            Arrays.setAll(this.originalColumns, column -> column);
+            return;
+        }
+        this.reduce();
+        this.originalColumns = this.keptColumns();
+        this.reducedModel = this.infeasible ? model : this.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public LinearModel getOriginalModel() {
+        return this.originalModel;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public LinearModel getReducedModel() {
+        return this.reducedModel;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isInfeasible() {
+        return this.infeasible;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getOriginalColumn(int reducedColumn) {
+        return this.originalColumns[reducedColumn];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double[] postsolve(double[] reducedValues) {
+        double[] values = this.lower.clone();
+        for (int column = 0; column < reducedValues.length; column++) {
+            values[this.originalColumns[column]] = reducedValues[column];
+        }
+        return values;
+    }
+
+    /**
+     * @return the reductions done.
+     */
+    @Override
+    public String toString() {
+        if (this.infeasible) {
+            return "infeasible";
+        }
+        return "removed " + (this.originalModel.getRowsCount() - this.reducedModel.getRowsCount()) + " rows and "
+                + (this.originalModel.getColumnsCount() - this.reducedModel.getColumnsCount()) + " columns, tightened "
+                + this.tightenedBoundsCount + " bounds and " + this.tightenedCoefficientsCount + " coefficients, merged "
+                + this.duplicateRowsCount + " duplicate rows";
+    }
+
+    /**
+     * Copies the columns of the model into rows.
+     */
+    private void transpose() {
+        for (int k = 0; k < this.rowColumns.length; k++) {
+            this.rowStart[this.originalModel.getRowIndex(k) + 1]++;
+        }
+        for (int row = 0; row < this.activeRows.length; row++) {
+            this.rowStart[row + 1] += this.rowStart[row];
+        }
+        int[] next = Arrays.copyOf(this.rowStart, this.activeRows.length);
+        for (int column = 0; column < this.lower.length; column++) {
+            for (int k = this.originalModel.getColumnStart(column); k < this.originalModel.getColumnStart(column + 1); k++) {
+                int position = next[this.originalModel.getRowIndex(k)]++;
+                this.rowColumns[position] = column;
+                this.rowValues[position] = this.originalModel.getValue(k);
+            }
+        }
+    }
+
+    /**
+     * Repeats the passes until nothing changes or the problem is infeasible.
+     */
+    private void reduce() {
+        for (int column = 0; column < this.lower.length; column++) {
+            this.tighten(column, this.lower[column], this.upper[column]);
+        }
+        boolean changed = true;
+        for (int pass = 0; pass < MAX_PASSES && changed && !this.infeasible; pass++) {
+            changed = false;
+            for (int row = 0; row < this.activeRows.length && !this.infeasible; row++) {
+                if (this.activeRows[row]) {
+                    changed |= this.reduceRow(row);
+                }
+            }
+            if (!this.infeasible) {
+                changed |= this.mergeDuplicateRows();
+                changed |= this.fixEmptyColumns();
+            }
+        }
+    }
+
+    /**
+     * Reduces a row by its activities.
+     *
+     * @param row the index of an active row.
+     * @return true if something changed.
+     */
+    private boolean reduceRow(int row) {
+        Activity activity = this.activity(row);
+        if (activity.min > this.rowUpper[row] + FEASIBILITY_TOLERANCE || activity.max < this.rowLower[row] - FEASIBILITY_TOLERANCE) {
+            this.infeasible = true;
+            return true;
+        }
+        if (activity.freeCount == 0 || (activity.min >= this.rowLower[row] - FEASIBILITY_TOLERANCE
+                && activity.max <= this.rowUpper[row] + FEASIBILITY_TOLERANCE)) {
+            this.activeRows[row] = false;
+            return true;
+        }
+        if (activity.freeCount == 1) {
+            this.activeRows[row] = false;
+            int k = activity.lastFree;
+            double fixed = 0;
+            for (int other = this.rowStart[row]; other < this.rowStart[row + 1]; other++) {
+                if (other != k && this.rowValues[other] != 0) {
+                    fixed += this.rowValues[other] * this.lower[this.rowColumns[other]];
+                }
+            }
+            double value = this.rowValues[k];
+            double first = (this.rowLower[row] - fixed) / value;
+            double second = (this.rowUpper[row] - fixed) / value;
+            this.tighten(this.rowColumns[k], value > 0 ? first : second, value > 0 ? second : first);
+            return true;
+        }
+
+        boolean changed = false;
+        for (int k = this.rowStart[row]; k < this.rowStart[row + 1] && !this.infeasible; k++) {
+            int column = this.rowColumns[k];
+            double value = this.rowValues[k];
+            if (value == 0 || this.lower[column] == this.upper[column]) {
+                continue;
+            }
+            double minOthers = activity.minWithout(value > 0 ? this.lower[column] : this.upper[column], value);
+            double maxOthers = activity.maxWithout(value > 0 ? this.upper[column] : this.lower[column], value);
+            double fromUpper = (this.rowUpper[row] - minOthers) / value;
+            double fromLower = (this.rowLower[row] - maxOthers) / value;
+            changed |= value > 0 ? this.tighten(column, fromLower, fromUpper) : this.tighten(column, fromUpper, fromLower);
+        }
+        if (!this.infeasible) {
+            changed |= this.tightenCoefficients(row);
+        }
+        return changed;
+    }
+
+    /**
+     * Tightens the coefficients of the binary columns of a one-sided row: if the row is always satisfied
+     * when a binary column is at its bound, the coefficient and the side are reduced until it is tight,
+     * the integer solutions don't change but the relaxation gets smaller.
+     *
+     * @param row the index of an active row.
+     * @return true if a coefficient changed.
+     */
+    private boolean tightenCoefficients(int row) {
+        boolean lessThan = this.rowLower[row] == Double.NEGATIVE_INFINITY && this.rowUpper[row] != Double.POSITIVE_INFINITY;
+        boolean greaterThan = this.rowUpper[row] == Double.POSITIVE_INFINITY && this.rowLower[row] != Double.NEGATIVE_INFINITY;
+        if (!lessThan && !greaterThan) {
+            return false;
+        }
+        double sign = lessThan ? 1 : -1;
+        double side = sign * (lessThan ? this.rowUpper[row] : this.rowLower[row]);
+        double max = 0;
+        for (int k = this.rowStart[row]; k < this.rowStart[row + 1]; k++) {
+            double value = sign * this.rowValues[k];
+            max += value * (value > 0 ? this.upper[this.rowColumns[k]] : this.lower[this.rowColumns[k]]);
+        }
+        if (Double.isInfinite(max) || Double.isNaN(max) || max <= side + FEASIBILITY_TOLERANCE) {
+            return false;
+        }
+
+        boolean changed = false;
+        for (int k = this.rowStart[row]; k < this.rowStart[row + 1]; k++) {
+            int column = this.rowColumns[k];
+            if (this.lower[column] != 0 || this.upper[column] != 1) {
+                continue;
+            }
+            double value = sign * this.rowValues[k];
+            double delta = value > 0 ? side - (max - value) : side - (max + value);
+            if (value == 0 || delta <= FEASIBILITY_TOLERANCE) {
+                continue;
+            }
+            if (value > 0) {
+                value -= delta;
+                side -= delta;
+                max -= delta;
+            } else {
+                value += delta;
+            }
+            this.rowValues[k] = sign * value;
+            this.tightenedCoefficientsCount++;
+            changed = true;
+        }
+        if (lessThan) {
+            this.rowUpper[row] = side;
+        } else {
+            this.rowLower[row] = -side;
+        }
+        return changed;
+    }
+
+    /**
+     * Merges the rows which are a multiple of another one, on the columns which aren't fixed,
+     * intersecting their bounds.
+     *
+     * @return true if a row has been merged.
+     */
+    private boolean mergeDuplicateRows() {
+        Map<RowKey, Integer> seen = new HashMap<>();
+        boolean changed = false;
+        for (int row = 0; row < this.activeRows.length; row++) {
+            if (!this.activeRows[row]) {
+                continue;
+            }
+            RowKey key = this.key(row);
+            if (key.columns.length < 2) {
+                continue;
+            }
+            Integer first = seen.putIfAbsent(key, row);
+            if (first == null) {
+                continue;
+            }
+            double ratio = key.scale / this.key(first).scale;
+            double fixed = this.fixedActivity(row);
+            double low = (this.rowLower[row] - fixed) / ratio;
+            double high = (this.rowUpper[row] - fixed) / ratio;
+            double firstFixed = this.fixedActivity(first);
+            this.rowLower[first] = Math.max(this.rowLower[first], (ratio > 0 ? low : high) + firstFixed);
+            this.rowUpper[first] = Math.min(this.rowUpper[first], (ratio > 0 ? high : low) + firstFixed);
+            this.activeRows[row] = false;
+            this.duplicateRowsCount++;
+            changed = true;
+            if (this.rowLower[first] > this.rowUpper[first] + FEASIBILITY_TOLERANCE) {
+                this.infeasible = true;
+                return true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Fixes the columns which aren't in any active row at the bound which improves the objective,
+     * if it is finite.
+     *
+     * @return true if a column has been fixed.
+     */
+    private boolean fixEmptyColumns() {
+        boolean changed = false;
+        for (int column = 0; column < this.lower.length; column++) {
+            if (this.lower[column] == this.upper[column] || !this.isEmpty(column)) {
+                continue;
+            }
+            double cost = this.originalModel.getObjectiveCoefficient(column) * (this.originalModel.isMinimumProblem() ? 1 : -1);
+            double value;
+            if (cost > 0) {
+                value = this.lower[column];
+            } else if (cost < 0) {
+                value = this.upper[column];
+            } else {
+                value = Double.isFinite(this.lower[column]) ? this.lower[column] : Double.isFinite(this.upper[column]) ? this.upper[column] : 0;
+            }
+            if (Double.isFinite(value)) {
+                this.lower[column] = value;
+                this.upper[column] = value;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @param column the index of a column.
+     * @return true if the column has no non-zero in the active rows.
+     */
+    private boolean isEmpty(int column) {
+        for (int k = this.originalModel.getColumnStart(column); k < this.originalModel.getColumnStart(column + 1); k++) {
+            if (this.activeRows[this.originalModel.getRowIndex(k)] && this.originalModel.getValue(k) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tightens the bounds of a column, rounding them to integers. The bounds too large to be meaningful are ignored.
+     *
+     * @param column   the index of the column.
+     * @param newLower a valid lower bound of the column.
+     * @param newUpper a valid upper bound of the column.
+     * @return true if a bound changed.
+     */
+    private boolean tighten(int column, double newLower, double newUpper) {
+        boolean changed = false;
+        if (!Double.isNaN(newLower) && Math.abs(newLower) < HUGE_BOUND) {
+            double rounded = Math.ceil(newLower - INTEGER_TOLERANCE);
+            if (rounded > this.lower[column]) {
+                this.lower[column] = rounded;
+                changed = true;
+            }
+        }
+        if (!Double.isNaN(newUpper) && Math.abs(newUpper) < HUGE_BOUND) {
+            double rounded = Math.floor(newUpper + INTEGER_TOLERANCE);
+            if (rounded < this.upper[column]) {
+                this.upper[column] = rounded;
+                changed = true;
+            }
+        }
+        if (changed) {
+            this.tightenedBoundsCount++;
+        }
+        if (this.lower[column] > this.upper[column]) {
+            this.infeasible = true;
+        }
+        return changed;
+    }
+
+    /**
+     * @param row the index of a row.
+     * @return the activities of the row with the current bounds.
+     */
+    private Activity activity(int row) {
+        Activity activity = new Activity();
+        for (int k = this.rowStart[row]; k < this.rowStart[row + 1]; k++) {
+            int column = this.rowColumns[k];
+            double value = this.rowValues[k];
+            if (value == 0) {
+                continue;
+            }
+            if (this.lower[column] != this.upper[column]) {
+                activity.freeCount++;
+                activity.lastFree = k;
+            }
+            activity.add(value, value > 0 ? this.lower[column] : this.upper[column], value > 0 ? this.upper[column] : this.lower[column]);
+        }
+        return activity;
+    }
+
+    /**
+     * @param row the index of a row.
+     * @return the activity of the fixed columns of the row.
+     */
+    private double fixedActivity(int row) {
+        double fixed = 0;
+        for (int k = this.rowStart[row]; k < this.rowStart[row + 1]; k++) {
+            int column = this.rowColumns[k];
+            if (this.lower[column] == this.upper[column]) {
+                fixed += this.rowValues[k] * this.lower[column];
+            }
+        }
+        return fixed;
+    }
+
+    /**
+     * @param row the index of a row.
+     * @return the key of the row on the columns which aren't fixed, scaled by its first coefficient.
+     */
+    private RowKey key(int row) {
+        int count = 0;
+        for (int k = this.rowStart[row]; k < this.rowStart[row + 1]; k++) {
+            if (this.rowValues[k] != 0 && this.lower[this.rowColumns[k]] != this.upper[this.rowColumns[k]]) {
+                count++;
+            }
+        }
+        int[] columns = new int[count];
+        double[] values = new double[count];
+        int i = 0;
+        for (int k = this.rowStart[row]; k < this.rowStart[row + 1]; k++) {
+            if (this.rowValues[k] != 0 && this.lower[this.rowColumns[k]] != this.upper[this.rowColumns[k]]) {
+                columns[i] = this.rowColumns[k];
+                values[i] = this.rowValues[k];
+                i++;
+            }
+        }
+        double scale = count == 0 ? 1 : values[0];
+        for (int j = 0; j < count; j++) {
+            values[j] /= scale;
+        }
+        return new RowKey(columns, values, scale);
+    }
+
+    /**
+     * @return the original index of every column which isn't fixed, at least one column is kept.
+     */
+    private int[] keptColumns() {
+        int[] kept = new int[this.lower.length];
+        int count = 0;
+        for (int column = 0; column < this.lower.length; column++) {
+            if (this.lower[column] != this.upper[column]) {
+                kept[count++] = column;
+            }
+        }
+        if (count == 0 && this.lower.length > 0) {
+            count = 1;
+        }
+        return Arrays.copyOf(kept, count);
+    }
+
+    /**
+     * Builds the reduced model: the fixed columns are moved into the bounds of the rows and into the objective.
+     *
+     * @return the reduced model.
+     */
+    private LinearModel build() {
+        int[] reducedColumns = new int[this.lower.length];
+        Arrays.fill(reducedColumns, -1);
+        for (int column = 0; column < this.originalColumns.length; column++) {
+            reducedColumns[this.originalColumns[column]] = column;
+        }
+        int[] reducedRows = new int[this.activeRows.length];
+        int rows = 0;
+        for (int row = 0; row < this.activeRows.length; row++) {
+            reducedRows[row] = this.activeRows[row] ? rows++ : -1;
+        }
+
+        int columns = this.originalColumns.length;
+        String[] columnNames = new String[columns];
+        double[] objective = new double[columns];
+        double[] columnLower = new double[columns];
+        double[] columnUpper = new double[columns];
+        double objectiveConstant = this.originalModel.getObjectiveConstant();
+        for (int column = 0; column < this.lower.length; column++) {
+            int reduced = reducedColumns[column];
+            if (reduced < 0) {
+                objectiveConstant += this.originalModel.getObjectiveCoefficient(column) * this.lower[column];
+                continue;
+            }
+            columnNames[reduced] = this.originalModel.getColumnName(column);
+            objective[reduced] = this.originalModel.getObjectiveCoefficient(column);
+            columnLower[reduced] = this.lower[column];
+            columnUpper[reduced] = this.upper[column];
+        }
+
+        String[] rowNames = new String[rows];
+        double[] rowLowerBounds = new double[rows];
+        double[] rowUpperBounds = new double[rows];
+        int[] columnStart = new int[columns + 1];
+        for (int row = 0; row < this.activeRows.length; row++) {
+            int reduced = reducedRows[row];
+            if (reduced < 0) {
+                continue;
+            }
+            double fixed = 0;
+            for (int k = this.rowStart[row]; k < this.rowStart[row + 1]; k++) {
+                int column = reducedColumns[this.rowColumns[k]];
+                if (column < 0) {
+                    fixed += this.rowValues[k] * this.lower[this.rowColumns[k]];
+                } else if (this.rowValues[k] != 0) {
+                    columnStart[column + 1]++;
+                }
+            }
+            rowNames[reduced] = this.originalModel.getRowName(row);
+            rowLowerBounds[reduced] = this.rowLower[row] - fixed;
+            rowUpperBounds[reduced] = this.rowUpper[row] - fixed;
+        }
+        for (int column = 0; column < columns; column++) {
+            columnStart[column + 1] += columnStart[column];
+        }
+
+        int[] rowIndex = new int[columnStart[columns]];
+        double[] values = new double[columnStart[columns]];
+        int[] next = Arrays.copyOf(columnStart, columns);
+        for (int row = 0; row < this.activeRows.length; row++) {
+            if (reducedRows[row] < 0) {
+                continue;
+            }
+            for (int k = this.rowStart[row]; k < this.rowStart[row + 1]; k++) {
+                int column = reducedColumns[this.rowColumns[k]];
+                if (column >= 0 && this.rowValues[k] != 0) {
+                    int position = next[column]++;
+                    rowIndex[position] = reducedRows[row];
+                    values[position] = this.rowValues[k];
+                }
+            }
+        }
+        return new LinearModelImpl(this.originalModel.getName(), this.originalModel.isMinimumProblem(), columnNames, rowNames,
+                objective, objectiveConstant, columnLower, columnUpper, rowLowerBounds, rowUpperBounds, columnStart, rowIndex, values);
+    }
+
+    /**
+     * The minimum and maximum activity of a row, split in a finite sum and a count of infinite terms.
+     */
+    private static final class Activity {
+        private double minSum;
+        private double maxSum;
+        private int minInfinite;
+        private int maxInfinite;
+        private double min;
+        private double max;
+        private int freeCount;
+        private int lastFree;
+
+        /**
+         * Adds a term of the row.
+         *
+         * @param value    the coefficient.
+         * @param minBound the bound of the column which minimizes the term.
+         * @param maxBound the bound of the column which maximizes the term.
+         */
+        private void add(double value, double minBound, double maxBound) {
+            if (Double.isInfinite(minBound)) {
+                this.minInfinite++;
+            } else {
+                this.minSum += value * minBound;
+            }
+            if (Double.isInfinite(maxBound)) {
+                this.maxInfinite++;
+            } else {
+                this.maxSum += value * maxBound;
+            }
+            this.min = this.minInfinite > 0 ? Double.NEGATIVE_INFINITY : this.minSum;
+            this.max = this.maxInfinite > 0 ? Double.POSITIVE_INFINITY : this.maxSum;
+        }
+
+        /**
+         * @param minBound the bound of a column which minimizes its term.
+         * @param value    the coefficient of the column.
+         * @return the minimum activity of the other terms.
+         */
+        private double minWithout(double minBound, double value) {
+            if (Double.isInfinite(minBound)) {
+                return this.minInfinite == 1 ? this.minSum : Double.NEGATIVE_INFINITY;
+            }
+            return this.minInfinite == 0 ? this.minSum - value * minBound : Double.NEGATIVE_INFINITY;
+        }
+
+        /**
+         * @param maxBound the bound of a column which maximizes its term.
+         * @param value    the coefficient of the column.
+         * @return the maximum activity of the other terms.
+         */
+        private double maxWithout(double maxBound, double value) {
+            if (Double.isInfinite(maxBound)) {
+                return this.maxInfinite == 1 ? this.maxSum : Double.POSITIVE_INFINITY;
+            }
+            return this.maxInfinite == 0 ? this.maxSum - value * maxBound : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * The columns and the scaled coefficients of a row, two rows are equal if they are proportional.
+     */
+    private static final class RowKey {
+        private final int[] columns;
+        private final double[] values;
+        private final double scale;
+
+        /**
+         * @param columns the columns of the row.
+         * @param values  the coefficients of the row, divided by the scale.
+         * @param scale   the first coefficient of the row.
+         */
+        private RowKey(int[] columns, double[] values, double scale) {
+            this.columns = columns;
+            this.values = values;
+            this.scale = scale;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof RowKey key) || !Arrays.equals(this.columns, key.columns)) {
+                return false;
+            }
+            for (int i = 0; i < this.values.length; i++) {
+                if (Math.abs(this.values[i] - key.values[i]) > FEASIBILITY_TOLERANCE * Math.max(1, Math.abs(this.values[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(this.columns);
+        }
+    }
+}
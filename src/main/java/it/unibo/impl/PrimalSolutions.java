@@ -0,0 +1,92 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+
+/**
+ * Checks and evaluates the integer solutions found by the primal heuristics.
+ */
+final class PrimalSolutions {
+    private static final double FEASIBILITY_TOLERANCE = 1e-6;
+    private static final double INTEGER_TOLERANCE = 1e-6;
+
+    private PrimalSolutions() {
+    }
+
+    /**
+     * @param model  the model.
+     * @param values the values of the columns.
+     * @return true if the values are integer and satisfy the bounds and the rows of the model,
+     * within the default tolerances.
+     */
+    static boolean isFeasible(LinearModel model, double[] values) {
+        return isFeasible(model, values, INTEGER_TOLERANCE, FEASIBILITY_TOLERANCE);
+    }
+
+    /**
+     * @param model                the model.
+     * @param values               the values of the columns.
+     * @param integralityTolerance how far from an integer a value is still integer, relative to the value
+     *                             when it is larger than 1.
+     * @param feasibilityTolerance how much a bound or a row can be violated, relative to the row bound
+     *                             when it is larger than 1.
+     * @return true if the values are integer and satisfy the bounds and the rows of the model.
+     */
+    static boolean isFeasible(LinearModel model, double[] values, double integralityTolerance, double feasibilityTolerance) {
+        double[] activities = new double[model.getRowsCount()];
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            double value = values[column];
+            if (Math.abs(value - Math.rint(value)) > integralityTolerance * Math.max(1, Math.abs(value))
+                    || value < model.getColumnLowerBound(column) - feasibilityTolerance
+                    || value > model.getColumnUpperBound(column) + feasibilityTolerance) {
+                return false;
+            }
+            for (int k = model.getColumnStart(column); k < model.getColumnStart(column + 1); k++) {
+                activities[model.getRowIndex(k)] += model.getValue(k) * value;
+            }
+        }
+        for (int row = 0; row < model.getRowsCount(); row++) {
+            double lower = model.getRowLowerBound(row);
+            double upper = model.getRowUpperBound(row);
+            if (activities[row] < lower - feasibilityTolerance * Math.max(1, Math.abs(lower))
+                    || activities[row] > upper + feasibilityTolerance * Math.max(1, Math.abs(upper))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param model  the model.
+     * @param values the values of the columns.
+     * @return the objective value of the model at the values.
+     */
+    static double objective(LinearModel model, double[] values) {
+        double objective = model.getObjectiveConstant();
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            objective += model.getObjectiveCoefficient(column) * values[column];
+        }
+        return objective;
+    }
+
+    /**
+     * @param values the values of the columns.
+     * @return the values rounded to the closest integer.
+     */
+    static double[] round(double[] values) {
+        double[] rounded = new double[values.length];
+        for (int column = 0; column < values.length; column++) {
+            rounded[column] = Math.rint(values[column]);
+        }
+        return rounded;
+    }
+
+    /**
+     * @param minimumProblem true if the objective function sense is minimum.
+     * @param value          an objective value.
+     * @param cutoff         the objective value to improve.
+     * @return true if the value is strictly better than the cutoff.
+     */
+    static boolean improves(boolean minimumProblem, double value, double cutoff) {
+        return minimumProblem ? value < cutoff : value > cutoff;
+    }
+}
@@ -0,0 +1,255 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchObservation;
+import it.unibo.api.BranchingRule;
+import it.unibo.api.DualProblem;
+import it.unibo.api.SimplexBasis;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implements a reliability branching rule on pseudocosts.<br>
+ * The pseudocost of a variable is the average objective degradation per unit change observed moving it down,
+ * or up, to an integer value. The score of a variable is the product of its estimated down and up degradations,
+ * so the rule prefers the variables which degrade both the children.<br>
+ * A variable observed less than the reliability threshold in one direction is unreliable: the most promising
+ * unreliable variables are strong branched, i.e. both their children are solved as trial LPs, and their
+ * score is the observed one.<br>
+ * Until a variable has been observed its pseudocost is the average of all the observed variables.
+ */
+public class PseudocostBranchingRuleImpl implements BranchingRule {
+    public static final int DEFAULT_RELIABILITY = 4;
+    public static final int DEFAULT_MAX_STRONG_BRANCHINGS = 8;
+    private static final double MIN_DEGRADATION = 1e-6;
+
+    private final int reliability;
+    private final int maxStrongBranchings;
+    private double[] downSums = new double[0];
+    private int[] downCounts = new int[0];
+    private double[] upSums = new double[0];
+    private int[] upCounts = new int[0];
+    private double downTotal;
+    private int downTotalCount;
+    private double upTotal;
+    private int upTotalCount;
+
+    /**
+     * Define a rule with the default reliability threshold and strong branchings per node.
+     */
+    public PseudocostBranchingRuleImpl() {
+        this(DEFAULT_RELIABILITY, DEFAULT_MAX_STRONG_BRANCHINGS);
+    }
+
+    /**
+     * Define a rule.
+     *
+     * @param reliability         the observations per direction which make a pseudocost reliable.
+     * @param maxStrongBranchings the maximum number of variables strong branched at a node, 0 for pure pseudocosts.
+     */
+    public PseudocostBranchingRuleImpl(int reliability, int maxStrongBranchings) {
+        if (reliability < 0 || maxStrongBranchings < 0) {
+            throw new IllegalArgumentException("Reliability and strong branchings must not be negative");
+        }
+        this.reliability = reliability;
+        this.maxStrongBranchings = maxStrongBranchings;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int selectVariable(DualProblem dualProblem, List<BranchObservation> observations) {
+        double[] values = dualProblem.getCurrentValuesView().clone();
+        BitSet fractionalVariables = (BitSet) dualProblem.getFractionalVariables().clone();
+        if (fractionalVariables.isEmpty()) {
+            return -1;
+        }
+
+        double[] scores = new double[values.length];
+        List<Integer> unreliable = new ArrayList<>();
+        synchronized (this) {
+            for (int i = fractionalVariables.nextSetBit(0); i >= 0; i = fractionalVariables.nextSetBit(i + 1)) {
+                double fractionality = values[i] - Math.floor(values[i]);
+                scores[i] = score(fractionality * this.getDownPseudocost(i), (1 - fractionality) * this.getUpPseudocost(i));
+                if (Math.min(this.getCount(this.downCounts, i), this.getCount(this.upCounts, i)) < this.reliability) {
+                    unreliable.add(i);
+                }
+            }
+        }
+        if (this.maxStrongBranchings > 0 && !unreliable.isEmpty()) {
+            unreliable.sort(Comparator.comparingDouble((Integer i) -> -scores[i]).thenComparingInt(i -> i));
+            this.strongBranch(dualProblem, values, unreliable.subList(0, Math.min(unreliable.size(), this.maxStrongBranchings)),
+                    scores, observations);
+        }
+
+        int best = -1;
+        for (int i = fractionalVariables.nextSetBit(0); i >= 0; i = fractionalVariables.nextSetBit(i + 1)) {
+            if (best < 0 || scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void record(BranchObservation observation) {
+        if (observation.isTruncated() || observation.getDistance() <= 0 || Double.isNaN(observation.getDegradation())
+                || Double.isInfinite(observation.getDegradation())) {
+            return;
+        }
+        int index = observation.getVariableIndex();
+        this.ensureCapacity(index + 1);
+        double perUnit = observation.getDegradation() / observation.getDistance();
+        if (observation.isDown()) {
+            this.downSums[index] += perUnit;
+            this.downCounts[index]++;
+            this.downTotal += perUnit;
+            this.downTotalCount++;
+        } else {
+            this.upSums[index] += perUnit;
+            this.upCounts[index]++;
+            this.upTotal += perUnit;
+            this.upTotalCount++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The state is the observations by variable and in total.
+     */
+    public synchronized byte[] saveState() {
+        int capacity = this.downCounts.length;
+        ByteBuffer state = ByteBuffer.allocate(Integer.BYTES * 3 + capacity * (2 * Double.BYTES + 2 * Integer.BYTES) + 2 * Double.BYTES);
+        state.putInt(capacity);
+        for (int index = 0; index < capacity; index++) {
+            state.putDouble(this.downSums[index]).putInt(this.downCounts[index]).putDouble(this.upSums[index]).putInt(this.upCounts[index]);
+        }
+        state.putDouble(this.downTotal).putInt(this.downTotalCount).putDouble(this.upTotal).putInt(this.upTotalCount);
+        return state.array();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void restoreState(byte[] state) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(state);
+            int capacity = buffer.getInt();
+            if (capacity < 0 || capacity > buffer.remaining() / (2 * Double.BYTES + 2 * Integer.BYTES)) {
+                throw new IllegalArgumentException("Not a pseudocosts state");
+            }
+            double[] downSums = new double[capacity];
+            int[] downCounts = new int[capacity];
+            double[] upSums = new double[capacity];
+            int[] upCounts = new int[capacity];
+            for (int index = 0; index < capacity; index++) {
+                downSums[index] = buffer.getDouble();
+                downCounts[index] = buffer.getInt();
+                upSums[index] = buffer.getDouble();
+                upCounts[index] = buffer.getInt();
+            }
+            double downTotal = buffer.getDouble();
+            int downTotalCount = buffer.getInt();
+            double upTotal = buffer.getDouble();
+            int upTotalCount = buffer.getInt();
+            this.downSums = downSums;
+            this.downCounts = downCounts;
+            this.upSums = upSums;
+            this.upCounts = upCounts;
+            this.downTotal = downTotal;
+            this.downTotalCount = downTotalCount;
+            this.upTotal = upTotal;
+            this.upTotalCount = upTotalCount;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Not a pseudocosts state", e);
+        }
+    }
+
+    /**
+     * Solves both the children of the given variables, scoring them by the observed degradations.
+     * An infeasible child gives an infinite degradation. At the end the dual problem is solved again
+     * from its basis, so its values are the ones of the node.
+     *
+     * @param dualProblem  the dual problem solved at the node.
+     * @param values       the values of the node.
+     * @param candidates   the variables to strong branch.
+     * @param scores       the scores by variable, updated.
+     * @param observations where the trials are added.
+     */
+    private void strongBranch(DualProblem dualProblem, double[] values, List<Integer> candidates, double[] scores,
+                              List<BranchObservation> observations) {
+        SimplexBasis basis = dualProblem.getBasis();
+        double solution = dualProblem.getCurrentSolution();
+        for (int index : candidates) {
+            double down = StrongBranchingTrials.trial(dualProblem, basis, solution, index, values[index], true, observations);
+            double up = StrongBranchingTrials.trial(dualProblem, basis, solution, index, values[index], false, observations);
+            scores[index] = score(down, up);
+        }
+        StrongBranchingTrials.restore(dualProblem, basis);
+    }
+
+    /**
+     * @param downDegradation the estimated degradation of the down child.
+     * @param upDegradation   the estimated degradation of the up child.
+     * @return the product score of the variable.
+     */
+    private static double score(double downDegradation, double upDegradation) {
+        return Math.max(downDegradation, MIN_DEGRADATION) * Math.max(upDegradation, MIN_DEGRADATION);
+    }
+
+    /**
+     * @param index the index of a variable.
+     * @return the average degradation per unit moving the variable down.
+     */
+    private double getDownPseudocost(int index) {
+        int count = this.getCount(this.downCounts, index);
+        if (count > 0) {
+            return this.downSums[index] / count;
+        }
+        return this.downTotalCount > 0 ? this.downTotal / this.downTotalCount : 1;
+    }
+
+    /**
+     * @param index the index of a variable.
+     * @return the average degradation per unit moving the variable up.
+     */
+    private double getUpPseudocost(int index) {
+        int count = this.getCount(this.upCounts, index);
+        if (count > 0) {
+            return this.upSums[index] / count;
+        }
+        return this.upTotalCount > 0 ? this.upTotal / this.upTotalCount : 1;
+    }
+
+    /**
+     * @param counts the observations counts by variable.
+     * @param index  the index of a variable.
+     * @return the observations of the variable.
+     */
+    private int getCount(int[] counts, int index) {
+        return index < counts.length ? counts[index] : 0;
+    }
+
+    /**
+     * Grows the tables, doubling them.
+     *
+     * @param capacity the minimum number of variables.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.downCounts.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, 2 * this.downCounts.length);
+        this.downSums = Arrays.copyOf(this.downSums, newCapacity);
+        this.downCounts = Arrays.copyOf(this.downCounts, newCapacity);
+        this.upSums = Arrays.copyOf(this.upSums, newCapacity);
+        this.upCounts = Arrays.copyOf(this.upCounts, newCapacity);
+    }
+}
@@ -0,0 +1,74 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchCut;
+import it.unibo.api.LinearModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Fixes the columns of an integer problem by the reduced costs of an optimal relaxation: moving a column out of
+ * its bound by {@code k} units degrades the objective by at least {@code k} times its reduced cost, so a column
+ * can't move further than the gap between the relaxation and the incumbent allows.<br>
+ * The solutions as good as the incumbent are kept, so the fixings don't change the reported optimum.
+ */
+final class ReducedCostFixing {
+    private static final int FIXING_CUT_ID = -3;
+    private static final double REDUCED_COST_TOLERANCE = 1e-7;
+    private static final double INTEGER_TOLERANCE = 1e-6;
+    private static final double HUGE_BOUND = 1e9;
+
+    private ReducedCostFixing() {
+    }
+
+    /**
+     * Finds the bounds implied by the reduced costs which are tighter than the current ones.
+     *
+     * @param model          the model whose relaxation has been solved.
+     * @param minimumProblem true if the objective function sense is minimum.
+     * @param values         the values of the columns at the optimum.
+     * @param reducedCosts   the reduced costs of the columns at the optimum.
+     * @param bound          the objective value of the optimum.
+     * @param incumbent      the objective value of the incumbent.
+     * @param lower          the current lower bounds of the columns.
+     * @param upper          the current upper bounds of the columns.
+     * @return the tighter bounds, as cuts. Note: their ids aren't unique.
+     */
+    static List<BranchCut> fix(LinearModel model, boolean minimumProblem, double[] values, double[] reducedCosts,
+                               double bound, double incumbent, IntToDoubleFunction lower, IntToDoubleFunction upper) {
+        double gap = minimumProblem ? incumbent - bound : bound - incumbent;
+        if (!(gap >= 0) || Double.isInfinite(gap)) {
+            return List.of();
+        }
+        List<BranchCut> fixings = new ArrayList<>();
+        for (int column = 0; column < values.length; column++) {
+            double degradation = minimumProblem ? reducedCosts[column] : -reducedCosts[column];
+            if (Math.abs(degradation) <= REDUCED_COST_TOLERANCE || Math.abs(values[column]) >= HUGE_BOUND) {
+                continue;
+            }
+            double steps = Math.floor(gap / Math.abs(degradation) + INTEGER_TOLERANCE);
+            if (steps >= HUGE_BOUND) {
+                continue;
+            }
+            double value = Math.round(values[column]);
+            if (degradation > 0 && value + steps < upper.applyAsDouble(column)) {
+                fixings.add(cut(model, column, true, (int) (value + steps)));
+            } else if (degradation < 0 && value - steps > lower.applyAsDouble(column)) {
+                fixings.add(cut(model, column, false, (int) (value - steps)));
+            }
+        }
+        return fixings;
+    }
+
+    /**
+     * @param model   the model of the column.
+     * @param column  the index of the column.
+     * @param isUpper true for an upper bound.
+     * @param bound   the bound.
+     * @return the cut which sets the bound.
+     */
+    static BranchCut cut(LinearModel model, int column, boolean isUpper, int bound) {
+        return new BranchCutImpl(FIXING_CUT_ID, new DecisionVariableImpl(model.getColumnName(column), column, bound), isUpper, bound);
+    }
+}
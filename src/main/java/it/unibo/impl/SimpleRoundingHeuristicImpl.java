@@ -0,0 +1,75 @@
+package it.unibo.impl;
+
+import it.unibo.api.DualProblem;
+import it.unibo.api.LinearModel;
+import it.unibo.api.PrimalHeuristic;
+
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * Implements a PrimalHeuristic which rounds every fractional column of the relaxation in a direction
+ * that can't violate any row: a column has a down lock for every row which its decrease can violate,
+ * and an up lock for every row which its increase can violate.<br>
+ * It doesn't solve any LP, so it is the cheapest heuristic and it can run at every node.
+ */
+public class SimpleRoundingHeuristicImpl implements PrimalHeuristic {
+    private LinearModel lockedModel;
+    private int[] downLocks;
+    private int[] upLocks;
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName() {
+        return "simple rounding";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Optional<double[]> search(DualProblem dualProblem, LinearModel model, double[] incumbent, double cutoff) {
+        this.countLocks(model);
+        double[] solution = PrimalSolutions.round(dualProblem.getCurrentValuesView());
+        double[] values = dualProblem.getCurrentValuesView();
+        BitSet fractionalVariables = dualProblem.getFractionalVariables();
+        for (int i = fractionalVariables.nextSetBit(0); i >= 0; i = fractionalVariables.nextSetBit(i + 1)) {
+            if (this.downLocks[i] == 0) {
+                solution[i] = Math.floor(values[i]);
+            } else if (this.upLocks[i] == 0) {
+                solution[i] = Math.ceil(values[i]);
+            } else {
+                return Optional.empty();
+            }
+        }
+        return PrimalSolutions.isFeasible(model, solution) ? Optional.of(solution) : Optional.empty();
+    }
+
+    /**
+     * Counts the locks of the columns, once per model.
+     *
+     * @param model the model.
+     */
+    private void countLocks(LinearModel model) {
+        if (this.lockedModel == model) {
+            return;
+        }
+        this.downLocks = new int[model.getColumnsCount()];
+        this.upLocks = new int[model.getColumnsCount()];
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            for (int k = model.getColumnStart(column); k < model.getColumnStart(column + 1); k++) {
+                int row = model.getRowIndex(k);
+                boolean lowerFinite = model.getRowLowerBound(row) != Double.NEGATIVE_INFINITY;
+                boolean upperFinite = model.getRowUpperBound(row) != Double.POSITIVE_INFINITY;
+                double value = model.getValue(k);
+                if ((value > 0 && lowerFinite) || (value < 0 && upperFinite)) {
+                    this.downLocks[column]++;
+                }
+                if ((value > 0 && upperFinite) || (value < 0 && lowerFinite)) {
+                    this.upLocks[column]++;
+                }
+            }
+        }
+        this.lockedModel = model;
+    }
+}
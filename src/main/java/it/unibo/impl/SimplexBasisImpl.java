@@ -0,0 +1,50 @@
+package it.unibo.impl;
+
+import it.unibo.api.SimplexBasis;
+
+/**
+ * Implements a SimplexBasis storing one byte per status.
+ */
+public class SimplexBasisImpl implements SimplexBasis {
+    private final byte[] columnStatuses;
+    private final byte[] rowStatuses;
+
+    /**
+     * Define a basis by the statuses. Note: the arrays are copied.
+     *
+     * @param columnStatuses the statuses of the columns.
+     * @param rowStatuses    the statuses of the rows.
+     */
+    public SimplexBasisImpl(byte[] columnStatuses, byte[] rowStatuses) {
+        this.columnStatuses = columnStatuses.clone();
+        this.rowStatuses = rowStatuses.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getColumnsCount() {
+        return this.columnStatuses.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getRowsCount() {
+        return this.rowStatuses.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getColumnStatus(int column) {
+        return this.columnStatuses[column];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getRowStatus(int row) {
+        return this.rowStatuses[row];
+    }
+}
@@ -0,0 +1,27 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.LinearModel;
+import it.unibo.api.Solver;
+import it.unibo.api.SolverResult;
+
+/**
+ * Implements a Solver by a new BranchAndBoundProblemImpl for every problem, so it can be shared by many threads
+ * as long as every search has its own options.
+ */
+public class SolverImpl implements Solver {
+
+    /**
+     * {@inheritDoc}
+     */
+    public SolverResult solve(String pathToFile, BranchAndBoundOptions options) {
+        return new BranchAndBoundProblemImpl(pathToFile, options).solve();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public SolverResult solve(LinearModel model, BranchAndBoundOptions options) {
+        return new BranchAndBoundProblemImpl(model, options).solve();
+    }
+}
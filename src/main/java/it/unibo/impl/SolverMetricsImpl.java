@@ -0,0 +1,270 @@
+package it.unibo.impl;
+
+import it.unibo.api.BoundSample;
+import it.unibo.api.Histogram;
+import it.unibo.api.MetricsSnapshot;
+import it.unibo.api.SolverMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Implements SolverMetrics by lock-free counters and histograms, so the workers don't wait each other to record.<br>
+ * The state of the search is sampled at most once per sample interval, and the history keeps only the samples
+ * where a bound changed: when it grows over its capacity every other sample is dropped, so it keeps
+ * the whole search at a coarser resolution.<br>
+ * If a listener is given, a background thread pushes it a snapshot at every push interval and at the end of the search.
+ */
+public class SolverMetricsImpl implements SolverMetrics {
+    public static final long DEFAULT_SAMPLE_MILLIS = 100;
+    private static final int HISTORY_CAPACITY = 4096;
+    private static final long NANOS_PER_MILLI = 1_000_000;
+
+    private final long sampleNanos;
+    private final long pushMillis;
+    private final Consumer<MetricsSnapshot> listener;
+    private final LongAdder solvedNodesCount = new LongAdder();
+    private final LongAdder prunedNodesCount = new LongAdder();
+    private final LongAdder infeasibleNodesCount = new LongAdder();
+    private final Recorder lpSolveNanos = new Recorder();
+    private final Recorder pivotsPerNode = new Recorder();
+    private final AtomicLong nextSampleNanos = new AtomicLong();
+    private final List<BoundSample> boundHistory = new ArrayList<>();
+    private volatile long startNanos = System.nanoTime();
+    private volatile long stopNanos = -1;
+    private volatile int openNodesCount;
+    private volatile long treeBytes;
+    private volatile double primalBound = Double.NaN;
+    private volatile double dualBound = Double.NaN;
+    private ScheduledExecutorService pusher;
+
+    /**
+     * Define metrics which are only pulled, sampled every {@code DEFAULT_SAMPLE_MILLIS}.
+     */
+    public SolverMetricsImpl() {
+        this(DEFAULT_SAMPLE_MILLIS, 0, null);
+    }
+
+    /**
+     * Define metrics which are pushed periodically, sampled every {@code DEFAULT_SAMPLE_MILLIS}.
+     *
+     * @param pushMillis the milliseconds between two pushes.
+     * @param listener   who receives the snapshots, e.g. a {@code MetricsFileExporter}.
+     */
+    public SolverMetricsImpl(long pushMillis, Consumer<MetricsSnapshot> listener) {
+        this(DEFAULT_SAMPLE_MILLIS, pushMillis, listener);
+    }
+
+    /**
+     * Define metrics.
+     *
+     * @param sampleMillis the minimum milliseconds between two samples of the state of the search.
+     * @param pushMillis   the milliseconds between two pushes, ignored without a listener.
+     * @param listener     who receives the snapshots, null if they are only pulled.
+     */
+    public SolverMetricsImpl(long sampleMillis, long pushMillis, Consumer<MetricsSnapshot> listener) {
+        if (sampleMillis < 0) {
+            throw new IllegalArgumentException("Sample interval must not be negative: " + sampleMillis);
+        }
+        if (listener != null && pushMillis < 1) {
+            throw new IllegalArgumentException("Push interval must be positive: " + pushMillis);
+        }
+        this.sampleNanos = sampleMillis * NANOS_PER_MILLI;
+        this.pushMillis = pushMillis;
+        this.listener = listener;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void start() {
+        this.solvedNodesCount.reset();
+        this.prunedNodesCount.reset();
+        this.infeasibleNodesCount.reset();
+        this.lpSolveNanos.reset();
+        this.pivotsPerNode.reset();
+        synchronized (this.boundHistory) {
+            this.boundHistory.clear();
+        }
+        this.openNodesCount = 0;
+        this.treeBytes = 0;
+        this.primalBound = Double.NaN;
+        this.dualBound = Double.NaN;
+        this.stopNanos = -1;
+        this.startNanos = System.nanoTime();
+        this.nextSampleNanos.set(this.startNanos);
+        if (this.listener != null) {
+            this.pusher = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "solver-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.pusher.scheduleAtFixedRate(this::push, this.pushMillis, this.pushMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void stop() {
+        this.stopNanos = System.nanoTime();
+        if (this.pusher == null) {
+            return;
+        }
+        this.pusher.shutdown();
+        try {
+            this.pusher.awaitTermination(this.pushMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.pusher = null;
+        this.push();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void recordSolvedNode(long lpNanos, int pivots) {
+        this.solvedNodesCount.increment();
+        this.lpSolveNanos.record(lpNanos);
+        this.pivotsPerNode.record(pivots);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void recordPrunedNode() {
+        this.prunedNodesCount.increment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void recordInfeasibleNode() {
+        this.infeasibleNodesCount.increment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isSampleDue() {
+        long now = System.nanoTime();
+        long next = this.nextSampleNanos.get();
+        return now - next >= 0 && this.nextSampleNanos.compareAndSet(next, now + this.sampleNanos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void recordSample(double primalBound, double dualBound, int openNodesCount, long treeBytes) {
+        long millis = this.elapsedMillis();
+        synchronized (this.boundHistory) {
+            this.openNodesCount = openNodesCount;
+            this.treeBytes = treeBytes;
+            if (Double.compare(primalBound, this.primalBound) == 0 && Double.compare(dualBound, this.dualBound) == 0) {
+                return;
+            }
+            this.primalBound = primalBound;
+            this.dualBound = dualBound;
+            this.boundHistory.add(new BoundSampleImpl(millis, primalBound, dualBound));
+            if (this.boundHistory.size() > HISTORY_CAPACITY) {
+                BoundSample last = this.boundHistory.get(this.boundHistory.size() - 1);
+                List<BoundSample> kept = new ArrayList<>(HISTORY_CAPACITY / 2 + 1);
+                for (int i = 0; i < this.boundHistory.size() - 1; i += 2) {
+                    kept.add(this.boundHistory.get(i));
+                }
+                kept.add(last);
+                this.boundHistory.clear();
+                this.boundHistory.addAll(kept);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public MetricsSnapshot snapshot() {
+        synchronized (this.boundHistory) {
+            return new MetricsSnapshotImpl(
+                    this.elapsedMillis(),
+                    this.solvedNodesCount.sum(),
+                    this.prunedNodesCount.sum(),
+                    this.infeasibleNodesCount.sum(),
+                    this.lpSolveNanos.toHistogram(),
+                    this.pivotsPerNode.toHistogram(),
+                    this.openNodesCount,
+                    this.treeBytes,
+                    this.primalBound,
+                    this.dualBound,
+                    this.boundHistory
+            );
+        }
+    }
+
+    /**
+     * @return the milliseconds from the start of the search, up to its end once it is over.
+     */
+    private long elapsedMillis() {
+        long stop = this.stopNanos;
+        return ((stop == -1 ? System.nanoTime() : stop) - this.startNanos) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Gives a snapshot to the listener, its failures don't stop the search nor the next pushes.
+     */
+    private void push() {
+        try {
+            this.listener.accept(this.snapshot());
+        } catch (RuntimeException e) {
+            System.err.println("Failed to push the solver metrics " + e);
+        }
+    }
+
+    /**
+     * Records the values of a histogram concurrently.
+     */
+    private static final class Recorder {
+        private final AtomicLongArray bucketCounts = new AtomicLongArray(Long.SIZE);
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        /**
+         * @param value a non-negative value.
+         */
+        private void record(long value) {
+            this.bucketCounts.incrementAndGet(HistogramImpl.bucketOf(value));
+            this.sum.add(value);
+            this.max.accumulate(value);
+        }
+
+        /**
+         * Forgets the recorded values.
+         */
+        private void reset() {
+            for (int bucket = 0; bucket < this.bucketCounts.length(); bucket++) {
+                this.bucketCounts.set(bucket, 0);
+            }
+            this.sum.reset();
+            this.max.reset();
+        }
+
+        /**
+         * @return the values recorded so far.
+         */
+        private Histogram toHistogram() {
+            long[] counts = new long[this.bucketCounts.length()];
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                counts[bucket] = this.bucketCounts.get(bucket);
+            }
+            return new HistogramImpl(counts, this.sum.sum(), this.max.get());
+        }
+    }
+}
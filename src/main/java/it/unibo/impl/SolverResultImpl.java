@@ -0,0 +1,125 @@
+package it.unibo.impl;
+
+import it.unibo.api.DecisionVariable;
+import it.unibo.api.MetricsSnapshot;
+import it.unibo.api.SolverResult;
+import it.unibo.api.SolverStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+/**
+ * Implements an immutable SolverResult.
+ */
+public class SolverResultImpl implements SolverResult {
+    private final SolverStatus status;
+    private final OptionalDouble objectiveValue;
+    private final List<DecisionVariable> values;
+    private final double bestBound;
+    private final double gap;
+    private final long solvedNodesCount;
+    private final long pivotsCount;
+    private final long elapsedMillis;
+    private final MetricsSnapshot metrics;
+
+    /**
+     * Define a result.
+     *
+     * @param status           how the search ended.
+     * @param objectiveValue   the objective value of the best integer solution, empty if none has been found.
+     * @param values           the variables of the original model in the best integer solution, copied.
+     * @param bestBound        the best objective value an integer solution can have.
+     * @param gap              the gap between the best solution and the best bound, relative to the solution.
+     * @param solvedNodesCount the number of relaxations solved.
+     * @param pivotsCount      the simplex pivots of all the relaxations.
+     * @param elapsedMillis    the wall clock time of the search.
+     * @param metrics          the metrics at the end of the search, null if they weren't recorded.
+     */
+    public SolverResultImpl(SolverStatus status, OptionalDouble objectiveValue, List<DecisionVariable> values,
+                            double bestBound, double gap, long solvedNodesCount, long pivotsCount, long elapsedMillis,
+                            MetricsSnapshot metrics) {
+        this.status = status;
+        this.objectiveValue = objectiveValue;
+        this.values = List.copyOf(values);
+        this.bestBound = bestBound;
+        this.gap = gap;
+        this.solvedNodesCount = solvedNodesCount;
+        this.pivotsCount = pivotsCount;
+        this.elapsedMillis = elapsedMillis;
+        this.metrics = metrics;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public SolverStatus getStatus() {
+        return this.status;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public OptionalDouble getObjectiveValue() {
+        return this.objectiveValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public List<DecisionVariable> getValues() {
+        return this.values;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getBestBound() {
+        return this.bestBound;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public double getGap() {
+        return this.gap;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getSolvedNodesCount() {
+        return this.solvedNodesCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getPivotsCount() {
+        return this.pivotsCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Optional<MetricsSnapshot> getMetrics() {
+        return Optional.ofNullable(this.metrics);
+    }
+
+    /**
+     * @return the result in a line.
+     */
+    @Override
+    public String toString() {
+        return this.status + (this.objectiveValue.isPresent() ? " " + this.objectiveValue.getAsDouble() : "")
+                + ", best bound = " + this.bestBound + ", gap = " + 100 * this.gap + "%, nodes = " + this.solvedNodesCount
+                + ", pivots = " + this.pivotsCount + ", " + this.elapsedMillis + " ms";
+    }
+}
@@ -0,0 +1,149 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.BranchAndBoundProblem;
+import it.unibo.api.DecisionTree;
+import it.unibo.api.SpeedupReport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implements a SpeedupReport by solving every problem with one worker and then with the given workers.<br>
+ * Two objectives are equal when their difference is within the absolute or the relative gap of the options:
+ * both runs stop as soon as their incumbent is within the gap of the optimum, so they may end on different ones.
+ */
+public class SpeedupReportImpl implements SpeedupReport {
+    private final List<String> pathsToFiles;
+    private final BranchAndBoundOptions options;
+    private final int workersCount;
+    private final List<String> rows = new ArrayList<>();
+    private boolean done;
+    private long singleNanos = 0;
+    private long parallelNanos = 0;
+    private boolean objectivesEqual = true;
+
+    /**
+     * Define a report, {@code run} solves the problems.
+     *
+     * @param pathsToFiles the mps files of the problems.
+     * @param options      the settings of both runs, its workers count is restored at the end.
+     * @param workersCount the workers of the parallel run.
+     */
+    public SpeedupReportImpl(List<String> pathsToFiles, BranchAndBoundOptions options, int workersCount) {
+        if (workersCount < 1) {
+            throw new IllegalArgumentException("Workers count must be positive: " + workersCount);
+        }
+        this.pathsToFiles = List.copyOf(pathsToFiles);
+        this.options = options;
+        this.workersCount = workersCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized void run() {
+        if (this.done) {
+            return;
+        }
+        int previousWorkersCount = this.options.getWorkersCount();
+        try {
+            for (String pathToFile : this.pathsToFiles) {
+                this.options.setWorkersCount(1);
+                BranchAndBoundProblem single = new BranchAndBoundProblemImpl(pathToFile, this.options);
+                long start = System.nanoTime();
+                single.solve();
+                long singleNanos = System.nanoTime() - start;
+                this.options.setWorkersCount(this.workersCount);
+                BranchAndBoundProblem parallel = new BranchAndBoundProblemImpl(pathToFile, this.options);
+                start = System.nanoTime();
+                parallel.solve();
+                this.addRow(pathToFile, single, singleNanos, parallel, System.nanoTime() - start);
+            }
+        } finally {
+            this.options.setWorkersCount(previousWorkersCount);
+        }
+        this.done = true;
+        this.printReport();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized double getSpeedup() {
+        this.requireDone();
+        return this.parallelNanos == 0 ? 1 : (double) this.singleNanos / this.parallelNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public synchronized boolean areObjectivesEqual() {
+        this.requireDone();
+        return this.objectivesEqual;
+    }
+
+    /**
+     * @throws IllegalStateException if the report hasn't been run.
+     */
+    private void requireDone() {
+        if (!this.done) {
+            throw new IllegalStateException("The speedup report hasn't been run");
+        }
+    }
+
+    /**
+     * Compares the two runs of a problem, timed by {@code System.nanoTime} since the small problems
+     * are solved in less than a millisecond.
+     *
+     * @param pathToFile    the mps file of the problem.
+     * @param single        the single-threaded run.
+     * @param singleNanos   the time of the single-threaded run.
+     * @param parallel      the parallel run.
+     * @param parallelNanos the time of the parallel run.
+     */
+    private void addRow(String pathToFile, BranchAndBoundProblem single, long singleNanos, BranchAndBoundProblem parallel, long parallelNanos) {
+        Optional<Double> singleValue = single.getSolution().map(DecisionTree::getBranchProblemSolution);
+        Optional<Double> parallelValue = parallel.getSolution().map(DecisionTree::getBranchProblemSolution);
+        boolean equal = singleValue.isEmpty()
+                ? parallelValue.isEmpty()
+                : parallelValue.isPresent() && this.isWithinGap(singleValue.get(), parallelValue.get());
+        this.objectivesEqual &= equal;
+        this.singleNanos += singleNanos;
+        this.parallelNanos += parallelNanos;
+        this.rows.add(String.format("%-30s %12s %8d %8d %8.1f %8.1f %8.2f%s",
+                pathToFile.substring(pathToFile.lastIndexOf('/') + 1),
+                singleValue.map(String::valueOf).orElse("NOT FOUND"),
+                single.getSolvedNodesCount(),
+                parallel.getSolvedNodesCount(),
+                singleNanos / 1e6,
+                parallelNanos / 1e6,
+                parallelNanos == 0 ? 1 : (double) singleNanos / parallelNanos,
+                equal ? "" : "  OBJECTIVE MISMATCH " + parallelValue.map(String::valueOf).orElse("NOT FOUND")
+        ));
+    }
+
+    /**
+     * @param first  an objective.
+     * @param second another objective.
+     * @return true if the difference is within the absolute or the relative gap of the options.
+     */
+    private boolean isWithinGap(double first, double second) {
+        double difference = Math.abs(first - second);
+        return difference <= this.options.getAbsoluteGap()
+                || difference <= this.options.getRelativeGap() * Math.max(Math.abs(first), Math.abs(second));
+    }
+
+    /**
+     * Prints by {@code System.out} the report table.
+     */
+    private void printReport() {
+        System.out.println("\n\n||| SPEEDUP REPORT: 1 vs " + this.workersCount + " workers |||");
+        System.out.println(String.format("%-30s %12s %8s %8s %8s %8s %8s",
+                "Problem", "Objective", "Nodes 1", "Nodes N", "Ms 1", "Ms N", "Speedup"));
+        this.rows.forEach(System.out::println);
+        System.out.println(String.format("\nTotal speedup = %.2f", this.getSpeedup()));
+        System.out.println("Objectives equal = " + this.objectivesEqual);
+    }
+}
@@ -0,0 +1,69 @@
+package it.unibo.impl;
+
+import it.unibo.api.NodeSelectionPolicy;
+import it.unibo.api.OpenNode;
+
+/**
+ * Implements the standard node selection policies.<br>
+ * Ties are broken by the node's id, the children are numbered so that the preferred one has the smaller id.
+ */
+public enum StandardNodeSelectionPolicy implements NodeSelectionPolicy {
+
+    /**
+     * Solves first the node with the best parent bound, so the global bound closes as fast as possible.
+     */
+    BEST_FIRST {
+        @Override
+        public int compare(OpenNode first, OpenNode second, boolean minimumProblem, boolean incumbentFound) {
+            int result = compareValues(first.getParentBound(), second.getParentBound(), minimumProblem);
+            if (result == 0) {
+                result = Integer.compare(second.getDepth(), first.getDepth());
+            }
+            return result == 0 ? Integer.compare(first.getId(), second.getId()) : result;
+        }
+    },
+
+    /**
+     * Solves first the deepest node, so a few nodes are open at the same time.
+     */
+    DEPTH_FIRST {
+        @Override
+        public int compare(OpenNode first, OpenNode second, boolean minimumProblem, boolean incumbentFound) {
+            int result = Integer.compare(second.getDepth(), first.getDepth());
+            return result == 0 ? Integer.compare(first.getId(), second.getId()) : result;
+        }
+    },
+
+    /**
+     * Solves first the node with the best estimate of the integer solution in its subtree.
+     */
+    BEST_ESTIMATE {
+        @Override
+        public int compare(OpenNode first, OpenNode second, boolean minimumProblem, boolean incumbentFound) {
+            int result = compareValues(first.getEstimate(), second.getEstimate(), minimumProblem);
+            return result == 0 ? BEST_FIRST.compare(first, second, minimumProblem, incumbentFound) : result;
+        }
+    },
+
+    /**
+     * Dives depth first until an integer solution is found, then switches to best first.
+     */
+    HYBRID {
+        @Override
+        public int compare(OpenNode first, OpenNode second, boolean minimumProblem, boolean incumbentFound) {
+            return incumbentFound ?
+                    BEST_FIRST.compare(first, second, minimumProblem, true) :
+                    DEPTH_FIRST.compare(first, second, minimumProblem, false);
+        }
+    };
+
+    /**
+     * @param first          the first objective value.
+     * @param second         the second objective value.
+     * @param minimumProblem true if the objective function sense is minimum.
+     * @return a negative value if the first value is better than the second one.
+     */
+    private static int compareValues(double first, double second, boolean minimumProblem) {
+        return minimumProblem ? Double.compare(first, second) : Double.compare(second, first);
+    }
+}
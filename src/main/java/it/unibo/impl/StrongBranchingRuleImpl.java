@@ -0,0 +1,103 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchObservation;
+import it.unibo.api.BranchingRule;
+import it.unibo.api.DualProblem;
+import it.unibo.api.SimplexBasis;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implements a BranchingRule which strong branches a shortlist of candidates: the fractional variables
+ * whose fractional part (k = x % 1) is closer to 0.5.<br>
+ * Both the children of every candidate are solved as trial LPs, truncated after a few dual pivots:
+ * the objective of a truncated dual simplex is still a bound, so the degradations are underestimated but valid.
+ * The variable with the best product of its down and up degradations is chosen, and the branch and bound
+ * prunes its children whose bound is already worse than the incumbent.<br>
+ * More candidates and pivots cost more time at every node, but they usually give smaller trees.
+ */
+public class StrongBranchingRuleImpl implements BranchingRule {
+    public static final int DEFAULT_CANDIDATES_COUNT = 8;
+    public static final int DEFAULT_PIVOTS_LIMIT = 50;
+    private static final double HALF_INTEGER = 0.5;
+    private static final double MIN_DEGRADATION = 1e-6;
+
+    private final int candidatesCount;
+    private final int pivotsLimit;
+
+    /**
+     * Define a rule with the default candidates count and pivots limit.
+     */
+    public StrongBranchingRuleImpl() {
+        this(DEFAULT_CANDIDATES_COUNT, DEFAULT_PIVOTS_LIMIT);
+    }
+
+    /**
+     * Define a rule.
+     *
+     * @param candidatesCount the maximum number of variables strong branched at a node.
+     * @param pivotsLimit     the maximum number of dual pivots of a trial LP.
+     */
+    public StrongBranchingRuleImpl(int candidatesCount, int pivotsLimit) {
+        if (candidatesCount < 1 || pivotsLimit < 1) {
+            throw new IllegalArgumentException("Candidates count and pivots limit must be positive");
+        }
+        this.candidatesCount = candidatesCount;
+        this.pivotsLimit = pivotsLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int selectVariable(DualProblem dualProblem, List<BranchObservation> observations) {
+        double[] values = dualProblem.getCurrentValuesView().clone();
+        BitSet fractionalVariables = dualProblem.getFractionalVariables();
+        List<Integer> candidates = new ArrayList<>(fractionalVariables.cardinality());
+        for (int i = fractionalVariables.nextSetBit(0); i >= 0; i = fractionalVariables.nextSetBit(i + 1)) {
+            candidates.add(i);
+        }
+        if (candidates.isEmpty()) {
+            return -1;
+        }
+        candidates.sort(Comparator.comparingDouble((Integer i) -> Math.abs(values[i] - Math.floor(values[i]) - HALF_INTEGER)));
+
+        SimplexBasis basis = dualProblem.getBasis();
+        double solution = dualProblem.getCurrentSolution();
+        int best = -1;
+        double bestScore = -1;
+        dualProblem.setPivotsLimit(this.pivotsLimit);
+        for (int index : candidates.subList(0, Math.min(candidates.size(), this.candidatesCount))) {
+            double down = StrongBranchingTrials.trial(dualProblem, basis, solution, index, values[index], true, observations);
+            double up = StrongBranchingTrials.trial(dualProblem, basis, solution, index, values[index], false, observations);
+            double score = Math.max(down, MIN_DEGRADATION) * Math.max(up, MIN_DEGRADATION);
+            if (score > bestScore) {
+                best = index;
+                bestScore = score;
+            }
+        }
+        StrongBranchingTrials.restore(dualProblem, basis);
+        return best;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void record(BranchObservation observation) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public byte[] saveState() {
+        return new byte[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void restoreState(byte[] state) {
+    }
+}
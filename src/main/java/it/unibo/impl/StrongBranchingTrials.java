@@ -0,0 +1,67 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchCut;
+import it.unibo.api.BranchObservation;
+import it.unibo.api.DualProblem;
+import it.unibo.api.SimplexBasis;
+
+import java.util.List;
+
+/**
+ * Solves the children of a node as trial LPs with temporary cuts, for the branching rules which strong branch.
+ */
+final class StrongBranchingTrials {
+    private static final int TRIAL_CUT_ID = -1;
+
+    private StrongBranchingTrials() {
+    }
+
+    /**
+     * Solves a child of the node with a temporary cut, starting from the basis of the node.
+     *
+     * @param dualProblem  the dual problem solved at the node.
+     * @param basis        the basis of the node.
+     * @param solution     the objective value of the node.
+     * @param index        the index of the variable to cut.
+     * @param value        the value of the variable at the node.
+     * @param down         true for the upper bound cut to the floor of the value.
+     * @param observations where the trial is added.
+     * @return the degradation of the objective, a lower bound of it if the trial has been truncated,
+     * infinite if the child is infeasible.
+     */
+    static double trial(DualProblem dualProblem, SimplexBasis basis, double solution, int index, double value, boolean down,
+                        List<BranchObservation> observations) {
+        BranchCut cut = new BranchCutImpl(
+                TRIAL_CUT_ID,
+                new DecisionVariableImpl(dualProblem.getDecisionVariable(index).getName(), index, value),
+                down,
+                (int) (down ? Math.floor(value) : Math.ceil(value))
+        );
+        dualProblem.addBranchCut(cut);
+        dualProblem.setBasis(basis);
+        boolean solved = dualProblem.solve();
+        boolean truncated = !solved && dualProblem.isLastSolveTruncated();
+        double degradation = Double.POSITIVE_INFINITY;
+        if (solved || truncated) {
+            double change = dualProblem.getCurrentSolution() - solution;
+            degradation = Math.max(0, dualProblem.isMinimumProblem() ? change : -change);
+        }
+        dualProblem.deleteBranchCut(cut);
+
+        double fractionality = value - Math.floor(value);
+        observations.add(new BranchObservationImpl(index, down, down ? fractionality : 1 - fractionality, degradation, truncated));
+        return degradation;
+    }
+
+    /**
+     * Gives back the dual problem as it was solved at the node, without pivots limit.
+     *
+     * @param dualProblem the dual problem solved at the node.
+     * @param basis       the basis of the node.
+     */
+    static void restore(DualProblem dualProblem, SimplexBasis basis) {
+        dualProblem.setPivotsLimit(Integer.MAX_VALUE);
+        dualProblem.setBasis(basis);
+        dualProblem.solve();
+    }
+}
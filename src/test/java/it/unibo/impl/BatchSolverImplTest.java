@@ -0,0 +1,77 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.SolverResult;
+import it.unibo.api.SolverStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchSolverImplTest {
+    private static final String VALID = String.join("\n",
+            "NAME valid",
+            "OBJSENSE",
+            " MAX",
+            "ROWS",
+            " N  obj",
+            " L  c1",
+            "COLUMNS",
+            "    x1  obj  1  c1  2",
+            "    x2  obj  1  c1  2",
+            "RHS",
+            "    rhs  c1  7",
+            "BOUNDS",
+            " UP bnd  x1  10",
+            " UP bnd  x2  10",
+            "ENDATA",
+            "");
+
+    @TempDir
+    Path directory;
+
+    private static BranchAndBoundOptions options() {
+        BranchAndBoundOptions options = new BranchAndBoundOptionsImpl();
+        options.setDualProblemFactory(DualSimplexProblemImpl::new);
+        return options;
+    }
+
+    @Test
+    void failingProblemsGetAnErrorRowAndDontStopTheOthers() throws IOException {
+        Path valid = Files.writeString(this.directory.resolve("valid.mps"), VALID);
+        Path malformed = Files.writeString(this.directory.resolve("malformed.mps"), "garbage\n");
+        Path missing = this.directory.resolve("missing.mps");
+        Path csvFile = this.directory.resolve("results.csv");
+
+        Map<String, SolverResult> results = new BatchSolverImpl(BatchSolverImplTest::options, 2)
+                .solve(List.of(missing.toString(), valid.toString(), malformed.toString()), csvFile);
+
+        assertEquals(1, results.size());
+        SolverResult result = results.get(valid.toString());
+        assertEquals(SolverStatus.OPTIMAL, result.getStatus());
+        assertEquals(3, result.getObjectiveValue().getAsDouble(), 1e-6);
+
+        List<String> lines = Files.readAllLines(csvFile);
+        assertEquals(4, lines.size());
+        assertEquals("file,status,objective,best_bound,gap,nodes,pivots,millis,error", lines.get(0));
+        Map<String, String[]> rows = lines.subList(1, lines.size()).stream()
+                .map(line -> line.split(",", -1))
+                .collect(Collectors.toMap(fields -> fields[0], Function.identity()));
+        assertEquals("OPTIMAL", rows.get(valid.toString())[1]);
+        assertEquals("ERROR", rows.get(missing.toString())[1]);
+        assertTrue(rows.get(missing.toString())[8].contains("UncheckedIOException"));
+        assertEquals("ERROR", rows.get(malformed.toString())[1]);
+        assertTrue(rows.get(malformed.toString())[8].contains("ModelFormatException"));
+        assertFalse(Files.exists(this.directory.resolve("malformed.mps.cache")));
+    }
+}
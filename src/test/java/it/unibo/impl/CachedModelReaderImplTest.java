@@ -0,0 +1,80 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+import it.unibo.api.ModelReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachedModelReaderImplTest {
+
+    @TempDir
+    Path directory;
+
+    private Path copyExample() throws IOException {
+        return Files.copy(Path.of("src/main/resources/mps/example05.mps"), this.directory.resolve("example.mps"));
+    }
+
+    @Test
+    void mapsTheSameModelFromTheSnapshot() throws IOException {
+        String pathToFile = this.copyExample().toString();
+        LinearModel parsed = new MpsReaderImpl().read(pathToFile);
+
+        ModelReader reader = new CachedModelReaderImpl(new MpsReaderImpl());
+        LinearModel first = reader.read(pathToFile);
+        assertTrue(Files.exists(Path.of(pathToFile + ".cache")));
+        assertFalse(reader.getLastLoadReport().orElseThrow().isFromCache());
+        assertSameModel(parsed, first);
+
+        LinearModel cached = reader.read(pathToFile);
+        assertTrue(reader.getLastLoadReport().orElseThrow().isFromCache());
+        assertSameModel(parsed, cached);
+    }
+
+    @Test
+    void rejectsTheSnapshotOfAnotherVersionOfTheFile() throws IOException {
+        Path file = this.copyExample();
+        String pathToFile = file.toString();
+        ModelReader reader = new CachedModelReaderImpl(new MpsReaderImpl());
+        reader.read(pathToFile);
+
+        // same size, another objective coefficient
+        String content = Files.readString(file);
+        String edited = content.replace("obj                  50", "obj                  90");
+        assertEquals(content.length(), edited.length());
+        Files.writeString(file, edited);
+
+        LinearModel stale = reader.read(pathToFile);
+        assertFalse(reader.getLastLoadReport().orElseThrow().isFromCache());
+        assertEquals(90, stale.getObjectiveCoefficient(0));
+        assertSameModel(new MpsReaderImpl().read(pathToFile), stale);
+
+        reader.read(pathToFile);
+        assertTrue(reader.getLastLoadReport().orElseThrow().isFromCache());
+    }
+
+    private static void assertSameModel(LinearModel expected, LinearModel actual) {
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.getNonZerosCount(), actual.getNonZerosCount());
+        for (int column = 0; column < expected.getColumnsCount(); column++) {
+            assertEquals(expected.getObjectiveCoefficient(column), actual.getObjectiveCoefficient(column));
+            assertEquals(expected.getColumnLowerBound(column), actual.getColumnLowerBound(column));
+            assertEquals(expected.getColumnUpperBound(column), actual.getColumnUpperBound(column));
+        }
+        for (int row = 0; row < expected.getRowsCount(); row++) {
+            assertEquals(expected.getRowLowerBound(row), actual.getRowLowerBound(row));
+            assertEquals(expected.getRowUpperBound(row), actual.getRowUpperBound(row));
+        }
+        for (int position = 0; position < expected.getNonZerosCount(); position++) {
+            assertEquals(expected.getRowIndex(position), actual.getRowIndex(position));
+            assertEquals(expected.getValue(position), actual.getValue(position));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.LinearModel;
+import it.unibo.api.LogLevel;
+import it.unibo.api.SolverResult;
+import it.unibo.api.SolverStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckpointTest {
+    private static final double TOLERANCE = 1e-6;
+    private static final long FIRST_NODES = 20;
+
+    @TempDir
+    Path directory;
+
+    private static BranchAndBoundOptions options(Path checkpointFile, long nodesLimit) {
+        BranchAndBoundOptions options = new BranchAndBoundOptionsImpl();
+        options.setDualProblemFactory(DualSimplexProblemImpl::new);
+        options.setLogLevel(LogLevel.OFF);
+        options.setCheckpointFile(checkpointFile);
+        options.setNodesLimit(nodesLimit);
+        return options;
+    }
+
+    @Test
+    void resumesTheSearchToTheSameOptimum() {
+        LinearModel model = Models.knapsack(7, 25, 4);
+        SolverResult uninterrupted = new SolverImpl().solve(model, options(null, 0));
+        assertEquals(SolverStatus.OPTIMAL, uninterrupted.getStatus());
+        assertTrue(uninterrupted.getSolvedNodesCount() > FIRST_NODES);
+
+        Path checkpointFile = this.directory.resolve("model.ckpt");
+        SolverResult stopped = new SolverImpl().solve(model, options(checkpointFile, FIRST_NODES));
+        assertEquals(SolverStatus.NODE_LIMIT, stopped.getStatus());
+        assertTrue(Files.exists(checkpointFile));
+
+        SolverResult resumed = new SolverImpl().solve(model, options(checkpointFile, 0));
+        assertEquals(SolverStatus.OPTIMAL, resumed.getStatus());
+        assertEquals(uninterrupted.getObjectiveValue().getAsDouble(), resumed.getObjectiveValue().getAsDouble(), TOLERANCE);
+        assertTrue(resumed.getSolvedNodesCount() > FIRST_NODES);
+    }
+
+    @Test
+    void ignoresTheCheckpointOfAnotherModel() {
+        Path checkpointFile = this.directory.resolve("model.ckpt");
+        new SolverImpl().solve(Models.knapsack(7, 25, 4), options(checkpointFile, FIRST_NODES));
+        assertTrue(Files.exists(checkpointFile));
+
+        LinearModel other = Models.knapsack(8, 25, 4);
+        SolverResult expected = new SolverImpl().solve(other, options(null, 0));
+        SolverResult resumed = new SolverImpl().solve(other, options(checkpointFile, 0));
+        assertEquals(SolverStatus.OPTIMAL, resumed.getStatus());
+        assertEquals(expected.getObjectiveValue().getAsDouble(), resumed.getObjectiveValue().getAsDouble(), TOLERANCE);
+    }
+}
@@ -0,0 +1,124 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchCut;
+import it.unibo.api.DualProblem;
+import org.junit.jupiter.api.Test;
+
+import static it.unibo.impl.Models.INFINITY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DualSimplexProblemImplTest {
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * max 3 x0 + 2 x1, x0 + x1 <= 4, x0 + 3 x1 <= 6, 0 <= x0 <= 3, x1 >= 0: the optimum is 11 at (3, 1).
+     */
+    private static DualProblem bounded() {
+        return new DualSimplexProblemImpl(Models.dense(false, new double[]{3, 2},
+                new double[][]{{1, 1}, {1, 3}},
+                new double[]{-INFINITY, -INFINITY}, new double[]{4, 6},
+                new double[]{0, 0}, new double[]{3, INFINITY}));
+    }
+
+    @Test
+    void findsTheOptimum() {
+        DualProblem problem = bounded();
+        assertTrue(problem.solve());
+        assertEquals(11, problem.getCurrentSolution(), TOLERANCE);
+        assertArrayEquals(new double[]{3, 1}, problem.getCurrentValuesView(), TOLERANCE);
+        assertFalse(problem.isLastSolveTruncated());
+        assertFalse(problem.isLastSolveUnbounded());
+    }
+
+    @Test
+    void findsTheOptimumOfAMinimumWithEqualityAndFreeColumns() {
+        // min x0 + x1, x0 - x1 = 1, x0 + x1 >= 3, x1 free: the optimum is 3 on the segment x0 - x1 = 1, x0 >= 2
+        DualProblem problem = new DualSimplexProblemImpl(Models.dense(true, new double[]{1, 1},
+                new double[][]{{1, -1}, {1, 1}},
+                new double[]{1, 3}, new double[]{1, INFINITY},
+                new double[]{0, -INFINITY}, new double[]{INFINITY, INFINITY}));
+        assertTrue(problem.solve());
+        assertEquals(3, problem.getCurrentSolution(), TOLERANCE);
+        double[] values = problem.getCurrentValuesView();
+        assertEquals(1, values[0] - values[1], TOLERANCE);
+    }
+
+    @Test
+    void findsTheOptimumOfADegenerateProblem() {
+        // the problem by Beale which makes the textbook simplex cycle: the optimum is -1.25 at (1, 0, 1, 0)
+        DualProblem problem = new DualSimplexProblemImpl(Models.dense(true, new double[]{-0.75, 20, -0.5, 6},
+                new double[][]{{0.25, -8, -1, 9}, {0.5, -12, -0.5, 3}, {0, 0, 1, 0}},
+                new double[]{-INFINITY, -INFINITY, -INFINITY}, new double[]{0, 0, 1},
+                new double[]{0, 0, 0, 0}, new double[]{INFINITY, INFINITY, INFINITY, INFINITY}));
+        assertTrue(problem.solve());
+        assertEquals(-1.25, problem.getCurrentSolution(), TOLERANCE);
+        assertArrayEquals(new double[]{1, 0, 1, 0}, problem.getCurrentValuesView(), TOLERANCE);
+    }
+
+    @Test
+    void reportsAnInfeasibleProblem() {
+        DualProblem problem = new DualSimplexProblemImpl(Models.dense(true, new double[]{1, 1},
+                new double[][]{{1, 1}, {1, 1}},
+                new double[]{-INFINITY, 2}, new double[]{1, INFINITY},
+                new double[]{0, 0}, new double[]{INFINITY, INFINITY}));
+        assertFalse(problem.solve());
+        assertFalse(problem.isLastSolveTruncated());
+        assertFalse(problem.isLastSolveUnbounded());
+    }
+
+    @Test
+    void reportsAnUnboundedProblem() {
+        // max x0, x0 - x1 <= 1, x0 and x1 without upper bounds
+        DualProblem problem = new DualSimplexProblemImpl(Models.dense(false, new double[]{1, 0},
+                new double[][]{{1, -1}},
+                new double[]{-INFINITY}, new double[]{1},
+                new double[]{0, 0}, new double[]{INFINITY, INFINITY}));
+        assertFalse(problem.solve());
+        assertTrue(problem.isLastSolveUnbounded());
+        assertFalse(problem.isLastSolveTruncated());
+        assertEquals(Double.MAX_VALUE, problem.getCurrentSolution());
+    }
+
+    @Test
+    void undoesTheBoundOfADeletedCut() {
+        DualProblem problem = bounded();
+        assertTrue(problem.solve());
+
+        BranchCut down = new BranchCutImpl(1, problem.getDecisionVariable(0), true, 2);
+        problem.addBranchCut(down);
+        assertTrue(problem.solve());
+        assertEquals(6 + 8.0 / 3, problem.getCurrentSolution(), TOLERANCE);
+        assertEquals(2, problem.getCurrentValuesView()[0], TOLERANCE);
+
+        BranchCut up = new BranchCutImpl(2, problem.getDecisionVariable(1), false, 2);
+        problem.addBranchCut(up);
+        assertTrue(problem.solve());
+        assertEquals(4, problem.getCurrentSolution(), TOLERANCE);
+
+        problem.deleteBranchCut(down);
+        assertTrue(problem.solve());
+        assertEquals(4, problem.getCurrentSolution(), TOLERANCE);
+        assertArrayEquals(new double[]{0, 2}, problem.getCurrentValuesView(), TOLERANCE);
+        assertEquals(1, problem.getCurrentCuts().size());
+
+        problem.deleteBranchCut(up);
+        assertTrue(problem.solve());
+        assertEquals(11, problem.getCurrentSolution(), TOLERANCE);
+        assertArrayEquals(new double[]{3, 1}, problem.getCurrentValuesView(), TOLERANCE);
+        assertTrue(problem.getCurrentCuts().isEmpty());
+    }
+
+    @Test
+    void truncatesBySetPivotsLimitWithABound() {
+        DualProblem problem = bounded();
+        problem.setPivotsLimit(0);
+        assertFalse(problem.solve());
+        assertTrue(problem.isLastSolveTruncated());
+        problem.setPivotsLimit(Integer.MAX_VALUE);
+        assertTrue(problem.solve());
+        assertEquals(11, problem.getCurrentSolution(), TOLERANCE);
+    }
+}
@@ -0,0 +1,63 @@
+package it.unibo.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeapLimitTest {
+    private static final long WAIT_MILLIS = 5_000;
+
+    private static Map<String, List<Long>> thresholds() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(MemoryPoolMXBean::isCollectionUsageThresholdSupported)
+                .collect(Collectors.toMap(MemoryPoolMXBean::getName, pool -> List.of(pool.getCollectionUsageThreshold(),
+                        pool.isUsageThresholdSupported() ? pool.getUsageThreshold() : -1)));
+    }
+
+    @Test
+    void isOverOnceACollectionLeavesTheHeapOverTheLimit() throws InterruptedException {
+        List<long[]> live = List.of(new long[4_000_000], new long[4_000_000]);
+        HeapLimit heapLimit = new HeapLimit(1 << 20);
+        try {
+            long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+            while (!heapLimit.isOver() && System.currentTimeMillis() < deadline) {
+                System.gc();
+                Thread.sleep(50);
+            }
+            assertTrue(heapLimit.isOver());
+            assertEquals(2, live.size());
+        } finally {
+            heapLimit.close();
+        }
+    }
+
+    @Test
+    void isNotOverUnderTheLimit() throws InterruptedException {
+        HeapLimit heapLimit = new HeapLimit(Runtime.getRuntime().maxMemory());
+        try {
+            System.gc();
+            Thread.sleep(200);
+            assertFalse(heapLimit.isOver());
+        } finally {
+            heapLimit.close();
+        }
+    }
+
+    @Test
+    void restoresTheThresholdsWhenTheLastWatchIsClosed() {
+        Map<String, List<Long>> before = thresholds();
+        HeapLimit first = new HeapLimit(1 << 30);
+        HeapLimit second = new HeapLimit(1 << 20);
+        second.close();
+        first.close();
+        assertEquals(before, thresholds());
+    }
+}
@@ -0,0 +1,54 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedMpsReaderImplTest {
+
+    static List<String> examples() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of("src/main/resources/mps"))) {
+            return files.filter(file -> file.toString().endsWith(".mps")).map(Path::toString).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("examples")
+    void readsTheSameModelAsTheStreamingReader(String pathToFile) {
+        LinearModel expected = new MpsReaderImpl().read(pathToFile);
+        LinearModel actual = new MappedMpsReaderImpl().read(pathToFile);
+
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.isMinimumProblem(), actual.isMinimumProblem());
+        assertEquals(expected.getRowsCount(), actual.getRowsCount());
+        assertEquals(expected.getColumnsCount(), actual.getColumnsCount());
+        assertEquals(expected.getNonZerosCount(), actual.getNonZerosCount());
+        assertEquals(expected.getObjectiveConstant(), actual.getObjectiveConstant());
+        for (int row = 0; row < expected.getRowsCount(); row++) {
+            assertEquals(expected.getRowName(row), actual.getRowName(row));
+            assertEquals(expected.getRowLowerBound(row), actual.getRowLowerBound(row));
+            assertEquals(expected.getRowUpperBound(row), actual.getRowUpperBound(row));
+        }
+        for (int column = 0; column < expected.getColumnsCount(); column++) {
+            assertEquals(expected.getColumnName(column), actual.getColumnName(column));
+            assertEquals(expected.getObjectiveCoefficient(column), actual.getObjectiveCoefficient(column));
+            assertEquals(expected.getColumnLowerBound(column), actual.getColumnLowerBound(column));
+            assertEquals(expected.getColumnUpperBound(column), actual.getColumnUpperBound(column));
+            assertEquals(expected.getColumnStart(column), actual.getColumnStart(column));
+        }
+        assertEquals(expected.getColumnStart(expected.getColumnsCount()), actual.getColumnStart(actual.getColumnsCount()));
+        for (int position = 0; position < expected.getNonZerosCount(); position++) {
+            assertEquals(expected.getRowIndex(position), actual.getRowIndex(position));
+            assertEquals(expected.getValue(position), actual.getValue(position));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package it.unibo.impl;
+
+import it.unibo.api.LinearModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the small models of the tests.
+ */
+final class Models {
+    static final double INFINITY = Double.POSITIVE_INFINITY;
+
+    private Models() {
+    }
+
+    /**
+     * Builds a model from its dense rows.
+     *
+     * @param minimumProblem true if the objective function sense is minimum.
+     * @param objective      the objective coefficients of the columns.
+     * @param rows           the coefficients of the rows.
+     * @param rowLower       the lower bounds of the rows.
+     * @param rowUpper       the upper bounds of the rows.
+     * @param columnLower    the lower bounds of the columns.
+     * @param columnUpper    the upper bounds of the columns.
+     * @return the model.
+     */
+    static LinearModel dense(boolean minimumProblem, double[] objective, double[][] rows, double[] rowLower, double[] rowUpper,
+                             double[] columnLower, double[] columnUpper) {
+        int columns = objective.length;
+        String[] columnNames = new String[columns];
+        String[] rowNames = new String[rows.length];
+        int[] columnStart = new int[columns + 1];
+        List<Integer> rowIndex = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        for (int column = 0; column < columns; column++) {
+            columnNames[column] = "x" + column;
+            for (int row = 0; row < rows.length; row++) {
+                if (rows[row][column] != 0) {
+                    rowIndex.add(row);
+                    values.add(rows[row][column]);
+                }
+            }
+            columnStart[column + 1] = rowIndex.size();
+        }
+        for (int row = 0; row < rows.length; row++) {
+            rowNames[row] = "c" + row;
+        }
+        return new LinearModelImpl("test", minimumProblem, columnNames, rowNames, objective, 0, columnLower, columnUpper,
+                rowLower, rowUpper, columnStart, rowIndex.stream().mapToInt(Integer::intValue).toArray(),
+                values.stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    /**
+     * Builds a random multidimensional knapsack with integer columns in [0, 3], whose search needs many nodes.
+     *
+     * @param seed    the seed of the coefficients.
+     * @param columns the number of columns.
+     * @param rows    the number of rows.
+     * @return the maximum problem.
+     */
+    static LinearModel knapsack(long seed, int columns, int rows) {
+        Random random = new Random(seed);
+        double[] objective = new double[columns];
+        double[][] coefficients = new double[rows][columns];
+        double[] rowLower = new double[rows];
+        double[] rowUpper = new double[rows];
+        double[] columnLower = new double[columns];
+        double[] columnUpper = new double[columns];
+        for (int column = 0; column < columns; column++) {
+            objective[column] = 10 + random.nextInt(40);
+            columnUpper[column] = 3;
+        }
+        for (int row = 0; row < rows; row++) {
+            double sum = 0;
+            for (int column = 0; column < columns; column++) {
+                coefficients[row][column] = 5 + random.nextInt(30);
+                sum += coefficients[row][column];
+            }
+            rowLower[row] = -INFINITY;
+            rowUpper[row] = Math.floor(sum * 0.7);
+        }
+        return dense(false, objective, coefficients, rowLower, rowUpper, columnLower, columnUpper);
+    }
+
+    /**
+     * @param model  a model.
+     * @param values the values of its columns.
+     * @return the objective value.
+     */
+    static double objective(LinearModel model, double[] values) {
+        double objective = model.getObjectiveConstant();
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            objective += model.getObjectiveCoefficient(column) * values[column];
+        }
+        return objective;
+    }
+
+    /**
+     * @param model     a model.
+     * @param values    the values of its columns.
+     * @param tolerance the violation allowed.
+     * @return true if the values satisfy the bounds and the rows.
+     */
+    static boolean isFeasible(LinearModel model, double[] values, double tolerance) {
+        double[] activities = new double[model.getRowsCount()];
+        for (int column = 0; column < model.getColumnsCount(); column++) {
+            if (values[column] < model.getColumnLowerBound(column) - tolerance || values[column] > model.getColumnUpperBound(column) + tolerance) {
+                return false;
+            }
+            for (int position = model.getColumnStart(column); position < model.getColumnStart(column + 1); position++) {
+                activities[model.getRowIndex(position)] += model.getValue(position) * values[column];
+            }
+        }
+        for (int row = 0; row < model.getRowsCount(); row++) {
+            if (activities[row] < model.getRowLowerBound(row) - tolerance || activities[row] > model.getRowUpperBound(row) + tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.DecisionVariable;
+import it.unibo.api.LinearModel;
+import it.unibo.api.LogLevel;
+import it.unibo.api.Presolve;
+import it.unibo.api.SolverResult;
+import it.unibo.api.SolverStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static it.unibo.impl.Models.INFINITY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PresolveImplTest {
+    private static final double TOLERANCE = 1e-6;
+
+    /**
+     * max 2 x0 + 3 x1 + x2, x0 + x1 + x2 <= 5, x1 <= 2 as a singleton row, x2 fixed at 1:
+     * the optimum is 11 at (2, 2, 1).
+     */
+    private static LinearModel reducible() {
+        return Models.dense(false, new double[]{2, 3, 1},
+                new double[][]{{1, 1, 1}, {0, 1, 0}},
+                new double[]{-INFINITY, -INFINITY}, new double[]{5, 2},
+                new double[]{0, 0, 1}, new double[]{INFINITY, INFINITY, 1});
+    }
+
+    private static BranchAndBoundOptions options(boolean presolve) {
+        BranchAndBoundOptions options = new BranchAndBoundOptionsImpl();
+        options.setDualProblemFactory(DualSimplexProblemImpl::new);
+        options.setPresolve(presolve);
+        options.setLogLevel(LogLevel.OFF);
+        return options;
+    }
+
+    private static double[] values(SolverResult result) {
+        return result.getValues().stream().mapToDouble(DecisionVariable::getCurrentValue).toArray();
+    }
+
+    @Test
+    void removesTheFixedColumnAndTheSingletonRow() {
+        Presolve presolve = new PresolveImpl(reducible(), true);
+        assertFalse(presolve.isInfeasible());
+        assertTrue(presolve.getReducedModel().getColumnsCount() < 3);
+        assertTrue(presolve.getReducedModel().getRowsCount() < 2);
+
+        double[] optimum = {2, 2, 1};
+        double[] reducedValues = new double[presolve.getReducedModel().getColumnsCount()];
+        for (int column = 0; column < reducedValues.length; column++) {
+            reducedValues[column] = optimum[presolve.getOriginalColumn(column)];
+        }
+        assertArrayEquals(optimum, presolve.postsolve(reducedValues), TOLERANCE);
+    }
+
+    @Test
+    void postsolvesTheOptimumOfTheOriginalModel() {
+        LinearModel model = reducible();
+        SolverResult result = new SolverImpl().solve(model, options(true));
+        assertEquals(SolverStatus.OPTIMAL, result.getStatus());
+        assertEquals(11, result.getObjectiveValue().getAsDouble(), TOLERANCE);
+        assertArrayEquals(new double[]{2, 2, 1}, values(result), TOLERANCE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3, 4, 5})
+    void findsTheSameOptimumWithAndWithoutPresolve(long seed) {
+        LinearModel model = Models.knapsack(seed, 8, 3);
+        SolverResult reduced = new SolverImpl().solve(model, options(true));
+        SolverResult original = new SolverImpl().solve(model, options(false));
+
+        assertEquals(SolverStatus.OPTIMAL, reduced.getStatus());
+        assertEquals(original.getObjectiveValue().getAsDouble(), reduced.getObjectiveValue().getAsDouble(), TOLERANCE);
+        double[] values = values(reduced);
+        assertEquals(model.getColumnsCount(), values.length);
+        assertTrue(Models.isFeasible(model, values, TOLERANCE));
+        assertEquals(reduced.getObjectiveValue().getAsDouble(), Models.objective(model, values), TOLERANCE);
+    }
+}
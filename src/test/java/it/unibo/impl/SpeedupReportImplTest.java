@@ -0,0 +1,33 @@
+package it.unibo.impl;
+
+import it.unibo.api.BranchAndBoundOptions;
+import it.unibo.api.LogLevel;
+import it.unibo.api.Presentation;
+import it.unibo.api.SpeedupReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpeedupReportImplTest {
+
+    @Test
+    void solvesOnlyWhenRun() {
+        BranchAndBoundOptions options = new BranchAndBoundOptionsImpl();
+        options.setModelReaderFactory(MappedMpsReaderImpl::new);
+        options.setDualProblemFactory(DualSimplexProblemImpl::new);
+        options.setLogLevel(LogLevel.OFF);
+        options.setWorkersCount(3);
+        SpeedupReport report = new SpeedupReportImpl(List.of(Presentation.EXAMPLE01, Presentation.EXAMPLE02,
+                Presentation.EXAMPLE03, Presentation.EXAMPLE04, Presentation.EXAMPLE05, Presentation.EXAMPLE06), options, 2);
+        assertThrows(IllegalStateException.class, report::getSpeedup);
+
+        report.run();
+        assertTrue(report.areObjectivesEqual());
+        assertTrue(report.getSpeedup() >= 0);
+        assertEquals(3, options.getWorkersCount());
+    }
+}